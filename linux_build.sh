@@ -6,12 +6,18 @@ deploy_dir="$base_dir/target"
 stub_generator="$script_dir/linux_stub_generator_tool.sh"
 stub_transversal_counter="$script_dir/linux_stub_transversal_counter_tool.sh"
 stub_property_checker="$script_dir/linux_stub_property_checker_tool.sh"
+stub_completion="$script_dir/linux_stub_completion_tool.sh"
+stub_merge="$script_dir/linux_stub_merge_tool.sh"
+stub_converter="$script_dir/linux_stub_converter_tool.sh"
 maven_cmd="mvn"
 toolbox_version="1.10"
 toolbox_deployed_jar="$deploy_dir/latin-square-toolbox-$toolbox_version-SNAPSHOT.jar"
 tool_output_script_generator="lsg"
 tool_output_script_transversal_counter="lstc"
 tool_output_script_property_checker="lspc"
+tool_output_script_completion="lscp"
+tool_output_script_merge="lsm"
+tool_output_script_converter="lscv"
 
 # verify that maven is available in the current session
 maven_cmd_exists=$(command -v $maven_cmd 2>/dev/null)
@@ -58,6 +64,9 @@ if [ -n $maven_cmd_exists ] ; then
         cat $stub_generator $toolbox_deployed_jar > "$base_dir/$tool_output_script_generator" && chmod +x "$base_dir/$tool_output_script_generator"
         cat $stub_transversal_counter $toolbox_deployed_jar > "$base_dir/$tool_output_script_transversal_counter" && chmod +x "$base_dir/$tool_output_script_transversal_counter"
         cat $stub_property_checker $toolbox_deployed_jar > "$base_dir/$tool_output_script_property_checker" && chmod +x "$base_dir/$tool_output_script_property_checker"
+        cat $stub_completion $toolbox_deployed_jar > "$base_dir/$tool_output_script_completion" && chmod +x "$base_dir/$tool_output_script_completion"
+        cat $stub_merge $toolbox_deployed_jar > "$base_dir/$tool_output_script_merge" && chmod +x "$base_dir/$tool_output_script_merge"
+        cat $stub_converter $toolbox_deployed_jar > "$base_dir/$tool_output_script_converter" && chmod +x "$base_dir/$tool_output_script_converter"
          
     else
         echo "There was an error while building the Latin Square Toolbox! Check required dependencies, permissions, configuration, or source code. (⊙ v ☉)"
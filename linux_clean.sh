@@ -7,11 +7,19 @@ maven_cmd="mvn"
 tool_script_generator="$base_dir/lsg"
 tool_script_transversal_counter="$base_dir/lstc"
 tool_script_property_checker="$base_dir/lspc"
+tool_script_completion="$base_dir/lscp"
+tool_script_merge="$base_dir/lsm"
+tool_script_converter="$base_dir/lscv"
 
 # execute clean commands
 $maven_cmd clean
 rm -f $tool_script_generator
 rm -f $tool_script_transversal_counter
 rm -f $tool_script_property_checker
+rm -f $tool_script_completion
+rm -f $tool_script_merge
+rm -f $tool_script_converter
 rm -f $unit_test_output_dir/*.txt
+rm -f $unit_test_output_dir/*.bin
+rm -f $unit_test_output_dir/*.gz
 
@@ -0,0 +1,208 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>GaloisField</h1>
+ * 
+ * <p>This class represents the finite field GF(p^d) of prime power order-p^d. Each element is a polynomial
+ * of degree less than d with coefficients modulo p, which is encoded as the integer whose base-p digits are
+ * its coefficients (so the element 0 is the integer 0 and the element 1 is the integer 1). Addition is the
+ * digit-wise sum modulo p, so the addition Cayley table of the field is exactly the super-symmetric (or
+ * cyclic) Latin square (see SquareSuperSymmetric). Multiplication is modulo a primitive polynomial of
+ * degree d, which is found by testing the monic polynomials in order until the powers of x run through
+ * every non-zero element; the powers of x then form the antilog table and their exponents the log table,
+ * so each product takes constant time.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class GaloisField
+{
+	private int primeBase;
+	private int power;
+	private int order;
+	private int [] polynomial;
+	private int [] log;
+	private int [] antilog;
+	
+	/**
+	 * Class constructor for the finite field of prime power order-p^d.
+	 * 
+	 * @param primeBase The prime base p (the characteristic of the field).
+	 * @param power The power d (the degree of the field over GF(p)).
+	 */
+	public GaloisField(int primeBase, int power)
+	{
+		this.primeBase = primeBase;
+		this.power = power;
+		order = (int)Math.pow(primeBase, power);
+		polynomial = new int[power + 1];
+		log = new int[order];
+		antilog = new int[Math.max(order - 1, 1)];
+		
+		// the constant coefficient of a primitive polynomial is never zero, so the search starts at 1
+		for(int code = 1; code < order; code++)
+		{
+			for(int k = 0, c = code; k < power; k++, c /= primeBase) { polynomial[k] = c % primeBase; }
+			polynomial[power] = 1;
+			
+			if((polynomial[0] != 0) && buildLogTables()) { return; }
+		}
+		
+		throw new IllegalArgumentException("There is no primitive polynomial of degree " + power + " modulo " + primeBase);
+	}
+	
+	/**
+	 * Builds the log and antilog tables for the current polynomial, which succeeds if the polynomial
+	 * is primitive (i.e., the powers x^0, x^1, ..., x^(p^d - 2) are distinct and x^(p^d - 1) is 1).
+	 * 
+	 * @return boolean The primitive polynomial flag.
+	 */
+	private boolean buildLogTables()
+	{
+		int element = 1;
+		
+		for(int k = 0; k < (order - 1); k++)
+		{
+			if((k > 0) && (element == 1)) { return false; }
+			antilog[k] = element;
+			log[element] = k;
+			element = multiplyByX(element);
+		}
+		
+		return (element == 1);
+	}
+	
+	/**
+	 * Multiplies an element by x modulo the current polynomial: the coefficients are shifted up by one
+	 * degree, and the coefficient that reaches degree d is eliminated with the (monic) polynomial.
+	 * 
+	 * @param element The element.
+	 * @return int The product of the element and x.
+	 */
+	private int multiplyByX(int element)
+	{
+		int product = 0, place = 1;
+		int top = element / (order / primeBase);
+		
+		for(int k = 0; k < power; k++, place *= primeBase)
+		{
+			int coefficient = (k == 0) ? 0 : ((element / (place / primeBase)) % primeBase);
+			coefficient = (coefficient + ((primeBase - polynomial[k]) * top)) % primeBase;
+			product += coefficient * place;
+		}
+		
+		return product;
+	}
+	
+	/**
+	 * Returns the order p^d of the field.
+	 * 
+	 * @return int The number of elements.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Returns the prime base p of the order-p^d (the characteristic of the field).
+	 * 
+	 * @return int The prime base.
+	 */
+	public int getOrderBase() { return primeBase; }
+	
+	/**
+	 * Returns the power d of the order-p^d.
+	 * 
+	 * @return int The power.
+	 */
+	public int getOrderPower() { return power; }
+	
+	/**
+	 * Returns the sum of two elements, which is the digit-wise sum of their base-p digits modulo p.
+	 * 
+	 * @param a The first element.
+	 * @param b The second element.
+	 * @return int The sum.
+	 */
+	public int add(int a, int b)
+	{
+		int sum = 0;
+		
+		for(int place = 1; (a > 0) || (b > 0); place *= primeBase)
+		{
+			sum += place * (((a % primeBase) + (b % primeBase)) % primeBase);
+			a /= primeBase;
+			b /= primeBase;
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Returns the product of two elements with the log and antilog tables.
+	 * 
+	 * @param a The first element.
+	 * @param b The second element.
+	 * @return int The product.
+	 */
+	public int multiply(int a, int b)
+	{
+		if((a == 0) || (b == 0)) { return 0; }
+		return antilog[(log[a] + log[b]) % (order - 1)];
+	}
+	
+	/**
+	 * Returns the coefficients of the primitive polynomial, from degree 0 to degree d.
+	 * 
+	 * @return int[] The coefficients (the coefficient of degree d is 1).
+	 */
+	public int [] getPolynomial() { return polynomial.clone(); }
+	
+	/**
+	 * Returns a string representation of the primitive polynomial (ex. "x^2 + x + 2").
+	 * 
+	 * @return String The primitive polynomial representation.
+	 */
+	public String toStringPolynomial()
+	{
+		StringBuilder buffer = new StringBuilder("");
+		
+		for(int k = power; k >= 0; k--)
+		{
+			if(polynomial[k] == 0) { continue; }
+			if(buffer.length() > 0) { buffer.append(" + "); }
+			if((polynomial[k] != 1) || (k == 0)) { buffer.append(polynomial[k]); }
+			if(k > 1) { buffer.append("x^" + k); }
+			else if(k == 1) { buffer.append("x"); }
+		}
+		
+		return buffer.toString();
+	}
+}
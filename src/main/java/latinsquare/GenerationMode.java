@@ -42,5 +42,11 @@ public enum GenerationMode
 	SELECTION, 				// generate Latin square data set with selection-based algorithm
 	SELECTION_PRELOAD, 		// generate Latin square data set with preloading selection-based algorithm
 	SUPERSYMMETRIC, 		// generate a single super-symmetric (or cyclic) Latin square with lifting-and-merging algorithm
+	SELECTION_ROW, 			// generate Latin square data set with row-by-row selection-based algorithm
+	ISOTOPY_CLASS, 			// generate one representative of each isotopy class with orderly selection-based algorithm
+	MAIN_CLASS, 			// generate one representative of each main class with orderly selection-based algorithm
+	SELECTION_RANDOM, 		// generate random Latin square data set with randomized selection-based algorithm
+	MOLS, 					// generate the complete set of mutually orthogonal Latin squares over a finite field
+	GROUP, 					// generate the Cayley tables of one or all abelian groups of an order
 	INVALID					// invalid generation mode
 };
@@ -0,0 +1,337 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>LatinSquareAsyncOutputStream</h1>
+ * 
+ * <p>This class represents an output stream that writes the bytes written to it to an output file
+ * on a separate writer thread, so the generation (or transversal counting) of the squares does not
+ * wait for the file system. The bytes are collected in a bounded ring of buffers, and each full buffer
+ * is handed to the writer thread while the next one is filled; the squares are only delayed when every
+ * buffer is pending (which is counted as a stall). The number of pending buffers is the queue depth,
+ * whose maximum and mean are recorded for the job report summary.
+ * The written bytes are forced to the storage device according to a sync policy: never (leaving it to
+ * the operating system), whenever the output is synced (at each checkpoint and upon completion), or
+ * after every buffer.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareAsyncOutputStream extends OutputStream
+{
+	public static final int DEFAULT_CAPACITY = 1 << 22;
+	public static final int MIN_CAPACITY = 1 << 16;
+	private static final int NUM_BUFFERS = 8;
+	private FileOutputStream out;
+	private FileChannel channel;
+	private SyncPolicy syncPolicy;
+	private int capacity;
+	private ExecutorService writer;
+	private ArrayBlockingQueue<byte[]> freeBuffers;
+	private byte[] buffer;
+	private int count;
+	private AtomicInteger queueDepth;
+	private int maxQueueDepth;
+	private long queueDepthSum;
+	private long numBuffersWritten;
+	private long numStalls;
+	private volatile IOException failure;
+	private boolean closed;
+	
+	/**
+	 * <h1>SyncPolicy</h1>
+	 * 
+	 * The policies that determine when the written bytes are forced to the storage device.
+	 */
+	public enum SyncPolicy
+	{
+		NONE, CHECKPOINT, ALWAYS;
+		
+		/**
+		 * Returns the sync policy with a given name (ex. "checkpoint").
+		 * 
+		 * @param name The name of the policy.
+		 * @return SyncPolicy The sync policy, or null if there is none with the name.
+		 */
+		public static SyncPolicy parse(String name)
+		{
+			for(SyncPolicy policy : values())
+			{
+				if(policy.toString().equals(name)) { return policy; }
+			}
+			return null;
+		}
+		
+		/**
+		 * Returns the name of the sync policy.
+		 * 
+		 * @return String The name of the policy.
+		 */
+		@Override
+		public String toString() { return name().toLowerCase(); }
+	}
+	
+	/**
+	 * Class constructor for an asynchronous stream that writes to an output file.
+	 * 
+	 * @param out The output file stream.
+	 * @param capacity The total number of bytes in the ring of buffers (at least MIN_CAPACITY).
+	 * @param syncPolicy The sync policy.
+	 */
+	public LatinSquareAsyncOutputStream(FileOutputStream out, int capacity, SyncPolicy syncPolicy)
+	{
+		this.out = out;
+		this.channel = out.getChannel();
+		this.syncPolicy = syncPolicy;
+		this.capacity = Math.max(capacity, MIN_CAPACITY);
+		closed = false;
+		failure = null;
+		queueDepth = new AtomicInteger(0);
+		maxQueueDepth = 0;
+		queueDepthSum = numBuffersWritten = numStalls = 0;
+		writer = Executors.newSingleThreadExecutor();
+		freeBuffers = new ArrayBlockingQueue<byte[]>(NUM_BUFFERS);
+		for(int i = 1; i < NUM_BUFFERS; i++) { freeBuffers.add(new byte[this.capacity / NUM_BUFFERS]); }
+		buffer = new byte[this.capacity / NUM_BUFFERS];
+		count = 0;
+	}
+	
+	/**
+	 * Writes a byte.
+	 * 
+	 * @param b The byte.
+	 * @throws IOException If the writer thread failed to write an earlier buffer.
+	 */
+	@Override
+	public void write(int b) throws IOException
+	{
+		if(count == buffer.length) { submitBuffer(); }
+		buffer[count++] = (byte)b;
+	}
+	
+	/**
+	 * Writes a range of bytes.
+	 * 
+	 * @param b The bytes.
+	 * @param off The offset of the first byte.
+	 * @param len The number of bytes.
+	 * @throws IOException If the writer thread failed to write an earlier buffer.
+	 */
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException
+	{
+		while(len > 0)
+		{
+			if(count == buffer.length) { submitBuffer(); }
+			
+			int numBytes = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, numBytes);
+			count += numBytes;
+			off += numBytes;
+			len -= numBytes;
+		}
+	}
+	
+	/**
+	 * Hands the current buffer to the writer thread and continues with a free buffer
+	 * (waiting for one if every buffer is pending).
+	 * 
+	 * @throws IOException If the writer thread failed to write an earlier buffer.
+	 */
+	private void submitBuffer() throws IOException
+	{
+		checkFailure();
+		
+		final byte[] fullBuffer = buffer;
+		final int length = count;
+		int depth = queueDepth.incrementAndGet();
+		maxQueueDepth = Math.max(maxQueueDepth, depth);
+		queueDepthSum += depth;
+		numBuffersWritten++;
+		
+		writer.execute(() -> {
+			try
+			{
+				ByteBuffer source = ByteBuffer.wrap(fullBuffer, 0, length);
+				while(source.hasRemaining()) { channel.write(source); }
+				if(syncPolicy == SyncPolicy.ALWAYS) { channel.force(false); }
+			}
+			catch(IOException e) { failure = e; }
+			finally
+			{
+				queueDepth.decrementAndGet();
+				freeBuffers.add(fullBuffer);
+			}
+		});
+		
+		if(freeBuffers.isEmpty()) { numStalls++; }
+		try { buffer = freeBuffers.take(); }
+		catch(InterruptedException e) { throw new InterruptedIOException("interrupted while waiting for the writer thread"); }
+		count = 0;
+	}
+	
+	/**
+	 * Hands the buffered bytes to the writer thread and waits until they have been written to the output file.
+	 * 
+	 * @throws IOException If the writer thread failed.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		if(count > 0) { submitBuffer(); }
+		awaitWriter(false);
+	}
+	
+	/**
+	 * Flushes the stream and forces the output file to the storage device, unless the sync policy is NONE.
+	 * 
+	 * @throws IOException If the writer thread failed or the output file cannot be synced.
+	 */
+	public void sync() throws IOException
+	{
+		if(count > 0) { submitBuffer(); }
+		awaitWriter(syncPolicy != SyncPolicy.NONE);
+	}
+	
+	/**
+	 * Waits until the writer thread has written the pending buffers (and synced the output file, if requested).
+	 * 
+	 * @param force True to force the output file to the storage device afterwards.
+	 * @throws IOException If the writer thread failed.
+	 */
+	private void awaitWriter(boolean force) throws IOException
+	{
+		try
+		{
+			writer.submit(() -> {
+				if(force && (failure == null)) { channel.force(false); }
+				return null;
+			}).get();
+		}
+		catch(InterruptedException e) { throw new InterruptedIOException("interrupted while waiting for the writer thread"); }
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException) { throw (IOException)e.getCause(); }
+			throw new IOException(e.getCause());
+		}
+		checkFailure();
+	}
+	
+	/**
+	 * Throws the exception of the writer thread, if it failed.
+	 * 
+	 * @throws IOException If the writer thread failed.
+	 */
+	private void checkFailure() throws IOException
+	{
+		if(failure != null) { throw failure; }
+	}
+	
+	/**
+	 * Returns the number of buffers that are waiting for (or being written by) the writer thread.
+	 * 
+	 * @return int The current queue depth.
+	 */
+	public int getQueueDepth() { return queueDepth.get(); }
+	
+	/**
+	 * Returns the largest number of buffers that have been pending at once.
+	 * 
+	 * @return int The maximum queue depth.
+	 */
+	public int getMaxQueueDepth() { return maxQueueDepth; }
+	
+	/**
+	 * Returns the mean number of pending buffers when a buffer was handed to the writer thread.
+	 * 
+	 * @return double The mean queue depth.
+	 */
+	public double getMeanQueueDepth() { return (numBuffersWritten > 0) ? ((double)queueDepthSum / numBuffersWritten) : 0; }
+	
+	/**
+	 * Returns the number of buffers that can be pending at once (in which case the squares wait for the writer thread).
+	 * 
+	 * @return int The queue capacity.
+	 */
+	public int getQueueCapacity() { return NUM_BUFFERS; }
+	
+	/**
+	 * Returns the total number of bytes in the ring of buffers.
+	 * 
+	 * @return int The capacity.
+	 */
+	public int getCapacity() { return capacity; }
+	
+	/**
+	 * Returns the number of times that every buffer was pending, so the squares waited for the writer thread.
+	 * 
+	 * @return long The number of stalls.
+	 */
+	public long getNumStalls() { return numStalls; }
+	
+	/**
+	 * Returns the sync policy.
+	 * 
+	 * @return SyncPolicy The sync policy.
+	 */
+	public SyncPolicy getSyncPolicy() { return syncPolicy; }
+	
+	/**
+	 * Syncs the stream, closes the output file, and stops the writer thread.
+	 * 
+	 * @throws IOException If the writer thread failed or the output file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if(closed) { return; }
+		closed = true;
+		
+		try
+		{
+			sync();
+			out.close();
+		}
+		finally { writer.shutdown(); }
+	}
+}
@@ -0,0 +1,300 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <h1>LatinSquareBinaryFormat</h1>
+ * 
+ * <p>This class represents the header of a compact binary Latin square file, which stores the same
+ * data set as the ordered-triple format in a fraction of the space and without any text to decode.
+ * The file begins with a 24-byte header (big-endian): the magic bytes "LSQB", the format version,
+ * the cell width in bytes, 2 reserved flag bytes, the order-n, the number of squares, and 4 reserved bytes.
+ * Each square follows as a fixed-width record of its n^2 symbols in row-major order, with 1 byte per
+ * cell up to order-256 and 2 bytes per cell (up to order-65536) otherwise. Since every record has the
+ * same width, the offset of the i-th square is computed from the header alone, so the file can be
+ * split at record boundaries and read at random without a separate index.
+ * The number of squares is patched into the header once the file is complete (unless the file is
+ * compressed, in which case it remains 0), but the readers rely on the file length (or the end of the
+ * stream) instead, so a file whose writer was interrupted can still be read.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareBinaryFormat
+{
+	public static final int HEADER_SIZE = 24;
+	public static final int VERSION = 1;
+	public static final int MAX_ORDER = 1 << 16;
+	private static final int MAGIC = 0x4C535142;
+	private static final int COUNT_OFFSET = 12;
+	private int order;
+	private int cellWidth;
+	private long count;
+	
+	/**
+	 * Class constructor for the header of a binary file of order-n squares.
+	 * 
+	 * @param order The order of the squares (from 1 to MAX_ORDER).
+	 * @param count The number of squares in the file.
+	 */
+	public LatinSquareBinaryFormat(int order, long count)
+	{
+		this.order = order;
+		this.cellWidth = (order <= 256) ? 1 : 2;
+		this.count = count;
+	}
+	
+	/**
+	 * Returns true if the squares of an order can be stored in the binary format.
+	 * 
+	 * @param order The order of the squares.
+	 * @return boolean The supported order flag.
+	 */
+	public static boolean isSupportedOrder(int order) { return (order >= 1) && (order <= MAX_ORDER); }
+	
+	/**
+	 * Returns the order of the squares in the file.
+	 * 
+	 * @return int The order of the squares.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Returns the number of bytes that store each cell.
+	 * 
+	 * @return int The cell width.
+	 */
+	public int getCellWidth() { return cellWidth; }
+	
+	/**
+	 * Returns the number of squares that the header records.
+	 * 
+	 * @return long The number of squares.
+	 */
+	public long getCount() { return count; }
+	
+	/**
+	 * Returns the number of bytes in the record of each square.
+	 * 
+	 * @return long The record size.
+	 */
+	public long getRecordSize() { return (long)order * order * cellWidth; }
+	
+	/**
+	 * Returns the offset of the record of the i-th square (from 0) in the file.
+	 * 
+	 * @param index The index i of the square.
+	 * @return long The offset of the record.
+	 */
+	public long getRecordOffset(long index) { return HEADER_SIZE + (index * getRecordSize()); }
+	
+	/**
+	 * Returns the number of complete records in a file of a given length.
+	 * 
+	 * @param fileLength The number of bytes in the file.
+	 * @return long The number of records.
+	 */
+	public long getNumRecords(long fileLength) { return Math.max(0, fileLength - HEADER_SIZE) / getRecordSize(); }
+	
+	/**
+	 * Returns the offset of the first record that begins at or after a given offset.
+	 * 
+	 * @param offset The offset from which to search.
+	 * @param end The offset following the last byte of the range to search.
+	 * @return long The offset of the record boundary, or the end of the range if there is none.
+	 */
+	public long alignToRecord(long offset, long end)
+	{
+		if(offset <= HEADER_SIZE) { return Math.min(HEADER_SIZE, end); }
+		
+		long recordSize = getRecordSize();
+		return Math.min(getRecordOffset((offset - HEADER_SIZE + recordSize - 1) / recordSize), end);
+	}
+	
+	/**
+	 * Writes the header to an output stream.
+	 * 
+	 * @param out The output stream.
+	 * @throws IOException If the header cannot be written.
+	 */
+	public void writeHeader(OutputStream out) throws IOException
+	{
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).put((byte)VERSION).put((byte)cellWidth).putShort((short)0).putInt(order).putLong(count).putInt(0);
+		out.write(header.array());
+	}
+	
+	/**
+	 * Reads the header of a file.
+	 * 
+	 * @param file The file.
+	 * @return LatinSquareBinaryFormat The header, or null if the file is not a binary Latin square file.
+	 * @throws IOException If the file cannot be read, or if its header is truncated or corrupted.
+	 */
+	public static LatinSquareBinaryFormat readHeader(File file) throws IOException
+	{
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			while(header.hasRemaining())
+			{
+				if(channel.read(header) < 0) { break; }
+			}
+		}
+		
+		return readHeader(header.array(), header.position());
+	}
+	
+	/**
+	 * Reads the header from the first bytes of a file (or of a stream).
+	 * 
+	 * @param bytes The first bytes.
+	 * @param length The number of first bytes (which may be less than HEADER_SIZE for a short file).
+	 * @return LatinSquareBinaryFormat The header, or null if the bytes do not begin a binary Latin square file.
+	 * @throws IOException If the header is truncated or corrupted.
+	 */
+	public static LatinSquareBinaryFormat readHeader(byte[] bytes, int length) throws IOException
+	{
+		ByteBuffer header = ByteBuffer.wrap(bytes, 0, Math.min(length, HEADER_SIZE));
+		if((length < 4) || (header.getInt(0) != MAGIC)) { return null; }
+		if(length < HEADER_SIZE) { throw new IOException("the binary header is truncated"); }
+		if(header.get(4) != VERSION) { throw new IOException("the binary format version " + header.get(4) + " is not supported"); }
+		
+		LatinSquareBinaryFormat format = new LatinSquareBinaryFormat(header.getInt(8), header.getLong(COUNT_OFFSET));
+		if(!isSupportedOrder(format.order) || (header.get(5) != format.cellWidth) || (format.count < 0))
+		{
+			throw new IOException("the binary header is corrupted");
+		}
+		
+		return format;
+	}
+	
+	/**
+	 * Patches the number of squares into the header of a complete file.
+	 * 
+	 * @param file The file.
+	 * @param count The number of squares in the file.
+	 * @throws IOException If the header cannot be written.
+	 */
+	public static void writeCount(File file, long count) throws IOException
+	{
+		try(RandomAccessFile output = new RandomAccessFile(file, "rw"))
+		{
+			output.seek(COUNT_OFFSET);
+			output.writeLong(count);
+		}
+	}
+	
+	/**
+	 * Encodes the symbols of a square into a record.
+	 * 
+	 * @param square The square (of the header's order).
+	 * @param record The record (of getRecordSize() bytes).
+	 */
+	public void encode(Square square, byte[] record)
+	{
+		int k = 0;
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				int sym = square.getCellSymbol(i, j);
+				if(cellWidth == 2) { record[k++] = (byte)(sym >>> 8); }
+				record[k++] = (byte)sym;
+			}
+		}
+	}
+	
+	/**
+	 * Decodes the symbols of a record into a new n-by-n array.
+	 * 
+	 * @param bytes The bytes that contain the record.
+	 * @param offset The offset of the record in the bytes.
+	 * @return int[][] The rows of symbols, or null if a symbol is not an integer from 0 to n - 1.
+	 */
+	public int[][] decode(byte[] bytes, int offset)
+	{
+		int[][] cells = new int[order][order];
+		int k = offset;
+		
+		for(int i = 0; i < order; i++)
+		{
+			int[] row = cells[i];
+			for(int j = 0; j < order; j++)
+			{
+				int sym = bytes[k++] & 0xFF;
+				if(cellWidth == 2) { sym = (sym << 8) | (bytes[k++] & 0xFF); }
+				if(sym >= order) { return null; }
+				row[j] = sym;
+			}
+		}
+		
+		return cells;
+	}
+	
+	/**
+	 * Reads the i-th square (from 0) of a binary file without reading the squares that precede it.
+	 * 
+	 * @param file The binary file.
+	 * @param index The index i of the square.
+	 * @return Square The square, or null if the file has no i-th square.
+	 * @throws IOException If the file cannot be read, is not a binary Latin square file, or the square is corrupted.
+	 */
+	public static Square readSquare(File file, long index) throws IOException
+	{
+		LatinSquareBinaryFormat format = readHeader(file);
+		if(format == null) { throw new IOException("\"" + file + "\" is not a binary Latin square file"); }
+		if((index < 0) || (index >= format.getNumRecords(file.length()))) { return null; }
+		
+		ByteBuffer record = ByteBuffer.allocate((int)format.getRecordSize());
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long position = format.getRecordOffset(index);
+			while(record.hasRemaining())
+			{
+				int numBytes = channel.read(record, position);
+				if(numBytes < 0) { throw new IOException("the binary record is truncated"); }
+				position += numBytes;
+			}
+		}
+		
+		int[][] cells = format.decode(record.array(), 0);
+		if(cells == null) { throw new IOException("the binary record contains an invalid symbol"); }
+		return new Square(cells);
+	}
+}
@@ -0,0 +1,611 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+/**
+ * <h1>LatinSquareCanonicalForm</h1>
+ * 
+ * <p>This class computes canonical representatives of the isotopy classes and the main classes
+ * of order-n Latin squares. The canonical form of an isotopy class is its lexicographically least
+ * (row-major) Latin square, which is always reduced (its first row and first column are 0, 1, ..., n-1).
+ * A reduced isotope of a Latin square L is determined by the row r0 of L that becomes the first row and
+ * by the column permutation b (the symbols and the remaining rows are then forced), so there are n*n!
+ * reduced isotopes counted with multiplicity. Rather than trying all of them, the search uses the fact
+ * that the second row of an isotope is the conjugate of the permutation that maps row r0 to another
+ * row i1: the least second row lists the cycles of that permutation in ascending order of length, so
+ * only the row pairs with the least cycle structure and the column permutations that lay out their
+ * cycles in that order need to be tried. The number of tries that produce the canonical form is the
+ * number of autotopisms of L, which gives the size of its isotopy class: n!^3 / |Atp(L)|.
+ * The main class canonical form is the least isotopy canonical form of the 6 conjugates of L, and the
+ * size of the main class is 6 * n!^3 / |Par(L)|, where Par(L) is the autoparatopism group.
+ * (Note: the working arrays are reused, so an instance must not be shared between threads.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareCanonicalForm
+{
+	public static final int NUM_CONJUGATES = 6;
+	private static final int[][] CONJUGATES = { {0, 1, 2}, {1, 0, 2}, {0, 2, 1}, {2, 1, 0}, {1, 2, 0}, {2, 0, 1} };
+	private int order;
+	private int[][] source;
+	private int[][] best;
+	private int[][] candidate;
+	private int[][] symbolColumn;
+	private int[] sigma;
+	private int[] posToCol;
+	private int[] gamma;
+	private int[] rowAt;
+	private boolean[] visited;
+	private int[] minCycleType;
+	private int[] cycleType;
+	private int[][] cycles;
+	private int[] cycleLengths;
+	private boolean[] cycleUsed;
+	private int numCycles;
+	private long matchCount;
+	private boolean foundSmaller;
+	private boolean abortIfSmaller;
+	
+	/**
+	 * Class constructor for computing canonical forms of order-n Latin squares.
+	 * 
+	 * @param order The order of the Latin squares.
+	 */
+	public LatinSquareCanonicalForm(int order)
+	{
+		this.order = order;
+		source = new int[order][order];
+		best = new int[order][order];
+		candidate = new int[order][order];
+		symbolColumn = new int[order][order];
+		sigma = new int[order];
+		posToCol = new int[order];
+		gamma = new int[order];
+		rowAt = new int[order];
+		visited = new boolean[order];
+		minCycleType = new int[order];
+		cycleType = new int[order];
+		cycles = new int[order][order];
+		cycleLengths = new int[order];
+		cycleUsed = new boolean[order];
+	}
+	
+	/**
+	 * Returns the canonical representative of the isotopy class of a Latin square.
+	 * 
+	 * @param square The Latin square.
+	 * @return Square The canonical representative.
+	 */
+	public Square getIsotopyCanonicalForm(Square square)
+	{
+		loadSource(square, 0);
+		loadBest(source);
+		abortIfSmaller = false;
+		searchIsotopes();
+		
+		return toSquare(best);
+	}
+	
+	/**
+	 * Returns the canonical representative of the main class of a Latin square.
+	 * 
+	 * @param square The Latin square.
+	 * @return Square The canonical representative.
+	 */
+	public Square getMainClassCanonicalForm(Square square)
+	{
+		loadSource(square, 0);
+		loadBest(source);
+		abortIfSmaller = false;
+		
+		for(int k = 0; k < NUM_CONJUGATES; k++)
+		{
+			loadSource(square, k);
+			searchIsotopes();
+		}
+		
+		return toSquare(best);
+	}
+	
+	/**
+	 * Returns true if a Latin square is the canonical representative of its isotopy class.
+	 * If it is, then getAutomorphismCount() returns the number of its autotopisms.
+	 * 
+	 * @param square The Latin square.
+	 * @return boolean The canonical flag.
+	 */
+	public boolean isIsotopyCanonical(Square square)
+	{
+		loadSource(square, 0);
+		loadBest(source);
+		abortIfSmaller = true;
+		matchCount = 0;
+		
+		return searchIsotopes();
+	}
+	
+	/**
+	 * Returns true if a Latin square is the canonical representative of its main class.
+	 * If it is, then getAutomorphismCount() returns the number of its autoparatopisms.
+	 * 
+	 * @param square The Latin square.
+	 * @return boolean The canonical flag.
+	 */
+	public boolean isMainClassCanonical(Square square)
+	{
+		loadSource(square, 0);
+		loadBest(source);
+		abortIfSmaller = true;
+		matchCount = 0;
+		
+		for(int k = 0; k < NUM_CONJUGATES; k++)
+		{
+			loadSource(square, k);
+			if(!searchIsotopes()) { return false; }
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the number of isotopisms (or paratopisms) that map the most recently tested Latin square
+	 * to its canonical form. For a canonical Latin square, this is the order of its autotopism group
+	 * (or of its autoparatopism group).
+	 * 
+	 * @return long The automorphism count.
+	 */
+	public long getAutomorphismCount() { return matchCount; }
+	
+	/**
+	 * Returns the number of reduced Latin squares in an isotopy class (n * n! / |Atp|) or in a main class
+	 * (6 * n * n! / |Par|). Since the number of Latin squares in a class is n! * (n-1)! times this number,
+	 * statistics that are weighted by it are proportional to those of all Latin squares.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param automorphismCount The order of the autotopism (or autoparatopism) group.
+	 * @param mainClass True for a main class, false for an isotopy class.
+	 * @return long The number of reduced Latin squares in the class.
+	 */
+	public static long getReducedClassSize(int order, long automorphismCount, boolean mainClass)
+	{
+		long size = order * factorial(order).longValue();
+		if(mainClass) { size *= NUM_CONJUGATES; }
+		return size / automorphismCount;
+	}
+	
+	/**
+	 * Returns the number of Latin squares in an isotopy class (n!^3 / |Atp|) or in a main class
+	 * (6 * n!^3 / |Par|).
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param automorphismCount The order of the autotopism (or autoparatopism) group.
+	 * @param mainClass True for a main class, false for an isotopy class.
+	 * @return BigInteger The number of Latin squares in the class.
+	 */
+	public static BigInteger getClassSize(int order, long automorphismCount, boolean mainClass)
+	{
+		BigInteger size = factorial(order).pow(3);
+		if(mainClass) { size = size.multiply(BigInteger.valueOf(NUM_CONJUGATES)); }
+		return size.divide(BigInteger.valueOf(automorphismCount));
+	}
+	
+	/**
+	 * Returns n!.
+	 * 
+	 * @param n A non-negative integer.
+	 * @return BigInteger The factorial of n.
+	 */
+	private static BigInteger factorial(int n)
+	{
+		BigInteger result = BigInteger.ONE;
+		for(int i = 2; i <= n; i++) { result = result.multiply(BigInteger.valueOf(i)); }
+		return result;
+	}
+	
+	/**
+	 * Returns the second rows of the canonical forms of all isotopy classes, which lay out the
+	 * cycles of a fixed-point-free permutation in ascending order of length (one second row per
+	 * partition of n into parts of at least 2). Every canonical form begins with the first row
+	 * 0, 1, ..., n-1 followed by one of these rows; this is used to seed the generation.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @return ArrayList The list of second rows in ascending lexicographic order.
+	 */
+	public static ArrayList<int[]> getCanonicalSecondRows(int order)
+	{
+		ArrayList<int[]> secondRows = new ArrayList<int[]>();
+		addCanonicalSecondRows(order, new int[order], 0, 0, 2, secondRows);
+		return secondRows;
+	}
+	
+	/**
+	 * Recursively appends the cycles of the partitions of the remaining positions into parts
+	 * of at least the given length.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param secondRow The partial second row.
+	 * @param position The first position that has not been laid out.
+	 * @param depth The number of cycles that have been laid out.
+	 * @param minLength The least length of the next cycle.
+	 * @param secondRows The list of second rows.
+	 */
+	private static void addCanonicalSecondRows(int order, int[] secondRow, int position, int depth, int minLength,
+			ArrayList<int[]> secondRows)
+	{
+		if(position == order)
+		{
+			secondRows.add(secondRow.clone());
+			return;
+		}
+		
+		// lay out a cycle of each allowed length (a shorter first cycle gives a lesser row)
+		for(int length = minLength; (position + length) <= order; length++)
+		{
+			if(((order - position - length) != 0) && ((order - position - length) < length)) { continue; }
+			
+			for(int j = 0; j < length; j++) { secondRow[position + j] = position + ((j + 1) % length); }
+			addCanonicalSecondRows(order, secondRow, position + length, depth + 1, length, secondRows);
+		}
+	}
+	
+	/**
+	 * Returns a conjugate of a Latin square, which permutes the roles of the rows, the columns,
+	 * and the symbols. Conjugate 0 is the Latin square itself and conjugate 1 is its transpose.
+	 * 
+	 * @param square The Latin square.
+	 * @param conjugate The conjugate index (from 0 to 5).
+	 * @return Square The conjugate Latin square.
+	 */
+	public static Square getConjugate(Square square, int conjugate)
+	{
+		int n = square.getOrder();
+		Square result = new Square(n);
+		int[] triple = new int[3];
+		
+		for(int r = 0; r < n; r++)
+		{
+			for(int c = 0; c < n; c++)
+			{
+				triple[0] = r;
+				triple[1] = c;
+				triple[2] = square.getCellSymbol(r, c);
+				result.setCellSymbol(triple[CONJUGATES[conjugate][0]], triple[CONJUGATES[conjugate][1]],
+						triple[CONJUGATES[conjugate][2]]);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Loads a conjugate of a Latin square into the source array and indexes the column of each
+	 * symbol in each row.
+	 * 
+	 * @param square The Latin square.
+	 * @param conjugate The conjugate index.
+	 */
+	private void loadSource(Square square, int conjugate)
+	{
+		int[] triple = new int[3];
+		int[] roles = CONJUGATES[conjugate];
+		
+		for(int r = 0; r < order; r++)
+		{
+			for(int c = 0; c < order; c++)
+			{
+				triple[0] = r;
+				triple[1] = c;
+				triple[2] = square.getCellSymbol(r, c);
+				source[triple[roles[0]]][triple[roles[1]]] = triple[roles[2]];
+			}
+		}
+		
+		for(int r = 0; r < order; r++)
+		{
+			for(int c = 0; c < order; c++) { symbolColumn[r][source[r][c]] = c; }
+		}
+	}
+	
+	/**
+	 * Copies an array into the best array.
+	 * 
+	 * @param cells The array to copy.
+	 */
+	private void loadBest(int[][] cells)
+	{
+		for(int r = 0; r < order; r++) { System.arraycopy(cells[r], 0, best[r], 0, order); }
+	}
+	
+	/**
+	 * Returns a new square that contains the symbols of an array.
+	 * 
+	 * @param cells The array.
+	 * @return Square The square.
+	 */
+	private Square toSquare(int[][] cells)
+	{
+		Square square = new Square(order);
+		for(int r = 0; r < order; r++)
+		{
+			for(int c = 0; c < order; c++) { square.setCellSymbol(r, c, cells[r][c]); }
+		}
+		return square;
+	}
+	
+	/**
+	 * Tries the reduced isotopes of the source array that may be least, updating the best array
+	 * and counting the isotopes that are equal to it.
+	 * 
+	 * @return boolean False if an isotope is less than the best array and abortIfSmaller is set.
+	 */
+	private boolean searchIsotopes()
+	{
+		foundSmaller = false;
+		
+		// an order-1 Latin square is its own canonical form
+		if(order == 1)
+		{
+			++matchCount;
+			return true;
+		}
+		
+		// find the least cycle structure over all ordered pairs of rows
+		boolean firstPair = true;
+		for(int a = 0; a < order; a++)
+		{
+			for(int b = 0; b < order; b++)
+			{
+				if(a == b) { continue; }
+				
+				computeCycleType(a, b);
+				if(firstPair || (compareCycleTypes(cycleType, minCycleType) < 0))
+				{
+					System.arraycopy(cycleType, 0, minCycleType, 0, order);
+					firstPair = false;
+				}
+			}
+		}
+		
+		// try the column permutations that lay out the cycles of each least pair in order
+		for(int a = 0; a < order; a++)
+		{
+			for(int b = 0; b < order; b++)
+			{
+				if(a == b) { continue; }
+				
+				computeCycleType(a, b);
+				if(compareCycleTypes(cycleType, minCycleType) != 0) { continue; }
+				
+				computeCycles();
+				for(int i = 0; i < numCycles; i++) { cycleUsed[i] = false; }
+				layOutCycles(a, 0);
+				
+				if(abortIfSmaller && foundSmaller) { return false; }
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Computes the permutation sigma that maps each column c to the column of row a that contains
+	 * the symbol of row b in column c, and stores its sorted cycle lengths in cycleType.
+	 * 
+	 * @param a The row index that becomes the first row.
+	 * @param b The row index that becomes the second row.
+	 */
+	private void computeCycleType(int a, int b)
+	{
+		for(int c = 0; c < order; c++)
+		{
+			sigma[c] = symbolColumn[a][source[b][c]];
+			visited[c] = false;
+			cycleType[c] = 0;
+		}
+		
+		int count = 0;
+		for(int c = 0; c < order; c++)
+		{
+			if(visited[c]) { continue; }
+			
+			int length = 0;
+			for(int j = c; !visited[j]; j = sigma[j])
+			{
+				visited[j] = true;
+				++length;
+			}
+			cycleType[count++] = length;
+		}
+		
+		// sort the cycle lengths in ascending order (the unused entries are zero and stay at the end)
+		for(int i = 1; i < count; i++)
+		{
+			int length = cycleType[i];
+			int j = i - 1;
+			while((j >= 0) && (cycleType[j] > length))
+			{
+				cycleType[j + 1] = cycleType[j];
+				--j;
+			}
+			cycleType[j + 1] = length;
+		}
+	}
+	
+	/**
+	 * Compares two sorted cycle types; a lesser cycle type produces a lesser second row.
+	 * 
+	 * @param x The first cycle type.
+	 * @param y The second cycle type.
+	 * @return int A negative integer, zero, or a positive integer.
+	 */
+	private int compareCycleTypes(int[] x, int[] y)
+	{
+		for(int i = 0; i < order; i++)
+		{
+			if(x[i] != y[i]) { return x[i] - y[i]; }
+		}
+		return 0;
+	}
+	
+	/**
+	 * Stores the cycles of sigma (each listed from an arbitrary column) and their lengths.
+	 */
+	private void computeCycles()
+	{
+		for(int c = 0; c < order; c++) { visited[c] = false; }
+		
+		numCycles = 0;
+		for(int c = 0; c < order; c++)
+		{
+			if(visited[c]) { continue; }
+			
+			int length = 0;
+			for(int j = c; !visited[j]; j = sigma[j])
+			{
+				visited[j] = true;
+				cycles[numCycles][length++] = j;
+			}
+			cycleLengths[numCycles++] = length;
+		}
+	}
+	
+	/**
+	 * Recursively lays out the unused cycles in ascending order of length, starting each cycle at
+	 * each of its columns, and tries the resulting column permutations.
+	 * 
+	 * @param a The row index that becomes the first row.
+	 * @param position The first position that has not been laid out.
+	 */
+	private void layOutCycles(int a, int position)
+	{
+		if(abortIfSmaller && foundSmaller) { return; }
+		
+		if(position == order)
+		{
+			tryIsotope(a);
+			return;
+		}
+		
+		for(int k = 0; k < numCycles; k++)
+		{
+			// the next cycle must have the least length of the unused cycles
+			if(cycleUsed[k] || (cycleLengths[k] != minCycleType[countLaidOut()])) { continue; }
+			
+			cycleUsed[k] = true;
+			int length = cycleLengths[k];
+			for(int start = 0; start < length; start++)
+			{
+				for(int j = 0; j < length; j++) { posToCol[position + j] = cycles[k][(start + j) % length]; }
+				layOutCycles(a, position + length);
+			}
+			cycleUsed[k] = false;
+		}
+	}
+	
+	/**
+	 * Returns the number of cycles that have been laid out.
+	 * 
+	 * @return int The number of used cycles.
+	 */
+	private int countLaidOut()
+	{
+		int count = 0;
+		for(int k = 0; k < numCycles; k++) { if(cycleUsed[k]) { ++count; } }
+		return count;
+	}
+	
+	/**
+	 * Builds the reduced isotope whose first row is row a and whose column order is posToCol,
+	 * and compares it with the best array row by row.
+	 * 
+	 * @param a The row index that becomes the first row.
+	 */
+	private void tryIsotope(int a)
+	{
+		int c0 = posToCol[0];
+		
+		// relabel the symbols so that the first row is 0, 1, ..., n-1
+		for(int j = 0; j < order; j++) { gamma[source[a][posToCol[j]]] = j; }
+		
+		// reorder the rows so that the first column is 0, 1, ..., n-1
+		for(int i = 0; i < order; i++) { rowAt[gamma[source[i][c0]]] = i; }
+		
+		boolean smaller = false;
+		for(int k = 0; k < order; k++)
+		{
+			int[] sourceRow = source[rowAt[k]];
+			int[] candidateRow = candidate[k];
+			for(int j = 0; j < order; j++) { candidateRow[j] = gamma[sourceRow[posToCol[j]]]; }
+			
+			// compare the row with the best array unless the isotope is already known to be smaller
+			if(!smaller)
+			{
+				int comparison = compareRows(candidateRow, best[k]);
+				if(comparison > 0) { return; }
+				if(comparison < 0)
+				{
+					smaller = true;
+					if(abortIfSmaller)
+					{
+						foundSmaller = true;
+						return;
+					}
+				}
+			}
+		}
+		
+		if(smaller)
+		{
+			loadBest(candidate);
+			matchCount = 1;
+		}
+		else { ++matchCount; }
+	}
+	
+	/**
+	 * Compares two rows lexicographically.
+	 * 
+	 * @param x The first row.
+	 * @param y The second row.
+	 * @return int A negative integer, zero, or a positive integer.
+	 */
+	private int compareRows(int[] x, int[] y)
+	{
+		for(int j = 0; j < order; j++)
+		{
+			if(x[j] != y[j]) { return x[j] - y[j]; }
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,263 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * <h1>LatinSquareCheckpoint</h1>
+ * 
+ * <p>This class represents a checkpoint of a selection-based data set generation that writes its
+ * Latin squares to an output file. It stores the symbol index at each depth of the search for the most
+ * recently generated Latin square (see LatinSquareSelectionIterator), the number of Latin squares that
+ * have been generated, the constraints of the search, the length of the output file when the checkpoint was taken, and the transversal
+ * count histogram of the job. This is enough to truncate the output file and restart the search at the
+ * exact next Latin square. The checkpoint is stored as a small "key=value" text file, which is replaced
+ * atomically so that an interrupted write never destroys the previous checkpoint.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareCheckpoint
+{
+	private int order;
+	private boolean preLoadMode;
+	private int shardIndex;
+	private int numShards;
+	private String constraints;
+	private long numSquares;
+	private long outputLength;
+	private int [] symbols;
+	private String transversalCounts;
+	
+	/**
+	 * Class constructor.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param preLoadMode The preloading flag of the search.
+	 * @param shardIndex The shard index of the search (see LatinSquareSelectionShard).
+	 * @param numShards The number of shards.
+	 * @param constraints The constraints of the search (see LatinSquareConstraints.toString()).
+	 * @param numSquares The number of Latin squares that have been generated.
+	 * @param outputLength The number of bytes that have been written to the output file.
+	 * @param symbols The symbol stack of the most recently generated Latin square.
+	 * @param transversalCounts The transversal count histogram (see LatinSquareJob.exportTransversalCounts()).
+	 */
+	public LatinSquareCheckpoint(int order, boolean preLoadMode, int shardIndex, int numShards, String constraints,
+			long numSquares, long outputLength, int [] symbols, String transversalCounts)
+	{
+		this.order = order;
+		this.preLoadMode = preLoadMode;
+		this.shardIndex = shardIndex;
+		this.numShards = numShards;
+		this.constraints = constraints;
+		this.numSquares = numSquares;
+		this.outputLength = outputLength;
+		this.symbols = symbols;
+		this.transversalCounts = transversalCounts;
+	}
+	
+	/**
+	 * Returns the order of the Latin squares.
+	 * 
+	 * @return int The Latin square order.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Returns the preloading flag of the search.
+	 * 
+	 * @return boolean The preloading flag.
+	 */
+	public boolean isPreloading() { return preLoadMode; }
+	
+	/**
+	 * Returns the shard index of the search.
+	 * 
+	 * @return int The shard index.
+	 */
+	public int getShardIndex() { return shardIndex; }
+	
+	/**
+	 * Returns the number of shards.
+	 * 
+	 * @return int The number of shards.
+	 */
+	public int getNumShards() { return numShards; }
+	
+	/**
+	 * Returns the constraints of the search.
+	 * 
+	 * @return String The comma-separated list of constraint names.
+	 */
+	public String getConstraints() { return constraints; }
+	
+	/**
+	 * Returns the number of Latin squares that had been generated.
+	 * 
+	 * @return long The number of Latin squares.
+	 */
+	public long getNumSquares() { return numSquares; }
+	
+	/**
+	 * Returns the number of bytes that had been written to the output file.
+	 * 
+	 * @return long The output file length.
+	 */
+	public long getOutputLength() { return outputLength; }
+	
+	/**
+	 * Returns the symbol stack of the most recently generated Latin square.
+	 * 
+	 * @return int [] The symbol stack.
+	 */
+	public int [] getSymbols() { return symbols; }
+	
+	/**
+	 * Returns the transversal count histogram of the job.
+	 * 
+	 * @return String The transversal count histogram.
+	 */
+	public String getTransversalCounts() { return transversalCounts; }
+	
+	/**
+	 * Writes the checkpoint to a file by writing a temporary file and renaming it.
+	 * 
+	 * @param fileName The checkpoint file.
+	 */
+	public void write(String fileName)
+	{
+		File file = new File(fileName);
+		File tempFile = new File(fileName + ".tmp");
+		
+		try
+		{
+			try(PrintWriter writer = new PrintWriter(tempFile))
+			{
+				writer.println("order=" + order);
+				writer.println("preload=" + preLoadMode);
+				writer.println("shard=" + shardIndex + "/" + numShards);
+				writer.println("constraints=" + constraints);
+				writer.println("squares=" + numSquares);
+				writer.println("bytes=" + outputLength);
+				writer.println("symbols=" + joinSymbols(symbols));
+				writer.println("transversals=" + transversalCounts);
+			}
+			
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		
+		// handle checkpoint write exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While writing the checkpoint file \"" + fileName + "\": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Reads a checkpoint from a file.
+	 * 
+	 * @param fileName The checkpoint file.
+	 * @return LatinSquareCheckpoint The checkpoint.
+	 */
+	public static LatinSquareCheckpoint read(String fileName)
+	{
+		File file = new File(fileName);
+		if(!file.exists() || !file.isFile())
+		{
+			System.err.println("[File Not Found] Could not find the checkpoint file \"" + fileName + "\"!");
+			System.exit(1);
+		}
+		
+		Properties properties = new Properties();
+		try(InputStream input = new FileInputStream(file))
+		{
+			properties.load(input);
+			
+			int order = Integer.parseInt(properties.getProperty("order").trim());
+			boolean preLoadMode = Boolean.parseBoolean(properties.getProperty("preload").trim());
+			String [] shard = properties.getProperty("shard", "0/1").trim().split("/");
+			int shardIndex = Integer.parseInt(shard[0]);
+			int numShards = Integer.parseInt(shard[1]);
+			String constraints = properties.getProperty("constraints", "").trim();
+			long numSquares = Long.parseLong(properties.getProperty("squares").trim());
+			long outputLength = Long.parseLong(properties.getProperty("bytes").trim());
+			String [] symbolTokens = properties.getProperty("symbols").trim().split(" ");
+			String transversalCounts = properties.getProperty("transversals", "").trim();
+			
+			int [] symbols = new int[symbolTokens.length];
+			for(int i = 0; i < symbols.length; i++) { symbols[i] = Integer.parseInt(symbolTokens[i]); }
+			
+			return new LatinSquareCheckpoint(order, preLoadMode, shardIndex, numShards, constraints, numSquares, outputLength,
+					symbols, transversalCounts);
+		}
+		
+		// handle checkpoint read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While reading the checkpoint file \"" + fileName + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		
+		// handle missing or invalid checkpoint values
+		catch(NullPointerException | NumberFormatException | ArrayIndexOutOfBoundsException e)
+		{
+			System.err.println("[Invalid Checkpoint] The checkpoint file \"" + fileName + "\" is incomplete or corrupted!");
+			System.exit(1);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the symbols of a symbol stack separated by spaces.
+	 * 
+	 * @param symbols The symbol stack.
+	 * @return String The symbols.
+	 */
+	private static String joinSymbols(int [] symbols)
+	{
+		StringBuilder buffer = new StringBuilder("");
+		for(int i = 0; i < symbols.length; i++)
+		{
+			if(i > 0) { buffer.append(" "); }
+			buffer.append(symbols[i]);
+		}
+		return buffer.toString();
+	}
+}
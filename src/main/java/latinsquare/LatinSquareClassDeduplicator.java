@@ -0,0 +1,342 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <h1>LatinSquareClassDeduplicator</h1>
+ * 
+ * <p>This class is a pipeline stage that keeps one representative (the first Latin square seen) of each
+ * isotopy class (or main class) in a stream of order-n Latin squares, together with its multiplicity
+ * (the number of Latin squares in the stream that belong to its class). Since the transversal count is
+ * a main class invariant, counting the transversals of the representatives and weighting each count by
+ * its multiplicity gives the same statistics as counting the transversals of every Latin square.
+ * Computing a canonical form (see LatinSquareCanonicalForm) is by far the most expensive step, so it is
+ * avoided whenever possible: exact duplicates are found by their 128-bit Zobrist hashes, and the Latin
+ * squares are first bucketed by a cheap class invariant (the multisets of the cycle structures of the
+ * permutations between each pair of rows, columns, and symbols, which include the intercalate count as
+ * the number of 2-cycles). A canonical form is only computed when a Latin square lands in a bucket that
+ * already holds a class, and the canonical form of that class is computed at most once.
+ * (Note: the working arrays are reused, so an instance must not be shared between threads.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareClassDeduplicator
+{
+	private int order;
+	private boolean mainClass;
+	private LatinSquareCanonicalForm canonicalForm;
+	private ArrayList<Square> representatives;
+	private ArrayList<Square> canonicalForms;
+	private ArrayList<Long> multiplicities;
+	private HashMap<Key, ArrayList<Integer>> buckets;
+	private HashMap<Key, Integer> hashes;
+	private long numSquares;
+	private int[] sigma;
+	private int[] cycleCounts;
+	private boolean[] visited;
+	private int[][] symbolColumn;
+	
+	/**
+	 * Class constructor for deduplicating order-n Latin squares by isotopy class (or main class).
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param mainClass True to deduplicate by main class, false to deduplicate by isotopy class.
+	 */
+	public LatinSquareClassDeduplicator(int order, boolean mainClass)
+	{
+		this.order = order;
+		this.mainClass = mainClass;
+		canonicalForm = new LatinSquareCanonicalForm(order);
+		representatives = new ArrayList<Square>();
+		canonicalForms = new ArrayList<Square>();
+		multiplicities = new ArrayList<Long>();
+		buckets = new HashMap<Key, ArrayList<Integer>>();
+		hashes = new HashMap<Key, Integer>();
+		numSquares = 0;
+		sigma = new int[order];
+		cycleCounts = new int[order + 1];
+		visited = new boolean[order];
+		symbolColumn = new int[order][order];
+	}
+	
+	/**
+	 * Adds a Latin square to the stage. If it belongs to a new class, then a copy of it becomes the
+	 * representative of the class; otherwise, the multiplicity of its class is incremented.
+	 * 
+	 * @param square The Latin square.
+	 * @return boolean True if the Latin square belongs to a new class.
+	 */
+	public boolean add(Square square)
+	{
+		numSquares++;
+		
+		// exact duplicates are found without computing anything
+		Key hash = new Key(square.getZobristHash128());
+		Integer duplicate = hashes.get(hash);
+		if(duplicate != null)
+		{
+			incrementMultiplicity(duplicate);
+			return false;
+		}
+		
+		Key invariant = computeInvariant(square);
+		ArrayList<Integer> bucket = buckets.get(invariant);
+		Square canonical = null;
+		
+		// only a collision of invariants needs canonical forms
+		if(bucket != null)
+		{
+			canonical = getCanonicalForm(square);
+			for(int classIndex : bucket)
+			{
+				if(canonicalForms.get(classIndex) == null) { canonicalForms.set(classIndex, getCanonicalForm(representatives.get(classIndex))); }
+				if(canonical.equals(canonicalForms.get(classIndex)))
+				{
+					hashes.put(hash, classIndex);
+					incrementMultiplicity(classIndex);
+					return false;
+				}
+			}
+		}
+		else
+		{
+			bucket = new ArrayList<Integer>();
+			buckets.put(invariant, bucket);
+		}
+		
+		int classIndex = representatives.size();
+		representatives.add(new Square(square));
+		canonicalForms.add(canonical);
+		multiplicities.add(1L);
+		bucket.add(classIndex);
+		hashes.put(hash, classIndex);
+		return true;
+	}
+	
+	/**
+	 * Returns true if the Latin squares are deduplicated by main class (rather than by isotopy class).
+	 * 
+	 * @return boolean The main class flag.
+	 */
+	public boolean isDeduplicatingMainClasses() { return mainClass; }
+	
+	/**
+	 * Returns the number of Latin squares that have been added.
+	 * 
+	 * @return long The number of Latin squares.
+	 */
+	public long getNumSquares() { return numSquares; }
+	
+	/**
+	 * Returns the number of distinct classes among the Latin squares that have been added.
+	 * 
+	 * @return int The number of classes.
+	 */
+	public int getNumClasses() { return representatives.size(); }
+	
+	/**
+	 * Returns the representatives of the classes in the order in which the classes were first seen.
+	 * 
+	 * @return ArrayList The list of representatives.
+	 */
+	public ArrayList<Square> getRepresentatives() { return representatives; }
+	
+	/**
+	 * Returns the multiplicity of a class, which is the number of added Latin squares in the class.
+	 * 
+	 * @param classIndex The index of the class (matching the list of representatives).
+	 * @return long The multiplicity.
+	 */
+	public long getMultiplicity(int classIndex) { return multiplicities.get(classIndex); }
+	
+	/**
+	 * Increments the multiplicity of a class.
+	 * 
+	 * @param classIndex The index of the class.
+	 */
+	private void incrementMultiplicity(int classIndex)
+	{
+		multiplicities.set(classIndex, multiplicities.get(classIndex) + 1);
+	}
+	
+	/**
+	 * Returns the canonical form of the class of a Latin square.
+	 * 
+	 * @param square The Latin square.
+	 * @return Square The canonical form.
+	 */
+	private Square getCanonicalForm(Square square)
+	{
+		if(mainClass) { return canonicalForm.getMainClassCanonicalForm(square); }
+		else { return canonicalForm.getIsotopyCanonicalForm(square); }
+	}
+	
+	/**
+	 * Computes the class invariant of a Latin square in O(n^3) time: the sorted cycle structures of the
+	 * permutations that map each row to another row, each column to another column, and (through the
+	 * positions of the symbols in each row) each symbol to another symbol. An isotopism only relabels
+	 * and conjugates these permutations, and a conjugate only swaps the three roles (which are sorted
+	 * for main classes), so equivalent Latin squares have equal invariants.
+	 * 
+	 * @param square The Latin square.
+	 * @return Key The class invariant.
+	 */
+	private Key computeInvariant(Square square)
+	{
+		int numPairs = (order * (order - 1)) / 2;
+		long[][] roles = new long[3][numPairs];
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++) { symbolColumn[i][square.getCellSymbol(i, j)] = j; }
+		}
+		
+		int pair = 0;
+		for(int a = 0; a < order; a++)
+		{
+			for(int b = a + 1; b < order; b++)
+			{
+				// rows a and b, columns a and b, and symbols a and b
+				for(int k = 0; k < order; k++) { sigma[square.getCellSymbol(a, k)] = square.getCellSymbol(b, k); }
+				roles[0][pair] = getCycleStructureCode();
+				for(int k = 0; k < order; k++) { sigma[square.getCellSymbol(k, a)] = square.getCellSymbol(k, b); }
+				roles[1][pair] = getCycleStructureCode();
+				for(int k = 0; k < order; k++) { sigma[symbolColumn[k][a]] = symbolColumn[k][b]; }
+				roles[2][pair] = getCycleStructureCode();
+				pair++;
+			}
+		}
+		
+		for(long[] role : roles) { Arrays.sort(role); }
+		if(mainClass)
+		{
+			// the conjugates permute the roles, so the roles are sorted too
+			Arrays.sort(roles, (x, y) -> compareLexicographically(x, y));
+		}
+		
+		long[] codes = new long[3 * numPairs];
+		for(int k = 0; k < 3; k++) { System.arraycopy(roles[k], 0, codes, k * numPairs, numPairs); }
+		return new Key(codes);
+	}
+	
+	/**
+	 * Returns a code of the cycle structure of the permutation in the sigma array (the number of
+	 * cycles of each length). Codes of different cycle structures may collide, which only merges buckets.
+	 * 
+	 * @return long The cycle structure code.
+	 */
+	private long getCycleStructureCode()
+	{
+		Arrays.fill(visited, false);
+		Arrays.fill(cycleCounts, 0);
+		
+		for(int start = 0; start < order; start++)
+		{
+			if(visited[start]) { continue; }
+			int length = 0;
+			for(int k = start; !visited[k]; k = sigma[k])
+			{
+				visited[k] = true;
+				length++;
+			}
+			cycleCounts[length]++;
+		}
+		
+		long code = 0;
+		for(int length = 1; length <= order; length++) { code = (code * 0x100000001B3L) + cycleCounts[length]; }
+		return code;
+	}
+	
+	/**
+	 * Compares two arrays of codes lexicographically.
+	 * 
+	 * @param x The first array.
+	 * @param y The second array.
+	 * @return int A negative integer, zero, or a positive integer as x is less than, equal to, or greater than y.
+	 */
+	private static int compareLexicographically(long[] x, long[] y)
+	{
+		for(int k = 0; k < x.length; k++)
+		{
+			if(x[k] != y[k]) { return Long.compare(x[k], y[k]); }
+		}
+		return 0;
+	}
+	
+	/**
+	 * <h1>Key</h1>
+	 * 
+	 * This class wraps an array of codes (a class invariant or a 128-bit Zobrist hash) as a hash map key.
+	 * 
+	 * @author Will Unger
+	 * @author Nathan O. Schmidt
+	 */
+	private static class Key
+	{
+		private final long[] codes;
+		private final int hashCode;
+		
+		/**
+		 * Class constructor.
+		 * 
+		 * @param codes The codes.
+		 */
+		Key(long[] codes)
+		{
+			this.codes = codes;
+			hashCode = Arrays.hashCode(codes);
+		}
+		
+		/**
+		 * Returns the hash code of the codes.
+		 * 
+		 * @return int The hash code.
+		 */
+		@Override
+		public int hashCode() { return hashCode; }
+		
+		/**
+		 * Returns true if the object is a key with the same codes.
+		 * 
+		 * @param object The object to test for equality.
+		 * @return boolean Equality flag.
+		 */
+		@Override
+		public boolean equals(Object object)
+		{
+			return (object instanceof Key) && Arrays.equals(codes, ((Key)object).codes);
+		}
+	}
+}
@@ -0,0 +1,417 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <h1>LatinSquareCompletionSolver</h1>
+ * 
+ * <p>This class represents an exact-cover solver that finds the completions of an order-n
+ * partial square into Latin squares. Completing a partial square is an exact cover problem
+ * over 3n^2 constraints (each cell, each symbol in each row, and each symbol in each column
+ * is covered exactly once) with one candidate for each of the n^3 ordered triples
+ * (row, column, symbol). The solver uses Knuth's dancing links (Algorithm X with the
+ * minimum-remaining-values column heuristic), where the links are stored in flat int arrays
+ * and the search stack is explicit, so the search is allocation-free after construction and
+ * can be suspended after each completion like the other pull-based searches in this package.
+ * The completions are found in no particular order.
+ * (Note: the solver allocates 3n^2 + 3n^3 nodes.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareCompletionSolver implements Iterator<Square>
+{
+	private int order;
+	private int orderSquared;
+	private int firstNode;
+	private int[] left;
+	private int[] right;
+	private int[] up;
+	private int[] down;
+	private int[] column;
+	private int[] size;
+	private int[] chosen;
+	private int level;
+	private PartialSquare partialSquare;
+	private Square square;
+	private boolean consistent;
+	private boolean squareCurrent;
+	private boolean started;
+	private boolean pending;
+	private boolean exhausted;
+	
+	/**
+	 * Class constructor for a solver that completes a given partial square.
+	 * 
+	 * @param partialSquare The partial square to complete.
+	 */
+	public LatinSquareCompletionSolver(PartialSquare partialSquare)
+	{
+		this.partialSquare = partialSquare;
+		order = partialSquare.getOrder();
+		orderSquared = order * order;
+		
+		// the root is node 0, followed by the 3n^2 column headers and the 3 nodes of each triple
+		int numColumns = 3 * orderSquared;
+		firstNode = numColumns + 1;
+		int numNodes = firstNode + (3 * orderSquared * order);
+		
+		left = new int[numNodes];
+		right = new int[numNodes];
+		up = new int[numNodes];
+		down = new int[numNodes];
+		column = new int[numNodes];
+		size = new int[numColumns + 1];
+		chosen = new int[orderSquared];
+		square = new Square(order);
+		
+		buildLinks(numColumns);
+		consistent = coverGivens();
+		
+		level = 0;
+		squareCurrent = started = pending = false;
+		exhausted = !consistent;
+	}
+	
+	/**
+	 * Links the column headers into a circular list with the root and appends the three
+	 * nodes of every ordered triple (row, column, symbol) to their columns.
+	 * 
+	 * @param numColumns The number of columns.
+	 */
+	private void buildLinks(int numColumns)
+	{
+		for(int c = 0; c <= numColumns; c++)
+		{
+			left[c] = (c == 0) ? numColumns : (c - 1);
+			right[c] = (c == numColumns) ? 0 : (c + 1);
+			up[c] = down[c] = column[c] = c;
+		}
+		
+		for(int r = 0; r < order; r++)
+		{
+			for(int c = 0; c < order; c++)
+			{
+				for(int s = 0; s < order; s++)
+				{
+					int node = getTripleNode(r, c, s);
+					
+					// constraints: cell (r,c), symbol s in row r, symbol s in column c
+					appendNode(node, 1 + (r * order) + c);
+					appendNode(node + 1, 1 + orderSquared + (r * order) + s);
+					appendNode(node + 2, 1 + (2 * orderSquared) + (c * order) + s);
+					
+					left[node] = node + 2;
+					right[node] = node + 1;
+					left[node + 1] = node;
+					right[node + 1] = node + 2;
+					left[node + 2] = node + 1;
+					right[node + 2] = node;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Appends a node to the bottom of a column.
+	 * 
+	 * @param node The node.
+	 * @param c The column header.
+	 */
+	private void appendNode(int node, int c)
+	{
+		column[node] = c;
+		up[node] = up[c];
+		down[node] = c;
+		down[up[c]] = node;
+		up[c] = node;
+		++size[c];
+	}
+	
+	/**
+	 * Returns the first node of an ordered triple.
+	 * 
+	 * @param r The row index.
+	 * @param c The column index.
+	 * @param s The symbol.
+	 * @return int The node.
+	 */
+	private int getTripleNode(int r, int c, int s)
+	{
+		return firstNode + (3 * ((((r * order) + c) * order) + s));
+	}
+	
+	/**
+	 * Permanently selects the triple of every filled cell of the partial square.
+	 * 
+	 * @return boolean False if two filled cells conflict, in which case there is no completion.
+	 */
+	private boolean coverGivens()
+	{
+		boolean[] covered = new boolean[size.length];
+		
+		for(int r = 0; r < order; r++)
+		{
+			for(int c = 0; c < order; c++)
+			{
+				if(partialSquare.isCellEmpty(r, c)) { continue; }
+				
+				int node = getTripleNode(r, c, partialSquare.getCellSymbol(r, c));
+				for(int k = 0; k < 3; k++)
+				{
+					if(covered[column[node + k]]) { return false; }
+					covered[column[node + k]] = true;
+					cover(column[node + k]);
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Removes a column from the header list and removes the rows of its nodes from the other columns.
+	 * 
+	 * @param c The column header.
+	 */
+	private void cover(int c)
+	{
+		right[left[c]] = right[c];
+		left[right[c]] = left[c];
+		
+		for(int i = down[c]; i != c; i = down[i])
+		{
+			for(int j = right[i]; j != i; j = right[j])
+			{
+				down[up[j]] = down[j];
+				up[down[j]] = up[j];
+				--size[column[j]];
+			}
+		}
+	}
+	
+	/**
+	 * Restores a column that was removed by cover() (in reverse order).
+	 * 
+	 * @param c The column header.
+	 */
+	private void uncover(int c)
+	{
+		for(int i = up[c]; i != c; i = up[i])
+		{
+			for(int j = left[i]; j != i; j = left[j])
+			{
+				++size[column[j]];
+				down[up[j]] = j;
+				up[down[j]] = j;
+			}
+		}
+		
+		right[left[c]] = c;
+		left[right[c]] = c;
+	}
+	
+	/**
+	 * Selects a row: covers the columns of its other nodes and pushes it onto the search stack.
+	 * 
+	 * @param node The node of the row within the column that has already been covered.
+	 */
+	private void selectRow(int node)
+	{
+		chosen[level++] = node;
+		for(int j = right[node]; j != node; j = right[j]) { cover(column[j]); }
+	}
+	
+	/**
+	 * Undoes the most recent choice and selects the next row of the same column. Choices whose
+	 * columns have no more rows are undone as well.
+	 * 
+	 * @return boolean False if no choices remain, meaning that the search is complete.
+	 */
+	private boolean backtrack()
+	{
+		while(level > 0)
+		{
+			int node = chosen[--level];
+			for(int j = left[node]; j != node; j = left[j]) { uncover(column[j]); }
+			
+			int c = column[node];
+			node = down[node];
+			if(node != c)
+			{
+				selectRow(node);
+				return true;
+			}
+			uncover(c);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns true if the filled cells of the partial square do not conflict with each other.
+	 * (A consistent partial square may still have no completions.)
+	 * 
+	 * @return boolean The consistency flag.
+	 */
+	public boolean isConsistent() { return consistent; }
+	
+	/**
+	 * Returns the partial square that is being completed.
+	 * 
+	 * @return PartialSquare The partial square.
+	 */
+	public PartialSquare getPartialSquare() { return partialSquare; }
+	
+	/**
+	 * Advances the search to the next completion, which is then available through
+	 * getCurrentSquare() without being copied.
+	 * 
+	 * @return boolean True if another completion was found, false if the search is complete.
+	 */
+	public boolean advance()
+	{
+		if(exhausted) { return false; }
+		
+		squareCurrent = false;
+		
+		// resume after the previous completion by undoing its last choice
+		if(started && !backtrack())
+		{
+			exhausted = true;
+			return false;
+		}
+		started = true;
+		
+		while(true)
+		{
+			// every constraint is covered, so the choices complete the square
+			if(right[0] == 0) { return true; }
+			
+			// choose the column with the fewest remaining rows
+			int best = right[0];
+			for(int c = right[best]; (c != 0) && (size[best] > 1); c = right[c])
+			{
+				if(size[c] < size[best]) { best = c; }
+			}
+			
+			if(size[best] == 0)
+			{
+				// dead end, so try the next alternative of a previous choice
+				if(!backtrack())
+				{
+					exhausted = true;
+					return false;
+				}
+				continue;
+			}
+			
+			cover(best);
+			selectRow(down[best]);
+		}
+	}
+	
+	/**
+	 * Returns the most recent completion found by advance(), which is updated in place;
+	 * it must not be modified.
+	 * 
+	 * @return Square The completed Latin square.
+	 */
+	public Square getCurrentSquare()
+	{
+		if(!squareCurrent)
+		{
+			// inscribe the givens followed by the chosen triples
+			for(int r = 0; r < order; r++)
+			{
+				for(int c = 0; c < order; c++)
+				{
+					if(!partialSquare.isCellEmpty(r, c)) { square.setCellSymbol(r, c, partialSquare.getCellSymbol(r, c)); }
+				}
+			}
+			for(int i = 0; i < level; i++)
+			{
+				int triple = (chosen[i] - firstNode) / 3;
+				square.setCellSymbol(triple / orderSquared, (triple / order) % order, triple % order);
+			}
+			squareCurrent = true;
+		}
+		
+		return square;
+	}
+	
+	/**
+	 * Counts the remaining completions, stopping once the limit has been reached.
+	 * 
+	 * @param limit The maximum number of completions to count (zero counts all of them).
+	 * @return long The number of completions counted.
+	 */
+	public long countCompletions(long limit)
+	{
+		long count = 0;
+		
+		// a completion may already have been found by hasNext()
+		if(pending)
+		{
+			pending = false;
+			++count;
+		}
+		while(((limit == 0) || (count < limit)) && advance()) { ++count; }
+		return count;
+	}
+	
+	/**
+	 * Returns true if one or more completions remain.
+	 * 
+	 * @return boolean The completions remaining flag.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(!pending) { pending = advance(); }
+		return pending;
+	}
+	
+	/**
+	 * Returns a copy of the next completion, which may be retained by the caller.
+	 * 
+	 * @return Square The next completed Latin square.
+	 */
+	@Override
+	public Square next()
+	{
+		if(!hasNext()) { throw new NoSuchElementException(); }
+		pending = false;
+		return new Square(getCurrentSquare());
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <h1>LatinSquareCompressedOutputStream</h1>
+ * 
+ * <p>This class represents an output stream that gzip-compresses the bytes written to it on a
+ * separate compressor thread, so the compression overlaps with the generation (or conversion) of
+ * the squares. The bytes are collected in large buffers, and each full buffer is handed to the
+ * compressor thread while the writer continues to fill the next one; the writer only waits when
+ * every buffer is pending, so the memory usage is bounded.
+ * The output is a sequence of gzip members (which java.util.zip.GZIPInputStream and gunzip read as
+ * one stream): finishMember() ends the current member, so the length of the output file at that
+ * point is a valid place to truncate it, which is how the checkpoints of a compressed output file
+ * are resumed.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareCompressedOutputStream extends OutputStream
+{
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final int NUM_BUFFERS = 4;
+	private OutputStream out;
+	private GZIPOutputStream member;
+	private boolean memberWritten;
+	private ExecutorService compressor;
+	private ArrayBlockingQueue<byte[]> freeBuffers;
+	private byte[] buffer;
+	private int count;
+	private volatile IOException failure;
+	private boolean closed;
+	
+	/**
+	 * Class constructor for a compressed stream that writes to an output stream.
+	 * 
+	 * @param out The output stream that receives the compressed bytes (ex. a FileOutputStream).
+	 */
+	public LatinSquareCompressedOutputStream(OutputStream out)
+	{
+		this.out = out;
+		member = null;
+		memberWritten = closed = false;
+		failure = null;
+		compressor = Executors.newSingleThreadExecutor();
+		freeBuffers = new ArrayBlockingQueue<byte[]>(NUM_BUFFERS);
+		for(int i = 1; i < NUM_BUFFERS; i++) { freeBuffers.add(new byte[BUFFER_SIZE]); }
+		buffer = new byte[BUFFER_SIZE];
+		count = 0;
+	}
+	
+	/**
+	 * Returns true if a file begins with the gzip magic bytes.
+	 * 
+	 * @param file The file.
+	 * @return boolean The compressed file flag.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static boolean isCompressed(File file) throws IOException
+	{
+		try(InputStream input = new FileInputStream(file))
+		{
+			return (input.read() == 0x1F) && (input.read() == 0x8B);
+		}
+	}
+	
+	/**
+	 * Writes a byte.
+	 * 
+	 * @param b The byte.
+	 * @throws IOException If the compressor thread failed to write an earlier buffer.
+	 */
+	@Override
+	public void write(int b) throws IOException
+	{
+		if(count == buffer.length) { submitBuffer(); }
+		buffer[count++] = (byte)b;
+	}
+	
+	/**
+	 * Writes a range of bytes.
+	 * 
+	 * @param b The bytes.
+	 * @param off The offset of the first byte.
+	 * @param len The number of bytes.
+	 * @throws IOException If the compressor thread failed to write an earlier buffer.
+	 */
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException
+	{
+		while(len > 0)
+		{
+			if(count == buffer.length) { submitBuffer(); }
+			
+			int numBytes = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, numBytes);
+			count += numBytes;
+			off += numBytes;
+			len -= numBytes;
+		}
+	}
+	
+	/**
+	 * Hands the current buffer to the compressor thread and continues with a free buffer
+	 * (waiting for one if every buffer is pending).
+	 * 
+	 * @throws IOException If the compressor thread failed to write an earlier buffer.
+	 */
+	private void submitBuffer() throws IOException
+	{
+		checkFailure();
+		
+		final byte[] fullBuffer = buffer;
+		final int length = count;
+		compressor.execute(() -> {
+			try
+			{
+				if(member == null) { member = new GZIPOutputStream(out, BUFFER_SIZE); }
+				member.write(fullBuffer, 0, length);
+			}
+			catch(IOException e) { failure = e; }
+			finally { freeBuffers.add(fullBuffer); }
+		});
+		
+		try { buffer = freeBuffers.take(); }
+		catch(InterruptedException e) { throw new InterruptedIOException("interrupted while waiting for the compressor thread"); }
+		count = 0;
+	}
+	
+	/**
+	 * Hands the buffered bytes to the compressor thread and waits until they have been compressed.
+	 * (The compressed bytes may remain in the compressor until the member is finished.)
+	 * 
+	 * @throws IOException If the compressor thread failed.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		if(count > 0) { submitBuffer(); }
+		awaitCompressor(null);
+	}
+	
+	/**
+	 * Ends the current gzip member (starting an empty one if nothing has been written yet, so that the
+	 * output is always a valid gzip stream), and flushes the output stream.
+	 * 
+	 * @throws IOException If the compressor thread failed.
+	 */
+	public void finishMember() throws IOException
+	{
+		if(count > 0) { submitBuffer(); }
+		awaitCompressor(() -> {
+			if((member == null) && !memberWritten) { member = new GZIPOutputStream(out, BUFFER_SIZE); }
+			if(member != null)
+			{
+				member.finish();
+				member = null;
+				memberWritten = true;
+			}
+			out.flush();
+			return null;
+		});
+	}
+	
+	/**
+	 * Runs a task on the compressor thread after the pending buffers, and waits until it is done.
+	 * 
+	 * @param task The task (or null to only wait for the pending buffers).
+	 * @throws IOException If the compressor thread failed.
+	 */
+	private void awaitCompressor(Callable<Void> task) throws IOException
+	{
+		try { compressor.submit((task != null) ? task : () -> null).get(); }
+		catch(InterruptedException e) { throw new InterruptedIOException("interrupted while waiting for the compressor thread"); }
+		catch(ExecutionException e)
+		{
+			if(e.getCause() instanceof IOException) { throw (IOException)e.getCause(); }
+			throw new IOException(e.getCause());
+		}
+		checkFailure();
+	}
+	
+	/**
+	 * Throws the exception of the compressor thread, if it failed.
+	 * 
+	 * @throws IOException If the compressor thread failed.
+	 */
+	private void checkFailure() throws IOException
+	{
+		if(failure != null) { throw failure; }
+	}
+	
+	/**
+	 * Finishes the current gzip member, closes the output stream, and stops the compressor thread.
+	 * 
+	 * @throws IOException If the compressor thread failed or the output stream cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if(closed) { return; }
+		closed = true;
+		
+		try
+		{
+			finishMember();
+			out.close();
+		}
+		finally { compressor.shutdown(); }
+	}
+}
@@ -0,0 +1,226 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>LatinSquareConstraints</h1>
+ * 
+ * <p>This class represents a set of structural constraints that the selection-based algorithm
+ * enforces while it searches (see LatinSquareSelectionIterator), so that the sub-trees that cannot
+ * contain a Latin square with the required structure are pruned instead of being generated and
+ * filtered afterwards. The supported constraints are:
+ * diagonal (the main diagonal and the anti-diagonal each contain every symbol exactly once),
+ * symmetric (cell (r, c) equals cell (c, r)), idempotent (cell (i, i) is i),
+ * unipotent (every cell of the main diagonal has the same symbol), and
+ * reduced (the first row and the first column are 0, 1, ..., n-1).
+ * Except for the diagonal constraint, which needs its own bookkeeping of the free symbols of
+ * each diagonal, every constraint simply forces the symbol of some of the cells.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareConstraints
+{
+	public static final LatinSquareConstraints NONE = new LatinSquareConstraints(false, false, false, false, false);
+	public static final int CONFLICT = -2;
+	private final boolean diagonal;
+	private final boolean symmetric;
+	private final boolean idempotent;
+	private final boolean unipotent;
+	private final boolean reduced;
+	
+	/**
+	 * Class constructor.
+	 * 
+	 * @param diagonal The diagonal constraint flag.
+	 * @param symmetric The symmetric constraint flag.
+	 * @param idempotent The idempotent constraint flag.
+	 * @param unipotent The unipotent constraint flag.
+	 * @param reduced The reduced constraint flag.
+	 */
+	public LatinSquareConstraints(boolean diagonal, boolean symmetric, boolean idempotent, boolean unipotent, boolean reduced)
+	{
+		this.diagonal = diagonal;
+		this.symmetric = symmetric;
+		this.idempotent = idempotent;
+		this.unipotent = unipotent;
+		this.reduced = reduced;
+	}
+	
+	/**
+	 * Parses a comma-separated list of constraint names (ex. "diagonal,symmetric").
+	 * 
+	 * @param list The list of constraint names.
+	 * @return LatinSquareConstraints The constraints, or null if the list contains an unknown name.
+	 */
+	public static LatinSquareConstraints parse(String list)
+	{
+		boolean diagonal = false, symmetric = false, idempotent = false, unipotent = false, reduced = false;
+		
+		for(String name : list.split(","))
+		{
+			if(name.equals("diagonal")) { diagonal = true; }
+			else if(name.equals("symmetric")) { symmetric = true; }
+			else if(name.equals("idempotent")) { idempotent = true; }
+			else if(name.equals("unipotent")) { unipotent = true; }
+			else if(name.equals("reduced")) { reduced = true; }
+			else { return null; }
+		}
+		
+		return new LatinSquareConstraints(diagonal, symmetric, idempotent, unipotent, reduced);
+	}
+	
+	/**
+	 * Returns true if there are no constraints.
+	 * 
+	 * @return boolean The no constraints flag.
+	 */
+	public boolean isEmpty() { return !(diagonal || symmetric || idempotent || unipotent || reduced); }
+	
+	/**
+	 * Returns true if the main diagonal and the anti-diagonal must each contain every symbol.
+	 * 
+	 * @return boolean The diagonal constraint flag.
+	 */
+	public boolean isDiagonal() { return diagonal; }
+	
+	/**
+	 * Returns true if the Latin squares must be symmetric.
+	 * 
+	 * @return boolean The symmetric constraint flag.
+	 */
+	public boolean isSymmetric() { return symmetric; }
+	
+	/**
+	 * Returns true if the Latin squares must be idempotent.
+	 * 
+	 * @return boolean The idempotent constraint flag.
+	 */
+	public boolean isIdempotent() { return idempotent; }
+	
+	/**
+	 * Returns true if the Latin squares must be unipotent.
+	 * 
+	 * @return boolean The unipotent constraint flag.
+	 */
+	public boolean isUnipotent() { return unipotent; }
+	
+	/**
+	 * Returns true if the Latin squares must be reduced.
+	 * 
+	 * @return boolean The reduced constraint flag.
+	 */
+	public boolean isReduced() { return reduced; }
+	
+	/**
+	 * Returns the symbol that the constraints force into a cell, given the symbols of the cells that
+	 * precede it in row-major order.
+	 * 
+	 * @param order The order of the Latin square.
+	 * @param symbols The symbols of the cells in row-major order (only the preceding cells are read).
+	 * @param rowIndex The row of the cell.
+	 * @param colIndex The column of the cell.
+	 * @return int The forced symbol, -1 if the symbol is not forced, or CONFLICT if two constraints force different symbols.
+	 */
+	public int getForcedSymbol(int order, int[] symbols, int rowIndex, int colIndex)
+	{
+		int forced = -1;
+		
+		if(reduced && ((rowIndex == 0) || (colIndex == 0))) { forced = rowIndex + colIndex; }
+		if(idempotent && (rowIndex == colIndex)) { forced = force(forced, rowIndex); }
+		if(unipotent && (rowIndex == colIndex) && (rowIndex > 0)) { forced = force(forced, symbols[0]); }
+		if(symmetric && (colIndex < rowIndex)) { forced = force(forced, symbols[(colIndex * order) + rowIndex]); }
+		
+		return forced;
+	}
+	
+	/**
+	 * Combines a previously forced symbol with another forced symbol.
+	 * 
+	 * @param forced The previously forced symbol (or -1 or CONFLICT).
+	 * @param sym The other forced symbol.
+	 * @return int The forced symbol, or CONFLICT if they differ.
+	 */
+	private static int force(int forced, int sym)
+	{
+		if((forced == -1) || (forced == sym)) { return sym; }
+		return CONFLICT;
+	}
+	
+	/**
+	 * Returns true if a completed Latin square satisfies the constraints (which is how the data set
+	 * would be filtered if the constraints were not enforced by the search).
+	 * 
+	 * @param square The Latin square.
+	 * @return boolean The constraints satisfied flag.
+	 */
+	public boolean isSatisfiedBy(Square square)
+	{
+		int order = square.getOrder();
+		boolean[] mainDiagSymbols = new boolean[order];
+		boolean[] antiDiagSymbols = new boolean[order];
+		
+		for(int i = 0; i < order; i++)
+		{
+			int mainSym = square.getCellSymbol(i, i);
+			int antiSym = square.getCellSymbol(i, order - 1 - i);
+			if(diagonal && (mainDiagSymbols[mainSym] || antiDiagSymbols[antiSym])) { return false; }
+			mainDiagSymbols[mainSym] = antiDiagSymbols[antiSym] = true;
+			
+			if(idempotent && (mainSym != i)) { return false; }
+			if(unipotent && (mainSym != square.getCellSymbol(0, 0))) { return false; }
+			if(reduced && ((square.getCellSymbol(0, i) != i) || (square.getCellSymbol(i, 0) != i))) { return false; }
+			
+			for(int j = 0; symmetric && (j < i); j++)
+			{
+				if(square.getCellSymbol(i, j) != square.getCellSymbol(j, i)) { return false; }
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the comma-separated list of constraint names.
+	 * 
+	 * @return String The list of constraint names (empty if there are no constraints).
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder buffer = new StringBuilder("");
+		if(diagonal) { buffer.append(",diagonal"); }
+		if(symmetric) { buffer.append(",symmetric"); }
+		if(idempotent) { buffer.append(",idempotent"); }
+		if(unipotent) { buffer.append(",unipotent"); }
+		if(reduced) { buffer.append(",reduced"); }
+		return (buffer.length() == 0) ? "" : buffer.substring(1);
+	}
+}
@@ -50,8 +50,29 @@ public class LatinSquareFactory
 	 */
 	public LatinSquareFactory(LatinSquareJobConfig config)
 	{
+		// generate isotopy class (or main class) representatives via orderly selection-based algorithm
+		if((config.getJobType() == LatinSquareJobType.GENERATE_DATASET)
+				&& ((LatinSquareJobConfigGenerator)config).isGeneratingClassRepresentatives())
+		{
+			generator = new LatinSquareGeneratorClassRepresentatives((LatinSquareJobConfigGenerator)config);
+		}
+		
+		// generate a latin square data set via row-by-row selection-based algorithm
+		else if((config.getJobType() == LatinSquareJobType.GENERATE_DATASET)
+				&& ((LatinSquareJobConfigGenerator)config).isRowByRow())
+		{
+			generator = new LatinSquareGeneratorRowPermutation((LatinSquareJobConfigGenerator)config);
+		}
+		
+		// generate a random latin square data set via randomized selection-based algorithm
+		else if((config.getJobType() == LatinSquareJobType.GENERATE_DATASET)
+				&& ((LatinSquareJobConfigGenerator)config).isRandomized())
+		{
+			generator = new LatinSquareGeneratorRandomSelection((LatinSquareJobConfigGenerator)config);
+		}
+		
 		// generate a latin square data set via selection-based algorithm (with or without preloading)
-		if(config.getJobType() == LatinSquareJobType.GENERATE_DATASET)
+		else if(config.getJobType() == LatinSquareJobType.GENERATE_DATASET)
 		{
 			generator = new LatinSquareGeneratorSelection((LatinSquareJobConfigGenerator)config);
 		}
@@ -62,6 +83,18 @@ public class LatinSquareFactory
 			generator = new LatinSquareGeneratorSuperSymmetric((LatinSquareJobConfigGenerator)config);
 		}
 		
+		// generate the complete set of mutually orthogonal latin squares over a finite field
+		else if(config.getJobType() == LatinSquareJobType.GENERATE_MOLS)
+		{
+			generator = new LatinSquareGeneratorMOLS((LatinSquareJobConfigGenerator)config);
+		}
+		
+		// generate the cayley tables of one or all abelian groups of an order
+		else if(config.getJobType() == LatinSquareJobType.GENERATE_GROUP)
+		{
+			generator = new LatinSquareGeneratorGroup((LatinSquareJobConfigGenerator)config);
+		}
+		
 		// "generate"/read a latin square data set by reading them from an existing input file for transversal counting
 		else if(config.getJobType() == LatinSquareJobType.PARSE_INPUT_FILE_COUNT_TRANSVERSALS)
 		{
@@ -74,6 +107,24 @@ public class LatinSquareFactory
 			generator = new LatinSquareGeneratorFromFilePropertyChecker((LatinSquareJobConfigFromFilePropertyChecker)config);
 		}
 		
+		// "generate"/read partial latin squares from an existing input file and complete them
+		else if(config.getJobType() == LatinSquareJobType.PARSE_INPUT_FILE_COMPLETE)
+		{
+			generator = new LatinSquareGeneratorFromFileCompletion((LatinSquareJobConfigFromFileCompletion)config);
+		}
+		
+		// merge the result summaries (manifests) of the shards of a latin square data set
+		else if(config.getJobType() == LatinSquareJobType.MERGE_SHARD_SUMMARIES)
+		{
+			generator = new LatinSquareGeneratorShardMerge((LatinSquareJobConfigShardMerge)config);
+		}
+		
+		// "generate"/read a latin square data set from an existing input file and write it in another format
+		else if(config.getJobType() == LatinSquareJobType.CONVERT_FORMAT)
+		{
+			generator = new LatinSquareGeneratorConverter((LatinSquareJobConfigConverter)config);
+		}
+		
 		// handle invalid argument, print usage, and terminate
 		else
 		{
@@ -0,0 +1,316 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * <h1>LatinSquareFileIndex</h1>
+ * 
+ * <p>This class represents the index of a data set input file, which records the byte offset of every
+ * INTERVAL-th square, so a parser can seek directly to (the indexed square before) any square of the file
+ * instead of parsing all of the squares before it. The index of a text input file is built lazily by
+ * scanning the file for the blank lines that separate the squares, and it is stored in a small "key=value"
+ * sidecar file (the input file name followed by ".idx") together with the length and modification time of
+ * the input file; the sidecar is reused by later runs (ex. the workers that process the shards of the same
+ * input file) until the input file changes. The offsets of a binary input file are computed from its
+ * fixed-width records instead (see LatinSquareBinaryFormat), so it needs no sidecar.
+ * A compressed (or streamed) input file cannot be indexed, since it cannot be read from an offset.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareFileIndex
+{
+	public static final long INTERVAL = 1024;
+	private static final int BUFFER_SIZE = 1 << 20;
+	private File file;
+	private LatinSquareBinaryFormat binaryFormat;
+	private long numSquares;
+	private long [] offsets;
+	
+	/**
+	 * Class constructor.
+	 * 
+	 * @param file The input file.
+	 * @param binaryFormat The header of a binary input file (or null for a text input file).
+	 * @param numSquares The number of squares in the input file.
+	 * @param offsets The byte offsets of every INTERVAL-th square of a text input file.
+	 */
+	private LatinSquareFileIndex(File file, LatinSquareBinaryFormat binaryFormat, long numSquares, long [] offsets)
+	{
+		this.file = file;
+		this.binaryFormat = binaryFormat;
+		this.numSquares = numSquares;
+		this.offsets = offsets;
+	}
+	
+	/**
+	 * Returns the name of the sidecar file that stores the index of an input file.
+	 * 
+	 * @param inputFile The input file.
+	 * @return String The index filename.
+	 */
+	public static String getIndexFile(String inputFile) { return inputFile + ".idx"; }
+	
+	/**
+	 * Returns the index of an (uncompressed) input file, which is read from its sidecar file if it is
+	 * up to date, and is otherwise built and stored in the sidecar file.
+	 * 
+	 * @param file The input file.
+	 * @return LatinSquareFileIndex The index.
+	 */
+	public static LatinSquareFileIndex load(File file)
+	{
+		try
+		{
+			LatinSquareBinaryFormat binaryFormat = LatinSquareBinaryFormat.readHeader(file);
+			if(binaryFormat != null)
+			{
+				return new LatinSquareFileIndex(file, binaryFormat, binaryFormat.getNumRecords(file.length()), null);
+			}
+			
+			LatinSquareFileIndex index = read(file);
+			if(index == null)
+			{
+				index = build(file);
+				index.write();
+			}
+			return index;
+		}
+		
+		// handle input file read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While indexing the Latin square input file \"" + file + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Builds the index of a text input file by scanning it for the squares, each of which begins with the
+	 * first non-whitespace byte after a blank line (or at the beginning of the file).
+	 * 
+	 * @param file The input file.
+	 * @return LatinSquareFileIndex The index.
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private static LatinSquareFileIndex build(File file) throws IOException
+	{
+		long [] offsets = new long[16];
+		int numOffsets = 0;
+		long numSquares = 0;
+		
+		try(InputStream input = new FileInputStream(file))
+		{
+			byte [] buffer = new byte[BUFFER_SIZE];
+			boolean boundary = true;
+			boolean newLine = false;
+			long position = 0;
+			int numBytes;
+			
+			while((numBytes = input.read(buffer)) > 0)
+			{
+				for(int i = 0; i < numBytes; i++)
+				{
+					byte b = buffer[i];
+					if(b == '\n')
+					{
+						// a second line feed (ignoring carriage returns) ends a blank line
+						if(newLine) { boundary = true; }
+						newLine = true;
+					}
+					else if(b != '\r')
+					{
+						newLine = false;
+						if(boundary && (b > ' '))
+						{
+							if((numSquares % INTERVAL) == 0)
+							{
+								if(numOffsets == offsets.length) { offsets = Arrays.copyOf(offsets, 2 * offsets.length); }
+								offsets[numOffsets++] = position + i;
+							}
+							numSquares++;
+							boundary = false;
+						}
+					}
+				}
+				position += numBytes;
+			}
+		}
+		
+		return new LatinSquareFileIndex(file, null, numSquares, Arrays.copyOf(offsets, numOffsets));
+	}
+	
+	/**
+	 * Reads the index of a text input file from its sidecar file.
+	 * 
+	 * @param file The input file.
+	 * @return LatinSquareFileIndex The index, or null if there is no sidecar file or it is out of date.
+	 */
+	private static LatinSquareFileIndex read(File file)
+	{
+		File indexFile = new File(getIndexFile(file.getPath()));
+		if(!indexFile.isFile()) { return null; }
+		
+		Properties properties = new Properties();
+		try(InputStream input = new FileInputStream(indexFile))
+		{
+			properties.load(input);
+			
+			long length = Long.parseLong(properties.getProperty("length").trim());
+			long modified = Long.parseLong(properties.getProperty("modified").trim());
+			long interval = Long.parseLong(properties.getProperty("interval").trim());
+			long numSquares = Long.parseLong(properties.getProperty("squares").trim());
+			String offsetList = properties.getProperty("offsets").trim();
+			if((length != file.length()) || (modified != file.lastModified()) || (interval != INTERVAL)) { return null; }
+			
+			String [] offsetTokens = offsetList.isEmpty() ? new String[0] : offsetList.split(" ");
+			if(offsetTokens.length != ((numSquares + INTERVAL - 1) / INTERVAL)) { return null; }
+			
+			long [] offsets = new long[offsetTokens.length];
+			for(int i = 0; i < offsets.length; i++) { offsets[i] = Long.parseLong(offsetTokens[i]); }
+			
+			return new LatinSquareFileIndex(file, null, numSquares, offsets);
+		}
+		
+		// an unreadable, incomplete, or corrupted sidecar file is rebuilt
+		catch(IOException | NullPointerException | NumberFormatException e) { return null; }
+	}
+	
+	/**
+	 * Writes the index to its sidecar file by writing a temporary file and renaming it, so concurrent
+	 * runs that index the same input file never read a partial sidecar file. The index is only
+	 * kept in memory if the sidecar file cannot be written (ex. on read-only storage).
+	 */
+	private void write()
+	{
+		File indexFile = new File(getIndexFile(file.getPath()));
+		File tempFile = null;
+		
+		try
+		{
+			File directory = indexFile.getAbsoluteFile().getParentFile();
+			tempFile = File.createTempFile(indexFile.getName(), ".tmp", directory);
+			
+			try(PrintWriter writer = new PrintWriter(tempFile))
+			{
+				writer.println("length=" + file.length());
+				writer.println("modified=" + file.lastModified());
+				writer.println("interval=" + INTERVAL);
+				writer.println("squares=" + numSquares);
+				writer.print("offsets=");
+				for(int i = 0; i < offsets.length; i++)
+				{
+					if(i > 0) { writer.print(" "); }
+					writer.print(offsets[i]);
+				}
+				writer.println();
+			}
+			
+			Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException | SecurityException e)
+		{
+			if(tempFile != null) { tempFile.delete(); }
+		}
+	}
+	
+	/**
+	 * Returns the number of squares in the input file.
+	 * 
+	 * @return long The number of squares.
+	 */
+	public long getNumSquares() { return numSquares; }
+	
+	/**
+	 * Returns the (zero-based) index of the last indexed square at or before a given square, from which
+	 * a parser can begin; every square of a binary input file is indexed.
+	 * 
+	 * @param square The zero-based index of the square.
+	 * @return long The index of the indexed square (at most the number of squares).
+	 */
+	public long getIndexedSquareBefore(long square)
+	{
+		long bounded = Math.max(0, Math.min(square, numSquares));
+		return (binaryFormat != null) ? bounded : ((bounded / INTERVAL) * INTERVAL);
+	}
+	
+	/**
+	 * Returns the (zero-based) index of the first indexed square at or after a given square, at which
+	 * a byte range that ends after the square can end.
+	 * 
+	 * @param square The zero-based index of the square.
+	 * @return long The index of the indexed square (the number of squares if there is none).
+	 */
+	public long getIndexedSquareAfter(long square)
+	{
+		long bounded = Math.max(0, Math.min(square, numSquares));
+		if(binaryFormat != null) { return bounded; }
+		return Math.min(numSquares, ((bounded + INTERVAL - 1) / INTERVAL) * INTERVAL);
+	}
+	
+	/**
+	 * Returns the byte offset of an indexed square (see getIndexedSquareBefore), or the length of the
+	 * input file for the index that follows the last square.
+	 * 
+	 * @param square The zero-based index of the indexed square.
+	 * @return long The byte offset of the square.
+	 */
+	public long getOffset(long square)
+	{
+		if(square >= numSquares) { return file.length(); }
+		if(binaryFormat != null) { return binaryFormat.getRecordOffset(square); }
+		return offsets[(int)(square / INTERVAL)];
+	}
+	
+	/**
+	 * Returns the (zero-based) index of the first square of a shard of the input file, whose k shards
+	 * contain (almost) the same number of consecutive squares.
+	 * 
+	 * @param shardIndex The shard index i (from 0 to k, where shard k is the end of the input file).
+	 * @param numShards The number of shards k.
+	 * @return long The index of the first square of the shard.
+	 */
+	public long getShardStart(int shardIndex, int numShards)
+	{
+		return ((numSquares / numShards) * shardIndex) + (((numSquares % numShards) * shardIndex) / numShards);
+	}
+}
@@ -28,10 +28,21 @@
 package latinsquare;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
-import java.util.StringTokenizer;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * <h1>LatinSquareFileParser</h1>
@@ -47,53 +58,133 @@ import java.util.StringTokenizer;
  * for each square, so squares that do not satisfy this property will still be parsed
  * and processed.
  * (Note: this class will parse and store squares that may not satisfy
- * the Latin Square Property.)</p>
+ * the Latin Square Property.)
+ * The parser is a pull-based iterator over the squares, and the spliterator() method
+ * returns a splittable source of the same squares for parallel streams.
+ * The input file is memory-mapped (in windows) and copied in large chunks into a reusable buffer, and
+ * the ordered-triples are decoded directly from the bytes of each line (without regular expressions,
+ * tokenizers, or strings), so parsing is not much slower than reading the file. A parser may also be
+ * restricted to a byte range of the input file that begins at a square boundary, which is how
+ * LatinSquareFileSpliterator and LatinSquareFilePipeline parse the ranges of a file concurrently.
+ * Besides the ordered-triple format, the parser detects (and reads) the human-readable format of the
+ * Latin Square Generator Tool from the first line, and the compact binary format (see LatinSquareBinaryFormat)
+ * from the header of the input file, whose fixed-width records are decoded without any text.
+ * A gzip-compressed input file (in any of these formats) is detected from its magic bytes and
+ * decompressed as it is streamed into the same chunk buffer; such a file cannot be split into
+ * byte ranges, so it is always parsed from the beginning (see LatinSquareFilePipeline).
+ * Finally, the input file may be standard input (with the filename "-") or a named pipe, which is streamed
+ * into the same chunk buffer (and decompressed if it begins with the gzip magic bytes), so the squares can be
+ * piped from the Latin Square Generator Tool as they are generated; such an input is read only once,
+ * so its squares can only be pulled from this parser (or its spliterator, which is not split).
+ * The parser may also be restricted to a range of consecutive squares (ex. a shard of the input file), in which
+ * case it seeks directly to the range through the index of the input file (see LatinSquareFileIndex).
+ * By default, a malformed square stops the job with an error. If a reject log is set, then a malformed square
+ * (ex. a malformed line, an invalid symbol, or a missing or extra row) is recorded in the log instead, and the
+ * parser resynchronizes at the next blank line (or the next record of a binary input file) and continues; the
+ * rejected squares keep their ordinals, so the ordinals of the other squares are the same as without errors.</p>
  * 
  * @author Will Unger
  * @author Nathan O. Schmidt
  * @version 1.10
  */
-public class LatinSquareFileParser
+public class LatinSquareFileParser implements Iterator<Square>
 {
-	private final String DELIMITERS = "(), ";
+	private final int BUFFER_SIZE = 1 << 20;
+	private final long MAPPING_SIZE = 1L << 28;
+	private final int STREAM_BUFFER_SIZE = 1 << 16;
+	public static final String STANDARD_INPUT = "-";
+	public static final int MIXED_ORDER = 0;
+	private static final int END_OF_INPUT = 0;
+	private static final int PARSED = 1;
+	private static final int REJECTED = 2;
 	private File file;
-	private Scanner fileScanner;
+	private FileChannel channel;
+	private InputStream stream;
+	private boolean standardInput;
+	private MappedByteBuffer mapping;
+	private long mappingOffset;
+	private byte[] bytes;
+	private int bufferPosition;
+	private int bufferLimit;
+	private long bufferEndOffset;
+	private long remaining;
+	private int lineStart;
+	private int lineEnd;
+	private int[] triple;
+	private LatinSquareBinaryFormat binaryFormat;
+	private boolean humanReadable;
+	private boolean formatDetected;
+	private int dataSetOrder;
 	private int order;
 	private int orderSquared;
 	private Square currentSquare;
 	private boolean returned;
+	private long numSkipped;
+	private long limit;
+	private long pendingSkip;
+	private long numRemaining;
+	private long numConsumed;
+	private boolean blankLine;
+	private LatinSquareRejectLog rejectLog;
+	private long squareOffset;
+	private String rejectedError;
+	private boolean resynchronized;
 	
 	/**
 	 * Class constructor that accepts a user-specified order and data set input file containing
-	 * (Latin) square(s) that are stored in the (non-human-readable) ordered-triple format.
+	 * (Latin) square(s) that are stored in the ordered-triple, human-readable, or binary format.
 	 * 
-	 * @param order The order of the square(s) in the input file.
+	 * @param order The order of the square(s) in the input file (or MIXED_ORDER for squares of any order).
 	 * @param inputFileName The input file.
 	 */
 	public LatinSquareFileParser(int order, String inputFileName)
 	{
+		this.dataSetOrder = order;
 		this.order = order;
 		this.orderSquared = this.order * this.order;
 		this.returned = false;
+		this.numSkipped = this.pendingSkip = 0;
+		this.limit = this.numRemaining = Long.MAX_VALUE;
+		this.numConsumed = 0;
+		this.rejectLog = null;
 		
 		try
 		{
 			// attempt to open the input file containing Latin squares
 			file = new File(inputFileName);
-			if(file.exists() && file.isFile())
+			if(isStreamed(inputFileName))
+			{
+				// attempt to open standard input (or the named pipe)
+				try
+				{
+					standardInput = inputFileName.equals(STANDARD_INPUT);
+					InputStream input = standardInput ? System.in : new FileInputStream(file);
+					openStream(openDecompressedStream(input));
+					returned = true;
+				}
+				
+				// handle named pipe not found exception
+				catch(IOException e)
+				{
+					System.err.println("[File Not Found] Could not open the Latin square input stream \"" 
+									   + inputFileName + "\" for scanning!");
+					System.exit(1);
+				}
+			}
+			else if(file.exists() && file.isFile())
 			{
 				// only process a non-empty input file
 				if(file.length() > 0)
 				{
-					// attempt to scan the input file
+					// attempt to open the input file
 					try 
 					{
-						fileScanner = new Scanner(file);
+						openChannel(0, file.length());
 						returned = true;
 					} 
 					
 					// handle input file not found exception
-					catch (FileNotFoundException e) 
+					catch (IOException e) 
 					{
 						System.err.println("[File Not Found] Could not open the Latin square input file \"" 
 										   + inputFileName + "\" for scanning!");
@@ -125,6 +216,314 @@ public class LatinSquareFileParser
 		}
 	}
 	
+	/**
+	 * Returns true if an input file is streamed instead of memory-mapped, because it is standard input
+	 * (the filename "-") or another file that is not a regular file (ex. a named pipe).
+	 * 
+	 * @param inputFileName The input file.
+	 * @return boolean The streamed input flag.
+	 */
+	public static boolean isStreamed(String inputFileName)
+	{
+		if(inputFileName == null) { return false; }
+		
+		File file = new File(inputFileName);
+		return inputFileName.equals(STANDARD_INPUT) || (file.exists() && !file.isFile() && !file.isDirectory());
+	}
+	
+	/**
+	 * Returns true if the input file of this parser is streamed (see isStreamed(String)).
+	 * 
+	 * @return boolean The streamed input flag.
+	 */
+	public boolean isStreamed() { return isStreamed(file.getPath()); }
+	
+	/**
+	 * Class constructor that parses the (Latin) square(s) stored in a byte range of an input file.
+	 * The range must begin at a square boundary; this is used by LatinSquareFileSpliterator.
+	 * 
+	 * @param order The order of the square(s) in the input file (or MIXED_ORDER for squares of any order).
+	 * @param file The input file.
+	 * @param start The offset of the first byte of the range.
+	 * @param end The offset following the last byte of the range.
+	 */
+	LatinSquareFileParser(int order, File file, long start, long end)
+	{
+		this.dataSetOrder = order;
+		this.order = order;
+		this.orderSquared = this.order * this.order;
+		this.file = file;
+		this.returned = true;
+		this.numSkipped = this.pendingSkip = 0;
+		this.limit = this.numRemaining = Long.MAX_VALUE;
+		this.numConsumed = 0;
+		this.rejectLog = null;
+		
+		// attempt to open the byte range of the input file
+		try
+		{
+			openChannel(start, end);
+		}
+		
+		// handle input file not found exception
+		catch(IOException e)
+		{
+			System.err.println("[File Not Found] Could not open the Latin square input file \"" 
+							   + file + "\" for scanning!");
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Opens a channel for mapping a byte range of the input file, along with the reusable chunk buffer.
+	 * A compressed input file is opened as a decompressing stream instead, regardless of the range.
+	 * 
+	 * @param start The offset of the first byte of the range.
+	 * @param end The offset following the last byte of the range.
+	 * @throws IOException If the input file cannot be opened.
+	 */
+	private void openChannel(long start, long end) throws IOException
+	{
+		if(LatinSquareCompressedOutputStream.isCompressed(file))
+		{
+			openStream(new GZIPInputStream(new FileInputStream(file), STREAM_BUFFER_SIZE));
+			return;
+		}
+		
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		binaryFormat = readBinaryHeader();
+		
+		// the header precedes the first record of a binary input file, and each record must fit in the buffer
+		int minBufferSize = 1;
+		if(binaryFormat != null)
+		{
+			start = Math.max(start, LatinSquareBinaryFormat.HEADER_SIZE);
+			end = Math.max(start, end);
+			minBufferSize = (int)binaryFormat.getRecordSize();
+		}
+		
+		mapping = null;
+		mappingOffset = start;
+		bufferEndOffset = start;
+		remaining = end - start;
+		bytes = new byte[(int)Math.max(minBufferSize, Math.min(BUFFER_SIZE, remaining))];
+		bufferPosition = bufferLimit = 0;
+		triple = new int[3];
+	}
+	
+	/**
+	 * Returns an input stream that decompresses a stream if it begins with the gzip magic bytes
+	 * (which are peeked without being consumed), or the stream itself otherwise.
+	 * 
+	 * @param input The input stream.
+	 * @return InputStream The (decompressed) input stream.
+	 * @throws IOException If the input stream cannot be read.
+	 */
+	private InputStream openDecompressedStream(InputStream input) throws IOException
+	{
+		PushbackInputStream peekable = new PushbackInputStream(input, 2);
+		int first = peekable.read();
+		int second = (first >= 0) ? peekable.read() : -1;
+		if(second >= 0) { peekable.unread(second); }
+		if(first >= 0) { peekable.unread(first); }
+		
+		if((first == 0x1F) && (second == 0x8B)) { return new GZIPInputStream(peekable, STREAM_BUFFER_SIZE); }
+		return peekable;
+	}
+	
+	/**
+	 * Opens a stream of the (decompressed) input file, along with the reusable chunk buffer.
+	 * The binary header (if any) is read from the beginning of the stream.
+	 * 
+	 * @param input The input stream.
+	 * @throws IOException If the input stream cannot be read.
+	 */
+	private void openStream(InputStream input) throws IOException
+	{
+		stream = input;
+		channel = null;
+		mapping = null;
+		bytes = new byte[BUFFER_SIZE];
+		bufferPosition = bufferLimit = 0;
+		bufferEndOffset = 0;
+		triple = new int[3];
+		
+		while((bufferLimit < LatinSquareBinaryFormat.HEADER_SIZE) && readChunk()) { }
+		binaryFormat = readBinaryHeader();
+		if(binaryFormat != null)
+		{
+			bufferPosition = LatinSquareBinaryFormat.HEADER_SIZE;
+			if(binaryFormat.getRecordSize() > bytes.length) { bytes = Arrays.copyOf(bytes, (int)binaryFormat.getRecordSize()); }
+		}
+	}
+	
+	/**
+	 * Reads the header of the input file (or of the beginning of the input stream) if it is stored in the
+	 * binary format (see LatinSquareBinaryFormat), which must have the user-specified order (unless the squares
+	 * may have any order, in which case every square of the binary input file has the order of its header).
+	 * 
+	 * @return LatinSquareBinaryFormat The header, or null if the input file is stored in a text format.
+	 */
+	private LatinSquareBinaryFormat readBinaryHeader()
+	{
+		LatinSquareBinaryFormat format = null;
+		
+		try
+		{
+			format = (stream != null) ? LatinSquareBinaryFormat.readHeader(bytes, bufferLimit) : LatinSquareBinaryFormat.readHeader(file);
+		}
+		
+		// handle truncated or corrupted header exception
+		catch(IOException e)
+		{
+			System.err.println(getInvalidBinaryFormatMessage(e.getMessage()));
+			System.exit(1);
+		}
+		
+		if((format != null) && (dataSetOrder == MIXED_ORDER))
+		{
+			order = format.getOrder();
+			orderSquared = order * order;
+		}
+		else if((format != null) && (format.getOrder() != order))
+		{
+			System.err.println("[Invalid Data Set Order] The Latin squares in the binary input file "
+					+ "\"" + file + "\" have order " + format.getOrder() + ", but the user-specified order is " + order + "!");
+			System.exit(1);
+		}
+		
+		return format;
+	}
+	
+	/**
+	 * Restricts this parser to a range of consecutive squares of the input file: the first squares are skipped,
+	 * and at most a given number of squares are parsed after them. This must be invoked before any square is parsed.
+	 * The parser of an (uncompressed) input file seeks directly to the last indexed square before the range
+	 * (see LatinSquareFileIndex) and only parses the squares after it, whereas the squares of a compressed or
+	 * streamed input file are parsed and skipped (when the first square of the range is parsed).
+	 * 
+	 * @param skip The number of squares to skip.
+	 * @param limit The maximum number of squares to parse after the skipped squares.
+	 */
+	public void setRange(long skip, long limit)
+	{
+		this.numSkipped = skip;
+		this.limit = this.numRemaining = limit;
+		
+		try
+		{
+			if((skip > 0) && (channel != null))
+			{
+				LatinSquareFileIndex index = LatinSquareFileIndex.load(file);
+				long indexedSquare = index.getIndexedSquareBefore(skip);
+				if(indexedSquare > 0)
+				{
+					close();
+					openChannel(index.getOffset(indexedSquare), file.length());
+					skip -= indexedSquare;
+				}
+			}
+		}
+		
+		// handle input file not found exception
+		catch(IOException e)
+		{
+			System.err.println("[File Not Found] Could not open the Latin square input file \"" 
+							   + file + "\" for scanning!");
+			System.exit(1);
+		}
+		
+		pendingSkip = skip;
+	}
+	
+	/**
+	 * Restricts this parser to shard i of k of the input file, whose k shards contain (almost) the same number
+	 * of consecutive squares (see setRange(long, long)). The number of squares is read from the index of the
+	 * input file, so a compressed or streamed input file cannot be sharded.
+	 * 
+	 * @param shardIndex The shard index i (from 0 to k - 1).
+	 * @param numShards The number of shards k.
+	 */
+	public void setShard(int shardIndex, int numShards)
+	{
+		if(channel == null)
+		{
+			System.err.println("[Unsupported Input] The Latin square input file \"" + file + "\" cannot be sharded, "
+					+ "since it is compressed or streamed (use --skip and --limit instead)!");
+			System.exit(1);
+		}
+		
+		LatinSquareFileIndex index = LatinSquareFileIndex.load(file);
+		long start = index.getShardStart(shardIndex, numShards);
+		setRange(start, index.getShardStart(shardIndex + 1, numShards) - start);
+	}
+	
+	/**
+	 * Returns the number of squares of the input file that are skipped before the range of this parser,
+	 * so the first square of the range is square #(numSkipped + 1) of the input file.
+	 * 
+	 * @return long The number of skipped squares.
+	 */
+	public long getNumSkipped() { return numSkipped; }
+	
+	/**
+	 * Returns the maximum number of squares in the range of this parser.
+	 * 
+	 * @return long The number of squares (Long.MAX_VALUE if the range is not limited).
+	 */
+	public long getLimit() { return limit; }
+	
+	/**
+	 * Returns true if this parser is restricted to a range of the squares of the input file.
+	 * 
+	 * @return boolean The square range flag.
+	 */
+	public boolean hasRange() { return (numSkipped > 0) || (limit < Long.MAX_VALUE); }
+	
+	/**
+	 * Sets the log to which the malformed squares are rejected, instead of stopping the job with an error.
+	 * A rejected square keeps its ordinal, so the ordinals of the following squares are not changed.
+	 * (Note: an input file that cannot be read, or whose binary header is invalid, still stops the job.)
+	 * 
+	 * @param rejectLog The reject log.
+	 */
+	public void setRejectLog(LatinSquareRejectLog rejectLog) { this.rejectLog = rejectLog; }
+	
+	/**
+	 * Returns the ordinal of the most recently parsed square in the input file (starting at 1),
+	 * which counts the skipped squares and the rejected squares before it.
+	 * 
+	 * @return long The ordinal of the square (or the number of squares consumed by this parser).
+	 */
+	public long getOrdinal() { return numSkipped + numConsumed; }
+	
+	/**
+	 * Returns a spliterator over all of the squares in the input file, which may be used
+	 * to parse and process the squares in parallel (ex. StreamSupport.stream(parser.spliterator(), true)).
+	 * Note: the spliterator is independent of the squares already returned by this parser, and the
+	 * spliterator of a compressed input file is not split. Since a streamed input file (ex. standard input)
+	 * can only be read once, its spliterator pulls the remaining squares from this parser instead (and so does
+	 * the spliterator of a parser that is restricted to a range of squares, see setRange(long, long)).
+	 * 
+	 * @return Spliterator The spliterator over the squares in the input file.
+	 */
+	public Spliterator<Square> spliterator()
+	{
+		if(isStreamed() || hasRange()) { return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL); }
+		return new LatinSquareFileSpliterator(dataSetOrder, file, 0, file.length());
+	}
+	
+	/**
+	 * Returns a sequential or parallel stream over all of the squares in the input file.
+	 * 
+	 * @param parallel The parallel stream flag.
+	 * @return Stream The stream of squares.
+	 */
+	public Stream<Square> stream(boolean parallel)
+	{
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+	
 	/**
 	 * Returns true if one or more (Latin) squares remain in the input file and
 	 * also parses and loads the next square.
@@ -134,110 +533,617 @@ public class LatinSquareFileParser
 	 * 
 	 * @return boolean The squares remaining flag. 
 	 */
+	@Override
 	public boolean hasNext()
 	{
 		if (!returned) { return true; }
 		
 		else
 		{
-			// construct a new blank square and keep track of the number 
-			// of cells stored for completing the square
-			currentSquare = new Square(order);
-			int cellsProcessed = 0;
-			
-			// continue to parse and store the cells in the square
-			// until the square is complete
-			while(cellsProcessed < orderSquared)
+			try
 			{
-				try
+				// skip the squares before the square range (that follow the indexed square where parsing began);
+				// the malformed squares among them belong to another range, so they are not recorded
+				for(; pendingSkip > 0; pendingSkip--)
 				{
-					// when no more squares remain in input file, stop parsing
-					if(!fileScanner.hasNext()) 
-					{ 
-						fileScanner.close();
-						return false; 
-					}
-					
-					// parse and store the next square
-					else
-					{
-						// load and parse the next line
-						String currentLine = fileScanner.next();
-						
-						try
-						{
-							// parse each of n cells on the current line
-							int numCellsParsed = 0;
-							StringTokenizer st = new StringTokenizer(currentLine, DELIMITERS);
-							
-							while (st.hasMoreTokens()) 
-							{
-								currentSquare.setCellSymbol(Integer.parseInt(st.nextToken()), Integer.parseInt(st.nextToken()), 
-										 					 Integer.parseInt(st.nextToken()));
-								++cellsProcessed;
-								++numCellsParsed;
-							}
-							
-							if(numCellsParsed != currentSquare.getOrder()) { throw new ArrayIndexOutOfBoundsException(); }
-						}
-						
-						// handle tokenizer invalid latin square ordered-triple format exception
-						catch(NumberFormatException e)
-						{
-							System.err.println("[Invalid Ordered-Triple Format] The line value \"" + currentLine + "\""
-												+ " in the Latin square input file \"" + file + "\""
-												+ " contains an invalid row, column, or symbol value! "
-												+ "These must be integers from 0 to " + (order - 1) + " for order-" 
-												+ order + " Latin squares.");
-							System.exit(1);
-						}
-						
-						// handle tokenizer invalid symbol latin square ordered-triple format exception
-						catch(ArrayIndexOutOfBoundsException e)
-						{
-							System.err.println("[Invalid Data Set Order] Each Latin square in the input file " 
-									+ "\"" + file + "\" must have the same order " + order + "! "
-									+ "The ordered-triple values must each be integers from 0 to " + (order - 1) + " for order-" 
-									+ order + " Latin squares.");
-							System.exit(1);
-						}
-						
-						// handle tokenizer no such element exception
-						catch(NoSuchElementException e)
-						{
-							System.err.println("[Invalid Ordered-Triple Format] The line value \"" + currentLine + "\""
-									+ " in the Latin square input file \"" + file + "\""
-									+ " contains an invalid row, column, or symbol value! "
-									+ "These must be integers from 0 to " + (order - 1) + " for order-" 
-									+ order + " Latin squares.");
-							System.exit(1);
-						}
-					}
+					if(parseNext() == END_OF_INPUT) { break; }
 				}
 				
-				// handle scanner illegal state exception
-				catch(IllegalStateException e)
+				// a rejected square is recorded, and it counts as a square of the range (and keeps its ordinal)
+				int status = END_OF_INPUT;
+				while((numRemaining > 0) && ((status = parseNext()) != END_OF_INPUT))
 				{
-					System.err.println("[Illegal Scanner State] While scanning the Latin square input file "
-							+ "\"" + file + "\"");
-					System.exit(1);
+					numRemaining--;
+					numConsumed++;
+					if(status == PARSED) { break; }
+					rejectLog.reject(numSkipped + numConsumed, squareOffset, rejectedError);
 				}
 				
-				// handle scanner no such element exception
-				catch(NoSuchElementException e)
+				// when no more squares remain in input file (or its square range), stop parsing
+				if(status != PARSED)
 				{
-					System.err.println("[No Such Element] While scanning the Latin square input file "
-							+ "\"" + file + "\"");
-					System.exit(1);
+					close();
+					return false;
 				}
 			}
 			
+			// handle input file read exception
+			catch(IOException e)
+			{
+				System.err.println("[I/O Error] While scanning the Latin square input file "
+						+ "\"" + file + "\"");
+				System.exit(1);
+			}
+			
 			returned = false;
 			
 			return true;
 		}
 	}
 	
+	/**
+	 * Parses and stores the next square of the input file. If a reject log is set, then a malformed square
+	 * is rejected instead of stopping the job: its error is stored, and parsing resumes at the next square
+	 * boundary (the next blank line of a text input file, or the next record of a binary input file).
+	 * 
+	 * @return int PARSED, REJECTED, or END_OF_INPUT if no more squares remain in the input file (or its byte range).
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private int parseNext() throws IOException
+	{
+		try
+		{
+			return ((binaryFormat != null) ? readRecord() : parseSquare()) ? PARSED : END_OF_INPUT;
+		}
+		catch(MalformedSquareException e)
+		{
+			rejectedError = e.getMessage();
+			if((binaryFormat == null) && !resynchronized) { skipToBlankLine(); }
+			resynchronized = false;
+			return REJECTED;
+		}
+	}
+	
+	/**
+	 * Parses and stores the next square of a text input file, which is either in the ordered-triple
+	 * format or in the human-readable format (n^2 symbols in row-major order); the format is detected
+	 * from the first line (of each square of a mixed-order input file). The first line of a square may be a header line "#n" with the order of the square,
+	 * which is required for the squares of a mixed-order input file in the human-readable format; otherwise,
+	 * the order of each square of a mixed-order input file is the number of ordered-triples in its first row.
+	 * 
+	 * @return boolean False if no more squares remain in the input file (or its byte range).
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private boolean parseSquare() throws IOException
+	{
+		if(!readLine()) { return false; }
+		squareOffset = getOffset(lineStart);
+		
+		// a header line gives the order of the square, which continues on the next line
+		boolean header = (bytes[lineStart] == '#');
+		if(header)
+		{
+			setSquareOrder(parseHeader());
+			if(!readLine())
+			{
+				if(rejectLog != null) { printInvalidSize(0); }
+				return false;
+			}
+			if(blankLine && (rejectLog != null))
+			{
+				bufferPosition = lineStart;
+				resynchronized = true;
+				printInvalidSize(0);
+			}
+		}
+		
+		// an ordered-triple line begins with a parenthesis, whereas a human-readable symbol begins with a digit
+		if(!formatDetected || (dataSetOrder == MIXED_ORDER))
+		{
+			byte b = bytes[lineStart];
+			humanReadable = ((b >= '0') && (b <= '9')) || (b == '-') || (b == '+');
+			formatDetected = true;
+		}
+		if(!header && (dataSetOrder == MIXED_ORDER)) { setSquareOrder(inferOrder()); }
+		
+		// construct a new blank square and keep track of the number
+		// of cells stored for completing the square
+		currentSquare = new Square(order);
+		int cellsProcessed = 0;
+		
+		// continue to parse and store the cells in the square
+		// until the square is complete
+		while(true)
+		{
+			// parse and store the cells on the current line (or the current human-readable symbol)
+			if(humanReadable)
+			{
+				currentSquare.setCellSymbol(cellsProcessed / order, cellsProcessed % order, parseSymbol(lineStart, lineEnd));
+				cellsProcessed++;
+			}
+			else { cellsProcessed += parseLine(); }
+			if(cellsProcessed >= orderSquared) { break; }
+			
+			if(!readLine())
+			{
+				// when rejecting malformed squares, the last square may not be truncated
+				if(rejectLog != null) { printInvalidSize(cellsProcessed); }
+				return false;
+			}
+			
+			// when rejecting malformed squares, a blank line must not precede the end of the square
+			// (in which case the next square begins on the current line)
+			if(blankLine && (rejectLog != null))
+			{
+				bufferPosition = lineStart;
+				resynchronized = true;
+				printInvalidSize(cellsProcessed);
+			}
+		}
+		
+		// when rejecting malformed squares, a blank line (or the end of the input) must follow the square
+		if((rejectLog != null) && skipWhitespace() && !blankLine) { printInvalidSize(-1); }
+		
+		return true;
+	}
+	
+	/**
+	 * Sets the order of the current square (and of the following squares, unless they have their own orders).
+	 * 
+	 * @param squareOrder The order of the square.
+	 */
+	private void setSquareOrder(int squareOrder)
+	{
+		order = squareOrder;
+		orderSquared = order * order;
+	}
+	
+	/**
+	 * Decodes the order of the square from the header line "#n" on the current line, which must match the
+	 * user-specified order (unless the squares may have any order).
+	 * 
+	 * @return int The order of the square.
+	 */
+	private int parseHeader()
+	{
+		long squareOrder = 0;
+		for(int i = lineStart + 1; i < lineEnd; i++)
+		{
+			int digit = bytes[i] - '0';
+			if((digit < 0) || (digit > 9)) { printInvalidHeader(); }
+			squareOrder = Math.min((10 * squareOrder) + digit, LatinSquareBinaryFormat.MAX_ORDER + 1);
+		}
+		
+		if(!LatinSquareBinaryFormat.isSupportedOrder((int)squareOrder)) { printInvalidHeader(); }
+		if((dataSetOrder != MIXED_ORDER) && (squareOrder != dataSetOrder)) { printInvalidOrder(); }
+		
+		return (int)squareOrder;
+	}
+	
+	/**
+	 * Returns the order of a square of a mixed-order input file without a header line, which is the number of
+	 * ordered-triples on its first line (the current line); a human-readable square requires a header line.
+	 * 
+	 * @return int The order of the square.
+	 */
+	private int inferOrder()
+	{
+		if(humanReadable)
+		{
+			printSquareError("[Invalid Data Set Order] The order of the human-readable square at byte " + squareOffset
+					+ " of the Latin square input file \"" + file + "\" must be given by a header line \"#n\" before it!");
+		}
+		
+		// count the integers on the line, which are delimited exactly like in parseLine()
+		int numValues = 0;
+		for(int i = lineStart; i < lineEnd; i++)
+		{
+			if(!isDelimiter(bytes[i]) && ((i == lineStart) || isDelimiter(bytes[i - 1]))) { numValues++; }
+		}
+		
+		if((numValues == 0) || ((numValues % 3) != 0))
+		{
+			printSquareError("[Invalid Ordered-Triple Format] The line value \"" + new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8)
+					+ "\" in the Latin square input file \"" + file + "\" must consist of n ordered-triples (the first row of an order-n square)!");
+		}
+		return numValues / 3;
+	}
+	
+	/**
+	 * Decodes the next fixed-width record of a binary input file into the current square.
+	 * A record that does not end in the current chunk is moved to the front of the buffer before
+	 * the next chunk is read after it.
+	 * 
+	 * @return boolean False if no more records remain in the input file (or its byte range).
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private boolean readRecord() throws IOException
+	{
+		int recordSize = (int)binaryFormat.getRecordSize();
+		
+		while((bufferLimit - bufferPosition) < recordSize)
+		{
+			int length = bufferLimit - bufferPosition;
+			System.arraycopy(bytes, bufferPosition, bytes, 0, length);
+			bufferPosition = 0;
+			bufferLimit = length;
+			if(!readChunk())
+			{
+				squareOffset = getOffset(bufferPosition);
+				bufferPosition = bufferLimit;
+				if(length > 0) { printInvalidBinaryFormat("the last record is truncated"); }
+				return false;
+			}
+		}
+		
+		squareOffset = getOffset(bufferPosition);
+		int[][] cells = binaryFormat.decode(bytes, bufferPosition);
+		bufferPosition += recordSize;
+		if(cells == null) { printInvalidBinaryFormat("a record contains a symbol that is not an integer from 0 to " + (order - 1)); }
+		currentSquare = new Square(cells);
+		
+		return true;
+	}
+	
+	/**
+	 * Finds the next line (the next run of non-whitespace bytes, which is how the ordered-triples
+	 * of a row are delimited) in the chunk buffer. A line that does not end in the current chunk is
+	 * moved to the front of the buffer before the next chunk is read after it, so every line can be
+	 * decoded in place.
+	 * 
+	 * @return boolean False if no more lines remain in the input file (or its byte range).
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private boolean readLine() throws IOException
+	{
+		// skip the whitespace before the line
+		if(!skipWhitespace()) { return false; }
+		
+		lineStart = bufferPosition;
+		lineEnd = bufferPosition + 1;
+		while(true)
+		{
+			while((lineEnd < bufferLimit) && !isWhitespace(bytes[lineEnd])) { lineEnd++; }
+			if(lineEnd < bufferLimit) { break; }
+			
+			// carry the partial line over to the next chunk (growing the buffer for a very long line)
+			int length = lineEnd - lineStart;
+			if(length == bytes.length) { bytes = Arrays.copyOf(bytes, 2 * bytes.length); }
+			else { System.arraycopy(bytes, lineStart, bytes, 0, length); }
+			lineStart = 0;
+			lineEnd = bufferLimit = length;
+			if(!readChunk()) { break; }
+		}
+		
+		bufferPosition = lineEnd;
+		return true;
+	}
+	
+	/**
+	 * Skips the whitespace before the next line in the chunk buffer, and notes whether it contains a blank line.
+	 * 
+	 * @return boolean False if no more lines remain in the input file (or its byte range).
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private boolean skipWhitespace() throws IOException
+	{
+		boolean newLine = false;
+		blankLine = false;
+		
+		while(true)
+		{
+			if(bufferPosition == bufferLimit)
+			{
+				bufferPosition = bufferLimit = 0;
+				if(!readChunk()) { return false; }
+			}
+			
+			byte b = bytes[bufferPosition];
+			if(!isWhitespace(b)) { return true; }
+			
+			// a second line feed (ignoring carriage returns) ends a blank line
+			if(b == '\n')
+			{
+				blankLine |= newLine;
+				newLine = true;
+			}
+			else if(b != '\r') { newLine = false; }
+			bufferPosition++;
+		}
+	}
+	
+	/**
+	 * Skips the rest of a malformed square, up to and including the next blank line (or the end of the input file).
+	 * 
+	 * @throws IOException If the input file cannot be read.
+	 */
+	private void skipToBlankLine() throws IOException
+	{
+		boolean newLine = false;
+		
+		while(true)
+		{
+			if(bufferPosition == bufferLimit)
+			{
+				bufferPosition = bufferLimit = 0;
+				if(!readChunk()) { return; }
+			}
+			
+			byte b = bytes[bufferPosition++];
+			if(b == '\n')
+			{
+				if(newLine) { return; }
+				newLine = true;
+			}
+			else if(b != '\r') { newLine = false; }
+		}
+	}
+	
+	/**
+	 * Returns the byte offset in the input file (in the decompressed input, if it is compressed) of a byte in the chunk buffer.
+	 * 
+	 * @param position The position of the byte in the chunk buffer.
+	 * @return long The byte offset.
+	 */
+	private long getOffset(int position) { return bufferEndOffset - (bufferLimit - position); }
+	
+	/**
+	 * Copies the next chunk of the input file (or its byte range) from the memory-mapped window into
+	 * the chunk buffer, after the bytes that the buffer already holds. The next window is mapped once
+	 * the current one is exhausted. The next chunk of a stream is read (and decompressed) instead.
+	 * 
+	 * @return boolean False if no more bytes remain.
+	 * @throws IOException If the input file cannot be mapped (or read).
+	 */
+	private boolean readChunk() throws IOException
+	{
+		if(stream != null)
+		{
+			int numBytes = stream.read(bytes, bufferLimit, bytes.length - bufferLimit);
+			if(numBytes < 0) { return false; }
+			bufferLimit += numBytes;
+			bufferEndOffset += numBytes;
+			return true;
+		}
+		
+		if((mapping == null) || !mapping.hasRemaining())
+		{
+			if(remaining <= 0) { return false; }
+			
+			long size = Math.min(MAPPING_SIZE, remaining);
+			mapping = channel.map(FileChannel.MapMode.READ_ONLY, mappingOffset, size);
+			mappingOffset += size;
+			remaining -= size;
+		}
+		
+		int numBytes = Math.min(bytes.length - bufferLimit, mapping.remaining());
+		mapping.get(bytes, bufferLimit, numBytes);
+		bufferLimit += numBytes;
+		bufferEndOffset += numBytes;
+		return true;
+	}
+	
+	/**
+	 * Closes the channel (or the stream) of the input file, after which no more bytes remain.
+	 * Standard input is left open, since the parser did not open it (and it may be read again later).
+	 * 
+	 * @throws IOException If the input file cannot be closed.
+	 */
+	private void close() throws IOException
+	{
+		if(channel != null) { channel.close(); }
+		if((stream != null) && !standardInput) { stream.close(); }
+		channel = null;
+		stream = null;
+		mapping = null;
+		remaining = 0;
+	}
+	
+	/**
+	 * Decodes the ordered-triples on the current line and stores their cells in the current square.
+	 * The integers are delimited by parentheses, commas, and spaces, exactly like the ordered-triple
+	 * format of the Latin Square Generator Tool, and each line must contain n ordered-triples.
+	 * 
+	 * @return int The number of cells on the line.
+	 */
+	private int parseLine()
+	{
+		int numCellsParsed = 0;
+		int numValues = 0;
+		int i = lineStart;
+		
+		while(i < lineEnd)
+		{
+			byte b = bytes[i];
+			if(isDelimiter(b))
+			{
+				i++;
+				continue;
+			}
+			
+			// decode the next integer, which ends at the next delimiter
+			int j = i + 1;
+			while((j < lineEnd) && !isDelimiter(bytes[j])) { j++; }
+			triple[numValues] = (numValues == 2) ? parseSymbol(i, j) : parseInteger(i, j);
+			numValues++;
+			i = j;
+			
+			if(numValues == 3)
+			{
+				try
+				{
+					currentSquare.setCellSymbol(triple[0], triple[1], triple[2]);
+				}
+				
+				// handle invalid row or column values
+				catch(ArrayIndexOutOfBoundsException e) { printInvalidOrder(); }
+				numValues = 0;
+				++numCellsParsed;
+			}
+		}
+		
+		// handle an incomplete ordered-triple
+		if(numValues != 0) { printInvalidFormat(); }
+		
+		if(numCellsParsed != currentSquare.getOrder()) { printInvalidOrder(); }
+		return numCellsParsed;
+	}
+	
+	/**
+	 * Returns true if a byte is an ordered-triple delimiter: a parenthesis, a comma, or a space.
+	 * 
+	 * @param b The byte.
+	 * @return boolean The delimiter flag.
+	 */
+	private static boolean isDelimiter(byte b)
+	{
+		return (b == '(') || (b == ')') || (b == ',') || (b == ' ');
+	}
+	
+	/**
+	 * Returns true if a byte is an (ASCII) whitespace character, which separates the lines.
+	 * 
+	 * @param b The byte.
+	 * @return boolean The whitespace flag.
+	 */
+	private static boolean isWhitespace(byte b)
+	{
+		return (b == ' ') || ((b >= '\t') && (b <= '\r')) || ((b >= 0x1C) && (b <= 0x1F));
+	}
+	
+	/**
+	 * Decodes an integer (with an optional sign) from a run of bytes on the current line.
+	 * 
+	 * @param start The offset of the first byte of the integer.
+	 * @param end The offset following the last byte of the integer.
+	 * @return int The integer.
+	 */
+	private int parseInteger(int start, int end)
+	{
+		byte b = bytes[start];
+		boolean negative = (b == '-');
+		int j = ((b == '-') || (b == '+')) ? (start + 1) : start;
+		long value = 0;
+		
+		if(j == end) { printInvalidFormat(); }
+		for(; j < end; j++)
+		{
+			int digit = bytes[j] - '0';
+			if((digit < 0) || (digit > 9)) { printInvalidFormat(); }
+			value = (10 * value) + digit;
+			if(value > (negative ? (-(long)Integer.MIN_VALUE) : Integer.MAX_VALUE)) { printInvalidFormat(); }
+		}
+		
+		return (int)(negative ? -value : value);
+	}
+	
+	/**
+	 * Decodes a symbol from a run of bytes on the current line. Any integer is accepted (so that the Latin Square
+	 * Property Checker can report a square with an out-of-range symbol as not satisfying the property), unless a reject
+	 * log is set, in which case a symbol that is not from 0 to n-1 rejects the square as malformed (see parseNext()).
+	 * 
+	 * @param start The offset of the first byte of the symbol.
+	 * @param end The offset following the last byte of the symbol.
+	 * @return int The symbol.
+	 */
+	private int parseSymbol(int start, int end)
+	{
+		int symbol = parseInteger(start, end);
+		if((rejectLog != null) && ((symbol < 0) || (symbol >= order))) { printInvalidFormat(); }
+		return symbol;
+	}
+	
+	/**
+	 * Prints the error of a malformed square and exits, unless a reject log is set, in which case the square
+	 * is rejected instead (see parseNext()).
+	 * 
+	 * @param message The error message.
+	 */
+	private void printSquareError(String message)
+	{
+		if(rejectLog != null) { throw new MalformedSquareException(message); }
+		
+		System.err.println(message);
+		System.exit(1);
+	}
+	
+	/**
+	 * Returns the invalid binary format error message.
+	 * 
+	 * @param reason The reason why the binary input file is invalid.
+	 * @return String The error message.
+	 */
+	private String getInvalidBinaryFormatMessage(String reason)
+	{
+		return "[Invalid Binary Format] The Latin square input file \"" + file + "\" is not a valid "
+				+ "binary data set: " + reason + "!";
+	}
+	
+	/**
+	 * Prints the invalid binary format error for the current record and exits.
+	 * 
+	 * @param reason The reason why the record is invalid.
+	 */
+	private void printInvalidBinaryFormat(String reason)
+	{
+		printSquareError(getInvalidBinaryFormatMessage(reason));
+	}
+	
+	/**
+	 * Prints the invalid square size error for the current square and exits.
+	 * 
+	 * @param numCells The number of cells of the square before a blank line (or the end of the input file),
+	 * or -1 if the square continues after its last cell.
+	 */
+	private void printInvalidSize(int numCells)
+	{
+		printSquareError("[Invalid Square Size] The square at byte " + squareOffset + " of the Latin square input file \"" + file + "\" "
+				+ ((numCells < 0) ? "has more than the " : ("has only " + numCells + " of the ")) + orderSquared + " cells of an order-" + order
+				+ " Latin square!");
+	}
+	
+	/**
+	 * Prints the invalid ordered-triple format error for the current line and exits.
+	 */
+	private void printInvalidFormat()
+	{
+		printSquareError("[Invalid Ordered-Triple Format] The line value \"" + new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8) + "\""
+							+ " in the Latin square input file \"" + file + "\""
+							+ " contains an invalid row, column, or symbol value! "
+							+ "These must be integers from 0 to " + (order - 1) + " for order-" 
+							+ order + " Latin squares.");
+	}
+	
+	/**
+	 * Prints the invalid header line error for the current line and exits.
+	 */
+	private void printInvalidHeader()
+	{
+		printSquareError("[Invalid Data Set Order] The header line \"" + new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8)
+				+ "\" in the Latin square input file \"" + file + "\" must be \"#n\", where n is the order of the square that follows it "
+				+ "(from 1 to " + LatinSquareBinaryFormat.MAX_ORDER + ")!");
+	}
+	
+	/**
+	 * Prints the invalid data set order error and exits.
+	 */
+	private void printInvalidOrder()
+	{
+		if(dataSetOrder == MIXED_ORDER)
+		{
+			printSquareError("[Invalid Data Set Order] The order-" + order + " square at byte " + squareOffset + " of the Latin square input file "
+					+ "\"" + file + "\" must have " + order + " ordered-triples on each line, whose values must each be integers from 0 to "
+					+ (order - 1) + "!");
+		}
+		else
+		{
+			printSquareError("[Invalid Data Set Order] Each Latin square in the input file " 
+					+ "\"" + file + "\" must have the same order " + order + "! "
+					+ "The ordered-triple values must each be integers from 0 to " + (order - 1) + " for order-" 
+					+ order + " Latin squares.");
+		}
+	}
+	
 	/**
 	 * Returns the next square in the input file. If there are no more squares remaining,
 	 * then null is returned.
@@ -246,6 +1152,7 @@ public class LatinSquareFileParser
 	 * 
 	 * @return Square The next square.
 	 */
+	@Override
 	public Square next()
 	{
 		if(!hasNext()) { return null; }
@@ -255,4 +1162,24 @@ public class LatinSquareFileParser
 			return currentSquare;
 		}
 	}
+	
+	/**
+	 * <h1>MalformedSquareException</h1>
+	 * 
+	 * This class represents the error of a malformed square that is rejected (see setRejectLog).
+	 * 
+	 * @author Will Unger
+	 * @author Nathan O. Schmidt
+	 */
+	private static class MalformedSquareException extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * Class constructor.
+		 * 
+		 * @param message The error message.
+		 */
+		MalformedSquareException(String message) { super(message); }
+	}
 }
@@ -0,0 +1,388 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h1>LatinSquareFilePipeline</h1>
+ * 
+ * <p>This class processes the squares stored in an ordered-triple format input file with a pool of
+ * worker threads. The file is split into byte ranges at square boundaries (the blank lines that separate
+ * the squares), and each worker parses a whole range through its own memory-mapped parser and then
+ * processes its squares, so both the parsing and the processing run concurrently. The global ordinal
+ * (ex. "Latin Square #k") of each square is preserved: once a worker has parsed its range, it learns
+ * the number of squares in the preceding ranges from the worker before it, and each worker buffers its
+ * output in its own output sink (see LatinSquareOutputSink), which is printed in the order of the input file. At most two ranges per worker are pending
+ * at any time, so the memory usage does not depend on the size of the input file.
+ * A compressed input file cannot be split into byte ranges, so it is decompressed and parsed on the
+ * calling thread instead, which hands batches of squares (with the ordinal of their first square) to the
+ * workers; the decompression and parsing then overlap with the processing. The squares of a streamed
+ * input file (ex. standard input, see LatinSquareFileParser) are handed to the workers in the same batches
+ * by the parser that reads the stream.
+ * The pipeline may also process a range of consecutive squares (ex. a shard of the input file): the byte ranges
+ * then begin at the last indexed square before it (see LatinSquareFileIndex) and end at the first indexed square
+ * after it, and the workers only process the squares of the range.
+ * If malformed squares are rejected (see LatinSquareFileParser.setRejectLog), then each worker rejects the squares
+ * of its range to its own log, which is appended to the reject log when the output of the range is printed.
+ * This is used for the Latin Square Transversal Counter Tool and the Latin Square Property Checker Tool.
+ * </p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class LatinSquareFilePipeline
+{
+	private final long MIN_RANGE_SIZE = 4096;
+	private final long MAX_RANGE_SIZE = 1L << 22;
+	private final int BATCH_SIZE = 256;
+	private static final int RANGE_OUTPUT_CAPACITY = 1 << 16;
+	private LatinSquareOutputSink stdout;
+	private int order;
+	private File file;
+	private int numThreads;
+	private long firstSquare;
+	private long lastSquare;
+	private LatinSquareRejectLog rejectLog;
+	
+	/**
+	 * Class constructor.
+	 * 
+	 * @param order The order of the square(s) in the input file.
+	 * @param inputFileName The input file.
+	 * @param numThreads The number of worker threads.
+	 */
+	public LatinSquareFilePipeline(int order, String inputFileName, int numThreads)
+	{
+		this.order = order;
+		this.file = new File(inputFileName);
+		this.numThreads = numThreads;
+		this.rejectLog = null;
+	}
+	
+	/**
+	 * Sets the log to which the malformed squares of the input file are rejected, instead of stopping the job with an error.
+	 * 
+	 * @param rejectLog The reject log.
+	 */
+	public void setRejectLog(LatinSquareRejectLog rejectLog) { this.rejectLog = rejectLog; }
+	
+	/**
+	 * <h1>SquareProcessor</h1>
+	 * 
+	 * This interface represents the processing of a single square by a worker thread.
+	 * 
+	 * @author Nathan O. Schmidt
+	 * @author Will Unger
+	 */
+	public interface SquareProcessor
+	{
+		/**
+		 * Processes a square (this is invoked concurrently by the worker threads).
+		 * 
+		 * @param square The square.
+		 * @param squareCount The global ordinal of the square in the input file (starting at 1).
+		 * @param output The output sink to which the results for the square are printed.
+		 */
+		void process(Square square, long squareCount, LatinSquareOutputSink output);
+	}
+	
+	/**
+	 * Processes every square of the input file and prints the buffered outputs to standard output
+	 * in the order of the input file.
+	 * 
+	 * @param processor The processing of each square.
+	 * @return long The number of squares that were processed.
+	 */
+	public long run(SquareProcessor processor)
+	{
+		return run(processor, 0, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Processes a range of consecutive squares of the input file and prints the buffered outputs to
+	 * standard output in the order of the input file.
+	 * 
+	 * @param processor The processing of each square.
+	 * @param skip The number of squares before the range.
+	 * @param limit The maximum number of squares in the range.
+	 * @return long The number of squares that were processed.
+	 */
+	public long run(SquareProcessor processor, long skip, long limit)
+	{
+		try
+		{
+			if(LatinSquareCompressedOutputStream.isCompressed(file))
+			{
+				LatinSquareFileParser parser = new LatinSquareFileParser(order, file.getPath());
+				parser.setRejectLog(rejectLog);
+				parser.setRange(skip, limit);
+				return run(processor, parser);
+			}
+		}
+		
+		// handle input file read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While scanning the Latin square input file \"" + file + "\"");
+			System.exit(1);
+		}
+		
+		// a range of squares is parsed from the indexed squares around it
+		long start = 0;
+		long end = file.length();
+		long base = 0;
+		firstSquare = skip + 1;
+		lastSquare = (limit > (Long.MAX_VALUE - skip)) ? Long.MAX_VALUE : (skip + limit);
+		if((skip > 0) || (limit < Long.MAX_VALUE))
+		{
+			LatinSquareFileIndex index = LatinSquareFileIndex.load(file);
+			base = index.getIndexedSquareBefore(skip);
+			start = index.getOffset(base);
+			end = index.getOffset(index.getIndexedSquareAfter(lastSquare));
+		}
+		
+		// the ranges are small enough to keep every worker busy, but large enough to amortize the mapping
+		long rangeSize = Math.max(MIN_RANGE_SIZE, Math.min(MAX_RANGE_SIZE, (end - start) / (4 * numThreads)));
+		
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		ArrayDeque<Future<RangeResult>> pendingResults = new ArrayDeque<Future<RangeResult>>();
+		CompletableFuture<Long> precedingCount = CompletableFuture.completedFuture(base);
+		long numSquares = 0;
+		
+		try
+		{
+			while(start < end)
+			{
+				final long rangeStart = start;
+				final long rangeEnd = LatinSquareFileSpliterator.findSquareBoundary(file, Math.min(end, start + rangeSize), end);
+				final CompletableFuture<Long> rangeBase = precedingCount;
+				final CompletableFuture<Long> rangeCount = new CompletableFuture<Long>();
+				precedingCount = rangeCount;
+				start = rangeEnd;
+				
+				pendingResults.add(executor.submit(() -> {
+					try
+					{
+						return processRange(processor, rangeStart, rangeEnd, rangeBase, rangeCount);
+					}
+					catch(Throwable e)
+					{
+						// the workers of the following ranges must not wait forever
+						rangeCount.completeExceptionally(e);
+						throw e;
+					}
+				}));
+				
+				if(pendingResults.size() >= (2 * numThreads)) { numSquares += printResult(pendingResults.poll().get()); }
+			}
+			
+			while(!pendingResults.isEmpty()) { numSquares += printResult(pendingResults.poll().get()); }
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While processing the squares of the input file \""
+							   + file + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		finally { executor.shutdown(); }
+		
+		if(stdout != null) { stdout.flush(); }
+		return numSquares;
+	}
+	
+	/**
+	 * Processes every square of a sequential source (ex. the parser of a compressed or streamed input file)
+	 * in batches, and prints the buffered outputs to standard output in the order of the source.
+	 * 
+	 * @param processor The processing of each square.
+	 * @param source The parser of the squares (which is read on the calling thread, and rejects to its own reject log).
+	 * @return long The number of squares that were processed.
+	 */
+	public long run(SquareProcessor processor, LatinSquareFileParser source)
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		ArrayDeque<Future<RangeResult>> pendingResults = new ArrayDeque<Future<RangeResult>>();
+		long numSquares = 0;
+		firstSquare = 1;
+		lastSquare = Long.MAX_VALUE;
+		
+		try
+		{
+			while(source.hasNext())
+			{
+				final ArrayList<Square> batch = new ArrayList<Square>(BATCH_SIZE);
+				final long [] ordinals = new long[BATCH_SIZE];
+				while((batch.size() < BATCH_SIZE) && source.hasNext())
+				{
+					batch.add(source.next());
+					ordinals[batch.size() - 1] = source.getOrdinal();
+				}
+				
+				pendingResults.add(executor.submit(() -> processSquares(processor, batch, ordinals, 0, null)));
+				
+				if(pendingResults.size() >= (2 * numThreads)) { numSquares += printResult(pendingResults.poll().get()); }
+			}
+			
+			while(!pendingResults.isEmpty()) { numSquares += printResult(pendingResults.poll().get()); }
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While processing the squares of the input file \""
+							   + file + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		finally { executor.shutdown(); }
+		
+		if(stdout != null) { stdout.flush(); }
+		return numSquares;
+	}
+	
+	/**
+	 * Parses the squares of a byte range, then processes them once the number of squares in the
+	 * preceding ranges is known.
+	 * 
+	 * @param processor The processing of each square.
+	 * @param start The offset of the first byte of the range.
+	 * @param end The offset following the last byte of the range.
+	 * @param rangeBase The number of squares in the preceding ranges.
+	 * @param rangeCount The number of squares up to the end of this range (completed by this method).
+	 * @return RangeResult The buffered output of the range.
+	 * @throws Exception If a preceding range failed.
+	 */
+	private RangeResult processRange(SquareProcessor processor, long start, long end,
+									 CompletableFuture<Long> rangeBase, CompletableFuture<Long> rangeCount) throws Exception
+	{
+		ArrayList<Square> squares = new ArrayList<Square>();
+		long [] ordinals = new long[64];
+		LatinSquareRejectLog rangeRejectLog = (rejectLog != null) ? new LatinSquareRejectLog() : null;
+		LatinSquareFileParser parser = new LatinSquareFileParser(order, file, start, end);
+		parser.setRejectLog(rangeRejectLog);
+		while(parser.hasNext())
+		{
+			if(squares.size() == ordinals.length) { ordinals = Arrays.copyOf(ordinals, 2 * ordinals.length); }
+			squares.add(parser.next());
+			ordinals[squares.size() - 1] = parser.getOrdinal();
+		}
+		
+		// the rejected squares of the range are also counted
+		long base = rangeBase.get();
+		rangeCount.complete(base + parser.getOrdinal());
+		
+		return processSquares(processor, squares, ordinals, base, rangeRejectLog);
+	}
+	
+	/**
+	 * Processes a list of consecutive squares (except for those outside of the range of squares of the run)
+	 * and buffers their output.
+	 * 
+	 * @param processor The processing of each square.
+	 * @param squares The squares.
+	 * @param ordinals The ordinals of the squares, relative to the base.
+	 * @param base The number of squares that precede the squares.
+	 * @param rangeRejectLog The squares that were rejected from the byte range of the squares (or null).
+	 * @return RangeResult The buffered output of the squares.
+	 */
+	private RangeResult processSquares(SquareProcessor processor, ArrayList<Square> squares, long [] ordinals, long base,
+									   LatinSquareRejectLog rangeRejectLog)
+	{
+		LatinSquareOutputSink output = new LatinSquareOutputSink(RANGE_OUTPUT_CAPACITY);
+		long count = 0;
+		for(int i = 0; i < squares.size(); i++)
+		{
+			long squareCount = base + ordinals[i];
+			if((squareCount < firstSquare) || (squareCount > lastSquare)) { continue; }
+			
+			processor.process(squares.get(i), squareCount, output);
+			count++;
+		}
+		
+		return new RangeResult(count, output, rangeRejectLog, base);
+	}
+	
+	/**
+	 * Prints the buffered output of a range to the output sink of standard output.
+	 * 
+	 * @param result The result of the range.
+	 * @return long The number of squares that were processed in the range.
+	 */
+	private long printResult(RangeResult result)
+	{
+		if(stdout == null) { stdout = new LatinSquareOutputSink(System.out); }
+		stdout.write(result.output);
+		if(result.rejectLog != null) { rejectLog.append(result.rejectLog, result.base, firstSquare, lastSquare); }
+		return result.count;
+	}
+	
+	/**
+	 * <h1>RangeResult</h1>
+	 * 
+	 * This class represents the buffered output and the number of squares of a byte range
+	 * (or a batch) that was processed by a worker thread.
+	 * 
+	 * @author Nathan O. Schmidt
+	 * @author Will Unger
+	 */
+	private static class RangeResult
+	{
+		private final long count;
+		private final LatinSquareOutputSink output;
+		private final LatinSquareRejectLog rejectLog;
+		private final long base;
+		
+		/**
+		 * Class constructor.
+		 * 
+		 * @param count The number of squares.
+		 * @param output The buffered output.
+		 * @param rejectLog The squares that were rejected from the byte range (or null).
+		 * @param base The number of squares that precede the byte range.
+		 */
+		RangeResult(long count, LatinSquareOutputSink output, LatinSquareRejectLog rejectLog, long base)
+		{
+			this.count = count;
+			this.output = output;
+			this.rejectLog = rejectLog;
+			this.base = base;
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <h1>LatinSquareFileSpliterator</h1>
+ * 
+ * <p>This class represents a splittable source of the squares stored in an ordered-triple
+ * format input file. It covers a byte range of the file and splits the range in half at the
+ * nearest square boundary (the blank line that separates two squares, or the boundary of a
+ * fixed-width record in a binary input file), so the squares of a
+ * large input file can be parsed in parallel with StreamSupport.stream(spliterator, true).
+ * (A compressed input file is not split, since it can only be decompressed from the beginning.)
+ * </p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class LatinSquareFileSpliterator implements Spliterator<Square>
+{
+	private final int MIN_SPLIT_SIZE = 4096;
+	private int order;
+	private File file;
+	private long start;
+	private long end;
+	private LatinSquareFileParser parser;
+	
+	/**
+	 * Class constructor for a spliterator over all of the squares in an input file.
+	 * 
+	 * @param order The order of the square(s) in the input file.
+	 * @param inputFileName The input file.
+	 */
+	public LatinSquareFileSpliterator(int order, String inputFileName)
+	{
+		this(order, new File(inputFileName), 0, new File(inputFileName).length());
+	}
+	
+	/**
+	 * Class constructor for a spliterator over the squares in a byte range of an input file.
+	 * The range must begin at a square boundary.
+	 * 
+	 * @param order The order of the square(s) in the input file.
+	 * @param file The input file.
+	 * @param start The offset of the first byte of the range.
+	 * @param end The offset following the last byte of the range.
+	 */
+	LatinSquareFileSpliterator(int order, File file, long start, long end)
+	{
+		this.order = order;
+		this.file = file;
+		this.start = start;
+		this.end = end;
+		this.parser = null;
+	}
+	
+	/**
+	 * Performs the action on the next square in the byte range, if any.
+	 * 
+	 * @param action The action to perform.
+	 * @return boolean False if no squares remain.
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super Square> action)
+	{
+		if(parser == null) { parser = new LatinSquareFileParser(order, file, start, end); }
+		
+		Square square = parser.next();
+		if(square == null) { return false; }
+		
+		action.accept(square);
+		return true;
+	}
+	
+	/**
+	 * Splits off the first half of the byte range (up to a square boundary) as a new spliterator.
+	 * 
+	 * @return Spliterator The spliterator covering the first half, or null if this cannot be split.
+	 */
+	@Override
+	public Spliterator<Square> trySplit()
+	{
+		if((parser != null) || ((end - start) < MIN_SPLIT_SIZE)) { return null; }
+		
+		long boundary = findSquareBoundary(file, start + ((end - start) / 2), end);
+		if((boundary <= start) || (boundary >= end)) { return null; }
+		
+		Spliterator<Square> split = new LatinSquareFileSpliterator(order, file, start, boundary);
+		start = boundary;
+		
+		return split;
+	}
+	
+	/**
+	 * Returns the offset of the first square that begins at or after a given offset, which is
+	 * the offset following the next blank line in a text input file (or the next record boundary
+	 * in a binary input file). A compressed input file has no square boundary before the end of the range.
+	 * 
+	 * @param file The input file.
+	 * @param offset The offset from which to search.
+	 * @param end The offset following the last byte of the range to search.
+	 * @return long The offset of the square boundary, or the end of the range if there is none.
+	 */
+	static long findSquareBoundary(File file, long offset, long end)
+	{
+		try(RandomAccessFile input = new RandomAccessFile(file, "r"))
+		{
+			if(LatinSquareCompressedOutputStream.isCompressed(file)) { return end; }
+			
+			LatinSquareBinaryFormat binaryFormat = LatinSquareBinaryFormat.readHeader(file);
+			if(binaryFormat != null) { return binaryFormat.alignToRecord(offset, end); }
+			
+			byte[] buffer = new byte[8192];
+			boolean newLine = false;
+			long position = offset;
+			
+			input.seek(offset);
+			while(position < end)
+			{
+				int numBytes = input.read(buffer, 0, (int)Math.min(buffer.length, end - position));
+				if(numBytes <= 0) { break; }
+				
+				for(int i = 0; i < numBytes; i++)
+				{
+					if(buffer[i] == '\n')
+					{
+						// a second line feed (ignoring carriage returns) ends a blank line
+						if(newLine) { return position + i + 1; }
+						newLine = true;
+					}
+					else if(buffer[i] != '\r') { newLine = false; }
+				}
+				position += numBytes;
+			}
+		}
+		
+		// handle input file read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While scanning the Latin square input file \"" + file + "\"");
+			System.exit(1);
+		}
+		
+		return end;
+	}
+	
+	/**
+	 * Returns the number of bytes that remain in the range, which estimates the number of squares.
+	 * 
+	 * @return long The estimated size.
+	 */
+	@Override
+	public long estimateSize()
+	{
+		return end - start;
+	}
+	
+	/**
+	 * Returns the characteristics of this spliterator.
+	 * 
+	 * @return int The characteristics.
+	 */
+	@Override
+	public int characteristics()
+	{
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+}
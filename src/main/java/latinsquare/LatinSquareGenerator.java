@@ -27,6 +27,15 @@
 
 package latinsquare;
 
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * <h1>LatinSquareGenerator</h1>
  * 
@@ -34,18 +43,31 @@ package latinsquare;
  * or "generates"/reads existing Latin squares that are encoded in an ordered-triple format input file.
  * This represents the base class for various generation algorithms and also the input file parsing
  * algorithm for post-processing (ex. transversal counting).
+ * Besides the push-based go() method, which processes and prints each square for the
+ * user-specified job, each generator is also a pull-based source of squares: its iterator()
+ * and spliterator() methods allow library callers to consume the squares lazily or with
+ * (parallel) streams.
+ * When the transversals are counted with several worker threads, processSquare() becomes the producer
+ * of a pipeline: it publishes a snapshot of each square to a bounded queue of pending squares, a pool of
+ * workers counts the transversals and formats the output of each square, and the pending squares are
+ * printed in the order in which they were generated (so the output does not depend on the number of threads).
+ * The squares and their transversal characteristics are printed through a buffered output sink (see
+ * LatinSquareOutputSink) of standard output, so the sink must be flushed (see finishProcessing()) before
+ * anything else is printed to standard output.
  * </p>
  * 
  * @author Nathan O. Schmidt
  * @author Will Unger
  * @version 1.10
  */
-public abstract class LatinSquareGenerator 
+public abstract class LatinSquareGenerator implements Iterable<Square>
 {
 	protected LatinSquareJob job;
-	protected boolean[][] row;
-	protected boolean[][] col;
 	protected Square square;
+	private ExecutorService countingPool;
+	private ArrayDeque<Future<LatinSquareOutputSink>> pendingSquares;
+	private LatinSquareOutputSink outputSink;
+	private final int SQUARE_OUTPUT_CAPACITY = 1 << 10;
 	
 	/**
 	 * 
@@ -65,15 +87,7 @@ public abstract class LatinSquareGenerator
 	 */
 	protected void initializeSquareTemplate()
 	{
-		int order = job.getOrder();
-		row = new boolean[order][order];
-		col = new boolean[order][order];
-		square = new Square(order);
-		
-		for(int i = 0; i < order; i++)
-		{
-			for(int j = 0; j < order; j++) { row[i][j] = col[i][j] = true; }
-		}
+		square = new Square(job.getOrder());
 	}
 	
 	/**
@@ -127,13 +141,19 @@ public abstract class LatinSquareGenerator
 	 */
 	protected void processSquare(Square square)
 	{
+		if(isCountingInParallel())
+		{
+			submitSquare(square);
+			return;
+		}
+		
 		long squareCount = job.getNumSquaresProcessed() + 1;
 		long transversalCount = 0;
 		
 		// if counting transversals, then do it!
 		if(isCountingTransversals() || isPrintingHeatMap() || isPrintingTransversals())
 		{
-			System.out.println("Latin Square #" + squareCount + ": ");
+			printSquareTitle(getOutputSink(), squareCount);
 			transversalCount = square.getTransversalCount(); 
 			
 			// if keeping track of total job stats, then keep track of transversal count
@@ -147,6 +167,105 @@ public abstract class LatinSquareGenerator
 		job.incrementNumSquaresProcessed();
 	}
 	
+	/**
+	 * Returns true if the transversals are counted by a pool of worker threads.
+	 * 
+	 * @return boolean The parallel counting flag.
+	 */
+	protected boolean isCountingInParallel()
+	{
+		return (job.getNumThreads() > 1) && (isCountingTransversals() || isPrintingHeatMap() || isPrintingTransversals());
+	}
+	
+	/**
+	 * Publishes a snapshot of a Latin square to the pool of counting workers. If the queue of
+	 * pending squares is full, then the oldest pending square is printed first (which blocks
+	 * until a worker has counted its transversals).
+	 * 
+	 * @param square The Latin square to process (which may be modified once this returns).
+	 */
+	private void submitSquare(Square square)
+	{
+		if(countingPool == null)
+		{
+			countingPool = Executors.newFixedThreadPool(job.getNumThreads());
+			pendingSquares = new ArrayDeque<Future<LatinSquareOutputSink>>();
+		}
+		
+		final Square snapshot = new Square(square);
+		final long squareCount = job.getNumSquaresProcessed() + 1;
+		job.incrementNumSquaresProcessed();
+		
+		pendingSquares.add(countingPool.submit(() -> {
+			long transversalCount = snapshot.getTransversalCount();
+			if(isPrintingReport()) { job.submitTransversalCount(transversalCount); }
+			
+			LatinSquareOutputSink output = new LatinSquareOutputSink(SQUARE_OUTPUT_CAPACITY);
+			printSquareTitle(output, squareCount);
+			printSquareStuff(output, snapshot, squareCount, transversalCount);
+			return output;
+		}));
+		
+		if(pendingSquares.size() >= (2 * job.getNumThreads())) { printPendingSquare(); }
+	}
+	
+	/**
+	 * Prints the oldest pending square once its transversals have been counted.
+	 */
+	private void printPendingSquare()
+	{
+		try { getOutputSink().write(pendingSquares.poll().get()); }
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While counting the transversals of the Latin squares: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Prints every pending square and flushes the output sink, so that the output and the job statistics
+	 * include all of the Latin squares processed so far. This must be invoked before a checkpoint is written.
+	 */
+	protected void flushPendingSquares()
+	{
+		while((pendingSquares != null) && !pendingSquares.isEmpty()) { printPendingSquare(); }
+		if(outputSink != null) { outputSink.flush(); }
+	}
+	
+	/**
+	 * Returns the buffered output sink of standard output, which is replaced (after it is flushed)
+	 * if standard output has been redirected since it was created.
+	 * 
+	 * @return LatinSquareOutputSink The output sink.
+	 */
+	protected LatinSquareOutputSink getOutputSink()
+	{
+		if((outputSink == null) || !outputSink.isWritingTo(System.out))
+		{
+			if(outputSink != null) { outputSink.flush(); }
+			outputSink = new LatinSquareOutputSink(System.out);
+		}
+		
+		return outputSink;
+	}
+	
+	/**
+	 * Prints every pending square, flushes the output sink, and stops the pool of counting workers. Each
+	 * generator that processes its squares with processSquare() must invoke this before the job report is printed.
+	 */
+	protected void finishProcessing()
+	{
+		flushPendingSquares();
+		
+		if(countingPool != null)
+		{
+			countingPool.shutdown();
+			countingPool = null;
+		}
+	}
+	
 	/**
 	 * Prints the user-specified transversal characteristics for a Latin square being processed.
 	 * 
@@ -155,33 +274,71 @@ public abstract class LatinSquareGenerator
 	 * @param transversalCount The transversal count for the current square.
 	 */
 	protected void printSquareStuff(Square square, long squareCount, long transversalCount)
+	{
+		printSquareStuff(getOutputSink(), square, squareCount, transversalCount);
+	}
+	
+	/**
+	 * Prints the title line ("Latin Square #k: ") of a Latin square being processed to an output sink.
+	 * 
+	 * @param out The output sink.
+	 * @param squareCount The ordinal of the current square.
+	 */
+	protected void printSquareTitle(LatinSquareOutputSink out, long squareCount)
+	{
+		out.print("Latin Square #");
+		out.print(squareCount);
+		out.println(": ");
+	}
+	
+	/**
+	 * Prints the user-specified transversal characteristics for a Latin square being processed to an
+	 * output sink (this may be invoked by concurrent workers, each with its own sink).
+	 * 
+	 * @param out The output sink.
+	 * @param square The current square.
+	 * @param squareCount The number of squares that have already been processed.
+	 * @param transversalCount The transversal count for the current square.
+	 */
+	protected void printSquareStuff(LatinSquareOutputSink out, Square square, long squareCount, long transversalCount)
 	{
 		// print square in either ordered-triple or human-readable format
-		if(!isPrintingHumanReadable()) { System.out.println(square); }
-		else { System.out.println(square.toStringHumanReadable()); }
+		if(!isPrintingHumanReadable()) { out.writeSquare(square); }
+		else { out.writeSquareHumanReadable(square); }
+		out.println();
 		
 		// if counting transversals
 		if(isCountingTransversals()) 
 		{ 
-			System.out.println("Latin Square #" + squareCount +" Transversal Count: " + transversalCount + "\n"); 
+			out.print("Latin Square #");
+			out.print(squareCount);
+			out.print(" Transversal Count: ");
+			out.print(transversalCount);
+			out.print((byte)'\n');
+			out.println();
 		}
 		
 		// if printing the list of all transversals
 		if(isPrintingTransversals()) 
 		{ 
-			System.out.println("Latin Square #" + squareCount + " Transversal List: \n" + square.toStringTransversalsOrderedTriple()); 
+			out.print("Latin Square #");
+			out.print(squareCount);
+			out.print(" Transversal List: \n");
+			out.println(square.toStringTransversalsOrderedTriple());
 		}
 		
 		// if printing the transversal heat map
 		if(isPrintingHeatMap()) 
 		{ 
-			System.out.println("Latin Square #" + squareCount + " Transversal Heat Map: ");
-			if(!isPrintingHumanReadable()) { System.out.println(square.toStringTransversalHeatMapOrderedTriple()); }
-			else { System.out.println(square.toStringTransversalHeatMapHumanReadable()); }
+			out.print("Latin Square #");
+			out.print(squareCount);
+			out.println(" Transversal Heat Map: ");
+			out.writeHeatMap(square, isPrintingHumanReadable());
+			out.println();
 			
 			// if the heat map has a uniform/constant heat value, then print the formula
 			String transversalFormulaStr = square.toStringTransversalFormula();
-			if(!transversalFormulaStr.equals("")) { System.out.println(transversalFormulaStr + "\n"); }
+			if(!transversalFormulaStr.equals("")) { out.println(transversalFormulaStr + "\n"); }
 		}
 	}
 	
@@ -189,4 +346,25 @@ public abstract class LatinSquareGenerator
 	 * Generates or reads in a data set of Latin squares according to some algorithm.
 	 */
 	protected abstract void go();
+	
+	/**
+	 * Returns a new pull-based iterator over the squares of the user-specified job. Each
+	 * square returned by the iterator is a distinct object that may be retained by the caller.
+	 * The iterator is independent of the go() method and of any other iterator.
+	 * 
+	 * @return Iterator The iterator over the squares.
+	 */
+	@Override
+	public abstract Iterator<Square> iterator();
+	
+	/**
+	 * Returns a sequential or parallel stream over the squares of the user-specified job.
+	 * 
+	 * @param parallel The parallel stream flag.
+	 * @return Stream The stream of squares.
+	 */
+	public Stream<Square> stream(boolean parallel)
+	{
+		return StreamSupport.stream(spliterator(), parallel);
+	}
 }
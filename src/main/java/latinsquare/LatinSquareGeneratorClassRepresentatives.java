@@ -0,0 +1,274 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <h1>LatinSquareGeneratorClassRepresentatives</h1>
+ * 
+ * <p>This class generates one representative of each isotopy class (or main class) of order-n
+ * Latin squares with an orderly selection-based algorithm. The selection search is restricted to
+ * reduced Latin squares whose second row is one of the canonical second rows (see
+ * LatinSquareCanonicalForm), which prunes every sub-tree that cannot contain a canonical form, and
+ * each completed square is kept only if it is the canonical form of its class. Since the canonical
+ * test also finds the order of the square's autotopism (or autoparatopism) group, each representative
+ * is printed with the number of Latin squares in its class. If transversals are counted, then each
+ * representative is weighted by the number of reduced Latin squares in its class, so the job report
+ * statistics are those of all order-n Latin squares (the transversal count is a main class invariant).
+ * This is used for the Latin Square Generation Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorClassRepresentatives extends LatinSquareGenerator
+{
+	private int order;
+	private long dataSetSize;
+	private boolean mainClass;
+	private BigInteger classSize;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for generating isotopy class (or main class) representatives.
+	 * 
+	 * @param config The user-specified job configuration for generating Latin squares.
+	 */
+	public LatinSquareGeneratorClassRepresentatives(LatinSquareJobConfigGenerator config)
+	{
+		super(config);
+		order = job.getOrder();
+		dataSetSize = job.getDataSetSize();
+		mainClass = (config.getGenerationMode() == GenerationMode.MAIN_CLASS);
+	}
+	
+	/**
+	 * Returns the number of representatives to generate.
+	 * This is zero if one representative of every class will be generated for the given order.
+	 * 
+	 * @return long The data set size.
+	 */
+	public long getDataSetSize() { return job.getDataSetSize(); }
+	
+	/**
+	 * Returns true if main class representatives (rather than isotopy class representatives)
+	 * will be generated.
+	 * 
+	 * @return boolean The main class flag.
+	 */
+	public boolean isGeneratingMainClasses() { return mainClass; }
+	
+	/**
+	 * Returns the number of representatives that have been generated.
+	 * If the go() method has not been already invoked, then this will return zero.
+	 * 
+	 * @return long The representative generation count.
+	 */
+	public long getGeneratedCount() { return job.getNumSquaresProcessed(); }
+	
+	/**
+	 * Uses the orderly selection-based algorithm to generate and print the class
+	 * representatives (and their class sizes) to standard output.
+	 */
+	@Override
+	public void go()
+	{
+		LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(order);
+		
+		for(int[] prefix : getPrefixes(order))
+		{
+			LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(order, false, prefix, true);
+			
+			// the search updates its working square in place, so no copies are made
+			while(search.advance())
+			{
+				square = search.getCurrentSquare();
+				if(!isCanonical(canonicalForm, square)) { continue; }
+				
+				// process the representative according to user-specified job
+				long automorphismCount = canonicalForm.getAutomorphismCount();
+				classSize = LatinSquareCanonicalForm.getClassSize(order, automorphismCount, mainClass);
+				job.submitClassSize(classSize);
+				processSquare(square, LatinSquareCanonicalForm.getReducedClassSize(order, automorphismCount, mainClass));
+				
+				// if we're finished generating the data set
+				if((dataSetSize != 0) && (job.getNumSquaresProcessed() == dataSetSize))
+				{
+					finishProcessing();
+					if(job.isPrintingReport()) { job.printReport(); }
+					return;
+				}
+			}
+		}
+		
+		finishProcessing();
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Processes a representative by computing the user-specified transversal characteristics,
+	 * where its transversal count is weighted by the number of reduced Latin squares in its class.
+	 * 
+	 * @param square The representative to process.
+	 * @param weight The number of reduced Latin squares in its class.
+	 */
+	private void processSquare(Square square, long weight)
+	{
+		long squareCount = job.getNumSquaresProcessed() + 1;
+		long transversalCount = 0;
+		
+		// if counting transversals, then do it!
+		if(isCountingTransversals() || isPrintingHeatMap() || isPrintingTransversals())
+		{
+			printSquareTitle(getOutputSink(), squareCount);
+			transversalCount = square.getTransversalCount();
+			
+			// if keeping track of total job stats, then keep track of the weighted transversal count
+			if(isPrintingReport()) { job.submitTransversalCount(transversalCount, weight); }
+		}
+		
+		// print the user-specified transversal characteristics
+		printSquareStuff(square, squareCount, transversalCount);
+		
+		// increment # of Latin squares generated
+		job.incrementNumSquaresProcessed();
+	}
+	
+	/**
+	 * Prints the representative, its class size, and the user-specified transversal characteristics.
+	 * 
+	 * @param square The current square.
+	 * @param squareCount The number of squares that have already been processed.
+	 * @param transversalCount The transversal count for the current square.
+	 */
+	@Override
+	protected void printSquareStuff(Square square, long squareCount, long transversalCount)
+	{
+		LatinSquareOutputSink out = getOutputSink();
+		super.printSquareStuff(out, square, squareCount, transversalCount);
+		out.print("Latin Square #");
+		out.print(squareCount);
+		out.println((mainClass ? " Main" : " Isotopy") + " Class Size: " + classSize + "\n");
+	}
+	
+	/**
+	 * Returns true if a reduced Latin square is the canonical form of its class.
+	 * 
+	 * @param canonicalForm The canonical form calculator.
+	 * @param square The reduced Latin square.
+	 * @return boolean The canonical flag.
+	 */
+	private boolean isCanonical(LatinSquareCanonicalForm canonicalForm, Square square)
+	{
+		if(mainClass) { return canonicalForm.isMainClassCanonical(square); }
+		else { return canonicalForm.isIsotopyCanonical(square); }
+	}
+	
+	/**
+	 * Returns the prefixes of the orderly search, each of which fixes the first row to
+	 * 0, 1, ..., n-1 and the second row to one of the canonical second rows.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @return ArrayList The list of prefixes.
+	 */
+	private static ArrayList<int[]> getPrefixes(int order)
+	{
+		ArrayList<int[]> prefixes = new ArrayList<int[]>();
+		int[] firstRow = new int[order];
+		for(int i = 0; i < order; i++) { firstRow[i] = i; }
+		
+		// an order-1 Latin square has no second row
+		if(order == 1)
+		{
+			prefixes.add(firstRow);
+			return prefixes;
+		}
+		
+		for(int[] secondRow : LatinSquareCanonicalForm.getCanonicalSecondRows(order))
+		{
+			int[] prefix = new int[2 * order];
+			System.arraycopy(firstRow, 0, prefix, 0, order);
+			System.arraycopy(secondRow, 0, prefix, order, order);
+			prefixes.add(prefix);
+		}
+		
+		return prefixes;
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the class representatives, which stops after
+	 * the user-specified data set size (unless all classes are being represented).
+	 * 
+	 * @return Iterator The iterator over the class representatives.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		final Iterator<int[]> prefixes = getPrefixes(order).iterator();
+		final LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(order);
+		
+		return new Iterator<Square>()
+		{
+			private LatinSquareSelectionIterator search = null;
+			private boolean pending = false;
+			private long count = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				if((dataSetSize != 0) && (count >= dataSetSize)) { return false; }
+				
+				while(!pending)
+				{
+					if((search == null) || !search.advance())
+					{
+						if(!prefixes.hasNext()) { return false; }
+						search = new LatinSquareSelectionIterator(order, false, prefixes.next(), true);
+						continue;
+					}
+					pending = isCanonical(canonicalForm, search.getCurrentSquare());
+				}
+				return true;
+			}
+			
+			@Override
+			public Square next()
+			{
+				if(!hasNext()) { throw new NoSuchElementException(); }
+				pending = false;
+				++count;
+				return new Square(search.getCurrentSquare());
+			}
+		};
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+
+/**
+ * <h1>LatinSquareGeneratorConverter</h1>
+ * 
+ * <p>This class "generates"/reads the squares that are stored in a data set input file (in the
+ * ordered-triple, human-readable, or binary format; see LatinSquareFileParser) and writes them to
+ * an output file in another format. The ordered-triple and human-readable outputs are identical to
+ * those of the Latin Square Generator Tool, and the binary output is identical to "./lsg -b", so a
+ * data set can be converted back and forth without any loss. The output file may also be gzip-compressed
+ * on a separate thread (see LatinSquareCompressedOutputStream), and a compressed input file is decompressed
+ * by the parser, so a data set can be compressed or decompressed without changing its format.
+ * This is used for the Latin Square Format Converter Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorConverter extends LatinSquareGenerator
+{
+	private final int OUTPUT_BUFFER_SIZE = 1 << 16;
+	private String inputFile;
+	private String outputFile;
+	private boolean binaryOutput;
+	private boolean compressedOutput;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for converting a data set file.
+	 * 
+	 * @param config The user-specified job configuration for converting a data set file.
+	 */
+	public LatinSquareGeneratorConverter(LatinSquareJobConfigConverter config)
+	{
+		super(config);
+		inputFile = config.getInputFile();
+		outputFile = config.getOutputFile();
+		binaryOutput = config.isWritingBinary();
+		compressedOutput = config.isWritingCompressed();
+	}
+	
+	/**
+	 * Reads each square of the input file and writes it to the output file in the user-specified format.
+	 */
+	@Override
+	public void go()
+	{
+		LatinSquareFileParser fileParser = new LatinSquareFileParser(getOrder(), inputFile);
+		LatinSquareBinaryFormat binaryFormat = new LatinSquareBinaryFormat(getOrder(), 0);
+		byte[] record = binaryOutput ? new byte[(int)binaryFormat.getRecordSize()] : null;
+		
+		try
+		{
+			FileOutputStream fileStream = new FileOutputStream(outputFile);
+			PrintStream output = new PrintStream(compressedOutput ? new LatinSquareCompressedOutputStream(fileStream)
+					: new BufferedOutputStream(fileStream, OUTPUT_BUFFER_SIZE), false);
+			if(binaryOutput) { binaryFormat.writeHeader(output); }
+			
+			while(fileParser.hasNext())
+			{
+				square = fileParser.next();
+				
+				// write the square in the same format as the Latin Square Generator Tool
+				if(binaryOutput)
+				{
+					binaryFormat.encode(square, record);
+					output.write(record, 0, record.length);
+				}
+				else if(isPrintingHumanReadable()) { output.println(square.toStringHumanReadable()); }
+				else { output.println(square); }
+				
+				job.incrementNumSquaresProcessed();
+			}
+			
+			output.close();
+			if(output.checkError()) { throw new IOException("the output stream reported an error"); }
+			if(binaryOutput && !compressedOutput) { LatinSquareBinaryFormat.writeCount(new File(outputFile), job.getNumSquaresProcessed()); }
+		}
+		
+		// handle output file write exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While writing the Latin square output file \"" + outputFile + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the squares of the input file.
+	 * 
+	 * @return Iterator The iterator over the squares.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		return new LatinSquareFileParser(getOrder(), inputFile);
+	}
+}
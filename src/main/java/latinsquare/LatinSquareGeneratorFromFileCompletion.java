@@ -0,0 +1,256 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h1>LatinSquareGeneratorFromFileCompletion</h1>
+ * 
+ * <p>This class represents a "generator" that reads partial squares from an ordered-triple
+ * format input file and completes each of them into Latin squares with an exact-cover solver
+ * (see LatinSquareCompletionSolver). By default the completions are printed in the same
+ * ordered-triple format as the Latin Square Generator Tool, so the output can be post-processed
+ * by the other tools. The partial squares may be completed by a pool of worker threads, in which
+ * case the results are still printed in the order of the input file.
+ * This is used for the Latin Square Completion Tool.
+ * </p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class LatinSquareGeneratorFromFileCompletion extends LatinSquareGenerator
+{
+	private LatinSquarePartialFileParser fileParser;
+	private String inputFile;
+	private long numCompletions;
+	private boolean countCompletions;
+	private int numThreads;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for reading in partial squares from an ordered-triple
+	 * format input file.
+	 * 
+	 * @param config The user-specified job configuration for completing partial squares.
+	 */
+	public LatinSquareGeneratorFromFileCompletion(LatinSquareJobConfigFromFileCompletion config)
+	{
+		super(config);
+		inputFile = config.getInputFile();
+		numCompletions = config.getNumCompletions();
+		countCompletions = config.isCountingCompletions();
+		numThreads = config.getNumThreads();
+		fileParser = new LatinSquarePartialFileParser(config.getOrder(), inputFile);
+	}
+	
+	/**
+	 * Completes each partial square from the input file and prints the completions
+	 * (or their counts) to standard output.
+	 */
+	public void go()
+	{
+		if(numThreads == 1)
+		{
+			while(fileParser.hasNext())
+			{
+				long count = completePartialSquare(fileParser.next(), System.out);
+				submitResult(count);
+			}
+		}
+		else { goParallel(); }
+		
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Completes the partial squares with a pool of worker threads. Each worker buffers the output
+	 * for its partial square, and the buffers are printed in the order of the input file; at most
+	 * two partial squares per worker are pending at any time.
+	 */
+	private void goParallel()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		ArrayDeque<Future<CompletionResult>> pendingResults = new ArrayDeque<Future<CompletionResult>>();
+		
+		try
+		{
+			while(fileParser.hasNext())
+			{
+				final PartialSquare partialSquare = fileParser.next();
+				pendingResults.add(executor.submit(() -> {
+					ByteArrayOutputStream output = new ByteArrayOutputStream();
+					long count = completePartialSquare(partialSquare, new PrintStream(output));
+					return new CompletionResult(count, output);
+				}));
+				
+				if(pendingResults.size() >= (2 * numThreads)) { printResult(pendingResults.poll().get()); }
+			}
+			
+			while(!pendingResults.isEmpty()) { printResult(pendingResults.poll().get()); }
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While completing the partial squares of the input file \""
+							   + inputFile + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		finally { executor.shutdown(); }
+	}
+	
+	/**
+	 * Finds the user-specified number of completions for a partial square and prints them
+	 * (unless they are only being counted).
+	 * 
+	 * @param partialSquare The partial square to complete.
+	 * @param output The stream to which the completions are printed.
+	 * @return long The number of completions that were found.
+	 */
+	private long completePartialSquare(PartialSquare partialSquare, PrintStream output)
+	{
+		LatinSquareCompletionSolver solver = new LatinSquareCompletionSolver(partialSquare);
+		
+		if(countCompletions) { return solver.countCompletions(numCompletions); }
+		
+		long count = 0;
+		while(((numCompletions == 0) || (count < numCompletions)) && solver.advance())
+		{
+			// print the completion in either ordered-triple or human-readable format
+			if(!isPrintingHumanReadable()) { output.println(solver.getCurrentSquare()); }
+			else { output.println(solver.getCurrentSquare().toStringHumanReadable()); }
+			++count;
+		}
+		output.flush();
+		
+		return count;
+	}
+	
+	/**
+	 * Prints the buffered output of a worker and submits its completion count.
+	 * 
+	 * @param result The worker's result.
+	 */
+	private void printResult(CompletionResult result)
+	{
+		System.out.print(result.output.toString());
+		submitResult(result.count);
+	}
+	
+	/**
+	 * Submits the completion count of the next partial square to the job (printing it
+	 * if the completions are being counted).
+	 * 
+	 * @param count The number of completions.
+	 */
+	private void submitResult(long count)
+	{
+		if(countCompletions)
+		{
+			System.out.println("Partial Square #" + (job.getNumSquaresProcessed() + 1) + " Completion Count: " + count);
+		}
+		
+		job.submitCompletionCount(count);
+		job.incrementNumSquaresProcessed();
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the completions of the partial squares in the input
+	 * file, which yields up to the user-specified number of completions for each partial square.
+	 * 
+	 * @return Iterator The iterator over the completed Latin squares.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		final LatinSquarePartialFileParser partialSquares = new LatinSquarePartialFileParser(getOrder(), inputFile);
+		
+		return new Iterator<Square>()
+		{
+			private LatinSquareCompletionSolver solver = null;
+			private long count = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				while((solver == null) || ((numCompletions != 0) && (count >= numCompletions)) || !solver.hasNext())
+				{
+					if(!partialSquares.hasNext()) { return false; }
+					solver = new LatinSquareCompletionSolver(partialSquares.next());
+					count = 0;
+				}
+				return true;
+			}
+			
+			@Override
+			public Square next()
+			{
+				if(!hasNext()) { throw new NoSuchElementException(); }
+				++count;
+				return solver.next();
+			}
+		};
+	}
+	
+	/**
+	 * <h1>CompletionResult</h1>
+	 * 
+	 * This class represents the buffered output and the completion count of a partial square
+	 * that was completed by a worker thread.
+	 * 
+	 * @author Nathan O. Schmidt
+	 * @author Will Unger
+	 */
+	private static class CompletionResult
+	{
+		private final long count;
+		private final ByteArrayOutputStream output;
+		
+		/**
+		 * Class constructor.
+		 * 
+		 * @param count The number of completions.
+		 * @param output The buffered output.
+		 */
+		CompletionResult(long count, ByteArrayOutputStream output)
+		{
+			this.count = count;
+			this.output = output;
+		}
+	}
+}
@@ -27,13 +27,20 @@
 
 package latinsquare;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * <h1>LatinSquareGeneratorFromFilePropertyChecker</h1>
  * 
  * <p>This class represents a "generator" that reads existing Latin squares 
  * that are encoded in an ordered-triple format input file. Although this class
  * does not actually generate Latin squares, it behaves in a very similar way
- * to those that do generate Latin squares.
+ * to those that do generate Latin squares. The input file may be parsed and checked
+ * by a pool of worker threads (see LatinSquareFilePipeline).
+ * Only a range (or a shard) of the consecutive squares of the input file may be processed, which keep their
+ * ordinals in the input file (see LatinSquareFileParser.setRange). The malformed squares of the input file may be
+ * rejected into a reject file instead of stopping the job (see LatinSquareRejectLog).
  * This is used for the Latin Square Property Checker Tool.
  * </p>
  * 
@@ -44,6 +51,8 @@ package latinsquare;
 public class LatinSquareGeneratorFromFilePropertyChecker extends LatinSquareGenerator
 {
 	private LatinSquareFileParser fileParser;
+	private String inputFile;
+	private LatinSquareRejectLog rejectLog;
 	
 	/**
 	 * Class constructor that accepts a user-specified job configuration and
@@ -55,7 +64,22 @@ public class LatinSquareGeneratorFromFilePropertyChecker extends LatinSquareGene
 	public LatinSquareGeneratorFromFilePropertyChecker(LatinSquareJobConfigFromFilePropertyChecker config)
 	{
 		super(config);
-		fileParser = new LatinSquareFileParser(config.getOrder(), config.getInputFile());
+		inputFile = config.getInputFile();
+		fileParser = new LatinSquareFileParser(config.getOrder(), inputFile);
+		
+		// reject the malformed squares of the input file into the reject file instead of stopping the job
+		rejectLog = null;
+		if(config.isSkippingMalformedSquares())
+		{
+			rejectLog = new LatinSquareRejectLog(config.getRejectFile());
+			fileParser.setRejectLog(rejectLog);
+			job.setRejectLog(rejectLog);
+		}
+		
+		// restrict the input file to the user-specified shard (or range) of squares
+		if(config.getNumShards() > 1) { fileParser.setShard(config.getShardIndex(), config.getNumShards()); }
+		else { fileParser.setRange(config.getSkip(), config.getLimit()); }
+		if(fileParser.hasRange()) { job.setInputRange(fileParser.getNumSkipped() + 1); }
 	}
 	
 	/**
@@ -64,6 +88,21 @@ public class LatinSquareGeneratorFromFilePropertyChecker extends LatinSquareGene
 	 */
 	public void go()
 	{
+		if(job.getNumThreads() > 1)
+		{
+			LatinSquareFilePipeline pipeline = new LatinSquareFilePipeline(getOrder(), inputFile, job.getNumThreads());
+			LatinSquareFilePipeline.SquareProcessor processor = (square, squareCount, output) -> checkSquare(square, squareCount, output);
+			
+			pipeline.setRejectLog(rejectLog);
+			
+			// a streamed input file (ex. standard input) has already been opened by the parser
+			job.incrementNumSquaresProcessed(fileParser.isStreamed() ? pipeline.run(processor, fileParser)
+					: pipeline.run(processor, fileParser.getNumSkipped(), fileParser.getLimit()));
+			if(rejectLog != null) { rejectLog.close(); }
+			if(job.isPrintingReport()) { job.printReport(); }
+			return;
+		}
+		
 		// process each square by checking if the Latin Square Property is satisfied
 		while(fileParser.hasNext())
 		{
@@ -73,6 +112,8 @@ public class LatinSquareGeneratorFromFilePropertyChecker extends LatinSquareGene
 			this.processSquare(square);
 		}
 		
+		finishProcessing();
+		if(rejectLog != null) { rejectLog.close(); }
 		if(job.isPrintingReport()) { job.printReport(); }
 	}
 	
@@ -85,30 +126,79 @@ public class LatinSquareGeneratorFromFilePropertyChecker extends LatinSquareGene
 	@Override
 	protected void processSquare(Square square)
 	{
-		long squareCount = job.getNumSquaresProcessed() + 1;
+		checkSquare(square, fileParser.getOrdinal(), getOutputSink());
+		
+		// Increment # of Latin squares generated
+		job.incrementNumSquaresProcessed();
+	}
+	
+	/**
+	 * Determines if the Latin Square Property is satisfied by a square with a given ordinal and
+	 * prints the result to an output sink (this may be invoked by concurrent workers).
+	 * 
+	 * @param square The square to process.
+	 * @param squareCount The ordinal of the square.
+	 * @param output The output sink to which the result is printed.
+	 */
+	private void checkSquare(Square square, long squareCount, LatinSquareOutputSink output)
+	{
+		// the squares of a mixed-order input file are also counted by order
+		if(isPrintingReport()) { job.submitSquareOrder(square.getOrder(), 0); }
 		
-		System.out.println("Square #" + squareCount + ": ");
+		output.print("Square #");
+		output.print(squareCount);
+		output.println(": ");
 			
 		// print square in either ordered-triple or human-readable format
-		if(!isPrintingHumanReadable()) { System.out.println(square); }
-		else { System.out.println(square.toStringHumanReadable()); }
+		if(!isPrintingHumanReadable()) { output.writeSquare(square); }
+		else { output.writeSquareHumanReadable(square); }
+		output.println();
 		
 		// determine if the Latin Square Property is satisfied and print result
+		output.print("Square #");
+		output.print(squareCount);
 		if(square.latinSquarePropertyHolds())
 		{
-			System.out.println("Square #" + squareCount + " encodes the Cayley table of a quasi-group!");
+			output.println(" encodes the Cayley table of a quasi-group!");
 			
 			// if keeping track of total job stats, then keep track of property satisfied count
-			if(isPrintingReport()) { job.incrementPropertySatisfiedCount(); }
+			if(isPrintingReport()) { job.incrementPropertySatisfiedCount(square.getOrder()); }
 			
 		}
 		else
 		{
-			System.out.println("Square #" + squareCount + " does NOT encode the Cayley table of a quasi-group");
+			output.println(" does NOT encode the Cayley table of a quasi-group");
 		}
-		System.out.println();
+		output.println();
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the squares in the input file.
+	 * 
+	 * @return Iterator The iterator over the squares.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		// a streamed input file (ex. standard input) can only be read once
+		if(fileParser.isStreamed()) { return fileParser; }
 		
-		// Increment # of Latin squares generated
-		job.incrementNumSquaresProcessed();
+		LatinSquareFileParser parser = new LatinSquareFileParser(getOrder(), inputFile);
+		parser.setRange(fileParser.getNumSkipped(), fileParser.getLimit());
+		return parser;
+	}
+	
+	/**
+	 * Returns a spliterator over the squares in the input file that splits the file
+	 * into byte ranges at square boundaries, so the squares can be parsed in parallel.
+	 * 
+	 * @return Spliterator The spliterator over the squares.
+	 */
+	@Override
+	public Spliterator<Square> spliterator()
+	{
+		if(fileParser.isStreamed()) { return fileParser.spliterator(); }
+		if(fileParser.hasRange()) { return ((LatinSquareFileParser)iterator()).spliterator(); }
+		return new LatinSquareFileSpliterator(getOrder(), inputFile);
 	}
 }
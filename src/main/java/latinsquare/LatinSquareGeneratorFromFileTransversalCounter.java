@@ -27,13 +27,30 @@
 
 package latinsquare;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.TreeMap;
+
 /**
  * <h1>LatinSquareGeneratorFromFileTransversalCounter</h1>
  * 
  * <p>This class represents a "generator" that reads existing Latin squares 
  * that are encoded in an ordered-triple format input file. Although this class
  * does not actually generate Latin squares, it behaves in a very similar way
- * to those that do generate Latin squares.
+ * to those that do generate Latin squares. If the input file is deduplicated, then the squares
+ * first pass through a LatinSquareClassDeduplicator, and only one representative of each class
+ * is processed, where its transversal count is weighted by its multiplicity. Otherwise, the input
+ * file may be parsed and processed by a pool of worker threads (see LatinSquareFilePipeline).
+ * The output may be written to an output file on a separate writer thread (see LatinSquareAsyncOutputStream)
+ * instead of standard output, so the transversal counting does not wait for the output file.
+ * Only a range (or a shard) of the consecutive squares of the input file may be processed, which keep their
+ * ordinals in the input file (see LatinSquareFileParser.setRange). The malformed squares of the input file may be
+ * rejected into a reject file instead of stopping the job (see LatinSquareRejectLog).
  * This is used for the Latin Square Transversal Counting Tool.
  * </p>
  * 
@@ -44,6 +61,9 @@ package latinsquare;
 public class LatinSquareGeneratorFromFileTransversalCounter extends LatinSquareGenerator
 {
 	private LatinSquareFileParser fileParser;
+	private String inputFile;
+	private LatinSquareRejectLog rejectLog;
+	private LatinSquareJobConfigFromFileTransversalCounter config;
 	
 	/**
 	 * Class constructor that accepts a user-specified job configuration and
@@ -57,15 +77,62 @@ public class LatinSquareGeneratorFromFileTransversalCounter extends LatinSquareG
 	public LatinSquareGeneratorFromFileTransversalCounter(LatinSquareJobConfigFromFileTransversalCounter config)
 	{
 		super(config);
-		fileParser = new LatinSquareFileParser(config.getOrder(), config.getInputFile());
+		this.config = config;
+		inputFile = config.getInputFile();
+		fileParser = new LatinSquareFileParser(config.getOrder(), inputFile);
+		
+		// reject the malformed squares of the input file into the reject file instead of stopping the job
+		rejectLog = null;
+		if(config.isSkippingMalformedSquares())
+		{
+			rejectLog = new LatinSquareRejectLog(config.getRejectFile());
+			fileParser.setRejectLog(rejectLog);
+			job.setRejectLog(rejectLog);
+		}
+		
+		// restrict the input file to the user-specified shard (or range) of squares
+		if(config.getNumShards() > 1) { fileParser.setShard(config.getShardIndex(), config.getNumShards()); }
+		else { fileParser.setRange(config.getSkip(), config.getLimit()); }
+		if(fileParser.hasRange()) { job.setInputRange(fileParser.getNumSkipped() + 1); }
 	}
 	
 	/**
 	 * Iterates over each Latin squares from the input file, counts the transversals for each,
-	 * and then prints the results to standard output.
+	 * and then prints the results to standard output (or writes them to the output file).
 	 */
 	public void go()
 	{
+		if(config.getOutputFile() == null) { countTransversals(); }
+		else { countAndWriteTransversals(); }
+		
+		if(rejectLog != null) { rejectLog.close(); }
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Counts the transversals of the Latin squares from the input file and prints the results to standard output.
+	 */
+	private void countTransversals()
+	{
+		if(config.isDeduplicating())
+		{
+			goDeduplicated();
+			return;
+		}
+		
+		if(job.getNumThreads() > 1)
+		{
+			LatinSquareFilePipeline pipeline = new LatinSquareFilePipeline(getOrder(), inputFile, job.getNumThreads());
+			LatinSquareFilePipeline.SquareProcessor processor = (square, squareCount, output) -> processSquare(square, squareCount, 0, output);
+			
+			pipeline.setRejectLog(rejectLog);
+			
+			// a streamed input file (ex. standard input) has already been opened by the parser
+			job.incrementNumSquaresProcessed(fileParser.isStreamed() ? pipeline.run(processor, fileParser)
+					: pipeline.run(processor, fileParser.getNumSkipped(), fileParser.getLimit()));
+			return;
+		}
+		
 		// process each square by counting transversals, etc.
 		while(fileParser.hasNext())
 		{
@@ -75,7 +142,77 @@ public class LatinSquareGeneratorFromFileTransversalCounter extends LatinSquareG
 			processSquare(square);
 		}
 		
-		if(job.isPrintingReport()) { job.printReport(); }
+		finishProcessing();
+	}
+	
+	/**
+	 * Counts the transversals of the Latin squares from the input file and writes the results to the
+	 * output file. Since the results are printed to standard output, it is redirected to the writer
+	 * thread of the output file while the transversals are counted.
+	 */
+	private void countAndWriteTransversals()
+	{
+		PrintStream stdout = System.out;
+		String outputFile = config.getOutputFile();
+		
+		try
+		{
+			LatinSquareAsyncOutputStream asyncStream = new LatinSquareAsyncOutputStream(new FileOutputStream(outputFile),
+					config.getOutputBufferSize(), config.getSyncPolicy());
+			job.setOutputWriter(asyncStream);
+			PrintStream output = new PrintStream(asyncStream, false);
+			System.setOut(output);
+			
+			countTransversals();
+			
+			output.close();
+			if(output.checkError()) { throw new IOException("the output stream reported an error"); }
+		}
+		
+		// handle output file write exception
+		catch(IOException e)
+		{
+			System.setOut(stdout);
+			System.err.println("[I/O Error] While writing the output file \"" + outputFile + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		finally { System.setOut(stdout); }
+	}
+	
+	/**
+	 * Deduplicates the Latin squares from the input file by class, then processes the
+	 * representatives (in the order in which their classes first appear in the input file).
+	 * The Latin squares of a mixed-order input file are deduplicated by one deduplicator
+	 * (and its canonical form buffers) per order, and the representatives are processed by order.
+	 */
+	private void goDeduplicated()
+	{
+		TreeMap<Integer, LatinSquareClassDeduplicator> deduplicators = new TreeMap<Integer, LatinSquareClassDeduplicator>();
+		while(fileParser.hasNext())
+		{
+			Square next = fileParser.next();
+			LatinSquareClassDeduplicator deduplicator = deduplicators.get(next.getOrder());
+			if(deduplicator == null)
+			{
+				deduplicator = new LatinSquareClassDeduplicator(next.getOrder(), config.isDeduplicatingMainClasses());
+				deduplicators.put(next.getOrder(), deduplicator);
+			}
+			deduplicator.add(next);
+		}
+		
+		for(LatinSquareClassDeduplicator deduplicator : deduplicators.values())
+		{
+			ArrayList<Square> representatives = deduplicator.getRepresentatives();
+			for(int i = 0; i < representatives.size(); i++)
+			{
+				square = representatives.get(i);
+				long multiplicity = deduplicator.getMultiplicity(i);
+				job.submitClassSize(BigInteger.valueOf(multiplicity));
+				processSquare(square, multiplicity);
+			}
+		}
+		
+		finishProcessing();
 	}
 	
 	/**
@@ -86,24 +223,95 @@ public class LatinSquareGeneratorFromFileTransversalCounter extends LatinSquareG
 	@Override
 	protected void processSquare(Square square)
 	{
-		long squareCount = job.getNumSquaresProcessed() + 1;
+		processSquare(square, 0);
+	}
+	
+	/**
+	 * Processes a Latin square by computing the user-specified transversal characteristics,
+	 * where its transversal count is weighted by the number of Latin squares that it represents.
+	 * 
+	 * @param square The Latin square to process.
+	 * @param multiplicity The number of Latin squares in the input file that it represents (zero if not deduplicating).
+	 */
+	private void processSquare(Square square, long multiplicity)
+	{
+		// the squares of a range (and the squares after rejected squares) keep their ordinals in the input file
+		// (unlike the numbered class representatives)
+		long squareCount = config.isDeduplicating() ? (job.getNumSquaresProcessed() + 1) : fileParser.getOrdinal();
+		processSquare(square, squareCount, multiplicity, getOutputSink());
+		
+		// Increment # of Latin squares generated
+		job.incrementNumSquaresProcessed();
+	}
+	
+	/**
+	 * Processes a Latin square with a given ordinal by computing the user-specified transversal
+	 * characteristics and printing them to an output sink (this may be invoked by concurrent workers).
+	 * 
+	 * @param square The Latin square to process.
+	 * @param squareCount The ordinal of the Latin square.
+	 * @param multiplicity The number of Latin squares in the input file that it represents (zero if not deduplicating).
+	 * @param output The output sink to which the transversal characteristics are printed.
+	 */
+	private void processSquare(Square square, long squareCount, long multiplicity, LatinSquareOutputSink output)
+	{
+		long transversalCount = 0;
 		
 		// count the number of transversals in the square
-		long transversalCount = square.getTransversalCount();
+		if(!config.isDeduplicatingOnly()) { transversalCount = square.getTransversalCount(); }
 		
 		// if keeping track of total job stats, then keep track of transversal count
-		if(isPrintingReport()) { job.submitTransversalCount(transversalCount); }
+		if(isPrintingReport())
+		{
+			job.submitTransversalCount(transversalCount, Math.max(multiplicity, 1), square.getOrder());
+			job.submitSquareOrder(square.getOrder(), multiplicity);
+		}
 		
 		// if printing square-by-square stats, then do it
 		if(!job.isBeingQuiet())
 		{
-			System.out.println("Latin Square #" + squareCount + ": ");
+			printSquareTitle(output, squareCount);
 			
 			// print the user-specified transversal characteristics
-			printSquareStuff(square, squareCount, transversalCount);
+			printSquareStuff(output, square, squareCount, transversalCount);
+			if(multiplicity > 0)
+			{
+				output.print("Latin Square #");
+				output.print(squareCount);
+				output.print(" Multiplicity: ");
+				output.print(multiplicity);
+				output.println();
+			}
 		}
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the squares in the input file.
+	 * 
+	 * @return Iterator The iterator over the squares.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		// a streamed input file (ex. standard input) can only be read once
+		if(fileParser.isStreamed()) { return fileParser; }
 		
-		// Increment # of Latin squares generated
-		job.incrementNumSquaresProcessed();
+		LatinSquareFileParser parser = new LatinSquareFileParser(getOrder(), inputFile);
+		parser.setRange(fileParser.getNumSkipped(), fileParser.getLimit());
+		return parser;
+	}
+	
+	/**
+	 * Returns a spliterator over the squares in the input file that splits the file
+	 * into byte ranges at square boundaries, so the squares can be parsed in parallel.
+	 * 
+	 * @return Spliterator The spliterator over the squares.
+	 */
+	@Override
+	public Spliterator<Square> spliterator()
+	{
+		if(fileParser.isStreamed()) { return fileParser.spliterator(); }
+		if(fileParser.hasRange()) { return ((LatinSquareFileParser)iterator()).spliterator(); }
+		return new LatinSquareFileSpliterator(getOrder(), inputFile);
 	}
 }
@@ -0,0 +1,285 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h1>LatinSquareGeneratorGroup</h1>
+ * 
+ * <p>This class generates the Cayley table of a finite abelian group Z_n1 x Z_n2 x ... x Z_nk of any order
+ * (see SquareAbelianGroup), or the Cayley tables of every abelian group of an order-n up to isomorphism.
+ * The groups of an order-n are enumerated from the prime factorization n = p1^e1 * ... * pm^em: each group
+ * is a choice of a partition of each exponent ei, and the parts of the partitions give the invariant factors
+ * n1 | n2 | ... | nk of the group. Each Cayley table is built row by row in O(n^2) time (the rows are divided
+ * among the worker threads with "-w"), and the Cayley tables are processed one at a time like a data set,
+ * so they can be written in the ordered-triple format for the Latin Square Transversal Counter Tool.
+ * This is used for the Latin Square Generation Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorGroup extends LatinSquareGenerator
+{
+	public static final int MIN_PARALLEL_CELLS = 1 << 20;
+	private ArrayList<int []> groups;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for generating the Cayley tables of abelian groups.
+	 * 
+	 * @param config The user-specified job configuration for generating the Cayley tables of abelian groups.
+	 */
+	public LatinSquareGeneratorGroup(LatinSquareJobConfigGenerator config)
+	{
+		super(config);
+		
+		if(config.getGroupFactors() != null) { groups = new ArrayList<int []>(Collections.singletonList(config.getGroupFactors())); }
+		else { groups = enumerateAbelianGroups(job.getOrder()); }
+	}
+	
+	/**
+	 * Initializes the generator's attributes, except that no square template is allocated,
+	 * since each Cayley table is generated in its own rows.
+	 */
+	@Override
+	protected void initializeSquareTemplate() { }
+	
+	/**
+	 * Generates and prints the Cayley tables of the abelian groups to standard output,
+	 * and prints the job summary report upon completion if specified by the user.
+	 */
+	@Override
+	public void go()
+	{
+		// if printing job summary report, then print the groups
+		if(job.isPrintingReport())
+		{
+			if(groups.size() == 1)
+			{
+				System.out.println("The Cayley table of the abelian group " + toStringGroup(groups.get(0)) + " of order-"
+						+ job.getOrder() + " is: \n");
+			}
+			else
+			{
+				StringBuilder names = new StringBuilder("");
+				for(int [] group : groups) { names.append((names.length() == 0) ? "" : ", ").append(toStringGroup(group)); }
+				System.out.println("The Cayley tables of the " + groups.size() + " abelian groups of order-" + job.getOrder()
+						+ " (" + names + ") are: \n");
+			}
+		}
+		
+		// process each square according to user-specified job
+		for(Square square : this) { processSquare(square); }
+		finishProcessing();
+		
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Returns the orders of the cyclic factors of each abelian group whose Cayley table is generated.
+	 * 
+	 * @return ArrayList The groups, in the order in which they are generated.
+	 */
+	public ArrayList<int []> getGroups() { return groups; }
+	
+	/**
+	 * Generates the Cayley table of the abelian group Z_n1 x Z_n2 x ... x Z_nk. The rows of a large Cayley
+	 * table are divided among the worker threads, since each row is computed independently.
+	 * 
+	 * @param factors The orders n1, n2, ..., nk of the cyclic factors.
+	 * @return Square The Cayley table.
+	 */
+	public Square generateSquare(int [] factors)
+	{
+		final SquareAbelianGroup group = new SquareAbelianGroup(factors);
+		final int order = group.getOrder();
+		final int [][] cells = new int[order][order];
+		int numThreads = job.getNumThreads();
+		
+		if((numThreads == 1) || (((long)order * order) < MIN_PARALLEL_CELLS))
+		{
+			for(int i = 0; i < order; i++) { group.getRowSymbols(i, cells[i]); }
+			return new Square(cells);
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try
+		{
+			ArrayList<Future<?>> rows = new ArrayList<Future<?>>();
+			for(int t = 0; t < numThreads; t++)
+			{
+				final int fromRow = (int)(((long)order * t) / numThreads);
+				final int toRow = (int)(((long)order * (t + 1)) / numThreads);
+				rows.add(executor.submit(() -> {
+					for(int i = fromRow; i < toRow; i++) { group.getRowSymbols(i, cells[i]); }
+				}));
+			}
+			for(Future<?> row : rows) { row.get(); }
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While generating the Cayley table: " + e.getMessage());
+			System.exit(1);
+		}
+		finally { executor.shutdown(); }
+		
+		return new Square(cells);
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the Cayley tables of the abelian groups,
+	 * which generates each Cayley table when it is requested.
+	 * 
+	 * @return Iterator The iterator over the Cayley tables.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		final Iterator<int []> nextGroup = groups.iterator();
+		
+		return new Iterator<Square>()
+		{
+			@Override
+			public boolean hasNext() { return nextGroup.hasNext(); }
+			
+			@Override
+			public Square next() { return generateSquare(nextGroup.next()); }
+		};
+	}
+	
+	/**
+	 * Enumerates every abelian group of an order-n up to isomorphism, by their invariant factors n1 | n2 | ... | nk
+	 * (in increasing order). The cyclic group Z_n comes first, and the elementary abelian group (if n is square-free,
+	 * then these are the same group) comes last.
+	 * 
+	 * @param order The order-n of the groups.
+	 * @return ArrayList The invariant factors of each group.
+	 */
+	public static ArrayList<int []> enumerateAbelianGroups(int order)
+	{
+		// factor the order into prime powers
+		ArrayList<Integer> primes = new ArrayList<Integer>();
+		ArrayList<ArrayList<int []>> partitions = new ArrayList<ArrayList<int []>>();
+		int remainder = order;
+		for(int p = 2; remainder > 1; p++)
+		{
+			if(((long)p * p) > remainder) { p = remainder; }
+			
+			int exponent = 0;
+			while((remainder % p) == 0)
+			{
+				remainder /= p;
+				exponent++;
+			}
+			
+			if(exponent > 0)
+			{
+				primes.add(p);
+				partitions.add(new ArrayList<int []>());
+				partitionExponent(exponent, exponent, new int[exponent], 0, partitions.get(partitions.size() - 1));
+			}
+		}
+		
+		// choose one partition for each prime, like the digits of a mixed-radix counter
+		ArrayList<int []> groups = new ArrayList<int []>();
+		int [] choice = new int[primes.size()];
+		while(true)
+		{
+			int numFactors = 1;
+			for(int m = 0; m < primes.size(); m++) { numFactors = Math.max(numFactors, partitions.get(m).get(choice[m]).length); }
+			
+			// the largest invariant factor takes the largest part of each partition, and so on
+			int [] factors = new int[numFactors];
+			for(int k = 0; k < numFactors; k++)
+			{
+				factors[numFactors - 1 - k] = 1;
+				for(int m = 0; m < primes.size(); m++)
+				{
+					int [] parts = partitions.get(m).get(choice[m]);
+					if(k < parts.length) { factors[numFactors - 1 - k] *= (int)Math.pow(primes.get(m), parts[k]); }
+				}
+			}
+			groups.add(factors);
+			
+			int m = primes.size() - 1;
+			while((m >= 0) && (++choice[m] == partitions.get(m).size())) { choice[m--] = 0; }
+			if(m < 0) { break; }
+		}
+		
+		return groups;
+	}
+	
+	/**
+	 * Recursively enumerates the partitions of an exponent into non-increasing parts,
+	 * starting with the partition that has a single part.
+	 * 
+	 * @param remainder The part of the exponent that is not partitioned yet.
+	 * @param maxPart The largest allowed next part.
+	 * @param parts The parts chosen so far.
+	 * @param numParts The number of parts chosen so far.
+	 * @param partitions The list that receives each partition.
+	 */
+	private static void partitionExponent(int remainder, int maxPart, int [] parts, int numParts, ArrayList<int []> partitions)
+	{
+		if(remainder == 0)
+		{
+			int [] partition = new int[numParts];
+			System.arraycopy(parts, 0, partition, 0, numParts);
+			partitions.add(partition);
+			return;
+		}
+		
+		for(int part = Math.min(remainder, maxPart); part >= 1; part--)
+		{
+			parts[numParts] = part;
+			partitionExponent(remainder - part, part, parts, numParts + 1, partitions);
+		}
+	}
+	
+	/**
+	 * Returns a string representation of an abelian group (ex. "Z_2 x Z_6", or "Z_1" for the trivial group).
+	 * 
+	 * @param factors The orders n1, n2, ..., nk of the cyclic factors.
+	 * @return String The group representation.
+	 */
+	public static String toStringGroup(int [] factors)
+	{
+		return new SquareAbelianGroup(factors).toStringGroup();
+	}
+}
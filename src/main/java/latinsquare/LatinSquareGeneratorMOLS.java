@@ -0,0 +1,142 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.Iterator;
+
+/**
+ * <h1>LatinSquareGeneratorMOLS</h1>
+ * 
+ * <p>This class generates the complete set of p^d - 1 mutually orthogonal Latin squares (MOLS) of prime
+ * power order-p^d, which are the Latin squares L_a(x, y) = a * x + y over the finite field GF(p^d) for
+ * each non-zero element a (see GaloisField). Row x of L_a is row a * x of the addition Cayley table of the
+ * field, which is the super-symmetric (or cyclic) Latin square, so each Latin square is built row by row
+ * in O(n^2) time without any search. The Latin squares are generated (and processed) one at a time in the
+ * order of a, where L_1 is the super-symmetric Latin square itself.
+ * This is used for the Latin Square Generation Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorMOLS extends LatinSquareGenerator
+{
+	private int primeBase;
+	private int power;
+	private GaloisField field;
+	private SquareSuperSymmetric additionTable;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for generating the mutually orthogonal Latin squares.
+	 * 
+	 * @param config The user-specified job configuration for generating the mutually orthogonal Latin squares.
+	 */
+	public LatinSquareGeneratorMOLS(LatinSquareJobConfigGenerator config)
+	{
+		super(config);
+		this.primeBase = job.getOrderBase();
+		this.power = job.getOrderPower();
+		field = new GaloisField(primeBase, power);
+		additionTable = new SquareSuperSymmetric(primeBase, power);
+	}
+	
+	/**
+	 * Initializes the generator's attributes, except that no square template is allocated,
+	 * since each Latin square is generated in its own rows.
+	 */
+	@Override
+	protected void initializeSquareTemplate() { }
+	
+	/**
+	 * Generates and prints the mutually orthogonal Latin squares of prime power order-p^d to standard 
+	 * output, and prints the job summary report upon completion if specified by the user.
+	 */
+	@Override
+	public void go()
+	{
+		// if printing job summary report, then print the field of the Latin squares
+		if(job.isPrintingReport())
+		{
+			System.out.print("The " + (field.getOrder() - 1) + " mutually orthogonal Latin squares of prime power order-");
+			System.out.println(primeBase + "^" + power + " over GF(" + field.getOrder() + ") with the primitive polynomial "
+					+ field.toStringPolynomial() + " are: \n");
+		}
+		
+		// process each square according to user-specified job
+		for(Square square : this) { processSquare(square); }
+		finishProcessing();
+		
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Returns the finite field GF(p^d) of the mutually orthogonal Latin squares.
+	 * 
+	 * @return GaloisField The finite field.
+	 */
+	public GaloisField getField() { return field; }
+	
+	/**
+	 * Generates the Latin square L_a(x, y) = a * x + y over GF(p^d), whose row x is row a * x of
+	 * the addition Cayley table of the field.
+	 * 
+	 * @param a The non-zero element a of the field.
+	 * @return Square The order-p^d Latin square L_a.
+	 */
+	public Square generateSquare(int a)
+	{
+		int [][] cells = new int[field.getOrder()][field.getOrder()];
+		
+		for(int x = 0; x < field.getOrder(); x++) { additionTable.getRowSymbols(field.multiply(a, x), cells[x]); }
+		
+		return new Square(cells);
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the p^d - 1 mutually orthogonal Latin squares,
+	 * which generates each Latin square when it is requested.
+	 * 
+	 * @return Iterator The iterator over the mutually orthogonal Latin squares.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		return new Iterator<Square>()
+		{
+			private int a = 1;
+			
+			@Override
+			public boolean hasNext() { return a < field.getOrder(); }
+			
+			@Override
+			public Square next() { return generateSquare(a++); }
+		};
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h1>LatinSquareGeneratorRandomSelection</h1>
+ * 
+ * <p>This class generates a data set of random Latin squares with a randomized
+ * selection-based algorithm (see LatinSquareRandomSelectionIterator). Unlike the other data set
+ * modes, the Latin squares are not lexicographically clustered, which makes this mode suitable for
+ * sampling the transversals of large orders. The data set only depends on the seed: the Latin squares
+ * may be generated by a pool of worker threads, in which case they are still printed in the same order.
+ * This is used for the Latin Square Generation Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorRandomSelection extends LatinSquareGenerator
+{
+	private int order;
+	private long dataSetSize;
+	private long seed;
+	private long backtrackBudget;
+	private int numThreads;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for generating a data set of random Latin squares.
+	 * 
+	 * @param config The user-specified job configuration for generating Latin squares.
+	 */
+	public LatinSquareGeneratorRandomSelection(LatinSquareJobConfigGenerator config)
+	{
+		super(config);
+		order = job.getOrder();
+		dataSetSize = job.getDataSetSize();
+		seed = config.getRandomSeed();
+		backtrackBudget = config.getBacktrackBudget();
+		numThreads = config.getNumThreads();
+	}
+	
+	/**
+	 * Returns the size of the Latin square data set to generate.
+	 * 
+	 * @return long The data set size.
+	 */
+	public long getDataSetSize() { return job.getDataSetSize(); }
+	
+	/**
+	 * Returns the number of Latin squares in the data set that have been generated.
+	 * If the go() method has not been already invoked, then this will return zero.
+	 * 
+	 * @return long The Latin square generation count.
+	 */
+	public long getGeneratedCount() { return job.getNumSquaresProcessed(); }
+	
+	/**
+	 * Uses the randomized selection-based algorithm to generate and print the Latin square
+	 * data set to standard output.
+	 */
+	@Override
+	public void go()
+	{
+		if(numThreads == 1)
+		{
+			LatinSquareRandomSelectionIterator search = new LatinSquareRandomSelectionIterator(order, seed, backtrackBudget);
+			
+			// the search updates its working square in place, so no copies are made
+			while((job.getNumSquaresProcessed() < dataSetSize) && search.advance())
+			{
+				square = search.getCurrentSquare();
+				
+				// process the square according to user-specified job
+				processSquare(square);
+			}
+		}
+		else { goParallel(); }
+		
+		finishProcessing();
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Generates the Latin squares with a pool of worker threads, where each worker has its own search.
+	 * The random stream of each Latin square is split from the seeded random stream in order, and the
+	 * Latin squares are processed in that order; at most two Latin squares per worker are pending at any time.
+	 */
+	private void goParallel()
+	{
+		final LatinSquareRandomSelectionIterator seeds = new LatinSquareRandomSelectionIterator(order, seed, backtrackBudget);
+		final ThreadLocal<LatinSquareRandomSelectionIterator> searches = ThreadLocal.withInitial(
+				() -> new LatinSquareRandomSelectionIterator(order, seed, backtrackBudget));
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		ArrayDeque<Future<Square>> pendingSquares = new ArrayDeque<Future<Square>>();
+		
+		try
+		{
+			for(long i = 0; i < dataSetSize; i++)
+			{
+				final SplittableRandom squareRandom = seeds.splitRandom();
+				pendingSquares.add(executor.submit(() -> {
+					LatinSquareRandomSelectionIterator search = searches.get();
+					search.generateSquare(squareRandom);
+					return new Square(search.getCurrentSquare());
+				}));
+				
+				if(pendingSquares.size() >= (2 * numThreads)) { processSquare(pendingSquares.poll().get()); }
+			}
+			
+			while(!pendingSquares.isEmpty()) { processSquare(pendingSquares.poll().get()); }
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While generating the random Latin squares: " + e.getMessage());
+			System.exit(1);
+		}
+		finally { executor.shutdown(); }
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the Latin square data set, which stops after
+	 * the user-specified data set size. It yields the same Latin squares as the go() method.
+	 * 
+	 * @return Iterator The iterator over the Latin square data set.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		final LatinSquareRandomSelectionIterator search = new LatinSquareRandomSelectionIterator(order, seed, backtrackBudget);
+		
+		return new Iterator<Square>()
+		{
+			private long count = 0;
+			
+			@Override
+			public boolean hasNext() { return count < dataSetSize; }
+			
+			@Override
+			public Square next()
+			{
+				Square nextSquare = search.next();
+				++count;
+				return nextSquare;
+			}
+		};
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.Iterator;
+
+/**
+ * <h1>LatinSquareGeneratorRowPermutation</h1>
+ * 
+ * <p>This class generates a Latin square data set with a row-by-row
+ * selection-based algorithm (see LatinSquareRowPermutationIterator).
+ * The data set is identical to that of LatinSquareGeneratorSelection without preloading.
+ * This is used for the Latin Square Generation Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorRowPermutation extends LatinSquareGenerator 
+{
+	private int order;
+	private long dataSetSize;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for generating a data set in Latin squares.
+	 * 
+	 * @param config The user-specified job configuration for generating Latin squares.
+	 */
+	public LatinSquareGeneratorRowPermutation(LatinSquareJobConfig config)
+	{
+		super(config);
+		order = job.getOrder();
+		dataSetSize = job.getDataSetSize();
+	}
+	
+	/**
+	 * Returns the size of the Latin square data set to generate.
+	 * This is zero if the set of all Latin squares will be generated for the given order.
+	 * 
+	 * @return long The data set size.
+	 */
+	public long getDataSetSize()
+	{
+		return job.getDataSetSize();
+	}
+	
+	/**
+	 * Returns the number of Latin squares in the data set that have been generated.
+	 * If the go() method has not been already invoked, then this will return zero.
+	 * 
+	 * @return long The Latin square generation count.
+	 */
+	public long getGeneratedCount()
+	{
+		return job.getNumSquaresProcessed();
+	}
+	
+	/**
+	 * Uses the row-by-row selection-based algorithm to generate and print the Latin square 
+	 * data set to standard output.
+	 */
+	@Override
+	public void go()
+	{
+		LatinSquareRowPermutationIterator search = new LatinSquareRowPermutationIterator(order);
+		
+		// the search updates its working square in place, so no copies are made
+		while(search.advance())
+		{
+			square = search.getCurrentSquare();
+			
+			// process the square according to user-specified job
+			processSquare(square);
+			
+			// if we're finished generating the data set
+			if((dataSetSize != 0) && (job.getNumSquaresProcessed() == dataSetSize)) { break; }
+		}
+		
+		finishProcessing();
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the Latin square data set, which stops after
+	 * the user-specified data set size (unless all Latin squares are being generated).
+	 * 
+	 * @return Iterator The iterator over the Latin square data set.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		final LatinSquareRowPermutationIterator search = new LatinSquareRowPermutationIterator(order);
+		if(dataSetSize == 0) { return search; }
+		
+		return new Iterator<Square>()
+		{
+			private long count = 0;
+			
+			@Override
+			public boolean hasNext() { return (count < dataSetSize) && search.hasNext(); }
+			
+			@Override
+			public Square next()
+			{
+				Square nextSquare = search.next();
+				++count;
+				return nextSquare;
+			}
+		};
+	}
+}
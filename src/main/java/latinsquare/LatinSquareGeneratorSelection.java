@@ -27,11 +27,33 @@
 
 package latinsquare;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * <h1>LatinSquareGeneratorSelection</h1>
  * 
- * <p>This class generates a Latin square data set with a recursive
- * selection-based algorithm.
+ * <p>This class generates a Latin square data set with a 
+ * selection-based algorithm (see LatinSquareSelectionIterator).
+ * The data set may be written to an output file instead of standard output, in which case
+ * the generation can periodically write a checkpoint (see LatinSquareCheckpoint) and be resumed
+ * from it after an interruption; a manifest that records the counts is written upon completion.
+ * The data set may also be split into shards that are generated independently (see
+ * LatinSquareSelectionShard), in which case the manifest of each shard is its result summary.
+ * Finally, the data set may be restricted to the Latin squares that satisfy some constraints
+ * (see LatinSquareConstraints), which are enforced by the search instead of filtering its output.
+ * The output file may be written in the compact binary format (see LatinSquareBinaryFormat), whose
+ * fixed-width records are resumed and checkpointed exactly like the ordered-triple output, and it may
+ * be gzip-compressed on a separate thread (see LatinSquareCompressedOutputStream), in which case each
+ * checkpoint ends a gzip member so that the output file can be truncated at the checkpoint.
+ * The output file itself is written on a separate writer thread (see LatinSquareAsyncOutputStream),
+ * which is synced at each checkpoint and upon completion according to the user-specified fsync policy.
  * This is used for the Latin Square Generation Tool.
  * </p>
  * 
@@ -44,8 +66,18 @@ public class LatinSquareGeneratorSelection extends LatinSquareGenerator
 	private int order;
 	private long dataSetSize;
 	private boolean preLoadMode;
-	private boolean preLoadCurrent;
-	private boolean jobComplete;
+	private LatinSquareConstraints constraints;
+	private String outputFile;
+	private boolean binaryOutput;
+	private boolean compressedOutput;
+	private LatinSquareCompressedOutputStream compressedStream;
+	private LatinSquareAsyncOutputStream asyncStream;
+	private int outputBufferSize;
+	private LatinSquareAsyncOutputStream.SyncPolicy syncPolicy;
+	private long checkpointInterval;
+	private boolean resume;
+	private int shardIndex;
+	private int numShards;
 	
 	/**
 	 * Class constructor that accepts a user-specified job configuration and
@@ -58,8 +90,19 @@ public class LatinSquareGeneratorSelection extends LatinSquareGenerator
 		super(config);
 		order = job.getOrder();
 		dataSetSize = job.getDataSetSize();
-		preLoadMode = preLoadCurrent = job.isPreloading();
-		jobComplete = false;
+		preLoadMode = job.isPreloading();
+		outputFile = ((LatinSquareJobConfigGenerator)config).getOutputFile();
+		binaryOutput = ((LatinSquareJobConfigGenerator)config).isWritingBinary();
+		compressedOutput = ((LatinSquareJobConfigGenerator)config).isWritingCompressed();
+		compressedStream = null;
+		asyncStream = null;
+		outputBufferSize = ((LatinSquareJobConfigGenerator)config).getOutputBufferSize();
+		syncPolicy = ((LatinSquareJobConfigGenerator)config).getSyncPolicy();
+		checkpointInterval = ((LatinSquareJobConfigGenerator)config).getCheckpointInterval();
+		resume = ((LatinSquareJobConfigGenerator)config).isResuming();
+		shardIndex = ((LatinSquareJobConfigGenerator)config).getShardIndex();
+		numShards = ((LatinSquareJobConfigGenerator)config).getNumShards();
+		constraints = ((LatinSquareJobConfigGenerator)config).getConstraints();
 	}
 	
 	/**
@@ -99,75 +142,299 @@ public class LatinSquareGeneratorSelection extends LatinSquareGenerator
 	}
 	
 	/**
-	 * Generates and prints the Latin square data set to standard output by invoking
-	 * the generateAndPrintDataSet() method with a recursive selection-based algorithm.
+	 * Generates and prints the Latin square data set (or the user-specified shard of it)
+	 * with the selection-based algorithm.
 	 */
 	@Override
 	public void go()
 	{
-		// begin recursion at the top-left cell of the empty Latin square
-		generateAndPrintDataSet(0, 0);
+		// begin the search at the top-left cell of the empty Latin square
+		LatinSquareSelectionShard search = new LatinSquareSelectionShard(order, preLoadMode, constraints, dataSetSize, shardIndex, numShards);
+		
+		if(outputFile == null) { generateAndPrintDataSet(search); }
+		else { generateAndWriteDataSet(search); }
 	}
 	
 	/**
-	 * Uses a selection-based algorithm to recursively generate and print the Latin square data set 
+	 * Uses a selection-based algorithm to generate and print the Latin square data set 
 	 * to standard output.
 	 * 
-	 * @param rowIndex The index of the starting row of the next Latin Square to be generated.
-	 * @param colIndex The index of the starting column of the next Latin Square to be generated.
+	 * @param search The selection-based search from which to pull the Latin squares.
 	 */
-	private void generateAndPrintDataSet(int rowIndex, int colIndex)
+	private void generateAndPrintDataSet(LatinSquareSelectionShard search)
 	{
-		for(int i = 0; (i < order) && !jobComplete; i++)
+		// the search updates its working square in place, so no copies are made
+		// (and it stops when the data set size is reached)
+		while(search.advance())
 		{
-			// if preloading mode is active, then compute the preloaded index
-			if(preLoadMode && preLoadCurrent) { i = (rowIndex + colIndex) % order; }
+			square = search.getCurrentSquare();
 			
-			// the current cell does not yet have a symbol, then add symbol
-			if(row[rowIndex][i] && col[colIndex][i])
+			// process the square according to user-specified job
+			processSquare(square);
+		}
+		
+		finishProcessing();
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Uses a selection-based algorithm to generate the Latin square data set and write it to the
+	 * output file, resuming from the checkpoint and writing new checkpoints if requested. Since the
+	 * squares are printed by processSquare(), standard output is redirected to the output file while
+	 * the data set is generated; the job report summary is printed to standard output. A binary output
+	 * file is written directly (its header is written first, and its count is patched upon completion
+	 * unless the file is compressed).
+	 * 
+	 * @param search The selection-based search from which to pull the Latin squares.
+	 */
+	private void generateAndWriteDataSet(LatinSquareSelectionShard search)
+	{
+		PrintStream stdout = System.out;
+		
+		try
+		{
+			FileOutputStream fileStream;
+			if(resume) { fileStream = resumeDataSet(search); }
+			else { fileStream = new FileOutputStream(outputFile); }
+			
+			// the squares are written to the output file on the writer thread (and compressed on another thread first)
+			asyncStream = new LatinSquareAsyncOutputStream(fileStream, outputBufferSize, syncPolicy);
+			job.setOutputWriter(asyncStream);
+			if(compressedOutput) { compressedStream = new LatinSquareCompressedOutputStream(asyncStream); }
+			PrintStream output = new PrintStream(compressedOutput ? compressedStream : asyncStream, false);
+			LatinSquareBinaryFormat binaryFormat = null;
+			byte[] record = null;
+			if(binaryOutput)
 			{
-				// set cell symbol and flag symbol as occupied
-				row[rowIndex][i] = col[colIndex][i] = false;
-				square.setCellSymbol(rowIndex, colIndex, i);
-				
-				// if we're at the last cell of the square
-				if((rowIndex == colIndex) && (colIndex == (order - 1)))
-				{
-					// if the Latin Square Property holds, then square is complete
-					if(square.latinSquarePropertyHolds())
-					{
-						// if preloading mode is active for the current square, 
-						// then stop recomputing additional preloaded indices
-						if(preLoadMode && preLoadCurrent) { preLoadCurrent = false; }
-						
-						// process the square according to user-specified job
-						processSquare(square);
-						
-						// if we're finished generating the data set
-						if((dataSetSize != 0) && (job.getNumSquaresProcessed() == dataSetSize)) 
-						{ 
-							if(job.isPrintingReport()) { job.printReport(); }
-							jobComplete = true;
-							break;
-						}
-					}
-				}
+				binaryFormat = new LatinSquareBinaryFormat(order, 0);
+				record = new byte[(int)binaryFormat.getRecordSize()];
+				if(fileStream.getChannel().position() == 0) { binaryFormat.writeHeader(output); }
+			}
+			else { System.setOut(output); }
+			
+			// the search updates its working square in place, so no copies are made
+			// (and it stops when the data set size is reached)
+			while(search.advance())
+			{
+				square = search.getCurrentSquare();
 				
-				// if we're at the end of a row
-				else if(colIndex == (order - 1))
+				// write the binary record, or process the square according to user-specified job
+				if(binaryOutput)
 				{
-					generateAndPrintDataSet(rowIndex + 1, 0);
+					binaryFormat.encode(square, record);
+					output.write(record, 0, record.length);
+					job.incrementNumSquaresProcessed();
 				}
+				else { processSquare(square); }
 				
-				// if we're not at the end of a row or all done
-				else 
+				if((checkpointInterval > 0) && ((job.getNumSquaresProcessed() % checkpointInterval) == 0))
 				{
-					generateAndPrintDataSet(rowIndex, colIndex + 1);
+					writeCheckpoint(search, output, fileStream);
 				}
-				
-				// flag symbol as occupied
-				row[rowIndex][i] = col[colIndex][i] = true;
 			}
+			
+			finishProcessing();
+			
+			// a final checkpoint allows a larger data set to be resumed from the last Latin square
+			if(search.isLimitReached() && (job.getNumSquaresProcessed() > 0) && ((checkpointInterval > 0) || resume))
+			{
+				writeCheckpoint(search, output, fileStream);
+			}
+			
+			flushOutput(output);
+			long outputLength = fileStream.getChannel().position();
+			output.close();
+			if(output.checkError()) { throw new IOException("the output stream reported an error"); }
+			System.setOut(stdout);
+			
+			if(binaryOutput && !compressedOutput) { LatinSquareBinaryFormat.writeCount(new File(outputFile), job.getNumSquaresProcessed()); }
+			writeManifest(outputLength, !search.isLimitReached());
+		}
+		
+		// handle output file write exception
+		catch(IOException e)
+		{
+			System.setOut(stdout);
+			System.err.println("[I/O Error] While writing the Latin square output file \"" + outputFile + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		finally { System.setOut(stdout); }
+		
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Restores the search and the job statistics from the checkpoint of the output file, and
+	 * truncates the output file to its length when the checkpoint was taken (discarding any
+	 * Latin squares that were written after the checkpoint).
+	 * 
+	 * @param search The selection-based search that has not been started.
+	 * @return FileOutputStream The output file stream, which appends to the truncated output file.
+	 * @throws IOException If the output file cannot be opened or truncated.
+	 */
+	private FileOutputStream resumeDataSet(LatinSquareSelectionShard search) throws IOException
+	{
+		String checkpointFile = getCheckpointFile(outputFile);
+		LatinSquareCheckpoint checkpoint = LatinSquareCheckpoint.read(checkpointFile);
+		
+		if((checkpoint.getOrder() != order) || (checkpoint.isPreloading() != preLoadMode)
+				|| (checkpoint.getShardIndex() != shardIndex) || (checkpoint.getNumShards() != numShards)
+				|| !checkpoint.getConstraints().equals(constraints.toString()))
+		{
+			System.err.println("[Invalid Checkpoint] The checkpoint file \"" + checkpointFile + "\" does not match "
+							   + "the order, generation mode, constraints, and shard of the job!");
+			System.exit(1);
+		}
+		
+		File file = new File(outputFile);
+		if(!file.exists() || !file.isFile() || (file.length() < checkpoint.getOutputLength()))
+		{
+			System.err.println("[Invalid Checkpoint] The Latin square output file \"" + outputFile + "\" is missing "
+							   + "or shorter than its checkpoint \"" + checkpointFile + "\"!");
+			System.exit(1);
+		}
+		
+		boolean compressedFile = LatinSquareCompressedOutputStream.isCompressed(file);
+		if((checkpoint.getOutputLength() > 0) && ((compressedOutput != compressedFile)
+				|| (!compressedFile && (binaryOutput != (LatinSquareBinaryFormat.readHeader(file) != null)))))
+		{
+			System.err.println("[Invalid Checkpoint] The Latin square output file \"" + outputFile + "\" does not match "
+							   + "the output format of the job!");
+			System.exit(1);
+		}
+		
+		if(!search.resumeAfter(checkpoint.getSymbols(), checkpoint.getNumSquares()) || !job.importTransversalCounts(checkpoint.getTransversalCounts()))
+		{
+			System.err.println("[Invalid Checkpoint] The checkpoint file \"" + checkpointFile + "\" is corrupted!");
+			System.exit(1);
+		}
+		job.incrementNumSquaresProcessed(checkpoint.getNumSquares());
+		
+		FileOutputStream fileStream = new FileOutputStream(file, true);
+		fileStream.getChannel().truncate(checkpoint.getOutputLength());
+		return fileStream;
+	}
+	
+	/**
+	 * Flushes the pending squares and the output file, and writes a checkpoint of the search after the current Latin square.
+	 * 
+	 * @param search The selection-based search.
+	 * @param output The buffered output stream.
+	 * @param fileStream The output file stream.
+	 * @throws IOException If the position of the output file cannot be determined.
+	 */
+	private void writeCheckpoint(LatinSquareSelectionShard search, PrintStream output, FileOutputStream fileStream) 
+			throws IOException
+	{
+		flushPendingSquares();
+		flushOutput(output);
+		LatinSquareCheckpoint checkpoint = new LatinSquareCheckpoint(order, preLoadMode, shardIndex, numShards, constraints.toString(),
+				job.getNumSquaresProcessed(), fileStream.getChannel().position(), search.getSymbols(), job.exportTransversalCounts());
+		checkpoint.write(getCheckpointFile(outputFile));
+	}
+	
+	/**
+	 * Flushes the output stream, ends the current gzip member of a compressed output file
+	 * (so that the output file may be truncated at its current length), and waits until the
+	 * writer thread has written (and synced, according to the fsync policy) the output file.
+	 * 
+	 * @param output The buffered output stream.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private void flushOutput(PrintStream output) throws IOException
+	{
+		output.flush();
+		if(compressedStream != null) { compressedStream.finishMember(); }
+		asyncStream.sync();
+	}
+	
+	/**
+	 * Writes the manifest of the output file, which records the counts of the completed job
+	 * (and serves as the result summary of a shard).
+	 * 
+	 * @param outputLength The number of bytes in the output file.
+	 * @param exhausted True if every Latin square of the given order has been generated.
+	 * @throws IOException If the manifest cannot be written.
+	 */
+	private void writeManifest(long outputLength, boolean exhausted) throws IOException
+	{
+		try(PrintWriter writer = new PrintWriter(getManifestFile(outputFile)))
+		{
+			writer.println("order=" + order);
+			writer.println("mode=" + (preLoadMode ? "dsp" : "ds"));
+			writer.println("size=" + dataSetSize);
+			writer.println("shard=" + shardIndex + "/" + numShards);
+			writer.println("constraints=" + constraints);
+			writer.println("format=" + (binaryOutput ? "binary" : "ordered-triple"));
+			writer.println("compression=" + (compressedOutput ? "gzip" : "none"));
+			writer.println("squares=" + job.getNumSquaresProcessed());
+			writer.println("bytes=" + outputLength);
+			writer.println("all=" + exhausted);
+			writer.println("transversals=" + job.exportTransversalCounts());
 		}
 	}
+	
+	/**
+	 * Returns the name of the checkpoint file for an output file.
+	 * 
+	 * @param outputFile The output filename.
+	 * @return String The checkpoint filename.
+	 */
+	public static String getCheckpointFile(String outputFile) { return outputFile + ".checkpoint"; }
+	
+	/**
+	 * Returns the name of the manifest file for an output file.
+	 * 
+	 * @param outputFile The output filename.
+	 * @return String The manifest filename.
+	 */
+	public static String getManifestFile(String outputFile) { return outputFile + ".manifest"; }
+	
+	/**
+	 * Returns a new pull-based iterator over the Latin square data set (or the user-specified shard
+	 * of it), which stops after the user-specified data set size (unless all Latin squares are being generated).
+	 * 
+	 * @return Iterator The iterator over the Latin square data set.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		if((numShards > 1) || !constraints.isEmpty()) { return new LatinSquareSelectionShard(order, preLoadMode, constraints, dataSetSize, shardIndex, numShards); }
+		
+		final LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(order, preLoadMode);
+		if(dataSetSize == 0) { return search; }
+		
+		return new Iterator<Square>()
+		{
+			private long count = 0;
+			
+			@Override
+			public boolean hasNext() { return (count < dataSetSize) && search.hasNext(); }
+			
+			@Override
+			public Square next()
+			{
+				Square nextSquare = search.next();
+				++count;
+				return nextSquare;
+			}
+		};
+	}
+	
+	/**
+	 * Returns a spliterator over the Latin square data set. When the set of all Latin squares
+	 * is being generated without preloading or constraints, then the spliterator splits the search tree into
+	 * disjoint sub-trees so that the data set can be generated by a parallel stream; otherwise
+	 * the squares must be generated sequentially.
+	 * 
+	 * @return Spliterator The spliterator over the Latin square data set.
+	 */
+	@Override
+	public Spliterator<Square> spliterator()
+	{
+		if((dataSetSize == 0) && !preLoadMode && (numShards == 1) && constraints.isEmpty()) { return new LatinSquareSelectionSpliterator(order); }
+		
+		return Spliterators.spliteratorUnknownSize(iterator(), 
+				Spliterator.ORDERED | Spliterator.NONNULL);
+	}
 }
@@ -0,0 +1,227 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Properties;
+
+/**
+ * <h1>LatinSquareGeneratorShardMerge</h1>
+ * 
+ * <p>This class merges the result summaries (manifests) of the shards of a data set that was
+ * generated with "--shard i/k" (see LatinSquareSelectionShard). It verifies that the manifests
+ * belong to the same data set and that every shard is present exactly once, then adds up the
+ * Latin square and byte counts and merges the transversal count histograms, so the merged
+ * manifest and job report are those of a single run. It does not generate any Latin squares.
+ * This is used for the Latin Square Shard Merge Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareGeneratorShardMerge extends LatinSquareGenerator
+{
+	private LatinSquareJobConfigShardMerge config;
+	private String mode;
+	private String constraints;
+	private String format;
+	private String compression;
+	private long dataSetSize;
+	private long numBytes;
+	private boolean exhausted;
+	
+	/**
+	 * Class constructor that accepts a user-specified job configuration and
+	 * instantiates a new job for merging shard manifests.
+	 * 
+	 * @param config The user-specified job configuration for merging shard manifests.
+	 */
+	public LatinSquareGeneratorShardMerge(LatinSquareJobConfigShardMerge config)
+	{
+		super(config);
+		this.config = config;
+		mode = constraints = format = compression = null;
+		dataSetSize = numBytes = 0;
+		exhausted = true;
+	}
+	
+	/**
+	 * Returns the number of Latin squares in the merged data set.
+	 * If the go() method has not been already invoked, then this will return zero.
+	 * 
+	 * @return long The number of Latin squares.
+	 */
+	public long getMergedCount() { return job.getNumSquaresProcessed(); }
+	
+	/**
+	 * Reads, validates, and merges the shard manifests, then prints the merged manifest
+	 * (and the job report summary) to standard output.
+	 */
+	@Override
+	public void go()
+	{
+		int numShards = 0;
+		boolean [] foundShard = null;
+		
+		for(String manifestFile : config.getManifestFiles())
+		{
+			Properties manifest = readManifest(manifestFile);
+			
+			try
+			{
+				int order = Integer.parseInt(manifest.getProperty("order").trim());
+				String shardMode = manifest.getProperty("mode").trim();
+				String shardConstraints = manifest.getProperty("constraints", "").trim();
+				String shardFormat = manifest.getProperty("format", "ordered-triple").trim();
+				String shardCompression = manifest.getProperty("compression", "none").trim();
+				long shardSize = Long.parseLong(manifest.getProperty("size").trim());
+				String [] shard = manifest.getProperty("shard").trim().split("/");
+				int shardIndex = Integer.parseInt(shard[0]);
+				int shardCount = Integer.parseInt(shard[1]);
+				
+				// every manifest must belong to the same data set
+				if(foundShard == null)
+				{
+					mode = shardMode;
+					constraints = shardConstraints;
+					format = shardFormat;
+					compression = shardCompression;
+					dataSetSize = shardSize;
+					numShards = shardCount;
+					foundShard = new boolean[numShards];
+				}
+				
+				if((order != job.getOrder()) || !shardMode.equals(mode) || !shardConstraints.equals(constraints)
+						|| !shardFormat.equals(format) || !shardCompression.equals(compression) || (shardSize != dataSetSize)
+						|| (shardCount != numShards))
+				{
+					System.err.println("[Invalid Manifest] The shard manifest file \"" + manifestFile + "\" does not match "
+									   + "the order, generation mode, constraints, output format, data set size, and shard count of the data set!");
+					System.exit(1);
+				}
+				
+				if((shardIndex < 0) || (shardIndex >= numShards) || foundShard[shardIndex])
+				{
+					System.err.println("[Invalid Manifest] The shard manifest file \"" + manifestFile + "\" repeats "
+									   + "shard " + shardIndex + "/" + numShards + "!");
+					System.exit(1);
+				}
+				foundShard[shardIndex] = true;
+				
+				// add up the counts and merge the transversal count histograms
+				job.incrementNumSquaresProcessed(Long.parseLong(manifest.getProperty("squares").trim()));
+				numBytes += Long.parseLong(manifest.getProperty("bytes").trim());
+				exhausted &= Boolean.parseBoolean(manifest.getProperty("all").trim());
+				if(!job.importTransversalCounts(manifest.getProperty("transversals", ""))) { throw new NumberFormatException(); }
+			}
+			
+			// handle missing or invalid manifest values
+			catch(NullPointerException | NumberFormatException | ArrayIndexOutOfBoundsException
+					| NegativeArraySizeException e)
+			{
+				System.err.println("[Invalid Manifest] The shard manifest file \"" + manifestFile + "\" is incomplete or corrupted!");
+				System.exit(1);
+			}
+		}
+		
+		for(int i = 0; i < numShards; i++)
+		{
+			if(!foundShard[i])
+			{
+				System.err.println("[Missing Argument] The manifest file of shard " + i + "/" + numShards + " is missing!");
+				System.exit(1);
+			}
+		}
+		
+		printMergedManifest();
+		if(job.isPrintingReport()) { job.printReport(); }
+	}
+	
+	/**
+	 * Prints the merged manifest, which has the same format as the manifest of a single run.
+	 */
+	private void printMergedManifest()
+	{
+		System.out.println("order=" + job.getOrder());
+		System.out.println("mode=" + mode);
+		System.out.println("size=" + dataSetSize);
+		System.out.println("shard=0/1");
+		System.out.println("constraints=" + constraints);
+		System.out.println("format=" + format);
+		System.out.println("compression=" + compression);
+		System.out.println("squares=" + job.getNumSquaresProcessed());
+		System.out.println("bytes=" + numBytes);
+		System.out.println("all=" + exhausted);
+		System.out.println("transversals=" + job.exportTransversalCounts());
+	}
+	
+	/**
+	 * Reads a shard manifest file.
+	 * 
+	 * @param manifestFile The shard manifest filename.
+	 * @return Properties The manifest values.
+	 */
+	private static Properties readManifest(String manifestFile)
+	{
+		File file = new File(manifestFile);
+		if(!file.exists() || !file.isFile())
+		{
+			System.err.println("[File Not Found] Could not find the shard manifest file \"" + manifestFile + "\"!");
+			System.exit(1);
+		}
+		
+		Properties manifest = new Properties();
+		try(InputStream input = new FileInputStream(file)) { manifest.load(input); }
+		
+		// handle manifest read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While reading the shard manifest file \"" + manifestFile + "\": " + e.getMessage());
+			System.exit(1);
+		}
+		
+		return manifest;
+	}
+	
+	/**
+	 * Returns an empty iterator, since merging shard manifests does not produce any Latin squares.
+	 * 
+	 * @return Iterator The empty iterator.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		return Collections.<Square>emptyIterator();
+	}
+}
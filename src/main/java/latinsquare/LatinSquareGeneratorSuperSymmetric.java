@@ -27,12 +27,26 @@
 
 package latinsquare;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * <h1>LatinSquareGeneratorSuperSymmetric</h1>
  * 
  * <p>This class generates a super-symmetric (or cyclic) Latin square of prime power order-p^d
  * with a recursive lifting-and-merging algorithm. If d is greater than 1, then the Latin square will be
  * super-symmetric. Otherwise, if d equals 0, then the Latin square will be cyclic.
+ * Every lift is performed in place on the rows of the final Latin square, where each block is a
+ * bulk copy of a row of the base square plus a uniform offset, and the rows of large lifts are
+ * divided among a pool of worker threads.
+ * For large orders, the Latin square may instead be implicit (see SquareSuperSymmetric), in which case
+ * it is printed one row at a time and its number of transversals is estimated by random sampling.
  * This is used for the Latin Square Generation Tool.
  * </p>
  * 
@@ -42,8 +56,10 @@ package latinsquare;
  */
 public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 {
+	public static final int MIN_PARALLEL_LIFT_CELLS = 1 << 20;
 	private int primeBase;
 	private int power;
+	private LatinSquareJobConfigGenerator config;
 	
 	/**
 	 * Class constructor that accepts a user-specified job configuration and
@@ -56,8 +72,17 @@ public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 		super(config);
 		this.primeBase = job.getOrderBase();
 		this.power = job.getOrderPower();
+		this.config = config;
 	}
 	
+	/**
+	 * Initializes the generator's attributes, except that no square template is allocated, since the
+	 * super-symmetric Latin square is generated in its own rows (or is implicit, in which case its
+	 * order may be too large for it to fit in memory).
+	 */
+	@Override
+	protected void initializeSquareTemplate() { }
+	
 	/**
 	 * Generates and prints the prime power order-p^d super-symmetric Latin square to standard 
 	 * output by invoking the generateAndPrint() method with the recursive lifting-and-merging
@@ -66,8 +91,10 @@ public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 	@Override
 	public void go()
 	{
-		generateAndPrint();
+		if(config.isImplicit()) { generateAndPrintImplicit(); }
+		else { generateAndPrint(); }
 		
+		finishProcessing();
 		if(job.isPrintingReport()) { job.printReport(); }
 	}
 	
@@ -77,12 +104,66 @@ public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 	 */
 	private void generateAndPrint()
 	{
-		// construct the initial prime order cyclic Latin square
-		square = generateBaseSquare(primeBase);
+		square = generateSquare();
+		
+		printTitle();
+		
+		// process the square according to user-specified job
+		processSquare(square);
+	}
+	
+	/**
+	 * Prints the implicit prime power order-p^d super-symmetric Latin square to standard output
+	 * one row at a time, and then verifies its Latin Square Property and estimates its number of
+	 * transversals as requested. The Latin square is never stored, so this needs O(p^d) memory.
+	 */
+	private void generateAndPrintImplicit()
+	{
+		SquareSuperSymmetric implicitSquare = generateImplicitSquare();
+		long squareCount = job.getNumSquaresProcessed() + 1;
+		
+		printTitle();
+		if(isCountingTransversals() && !config.isBeingQuiet()) { System.out.println("Latin Square #" + squareCount + ": "); }
+		
+		// print square in either ordered-triple or human-readable format (without storing it)
+		if(!config.isBeingQuiet())
+		{
+			if(!isPrintingHumanReadable()) { implicitSquare.printOrderedTriple(System.out); }
+			else { implicitSquare.printHumanReadable(System.out); }
+			System.out.println();
+		}
 		
-		// construct the prime power order-p^d super-symmetric Latin Square
-		for(int i = 1; i < power; i++) { square = liftToPrimePowerSquare(square, primeBase); }
+		// if estimating transversals, then do it! (the job summary report also prints the estimate)
+		if(isCountingTransversals())
+		{
+			double log10 = implicitSquare.estimateTransversalCountLog10(config.getNumSamples(), new SplittableRandom(config.getRandomSeed()));
+			job.setTransversalCountEstimate(SquareImplicit.toStringEstimate(log10, config.getNumSamples()));
+			if(!config.isBeingQuiet())
+			{
+				System.out.println("Latin Square #" + squareCount + " Transversal Count Estimate: " + job.getTransversalCountEstimate() + "\n");
+			}
+		}
+		
+		// if checking the Latin Square Property, then print the result (the job summary report also counts it)
+		if(config.isCheckingProperty())
+		{
+			boolean satisfied = implicitSquare.latinSquarePropertyHolds();
+			if(satisfied) { job.incrementPropertySatisfiedCount(); }
+			if(!config.isBeingQuiet())
+			{
+				if(satisfied) { System.out.println("Latin Square #" + squareCount + " encodes the Cayley table of a quasi-group!\n"); }
+				else { System.out.println("Latin Square #" + squareCount + " does NOT encode the Cayley table of a quasi-group\n"); }
+			}
+		}
 		
+		job.incrementNumSquaresProcessed();
+	}
+	
+	/**
+	 * Prints whether the square is cyclic or super-symmetric if the job summary report is printed.
+	 */
+	private void printTitle()
+	{
 		// if printing job summary report, then print if the square is cyclic or super-symmetric
 		if(job.isPrintingReport())
 		{
@@ -99,9 +180,90 @@ public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 				System.out.println("The cyclic Latin square of prime order-" + primeBase + " is: \n"); 
 			}
 		}
+	}
+	
+	/**
+	 * Returns the implicit prime power order-p^d super-symmetric Latin square, whose cells
+	 * are computed on demand instead of being stored.
+	 * 
+	 * @return SquareSuperSymmetric The implicit order-p^d super-symmetric (or cyclic) Latin square.
+	 */
+	public SquareSuperSymmetric generateImplicitSquare()
+	{
+		return new SquareSuperSymmetric(primeBase, power);
+	}
+	
+	/**
+	 * Uses the lifting-and-merging algorithm to recursively generate the prime power 
+	 * order-p^d super-symmetric Latin square. The cyclic base square is written to the top left corner
+	 * of the rows of the final Latin square, and each lift extends the top left corner in place, so no
+	 * intermediate Latin square is allocated.
+	 * 
+	 * @return Square The order-p^d super-symmetric (or cyclic) Latin square.
+	 */
+	public Square generateSquare()
+	{
+		int order = (int)Math.pow(primeBase, power);
+		int [][] cells = new int[order][order];
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = null;
 		
-		// process the square according to user-specified job
-		processSquare(square);
+		// construct the initial prime order cyclic Latin square
+		for(int i = 0; i < primeBase; i++)
+		{
+			for(int j = 0; j < primeBase; j++) { cells[i][j] = (i + j) % primeBase; }
+		}
+		
+		try
+		{
+			// construct the prime power order-p^d super-symmetric Latin Square
+			for(int baseOrder = primeBase; baseOrder < order; baseOrder *= primeBase)
+			{
+				final int liftedOrder = baseOrder * primeBase;
+				if((numThreads == 1) || (((long)liftedOrder * liftedOrder) < MIN_PARALLEL_LIFT_CELLS))
+				{
+					liftRows(cells, baseOrder, primeBase, 0, liftedOrder);
+					continue;
+				}
+				
+				// divide the rows of the lift among the workers
+				if(executor == null) { executor = Executors.newFixedThreadPool(numThreads); }
+				ArrayList<Future<?>> lifts = new ArrayList<Future<?>>();
+				for(int t = 0; t < numThreads; t++)
+				{
+					final int fromRow = (int)(((long)liftedOrder * t) / numThreads);
+					final int toRow = (int)(((long)liftedOrder * (t + 1)) / numThreads);
+					final int liftBaseOrder = baseOrder;
+					lifts.add(executor.submit(() -> liftRows(cells, liftBaseOrder, primeBase, fromRow, toRow)));
+				}
+				for(Future<?> lift : lifts) { lift.get(); }
+			}
+		}
+		
+		// handle worker thread exceptions
+		catch(InterruptedException | ExecutionException e)
+		{
+			System.err.println("[Worker Error] While lifting the super-symmetric Latin square: " + e.getMessage());
+			System.exit(1);
+		}
+		finally
+		{
+			if(executor != null) { executor.shutdown(); }
+		}
+		
+		return new Square(cells);
+	}
+	
+	/**
+	 * Returns a new pull-based iterator over the single super-symmetric (or cyclic) Latin square,
+	 * which is generated when the iterator is created.
+	 * 
+	 * @return Iterator The iterator over the super-symmetric Latin square.
+	 */
+	@Override
+	public Iterator<Square> iterator()
+	{
+		return Collections.singletonList(generateSquare()).iterator();
 	}
 	
 	/**
@@ -133,35 +295,49 @@ public class LatinSquareGeneratorSuperSymmetric extends LatinSquareGenerator
 	 */
 	public Square liftToPrimePowerSquare(Square baseSquare, int p)
 	{
-		Square liftedSquare =  new Square(primeBase * baseSquare.getOrder());
+		int baseOrder = baseSquare.getOrder();
+		int [][] cells = new int[p * baseOrder][p * baseOrder];
 		
-		for(int i = 0; i < p; i++)
+		for(int i = 0; i < baseOrder; i++)
 		{
-			for(int j = 0; j < p; j++) { mergeBaseSquare(liftedSquare, i, j, baseSquare, (i + j) % p); }
+			for(int j = 0; j < baseOrder; j++) { cells[i][j] = baseSquare.getCellSymbol(i, j); }
 		}
+		liftRows(cells, baseOrder, p, 0, p * baseOrder);
 		
-		return liftedSquare;
+		return new Square(cells);
 	}
 	
 	/**
-	 * Merges the order-p^k "base Latin square" into the order-p^(k+1) super-symmetric "lifted Latin square",
-	 * where the top left cell of the base square will be at the lifted square's cell 
-	 * with the coordinate (row * baseSquare.getOrder(), col * baseSquare.getOrder()). 
+	 * Lifts a range of rows of an order-p^(k+1) super-symmetric "lifted Latin square" in place, where the
+	 * order-p^k "base Latin square" is already in its top left corner. The block at block row a and
+	 * block column b is the base square plus the uniform offset p^k * ((a + b) mod p), so each row of
+	 * the block is a bulk copy of a row of the base square followed by a loop that adds the offset.
+	 * Since only the top left corner is read, distinct ranges of rows can be lifted concurrently.
 	 * 
-	 * @param liftedSquare The super-symmetric Latin square that will contain the base Latin square as a sub-square.
-	 * @param row The row of the super-symmetric Latin square in which to start merging the base Latin square.
-	 * @param col The column of the super-symmetric Latin square in which to start merging the base sub-square.
-	 * @param baseSquare The base Latin square that will become a sub-square of the super-symmetric Latin square.
-	 * @param offsetScalar The scalar used to construct the uniform offset that is added to each symbol.
+	 * @param cells The rows of the lifted Latin square.
+	 * @param baseOrder The order-p^k of the base Latin square.
+	 * @param p The prime base of the order of the original base Latin square.
+	 * @param fromRow The first row to lift (inclusive).
+	 * @param toRow The last row to lift (exclusive).
 	 */
-	public void mergeBaseSquare(Square liftedSquare, int row, int col, Square baseSquare, int offsetScalar)
+	public static void liftRows(int [][] cells, int baseOrder, int p, int fromRow, int toRow)
 	{
-		for(int i = (row * baseSquare.getOrder()); i < ((row + 1) * (baseSquare.getOrder())); i++)
+		for(int i = fromRow; i < toRow; i++)
 		{
-			for(int j = (col * baseSquare.getOrder()); j < ((col + 1) * (baseSquare.getOrder())); j++)
+			int blockRow = i / baseOrder;
+			int [] baseRow = cells[i % baseOrder];
+			int [] liftedRow = cells[i];
+			
+			for(int blockCol = 0; blockCol < p; blockCol++)
 			{
-				liftedSquare.setCellSymbol(i, j, baseSquare.getCellSymbol(i % baseSquare.getOrder(), j % baseSquare.getOrder()));
-				liftedSquare.setCellSymbol(i, j, liftedSquare.getCellSymbol(i, j) + (baseSquare.getOrder() * offsetScalar));
+				int offset = baseOrder * ((blockRow + blockCol) % p);
+				int start = blockCol * baseOrder;
+				
+				// the top left block is the base square itself
+				if((blockRow == 0) && (blockCol == 0)) { continue; }
+				
+				System.arraycopy(baseRow, 0, liftedRow, start, baseOrder);
+				for(int j = start; j < (start + baseOrder); j++) { liftedRow[j] += offset; }
 			}
 		}
 	}
@@ -27,16 +27,21 @@
 
 package latinsquare;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * <h1>LatinSquareJob</h1>
  * 
  * <p>This class represents a user-specified job for processing Latin squares. It keeps track
  * of the user-specified configuration and various statistics for the job. It has the
- * capability of printing a job summary report upon completion of the job.</p>
+ * capability of printing a job summary report upon completion of the job. The transversal
+ * count statistics may be submitted concurrently by several worker threads. The statistics of
+ * the squares of a mixed-order input file are also kept (and reported) for each order.</p>
  * 
  * @author Nathan O. Schmidt
  * @author Will Unger
@@ -49,7 +54,15 @@ public class LatinSquareJob
 	private ArrayList<TransversalCount> transversalCountList;
 	private boolean transversalCountListSorted;
 	private long propertySatisfiedCount;
-
+	private long completionCount;
+	private long completableCount;
+	private BigInteger representedCount;
+	private LatinSquareAsyncOutputStream outputWriter;
+	private long inputRangeStart;
+	private LatinSquareRejectLog rejectLog;
+	private TreeMap<Integer, LatinSquareJob> orderJobs;
+	private String transversalCountEstimate;
+	
 	/**
 	 * Class constructor that accepts a user-specified job configuration 
 	 * for generating a super-symmetric (or cyclic) Latin square.
@@ -61,6 +74,13 @@ public class LatinSquareJob
 		this.config = config;
 		numSquaresProcessed = 0;
 		propertySatisfiedCount = 0;
+		completionCount = completableCount = 0;
+		representedCount = BigInteger.ZERO;
+		outputWriter = null;
+		inputRangeStart = 0;
+		rejectLog = null;
+		orderJobs = isMixedOrder() ? new TreeMap<Integer, LatinSquareJob>() : null;
+		transversalCountEstimate = null;
 		transversalCountList = new ArrayList<TransversalCount>();
 		transversalCountListSorted = true;
 	}
@@ -73,6 +93,19 @@ public class LatinSquareJob
 	 * @param transversalCount The transversal count for a Latin square.
 	 */
 	public void submitTransversalCount(long transversalCount)
+	{
+		submitTransversalCount(transversalCount, 1);
+	}
+	
+	/**
+	 * Adds a weighted number of Latin squares with a specific transversal count.
+	 * Used when each processed Latin square represents a class of Latin squares that
+	 * share its transversal count (ex. an isotopy class representative).
+	 * 
+	 * @param transversalCount The transversal count for a Latin square.
+	 * @param weight The number of Latin squares that are represented.
+	 */
+	public synchronized void submitTransversalCount(long transversalCount, long weight)
 	{
 		if(isCountingTransversals() || isPrintingTransversals() || isPrintingHeatMap())
 		{
@@ -81,24 +114,233 @@ public class LatinSquareJob
 			{
 				if(transversalCountList.get(i).getTransversalCount() == transversalCount)
 				{
-					transversalCountList.get(i).increment();
+					transversalCountList.get(i).increment(weight);
 					added = true;
 					transversalCountListSorted = false;
 				}
 			}
 			if(!added) 
 			{ 
-				transversalCountList.add(new TransversalCount(transversalCount)); 
+				transversalCountList.add(new TransversalCount(transversalCount, weight)); 
 				transversalCountListSorted = false;
 			}
 		}
 	}
 	
+	/**
+	 * Adds a weighted number of Latin squares of a given order with a specific transversal count, which
+	 * is also added to the statistics of the order if the input file has mixed orders.
+	 * 
+	 * @param transversalCount The transversal count for a Latin square.
+	 * @param weight The number of Latin squares that are represented.
+	 * @param order The order of the Latin square.
+	 */
+	public void submitTransversalCount(long transversalCount, long weight, int order)
+	{
+		submitTransversalCount(transversalCount, weight);
+		if(orderJobs == null) { return; }
+		
+		synchronized(this) { getOrderJob(order).submitTransversalCount(transversalCount, weight); }
+	}
+	
+	/**
+	 * Records a processed square of a mixed-order input file in the statistics of its order, along with
+	 * the number of squares that it represents (if deduplicating); this may be invoked by concurrent workers.
+	 * 
+	 * @param order The order of the square.
+	 * @param multiplicity The number of squares in the input file that it represents (zero if not deduplicating).
+	 */
+	public void submitSquareOrder(int order, long multiplicity)
+	{
+		if(orderJobs == null) { return; }
+		
+		synchronized(this)
+		{
+			LatinSquareJob orderJob = getOrderJob(order);
+			orderJob.numSquaresProcessed++;
+			orderJob.representedCount = orderJob.representedCount.add(BigInteger.valueOf(multiplicity));
+		}
+	}
+	
+	/**
+	 * Returns the job that keeps the statistics of the squares of an order of a mixed-order input file,
+	 * which is created once for each order.
+	 * 
+	 * @param order The order of the squares.
+	 * @return LatinSquareJob The job of the order.
+	 */
+	private LatinSquareJob getOrderJob(int order)
+	{
+		LatinSquareJob orderJob = orderJobs.get(order);
+		if(orderJob == null)
+		{
+			orderJob = new LatinSquareJob(config);
+			orderJob.orderJobs = null;
+			orderJobs.put(order, orderJob);
+		}
+		return orderJob;
+	}
+	
+	/**
+	 * Returns true if the squares of the input file may have any order (see LatinSquareFileParser.MIXED_ORDER),
+	 * in which case the statistics of the job report summary are broken down by order.
+	 * 
+	 * @return boolean The mixed-order flag.
+	 */
+	public boolean isMixedOrder()
+	{
+		return ((config instanceof LatinSquareJobConfigFromFileTransversalCounter) || (config instanceof LatinSquareJobConfigFromFilePropertyChecker))
+				&& (getOrder() == LatinSquareFileParser.MIXED_ORDER);
+	}
+	
+	/**
+	 * Returns the order of the squares for the job report summary (the orders that were found in a mixed-order input file).
+	 * 
+	 * @return String The order.
+	 */
+	private String getOrderDescription()
+	{
+		if(orderJobs == null) { return String.valueOf(getOrder()); }
+		
+		StringBuilder description = new StringBuilder("Mixed (");
+		for(int order : orderJobs.keySet())
+		{
+			if(description.length() > 7) { description.append(", "); }
+			description.append(order);
+		}
+		return description.append(")").toString();
+	}
+	
+	/**
+	 * Adds the size of the class of Latin squares that is represented by a processed Latin square.
+	 * 
+	 * @param classSize The number of Latin squares in the class.
+	 */
+	public void submitClassSize(BigInteger classSize) { representedCount = representedCount.add(classSize); }
+	
+	/**
+	 * Returns the total number of Latin squares in the classes that are represented by the
+	 * processed Latin squares.
+	 * 
+	 * @return BigInteger The number of represented Latin squares.
+	 */
+	public BigInteger getRepresentedCount() { return representedCount; }
+	
+	/**
+	 * Records the writer of the output file, whose queue depth is printed in the job report summary.
+	 * 
+	 * @param outputWriter The output file writer.
+	 */
+	public void setOutputWriter(LatinSquareAsyncOutputStream outputWriter) { this.outputWriter = outputWriter; }
+	
+	/**
+	 * Records the ordinal of the first square of the input file that is processed, if only a range of
+	 * its squares is processed (see LatinSquareFileParser.setRange); the range is printed in the job report summary.
+	 * 
+	 * @param firstSquare The ordinal of the first square of the range (starting at 1).
+	 */
+	public void setInputRange(long firstSquare) { inputRangeStart = firstSquare; }
+	
+	/**
+	 * Prints the range of the squares of the input file that were processed, if only a range was processed
+	 * (the rejected squares of the range keep their ordinals, so they are included in the range).
+	 */
+	private void printInputRange()
+	{
+		if(inputRangeStart <= 0) { return; }
+		
+		long numSquares = numSquaresProcessed + ((rejectLog != null) ? rejectLog.getNumRejected() : 0);
+		System.out.print("                   Input Range: ");
+		if(numSquares == 0) { System.out.println("None (after Square #" + (inputRangeStart - 1) + ")"); }
+		else { System.out.println("Squares #" + inputRangeStart + " to #" + (inputRangeStart + numSquares - 1)); }
+	}
+	
+	/**
+	 * Records the log of the malformed squares that were rejected from the input file instead of stopping
+	 * the job (see LatinSquareFileParser.setRejectLog); the reject counts are printed in the job report summary.
+	 * 
+	 * @param rejectLog The reject log.
+	 */
+	public void setRejectLog(LatinSquareRejectLog rejectLog) { this.rejectLog = rejectLog; }
+	
+	/**
+	 * Prints the number of rejected squares of the input file (by error), if malformed squares were rejected.
+	 */
+	private void printRejectedSquares()
+	{
+		if(rejectLog == null) { return; }
+		
+		System.out.println("[Rejected Squares]");
+		System.out.println("                   Reject File: " + rejectLog.getFileName());
+		System.out.println("            # Squares Rejected: " + rejectLog.getNumRejected());
+		for(Map.Entry<String, Long> entry : rejectLog.getNumRejectedByError().entrySet())
+		{
+			System.out.println(String.format("%30s", entry.getKey()) + ": " + entry.getValue());
+		}
+		System.out.println();
+	}
+	
 	/**
 	 * Increments the number of Latin squares that have been processed.
 	 */
 	public void incrementNumSquaresProcessed() { ++numSquaresProcessed; }
 	
+	/**
+	 * Adds to the number of Latin squares that have been processed
+	 * (ex. when resuming a job from a checkpoint).
+	 * 
+	 * @param numSquares The number of Latin squares to add.
+	 */
+	public void incrementNumSquaresProcessed(long numSquares) { numSquaresProcessed += numSquares; }
+	
+	/**
+	 * Returns a compact representation of the observed transversal counts, where each
+	 * entry "t:c" means that c Latin squares have t transversals (ex. "0:8,3:4"), so that
+	 * the statistics of a job can be saved and merged later.
+	 * 
+	 * @return String The transversal count histogram.
+	 */
+	public synchronized String exportTransversalCounts()
+	{
+		sortTransversalCountList();
+		
+		StringBuilder buffer = new StringBuilder("");
+		for(int i = 0; i < transversalCountList.size(); i++)
+		{
+			if(i > 0) { buffer.append(","); }
+			buffer.append(transversalCountList.get(i).getTransversalCount() + ":" + transversalCountList.get(i).getSquareCount());
+		}
+		
+		return buffer.toString();
+	}
+	
+	/**
+	 * Adds the transversal counts of a histogram that was exported by exportTransversalCounts().
+	 * 
+	 * @param histogram The transversal count histogram.
+	 * @return boolean True if the histogram was well-formed.
+	 */
+	public boolean importTransversalCounts(String histogram)
+	{
+		if(histogram.trim().isEmpty()) { return true; }
+		
+		try
+		{
+			for(String entry : histogram.trim().split(","))
+			{
+				String [] fields = entry.split(":");
+				if(fields.length != 2) { return false; }
+				
+				long weight = Long.parseLong(fields[1].trim());
+				if(weight < 1) { return false; }
+				submitTransversalCount(Long.parseLong(fields[0].trim()), weight);
+			}
+		}
+		catch(NumberFormatException e) { return false; }
+		
+		return true;
+	}
+	
 	/**
 	 * Returns the number of Latin squares that have been processed.
 	 * 
@@ -191,13 +433,91 @@ public class LatinSquareJob
 	 */
 	public boolean isPreloading() { return ((LatinSquareJobConfigGenerator)config).isPreloading(); }
 	
+	/**
+	 * Returns true if the processed Latin squares are random Latin squares.
+	 * 
+	 * @return boolean The randomized flag.
+	 */
+	public boolean isRandomized()
+	{
+		return (config instanceof LatinSquareJobConfigGenerator) && ((LatinSquareJobConfigGenerator)config).isRandomized();
+	}
+	
+	/**
+	 * Returns true if the processed Latin square is implicit (see SquareImplicit).
+	 * 
+	 * @return boolean The implicit square flag.
+	 */
+	public boolean isImplicit()
+	{
+		return (config instanceof LatinSquareJobConfigGenerator) && ((LatinSquareJobConfigGenerator)config).isImplicit();
+	}
+	
+	/**
+	 * Returns the number of worker threads that process the Latin squares of a generation job,
+	 * a transversal counting job, or a property checking job.
+	 * 
+	 * @return int The number of worker threads (one for the other jobs).
+	 */
+	public int getNumThreads()
+	{
+		if(config instanceof LatinSquareJobConfigFromFileTransversalCounter)
+		{
+			return ((LatinSquareJobConfigFromFileTransversalCounter)config).getNumThreads();
+		}
+		if(config instanceof LatinSquareJobConfigFromFilePropertyChecker)
+		{
+			return ((LatinSquareJobConfigFromFilePropertyChecker)config).getNumThreads();
+		}
+		if(!(config instanceof LatinSquareJobConfigGenerator)) { return 1; }
+		return ((LatinSquareJobConfigGenerator)config).getNumThreads();
+	}
+	
+	/**
+	 * Returns the structural constraints that the processed Latin squares satisfy by construction.
+	 * 
+	 * @return LatinSquareConstraints The constraints (LatinSquareConstraints.NONE if there are none).
+	 */
+	public LatinSquareConstraints getConstraints()
+	{
+		if(!(config instanceof LatinSquareJobConfigGenerator)) { return LatinSquareConstraints.NONE; }
+		return ((LatinSquareJobConfigGenerator)config).getConstraints();
+	}
+	
+	/**
+	 * Returns true if the processed Latin squares are isotopy class (or main class) representatives.
+	 * 
+	 * @return boolean The class representatives flag.
+	 */
+	public boolean isGeneratingClassRepresentatives()
+	{
+		return (config instanceof LatinSquareJobConfigGenerator)
+				&& ((LatinSquareJobConfigGenerator)config).isGeneratingClassRepresentatives();
+	}
+	
+	/**
+	 * Returns true if only one representative of each class in the input file is processed,
+	 * in which case each representative is weighted by its multiplicity.
+	 * 
+	 * @return boolean The deduplication flag.
+	 */
+	public boolean isDeduplicating()
+	{
+		return (config instanceof LatinSquareJobConfigFromFileTransversalCounter)
+				&& ((LatinSquareJobConfigFromFileTransversalCounter)config).isDeduplicating();
+	}
+	
 	/**
 	 * Returns true if the quiet flag is set (meaning that the each individual square and its transversal counts,
 	 * heat map, etc. will not be printed as the processing occurs).
 	 * 
 	 * @return boolean The quiet flag.
 	 */
-	public boolean isBeingQuiet() { return ((LatinSquareJobConfigFromFileTransversalCounter)config).isBeingQuiet(); }
+	public boolean isBeingQuiet()
+	{
+		if(config instanceof LatinSquareJobConfigGenerator) { return ((LatinSquareJobConfigGenerator)config).isBeingQuiet(); }
+		return ((LatinSquareJobConfigFromFileTransversalCounter)config).isBeingQuiet();
+	}
 	
 	/**
 	 * Returns the type of the Latin square job that will be (or has been) executed.
@@ -245,7 +565,7 @@ public class LatinSquareJob
 		if((transversalCountList != null) && !transversalCountList.isEmpty())
 		{
 			sortTransversalCountList(); // sort first
-	
+			
 			// find the largest number of squares with a specific transversal count (max mode value)
 			long maxSquareCountWithTransversals = 0;
 			for(int i = 0; i < transversalCountList.size(); i++)
@@ -319,54 +639,59 @@ public class LatinSquareJob
 	{
 		if((transversalCountList != null) && !transversalCountList.isEmpty())
 		{
-			sortTransversalCountList(); // short first
+			sortTransversalCountList(); // sort first
 			
-			// copy counts into single array so we can compute the median
-			// note: not sure about this narrowing of long to int...
-			long [] sortedTransversalCountListIndividual = new long[(int)numSquaresProcessed];
-			for(int i = 0, index = 0; i < transversalCountList.size(); i++)
-			{
-				for(int j = 0; j < transversalCountList.get(i).getSquareCount(); j++, index++)
-				{
-					sortedTransversalCountListIndividual[index] = transversalCountList.get(i).getTransversalCount();
-				}
-			}
-
-			// handle median for short length cases
-			if(sortedTransversalCountListIndividual.length == 1) 
-			{ 
-				return sortedTransversalCountListIndividual[0]; 
-			}
-			else if (sortedTransversalCountListIndividual.length == 2)
-			{
-				return (sortedTransversalCountListIndividual[0] + sortedTransversalCountListIndividual[1]) / 2;
-			}
+			// the square counts may be weighted, so locate the middle square(s) by their cumulative counts
+			long numSquares = 0;
+			for(int i = 0; i < transversalCountList.size(); i++) { numSquares += transversalCountList.get(i).getSquareCount(); }
 			
-			// handle median for larger length cases
+			if(numSquares % 2 == 1) { return (double)getSortedTransversalCount(numSquares / 2); }
 			else
 			{
-				if(sortedTransversalCountListIndividual.length % 2 == 1)
-				{
-					int index = sortedTransversalCountListIndividual.length / 2;
-					return (double)sortedTransversalCountListIndividual[index];
-				}
-				else
-				{
-					int index = (sortedTransversalCountListIndividual.length / 2) - 1;
-					double median = (sortedTransversalCountListIndividual[index] + sortedTransversalCountListIndividual[index + 1]) / 2;
-					return median;
-				}
+				long index = (numSquares / 2) - 1;
+				double median = (getSortedTransversalCount(index) + getSortedTransversalCount(index + 1)) / 2;
+				return median;
 			}
 		}
 		else { return 0.0; }
 	}
 	
+	/**
+	 * Returns the transversal count of the square at a given index when the processed Latin squares
+	 * are sorted by their transversal counts.
+	 * 
+	 * @param index The index of the square in sorted order.
+	 * @return long The transversal count of the square.
+	 */
+	private long getSortedTransversalCount(long index)
+	{
+		long cumulativeSquareCount = 0;
+		for(int i = 0; i < transversalCountList.size(); i++)
+		{
+			cumulativeSquareCount += transversalCountList.get(i).getSquareCount();
+			if(index < cumulativeSquareCount) { return transversalCountList.get(i).getTransversalCount(); }
+		}
+		return transversalCountList.get(transversalCountList.size() - 1).getTransversalCount();
+	}
+	
 	/**
 	 * Increments the counter for the number of squares that satisfied the Latin Square Property.
 	 */
-	public void incrementPropertySatisfiedCount()
+	public synchronized void incrementPropertySatisfiedCount()
+	{
+		++propertySatisfiedCount;
+	}
+	
+	/**
+	 * Increments the counter for the number of squares of a given order that satisfied the Latin Square Property
+	 * (which is also counted for the order if the input file has mixed orders).
+	 * 
+	 * @param order The order of the square.
+	 */
+	public synchronized void incrementPropertySatisfiedCount(int order)
 	{
 		++propertySatisfiedCount;
+		if(orderJobs != null) { getOrderJob(order).propertySatisfiedCount++; }
 	}
 	
 	/**
@@ -380,6 +705,51 @@ public class LatinSquareJob
 		return propertySatisfiedCount;
 	}
 	
+	/**
+	 * Sets the transversal count estimate of the implicit Latin square (see SquareImplicit).
+	 * 
+	 * @param transversalCountEstimate The string representation of the estimate.
+	 */
+	public void setTransversalCountEstimate(String transversalCountEstimate)
+	{
+		this.transversalCountEstimate = transversalCountEstimate;
+	}
+	
+	/**
+	 * Returns the transversal count estimate of the implicit Latin square (or null if it has not been estimated).
+	 * 
+	 * @return String The string representation of the estimate.
+	 */
+	public String getTransversalCountEstimate()
+	{
+		return transversalCountEstimate;
+	}
+	
+	/**
+	 * Submits the number of completions that were found for a partial square.
+	 * 
+	 * @param numCompletions The number of completions of the partial square.
+	 */
+	public void submitCompletionCount(long numCompletions)
+	{
+		completionCount += numCompletions;
+		if(numCompletions > 0) { ++completableCount; }
+	}
+	
+	/**
+	 * Returns the total number of completions that were found for the partial squares.
+	 * 
+	 * @return long The number of completions.
+	 */
+	public long getCompletionCount() { return completionCount; }
+	
+	/**
+	 * Returns the number of partial squares that have at least one completion.
+	 * 
+	 * @return long The number of completable partial squares.
+	 */
+	public long getCompletableCount() { return completableCount; }
+	
 	/**
 	 * Sorts the list of transversal count objects by the transversal count itself.
 	 */
@@ -408,7 +778,7 @@ public class LatinSquareJob
 	        return (int)(a.getTransversalCount() - b.getTransversalCount());
 	    }
 	}
-
+	
 	/**
 	 * Prints the final job report summary to standard output.
 	 */
@@ -420,8 +790,9 @@ public class LatinSquareJob
 		System.out.println("********************** Job Summary Report **********************");
 		System.out.println("****************************************************************\n");
 		
-		if(!isPropertyChecking()) { printReportDefault(); }
-		else { printReportPropertyChecking(); }
+		if(isPropertyChecking()) { printReportPropertyChecking(); }
+		else if(getJobType() == LatinSquareJobType.PARSE_INPUT_FILE_COMPLETE) { printReportCompletion(); }
+		else { printReportDefault(); }
 		
 		System.out.println("****************************************************************");
 	}
@@ -442,25 +813,87 @@ public class LatinSquareJob
 				{ 
 					System.out.println(" (Preloading)"); 
 				}
+				else if(((LatinSquareJobConfigGenerator)config).getGenerationMode() == GenerationMode.SELECTION_ROW) 
+				{ 
+					System.out.println(" (Row-by-Row)"); 
+				}
+				else if(((LatinSquareJobConfigGenerator)config).getGenerationMode() == GenerationMode.ISOTOPY_CLASS) 
+				{ 
+					System.out.println(" (Isotopy Class Representatives)"); 
+				}
+				else if(((LatinSquareJobConfigGenerator)config).getGenerationMode() == GenerationMode.MAIN_CLASS) 
+				{ 
+					System.out.println(" (Main Class Representatives)"); 
+				}
+				else if(((LatinSquareJobConfigGenerator)config).getGenerationMode() == GenerationMode.SELECTION_RANDOM) 
+				{ 
+					System.out.println(" (Randomized)"); 
+				}
 				else { System.out.println(); }
 				break;
 			case GENERATE_SUPERSYMMETRIC:
-				System.out.println("Super-Symmetric Generation");
+				System.out.print("Super-Symmetric Generation");
+				if(isImplicit()) { System.out.println(" (Implicit)"); }
+				else { System.out.println(); }
+				break;
+			case GENERATE_MOLS:
+				System.out.println("Mutually Orthogonal Latin Squares Generation");
+				break;
+			case GENERATE_GROUP:
+				System.out.println("Abelian Group Cayley Table Generation");
 				break;
 			case PARSE_INPUT_FILE_COUNT_TRANSVERSALS:
-				System.out.println("Transversal Counting");
+				System.out.print("Transversal Counting");
+				if(isDeduplicating())
+				{
+					boolean mainClasses = ((LatinSquareJobConfigFromFileTransversalCounter)config).isDeduplicatingMainClasses();
+					System.out.println(mainClasses ? " (Main Class Deduplication)" : " (Isotopy Class Deduplication)");
+				}
+				else { System.out.println(); }
+				break;
+			case MERGE_SHARD_SUMMARIES:
+				System.out.println("Shard Summary Merging");
+				break;
+			case CONVERT_FORMAT:
+				System.out.println("Format Conversion");
 				break;
 			default:
 				// illegal argument exception should already be printed
 				System.exit(1);
 		}
 		
-		System.out.println("            Latin Square Order: " + getOrder());
+		System.out.println("            Latin Square Order: " + getOrderDescription());
 		System.out.println("     # Latin Squares Processed: " + numSquaresProcessed);
+		printInputRange();
+		if(isGeneratingClassRepresentatives() || isDeduplicating())
+		{
+			System.out.println("    # Latin Squares Represented: " + representedCount);
+		}
+		if(isRandomized())
+		{
+			LatinSquareJobConfigGenerator generatorConfig = (LatinSquareJobConfigGenerator)config;
+			System.out.println("                   Random Seed: " + generatorConfig.getRandomSeed());
+			System.out.println("              Backtrack Budget: " + generatorConfig.getBacktrackBudget());
+		}
+		if(isImplicit() && isCountingTransversals())
+		{
+			LatinSquareJobConfigGenerator generatorConfig = (LatinSquareJobConfigGenerator)config;
+			System.out.println("                   Random Seed: " + generatorConfig.getRandomSeed());
+			System.out.println("          # Estimation Samples: " + generatorConfig.getNumSamples());
+		}
+		if(isRandomized() || (getNumThreads() > 1))
+		{
+			System.out.println("              # Worker Threads: " + getNumThreads());
+		}
+		if(!getConstraints().isEmpty())
+		{
+			System.out.println("                   Constraints: " + getConstraints());
+		}
 		System.out.println();
 		
+		// the implicit Latin square is not printed at all if the job is quiet
 		System.out.print("Ordered-Triple Format Printing: ");
-		if(!isPrintingHumanReadable()) { System.out.println("On"); }
+		if(!isPrintingHumanReadable() && !(isImplicit() && isBeingQuiet())) { System.out.println("On"); }
 		else { System.out.println("Off"); }
 		
 		System.out.print("          Transversal Counting: ");
@@ -481,27 +914,96 @@ public class LatinSquareJob
 		
 		System.out.println();
 		
-		// print observed transversal results
-		if((isCountingTransversals() || isPrintingTransversals()) && (transversalCountList.size() > 0))
+		// print the statistics of the output file writer thread
+		if(outputWriter != null)
+		{
+			System.out.println("[Output File Writer]");
+			System.out.println("              Ring Buffer Size: " + (outputWriter.getCapacity() >> 10) + " KiB");
+			System.out.println("                  Fsync Policy: " + outputWriter.getSyncPolicy());
+			System.out.println("         Queue Depth (Maximum): " + outputWriter.getMaxQueueDepth() + " of " + outputWriter.getQueueCapacity());
+			System.out.println("            Queue Depth (Mean): " + String.format("%.2f", outputWriter.getMeanQueueDepth()));
+			System.out.println("                      # Stalls: " + outputWriter.getNumStalls());
+			System.out.println();
+		}
+		
+		// print the transversal count estimate and the Latin Square Property of the implicit Latin square
+		if(isImplicit() && ((transversalCountEstimate != null) || ((LatinSquareJobConfigGenerator)config).isCheckingProperty()))
+		{
+			System.out.println("[Implicit Latin Square]");
+			if(transversalCountEstimate != null)
+			{
+				System.out.println("    Transversal Count Estimate: " + transversalCountEstimate);
+			}
+			if(((LatinSquareJobConfigGenerator)config).isCheckingProperty())
+			{
+				System.out.println("           # Squares Satisfied: " + propertySatisfiedCount);
+				System.out.println("       # Squares Not Satisfied: " + (numSquaresProcessed - propertySatisfiedCount));
+			}
+			System.out.println();
+		}
+		
+		printRejectedSquares();
+		
+		// print observed transversal results (for each order of a mixed-order input file)
+		if(orderJobs != null) { printOrderStatistics(); }
+		else if((isCountingTransversals() || isPrintingTransversals()) && (transversalCountList.size() > 0))
 		{
 			System.out.println("[Transversal Count Statistics]");
-			System.out.println("                       Minimum: " + getTransversalCountMin());
-			System.out.println("                       Maximum: " + getTransversalCountMax());
-			System.out.println("                          Mean: " + getTransversalCountMean());
-			System.out.println("                        Median: " + getTransversalCountMedian());
-			System.out.print("                       Mode(s): ");
-			long [] modes = getTransversalCountMode();
-			for(int i = 0; i < modes.length; i++)
+			printTransversalCountStatistics();
+		}
+	}
+	
+	/**
+	 * Prints the transversal count statistics of the processed Latin squares.
+	 */
+	private void printTransversalCountStatistics()
+	{
+		if(isGeneratingClassRepresentatives())
+		{
+			System.out.println("     (Each Class Is Weighted By Its Number of Reduced Latin Squares)");
+		}
+		if(isDeduplicating()) { System.out.println("     (Each Class Is Weighted By Its Multiplicity)"); }
+		System.out.println("                       Minimum: " + getTransversalCountMin());
+		System.out.println("                       Maximum: " + getTransversalCountMax());
+		System.out.println("                          Mean: " + getTransversalCountMean());
+		System.out.println("                        Median: " + getTransversalCountMedian());
+		System.out.print("                       Mode(s): ");
+		long [] modes = getTransversalCountMode();
+		for(int i = 0; i < modes.length; i++)
+		{
+			System.out.print(modes[i]);
+			if(i < (modes.length - 1)) { System.out.print(","); }
+		}
+		System.out.println("\n");
+		
+		System.out.println("   Specific Transversal Counts: ");
+		for(int i = 0; i < transversalCountList.size(); i++)
+		{
+			System.out.println("             " + transversalCountList.get(i));
+		}
+		System.out.println();
+	}
+	
+	/**
+	 * Prints the statistics of the squares of each order of a mixed-order input file.
+	 */
+	private void printOrderStatistics()
+	{
+		for(Map.Entry<Integer, LatinSquareJob> entry : orderJobs.entrySet())
+		{
+			LatinSquareJob orderJob = entry.getValue();
+			System.out.println("[Order-" + entry.getKey() + " Statistics]");
+			System.out.println("     # Latin Squares Processed: " + orderJob.numSquaresProcessed);
+			if(isDeduplicating()) { System.out.println("    # Latin Squares Represented: " + orderJob.representedCount); }
+			if(isPropertyChecking())
 			{
-				System.out.print(modes[i]);
-				if(i < (modes.length - 1)) { System.out.print(","); }
+				System.out.println("           # Squares Satisfied: " + orderJob.propertySatisfiedCount);
+				System.out.println("       # Squares Not Satisfied: " + (orderJob.numSquaresProcessed - orderJob.propertySatisfiedCount));
 			}
-			System.out.println("\n");
-			
-			System.out.println("   Specific Transversal Counts: ");
-			for(int i = 0; i < transversalCountList.size(); i++)
+			else if((isCountingTransversals() || isPrintingTransversals()) && (orderJob.transversalCountList.size() > 0))
 			{
-				System.out.println("             " + transversalCountList.get(i));
+				orderJob.printTransversalCountStatistics();
+				continue;
 			}
 			System.out.println();
 		}
@@ -525,8 +1027,13 @@ public class LatinSquareJob
 				System.exit(1);
 		}
 		
-		System.out.println("            Latin Square Order: " + getOrder());
+		System.out.println("            Latin Square Order: " + getOrderDescription());
 		System.out.println("     # Latin Squares Processed: " + numSquaresProcessed);
+		printInputRange();
+		if(getNumThreads() > 1)
+		{
+			System.out.println("              # Worker Threads: " + getNumThreads());
+		}
 		System.out.print("Ordered-Triple Format Printing: ");
 		if(!isPrintingHumanReadable()) { System.out.println("On"); }
 		else { System.out.println("Off"); }
@@ -538,5 +1045,43 @@ public class LatinSquareJob
 		System.out.println("           # Squares Satisfied: " + getPropertySatisfiedCount());
 		System.out.println("       # Squares Not Satisfied: " + (numSquaresProcessed - getPropertySatisfiedCount()));
 		System.out.println();
+		
+		if(orderJobs != null) { printOrderStatistics(); }
+		printRejectedSquares();
+	}
+	
+	/**
+	 * Prints the final job report summary to standard output (partial square completion).
+	 */
+	private void printReportCompletion()
+	{
+		LatinSquareJobConfigFromFileCompletion completionConfig = (LatinSquareJobConfigFromFileCompletion)config;
+		
+		// print user-specified job configuration 
+		System.out.println("[Configuration]");
+		System.out.println("                      Job Type: Partial Latin Square Completion");
+		System.out.println("            Latin Square Order: " + getOrder());
+		System.out.println("   # Partial Squares Processed: " + numSquaresProcessed);
+		System.out.print("Completions per Partial Square: ");
+		if(completionConfig.getNumCompletions() == 0) { System.out.println("All"); }
+		else { System.out.println("Up to " + completionConfig.getNumCompletions()); }
+		System.out.println("              # Worker Threads: " + completionConfig.getNumThreads());
+		
+		System.out.print("Ordered-Triple Format Printing: ");
+		if(!isPrintingHumanReadable()) { System.out.println("On"); }
+		else { System.out.println("Off"); }
+		
+		System.out.print("           Completion Counting: ");
+		if(completionConfig.isCountingCompletions()) { System.out.println("On"); }
+		else { System.out.println("Off"); }
+		
+		System.out.println();
+		
+		// print observed completion results
+		System.out.println("[Partial Latin Square Completion Results]");
+		System.out.println("           # Completions Found: " + getCompletionCount());
+		System.out.println("       # Partial Sq. Completed: " + getCompletableCount());
+		System.out.println("   # Partial Sq. Not Completed: " + (numSquaresProcessed - getCompletableCount()));
+		System.out.println();
 	}
 }
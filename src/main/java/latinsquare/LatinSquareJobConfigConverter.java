@@ -0,0 +1,224 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>LatinSquareJobConfigConverter</h1>
+ * 
+ * <p>This class represents the user-specified configuration of the Latin Square Format
+ * Converter Tool; it parses, validates, and stores the user-specified command line arguments.</p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareJobConfigConverter extends LatinSquareJobConfig
+{
+	private final int MIN_NUM_VALID_ARGS = 8;
+	private final int MAX_NUM_VALID_ARGS = 10;
+	private String inputFile;
+	private String outputFile;
+	private String outputFormat;
+	private boolean compressedOutput;
+	
+	/**
+	 * Class constructor for a user-specified job configuration
+	 * that converts a data set file from one format to another.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	public LatinSquareJobConfigConverter(String [] args)
+	{
+		super();
+		minNumValidArgs = MIN_NUM_VALID_ARGS;
+		maxNumValidArgs = MAX_NUM_VALID_ARGS;
+		jobType = LatinSquareJobType.CONVERT_FORMAT;
+		inputFile = outputFile = outputFormat = null;
+		compressedOutput = false;
+		
+		if((args != null) && (args.length > 0))
+		{
+			parseRequiredArgs(args);
+			parseOptionalArgs(args);
+		}
+		else { validArguments = false; }
+	}
+	
+	/**
+	 * Parses, validates, and stores the required parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	public void parseRequiredArgs(String [] args)
+	{
+		checkArgCount(args);
+		parseOrderAndFiles(args);
+	}
+	
+	/**
+	 * Parses, validates, and stores the user-specified Latin square order parameter
+	 * (matching the order of the Latin squares in the input file), the names of the input
+	 * and output files, and the format of the output file.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	private void parseOrderAndFiles(String [] args)
+	{
+		boolean foundOrder = false;
+		String orderArg = null;
+		
+		for(int i = 0; i < (args.length - 1); i++)
+		{
+			if(args[i].equals("-n"))
+			{
+				orderArg = args[i + 1];
+				foundOrder = true;
+			}
+			else if(args[i].equals("-f")) { inputFile = args[i + 1]; }
+			else if(args[i].equals("-o")) { outputFile = args[i + 1]; }
+			else if(args[i].equals("-F")) { outputFormat = args[i + 1]; }
+		}
+		
+		if(inputFile == null)
+		{
+			System.err.println("[Missing Argument] Invalid Latin square input file!");
+			validArguments = false;
+		}
+		if(outputFile == null)
+		{
+			System.err.println("[Missing Argument] Invalid Latin square output file!");
+			validArguments = false;
+		}
+		if((outputFormat == null) || !(outputFormat.equals("triple") || outputFormat.equals("human") || outputFormat.equals("binary")))
+		{
+			System.err.println("[Illegal Argument] Unable to identify the output format; it must be \"triple\", \"human\", or \"binary\"!");
+			validArguments = false;
+		}
+		
+		// parse and store the latin square order
+		try
+		{
+			if(!foundOrder) { throw new NumberFormatException(); }
+			
+			order = Integer.parseInt(orderArg);
+			if(order < 1)
+			{
+				System.err.println("[Illegal Argument] The value of n must be a positive integer!");
+				validArguments = false;
+			}
+			else if(isWritingBinary() && !LatinSquareBinaryFormat.isSupportedOrder(order))
+			{
+				System.err.println("[Illegal Argument] The binary format only supports orders up to "
+						+ LatinSquareBinaryFormat.MAX_ORDER + "!");
+				validArguments = false;
+			}
+		}
+		catch(NumberFormatException nfe)
+		{
+			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
+			validArguments = false;
+		}
+	}
+	
+	/**
+	 * Parses, validates, and stores the optional parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	protected void parseOptionalArgs(String [] args)
+	{
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-j")) { printReport = true; }
+			else if(args[i].equals("-z")) { compressedOutput = true; }
+		}
+		
+		printHumanReadable = "human".equals(outputFormat);
+	}
+	
+	/**
+	 * Returns the name of the input file containing the data set of Latin squares, which is stored
+	 * in the ordered-triple, human-readable, or binary format.
+	 * 
+	 * @return String The Latin square data set input filename.
+	 */
+	public String getInputFile() { return inputFile; }
+	
+	/**
+	 * Returns the name of the file to which the converted data set will be written.
+	 * 
+	 * @return String The output filename.
+	 */
+	public String getOutputFile() { return outputFile; }
+	
+	/**
+	 * Returns true if the output file will be written in the compact binary format
+	 * (see LatinSquareBinaryFormat).
+	 * 
+	 * @return boolean The binary output flag.
+	 */
+	public boolean isWritingBinary() { return "binary".equals(outputFormat); }
+	
+	/**
+	 * Returns true if the output file will be gzip-compressed (see LatinSquareCompressedOutputStream).
+	 * 
+	 * @return boolean The compressed output flag.
+	 */
+	public boolean isWritingCompressed() { return compressedOutput; }
+	
+	/**
+	 * Prints the command-line usage for the Latin Square Format Converter Tool's
+	 * driver class main method.
+	 */
+	@Override
+	public void printUsage()
+	{
+		System.out.println("****************************************************************");
+		System.out.println("*********** Latin Square Format Converter Tool v1.10 ***********");
+		System.out.println("****************************************************************");
+		System.out.println("Usage: ./lscv -f <file> -n <order> -o <file> -F <format> [optional args]");
+		System.out.println("The required arguments are:");
+		System.out.println("\t-f <file>   \t# The input file containing a set of order-n squares in ordered-triple,");
+		System.out.println("\t            \t# human-readable, or binary format (which is detected automatically, along");
+		System.out.println("\t            \t# with gzip compression); \"-\" reads standard input (or use a named pipe)");
+		System.out.println("\t-n <order>  \t# The square order (a positive integer that must match the input file squares)");
+		System.out.println("\t-o <file>   \t# The output file to which the squares are written");
+		System.out.println("\t-F <format> \t# The format of the output file: \"triple\" (ordered-triple), \"human\"");
+		System.out.println("\t            \t# (human-readable), or \"binary\" (compact fixed-width records)");
+		System.out.println("The optional arguments are:");
+		System.out.println("\t-z          \t# Compress the output file with gzip");
+		System.out.println("\t-j          \t# Print the job report summary upon completion");
+		System.out.println("****************************************************************");
+		System.out.println("Remark: The squares are converted as they are; the Latin Square Property is not checked.");
+		System.out.println("****************************************************************");
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>LatinSquareJobConfigFromFileCompletion</h1>
+ * 
+ * <p>This class represents the user-specified configuration for the Latin Square Completion
+ * Tool; it parses, validates, and stores the user-specified command line arguments.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class LatinSquareJobConfigFromFileCompletion extends LatinSquareJobConfig
+{
+	private final int MIN_NUM_VALID_ARGS = 4;
+	private final int MAX_NUM_VALID_ARGS = 12;
+	private String inputFile;
+	private long numCompletions;
+	private boolean countCompletions;
+	private int numThreads;
+	
+	/**
+	 * Class constructor for a user-specified job configuration
+	 * that completes a set of partial squares.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	public LatinSquareJobConfigFromFileCompletion(String [] args)
+	{
+		super();
+		minNumValidArgs = MIN_NUM_VALID_ARGS;
+		maxNumValidArgs = MAX_NUM_VALID_ARGS;
+		jobType = LatinSquareJobType.PARSE_INPUT_FILE_COMPLETE;
+		inputFile = null;
+		numCompletions = numThreads = 1;
+		countCompletions = false;
+		
+		if((args != null) && (args.length > 0))
+		{
+			parseRequiredArgs(args);
+			parseOptionalArgs(args);
+		}
+		else { validArguments = false; }
+	}
+	
+	/**
+	 * Parses, validates, and stores the required parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	public void parseRequiredArgs(String [] args)
+	{
+		checkArgCount(args);
+		parseOrderAndInputFile(args);
+	}
+	
+	/**
+	 * Parses, validates, and stores the user-specified Latin square order parameter
+	 * (matching the order of the partial squares in the input file)
+	 * and the name of the input file parameter (consisting of partial squares in the ordered-triple format).
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	private void parseOrderAndInputFile(String [] args)
+	{
+		boolean foundOrder = false, foundInputFile = false;
+		String orderArg = null;
+		
+		for(int i = 0; i < (args.length - 1); i++)
+		{
+			if(args[i].equals("-n"))
+			{
+				orderArg = args[i + 1];
+				foundOrder = true;
+			}
+			else if(args[i].equals("-f"))
+			{
+				inputFile = args[i + 1];
+				foundInputFile = true;
+			}
+		}
+		
+		if(!foundInputFile)
+		{
+			System.err.println("[Missing Argument] Invalid Latin square input file!");
+			validArguments = false;
+		}
+		
+		// parse and store the latin square order
+		try
+		{
+			if(!foundOrder) { throw new NumberFormatException(); }
+			
+			order = Integer.parseInt(orderArg);
+			if(order < 1)
+			{
+				System.err.println("[Illegal Argument] The value of n must be a positive integer!");
+				validArguments = false;
+			}
+		}
+		catch(NumberFormatException nfe)
+		{
+			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
+			validArguments = false;
+		}
+	}
+	
+	/**
+	 * Parses, validates, and stores the optional parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	protected void parseOptionalArgs(String [] args)
+	{
+		boolean foundLimit = false, foundAll = false;
+		
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-a")) { foundAll = true; }
+			else if(args[i].equals("-c")) { countCompletions = true; }
+			else if(args[i].equals("-r")) { printHumanReadable = true; }
+			else if(args[i].equals("-j")) { printReport = true; }
+			else if(args[i].equals("-k"))
+			{
+				foundLimit = true;
+				try
+				{
+					numCompletions = Long.parseLong(args[i + 1]);
+					if(numCompletions < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the value of k; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-w"))
+			{
+				try
+				{
+					numThreads = Integer.parseInt(args[i + 1]);
+					if(numThreads < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the value of w; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+		}
+		
+		if(foundAll && foundLimit)
+		{
+			System.err.println("[Illegal Arguments] The \"-a\" and \"-k\" arguments cannot be combined!");
+			validArguments = false;
+		}
+		else if(foundAll) { numCompletions = 0; }
+	}
+	
+	/**
+	 * Returns the name of the input file containing the partial squares stored
+	 * in ordered-triple format.
+	 * 
+	 * @return String The partial square input filename.
+	 */
+	public String getInputFile() { return inputFile; }
+	
+	/**
+	 * Returns the maximum number of completions to find for each partial square.
+	 * This is zero if all completions will be found.
+	 * 
+	 * @return long The maximum number of completions.
+	 */
+	public long getNumCompletions() { return numCompletions; }
+	
+	/**
+	 * Returns true if the completions of each partial square will be counted instead of printed.
+	 * 
+	 * @return boolean The completion counting flag.
+	 */
+	public boolean isCountingCompletions() { return countCompletions; }
+	
+	/**
+	 * Returns the number of worker threads that complete the partial squares.
+	 * 
+	 * @return int The number of worker threads.
+	 */
+	public int getNumThreads() { return numThreads; }
+	
+	/**
+	 * Prints the command-line usage for the Latin Square Completion Tool's
+	 * driver class main method.
+	 */
+	@Override
+	public void printUsage()
+	{
+		System.out.println("****************************************************************");
+		System.out.println("************** Latin Square Completion Tool v1.10 **************");
+		System.out.println("****************************************************************");
+		System.out.println("Usage: ./lscp -f <file> -n <order> [optional args]");
+		System.out.println("The required arguments are:");
+		System.out.println("\t-f <file>  \t# The input file containing a set of order-n partial squares in ordered-triple format,");
+		System.out.println("\t           \t# where an empty cell is either omitted or written as (row,column,.)");
+		System.out.println("\t-n <order> \t# The square order (a positive integer that must match the input file squares)");
+		System.out.println("The optional arguments are:");
+		System.out.println("\t-k <num>   \t# Find up to k completions for each partial square (the default is k = 1)");
+		System.out.println("\t-a         \t# Find all completions for each partial square");
+		System.out.println("\t-c         \t# Count (instead of print) the completions of each partial square");
+		System.out.println("\t-w <num>   \t# The number of worker threads that complete the partial squares in parallel");
+		System.out.println("\t-r         \t# Print each Latin square in human-readable (non-ordered-triple) form");
+		System.out.println("\t-j         \t# Print the job report summary upon completion");
+		System.out.println("****************************************************************");
+		System.out.println("Definition: A partial Latin square of order-n is an n-by-n array where each cell is either empty");
+		System.out.println("            or contains one of n symbols, and every symbol appears at most once in each row and");
+		System.out.println("            each column.");
+		System.out.println("Definition: A completion of a partial Latin square is a Latin square that agrees with all of");
+		System.out.println("            its filled cells.");
+		System.out.println("    Remark: Deciding if a partial Latin square has a completion is NP-complete.");
+		System.out.println("****************************************************************");
+	}
+}
@@ -40,8 +40,15 @@ package latinsquare;
 public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobConfig
 {
 	private final int MIN_NUM_VALID_ARGS = 4;
-	private final int MAX_NUM_VALID_ARGS = 6;
+	private final int MAX_NUM_VALID_ARGS = 18;
 	private String inputFile;
+	private int numThreads;
+	private long skip;
+	private long limit;
+	private int shardIndex;
+	private int numShards;
+	private boolean skipMalformedSquares;
+	private String rejectFile;
 	
 	/**
 	 * Class constructor for a user-specified job configuration 
@@ -56,6 +63,13 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 		maxNumValidArgs = MAX_NUM_VALID_ARGS;
 		jobType = LatinSquareJobType.PARSE_INPUT_FILE_PROPERTY_CHECK;
 		inputFile = null;
+		numThreads = 1;
+		skip = 0;
+		limit = Long.MAX_VALUE;
+		shardIndex = 0;
+		numShards = 1;
+		skipMalformedSquares = false;
+		rejectFile = null;
 		propertyCheck = true;
 		
 		if((args != null) && (args.length > 0))
@@ -116,8 +130,9 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 		{
 			if(!foundOrder) { throw new NumberFormatException(); }
 			
-			order = Integer.parseInt(orderArg);
-			if(order < 1)
+			// the squares of a mixed-order input file may have any order (see LatinSquareFileParser)
+			order = orderArg.equals("mixed") ? LatinSquareFileParser.MIXED_ORDER : Integer.parseInt(orderArg);
+			if((order < 1) && !orderArg.equals("mixed"))
 			{
 				System.err.println("[Illegal Argument] The value of n must be a positive integer!");
 				validArguments = false;
@@ -125,7 +140,7 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 		}
 		catch(NumberFormatException nfe)
 		{
-			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
+			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer (or mixed)!");
 			validArguments = false;
 		}
 	}
@@ -143,6 +158,96 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 		{
 			if(args[i].equals("-r")) { printHumanReadable = true; }
 			else if(args[i].equals("-j")) { printReport = true; }
+			else if(args[i].equals("-w"))
+			{
+				try
+				{
+					numThreads = Integer.parseInt(args[i + 1]);
+					if(numThreads < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the value of w; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--skip"))
+			{
+				try
+				{
+					skip = Long.parseLong(args[i + 1]);
+					if(skip < 0) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the number of squares to skip; it must be a non-negative integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--limit"))
+			{
+				try
+				{
+					limit = Long.parseLong(args[i + 1]);
+					if(limit < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the maximum number of squares; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--shard"))
+			{
+				try
+				{
+					String [] shard = args[i + 1].split("/");
+					if(shard.length != 2) { throw new NumberFormatException(); }
+					
+					shardIndex = Integer.parseInt(shard[0]);
+					numShards = Integer.parseInt(shard[1]);
+					if((numShards < 1) || (shardIndex < 0) || (shardIndex >= numShards)) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the shard i/k; k must be a positive integer "
+							+ "and i must be an integer from 0 to k - 1!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--on-error"))
+			{
+				if((i < (args.length - 1)) && (args[i + 1].equals("exit") || args[i + 1].equals("skip")))
+				{
+					skipMalformedSquares = args[i + 1].equals("skip");
+				}
+				else
+				{
+					System.err.println("[Illegal Argument] Unable to identify the error policy; it must be exit or skip!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--reject-file"))
+			{
+				if(i < (args.length - 1)) { rejectFile = args[i + 1]; }
+				else
+				{
+					System.err.println("[Missing Argument] Invalid reject file!");
+					validArguments = false;
+				}
+			}
+		}
+		
+		if((numShards > 1) && ((skip > 0) || (limit < Long.MAX_VALUE)))
+		{
+			System.err.println("[Illegal Arguments] The --shard argument cannot be combined with the --skip and --limit arguments!");
+			validArguments = false;
+		}
+		
+		if((rejectFile != null) && !skipMalformedSquares)
+		{
+			System.err.println("[Illegal Arguments] The --reject-file argument requires the \"--on-error skip\" argument!");
+			validArguments = false;
 		}
 	}
 	
@@ -154,6 +259,61 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 	 */
 	public String getInputFile() { return inputFile; }
 	
+	/**
+	 * Returns the number of worker threads that parse and process the ranges of the input file.
+	 * 
+	 * @return int The number of worker threads.
+	 */
+	public int getNumThreads() { return numThreads; }
+	
+	/**
+	 * Returns true if the malformed squares of the input file will be rejected to the reject file
+	 * (instead of stopping the job with an error).
+	 * 
+	 * @return boolean The skip malformed squares flag.
+	 */
+	public boolean isSkippingMalformedSquares() { return skipMalformedSquares; }
+	
+	/**
+	 * Returns the name of the file to which the malformed squares are rejected, which is the input file
+	 * followed by ".rejects" unless it is specified.
+	 * 
+	 * @return String The reject filename.
+	 */
+	public String getRejectFile()
+	{
+		if(rejectFile != null) { return rejectFile; }
+		return (LatinSquareFileParser.STANDARD_INPUT.equals(inputFile) ? "stdin" : inputFile) + ".rejects";
+	}
+	
+	/**
+	 * Returns the number of squares at the beginning of the input file that will be skipped.
+	 * 
+	 * @return long The number of skipped squares.
+	 */
+	public long getSkip() { return skip; }
+	
+	/**
+	 * Returns the maximum number of squares (after the skipped squares) that will be processed.
+	 * 
+	 * @return long The limit (Long.MAX_VALUE if the number of squares is not limited).
+	 */
+	public long getLimit() { return limit; }
+	
+	/**
+	 * Returns the shard index i of the input file to process (see LatinSquareFileParser.setShard).
+	 * 
+	 * @return int The shard index.
+	 */
+	public int getShardIndex() { return shardIndex; }
+	
+	/**
+	 * Returns the number of shards k of the input file.
+	 * 
+	 * @return int The number of shards.
+	 */
+	public int getNumShards() { return numShards; }
+	
 	/**
 	 * Prints the command-line usage for the Latin Square Property Checker Tool's
 	 * driver class main method. 
@@ -166,11 +326,25 @@ public class LatinSquareJobConfigFromFilePropertyChecker extends LatinSquareJobC
 		System.out.println("****************************************************************");
 		System.out.println("Usage: ./lspc -f <file> -n <order> [optional args]");
 		System.out.println("The required arguments are:");
-		System.out.println("\t-f <file>  \t# The input file containing a set of order-n squares in ordered-triple format");
-		System.out.println("\t-n <order> \t# The square order (a positive integer that must match the input file squares)");
+		System.out.println("\t-f <file>  \t# The input file containing a set of order-n squares in ordered-triple,");
+		System.out.println("\t           \t# human-readable, or binary format (which is detected automatically, along");
+		System.out.println("\t           \t# with gzip compression); \"-\" reads standard input (or use a named pipe)");
+		System.out.println("\t-n <order> \t# The square order (a positive integer that must match the input file squares),");
+		System.out.println("\t           \t# or mixed for squares of any order (given by a \"#n\" header line before a square,");
+		System.out.println("\t           \t# or by the number of ordered-triples in its first row)");
 		System.out.println("The optional arguments are:");
 		System.out.println("\t-r         \t# Print each Latin square in human-readable (non-ordered-triple) form");
 		System.out.println("\t-j         \t# Print the job report summary upon completion");
+		System.out.println("\t-w <num>   \t# The number of worker threads that parse and check the input file in parallel");
+		System.out.println("\t--skip <num> \t# Skip the first num squares of the input file (seeking directly to the next");
+		System.out.println("\t             \t# square through the index <file>.idx, which is built by the first run)");
+		System.out.println("\t--limit <num> \t# Process at most num squares (after the skipped squares)");
+		System.out.println("\t--shard <i/k> \t# Only process shard i of k of the input file (from 0 to k - 1); the shards");
+		System.out.println("\t              \t# contain (almost) the same number of consecutive squares, which keep their ordinals");
+		System.out.println("\t--on-error <policy> \t# What to do with a malformed square: exit (the default) stops the job,");
+		System.out.println("\t                    \t# and skip rejects it to the reject file and continues with the next square");
+		System.out.println("\t--reject-file <file> \t# The reject file of \"--on-error skip\" (the default is <input file>.rejects);");
+		System.out.println("\t                     \t# one line per square: ordinal, byte offset, and error");
 		System.out.println("****************************************************************");
 		System.out.println("Definition: A square of order-n is an n-by-n array over a set of n symbols.");
 		System.out.println("Definition: If every symbol in a square appears exactly once in each row and each column, then");
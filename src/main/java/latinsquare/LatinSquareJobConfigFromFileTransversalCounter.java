@@ -40,9 +40,22 @@ package latinsquare;
 public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJobConfig
 {
 	private final int MIN_NUM_VALID_ARGS = 4;
-	private final int MAX_NUM_VALID_ARGS = 9;
+	private final int MAX_NUM_VALID_ARGS = 30;
 	private String inputFile;
 	private boolean beQuiet;
+	private boolean deduplicate;
+	private boolean deduplicateMainClasses;
+	private boolean deduplicateOnly;
+	private int numThreads;
+	private String outputFile;
+	private int outputBufferSize;
+	private LatinSquareAsyncOutputStream.SyncPolicy syncPolicy;
+	private long skip;
+	private long limit;
+	private int shardIndex;
+	private int numShards;
+	private boolean skipMalformedSquares;
+	private String rejectFile;
 	
 	/**
 	 * Class constructor for a user-specified job configuration 
@@ -57,7 +70,17 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 		maxNumValidArgs = MAX_NUM_VALID_ARGS;
 		jobType = LatinSquareJobType.PARSE_INPUT_FILE_COUNT_TRANSVERSALS;
 		beQuiet = false;
-		inputFile = null;
+		deduplicate = deduplicateMainClasses = deduplicateOnly = false;
+		numThreads = 1;
+		inputFile = outputFile = null;
+		outputBufferSize = 0;
+		syncPolicy = null;
+		skip = 0;
+		limit = Long.MAX_VALUE;
+		shardIndex = 0;
+		numShards = 1;
+		skipMalformedSquares = false;
+		rejectFile = null;
 		countTransversals = true;
 		propertyCheck = false;
 		
@@ -119,8 +142,9 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 		{
 			if(!foundOrder) { throw new NumberFormatException(); }
 			
-			order = Integer.parseInt(orderArg);
-			if(order < 1)
+			// the squares of a mixed-order input file may have any order (see LatinSquareFileParser)
+			order = orderArg.equals("mixed") ? LatinSquareFileParser.MIXED_ORDER : Integer.parseInt(orderArg);
+			if((order < 1) && !orderArg.equals("mixed"))
 			{
 				System.err.println("[Illegal Argument] The value of n must be a positive integer!");
 				validArguments = false;
@@ -128,7 +152,7 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 		}
 		catch(NumberFormatException nfe)
 		{
-			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
+			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer (or mixed)!");
 			validArguments = false;
 		}
 	}
@@ -149,6 +173,169 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 			else if(args[i].equals("-r")) { printHumanReadable = true; }
 			else if(args[i].equals("-h")) { printTransversalHeatMap = true; }
 			else if(args[i].equals("-j")) { printReport = true; }
+			else if(args[i].equals("-D")) { deduplicateOnly = true; }
+			else if(args[i].equals("-w"))
+			{
+				try
+				{
+					numThreads = Integer.parseInt(args[i + 1]);
+					if(numThreads < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the value of w; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--skip"))
+			{
+				try
+				{
+					skip = Long.parseLong(args[i + 1]);
+					if(skip < 0) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the number of squares to skip; it must be a non-negative integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--limit"))
+			{
+				try
+				{
+					limit = Long.parseLong(args[i + 1]);
+					if(limit < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the maximum number of squares; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--shard"))
+			{
+				try
+				{
+					String [] shard = args[i + 1].split("/");
+					if(shard.length != 2) { throw new NumberFormatException(); }
+					
+					shardIndex = Integer.parseInt(shard[0]);
+					numShards = Integer.parseInt(shard[1]);
+					if((numShards < 1) || (shardIndex < 0) || (shardIndex >= numShards)) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the shard i/k; k must be a positive integer "
+							+ "and i must be an integer from 0 to k - 1!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--on-error"))
+			{
+				if((i < (args.length - 1)) && (args[i + 1].equals("exit") || args[i + 1].equals("skip")))
+				{
+					skipMalformedSquares = args[i + 1].equals("skip");
+				}
+				else
+				{
+					System.err.println("[Illegal Argument] Unable to identify the error policy; it must be exit or skip!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--reject-file"))
+			{
+				if(i < (args.length - 1)) { rejectFile = args[i + 1]; }
+				else
+				{
+					System.err.println("[Missing Argument] Invalid reject file!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-o"))
+			{
+				if(i < (args.length - 1)) { outputFile = args[i + 1]; }
+				else
+				{
+					System.err.println("[Missing Argument] Invalid output file!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--output-buffer"))
+			{
+				try
+				{
+					long kibibytes = Long.parseLong(args[i + 1]);
+					if((kibibytes < (LatinSquareAsyncOutputStream.MIN_CAPACITY >> 10)) || (kibibytes > (Integer.MAX_VALUE >> 10)))
+					{
+						throw new NumberFormatException();
+					}
+					outputBufferSize = (int)(kibibytes << 10);
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the output buffer size; it must be an integer from "
+							+ (LatinSquareAsyncOutputStream.MIN_CAPACITY >> 10) + " to " + (Integer.MAX_VALUE >> 10) + " (KiB)!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--fsync"))
+			{
+				if((i < (args.length - 1)) && (LatinSquareAsyncOutputStream.SyncPolicy.parse(args[i + 1]) != null))
+				{
+					syncPolicy = LatinSquareAsyncOutputStream.SyncPolicy.parse(args[i + 1]);
+				}
+				else
+				{
+					System.err.println("[Illegal Argument] Unable to identify the fsync policy; it must be none, checkpoint, or always!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-u") && (i < (args.length - 1)))
+			{
+				deduplicate = true;
+				if(args[i + 1].equals("main")) { deduplicateMainClasses = true; }
+				else if(!args[i + 1].equals("iso"))
+				{
+					System.err.println("[Illegal Argument] The value of -u must be iso or main!");
+					validArguments = false;
+				}
+			}
+		}
+		
+		// deduplicating without counting makes this tool a standalone filter
+		if(deduplicateOnly)
+		{
+			if(!deduplicate)
+			{
+				System.err.println("[Illegal Arguments] The -D argument requires the -u argument!");
+				validArguments = false;
+			}
+			countTransversals = printTransversals = printTransversalHeatMap = false;
+		}
+		
+		if(deduplicate && (numThreads > 1))
+		{
+			System.err.println("[Illegal Arguments] The -w argument cannot be combined with the -u argument!");
+			validArguments = false;
+		}
+		
+		if(((outputBufferSize > 0) || (syncPolicy != null)) && (outputFile == null))
+		{
+			System.err.println("[Illegal Arguments] The --output-buffer and --fsync arguments require the -o argument!");
+			validArguments = false;
+		}
+		
+		if((numShards > 1) && ((skip > 0) || (limit < Long.MAX_VALUE)))
+		{
+			System.err.println("[Illegal Arguments] The --shard argument cannot be combined with the --skip and --limit arguments!");
+			validArguments = false;
+		}
+		
+		if((rejectFile != null) && !skipMalformedSquares)
+		{
+			System.err.println("[Illegal Arguments] The --reject-file argument requires the \"--on-error skip\" argument!");
+			validArguments = false;
 		}
 	}
 	
@@ -160,6 +347,113 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 	 */
 	public boolean isBeingQuiet() { return beQuiet; }
 	
+	/**
+	 * Returns true if only one representative of each isotopy class (or main class) in the input file
+	 * will be processed, together with the number of Latin squares in the input file that it represents.
+	 * 
+	 * @return boolean The deduplication flag.
+	 */
+	public boolean isDeduplicating() { return deduplicate; }
+	
+	/**
+	 * Returns true if the input file will be deduplicated by main class (rather than by isotopy class).
+	 * 
+	 * @return boolean The main class deduplication flag.
+	 */
+	public boolean isDeduplicatingMainClasses() { return deduplicateMainClasses; }
+	
+	/**
+	 * Returns true if the representatives will only be printed (and their transversals will not be counted).
+	 * 
+	 * @return boolean The deduplication only flag.
+	 */
+	public boolean isDeduplicatingOnly() { return deduplicateOnly; }
+	
+	/**
+	 * Returns the number of worker threads that parse and process the ranges of the input file.
+	 * 
+	 * @return int The number of worker threads.
+	 */
+	public int getNumThreads() { return numThreads; }
+	
+	/**
+	 * Returns the name of the file to which the Latin squares and their transversal characteristics
+	 * will be written. This is null if they will be printed to standard output.
+	 * 
+	 * @return String The output filename.
+	 */
+	public String getOutputFile() { return outputFile; }
+	
+	/**
+	 * Returns the total number of bytes in the ring of buffers of the output file writer thread
+	 * (see LatinSquareAsyncOutputStream).
+	 * 
+	 * @return int The output buffer size.
+	 */
+	public int getOutputBufferSize()
+	{
+		return (outputBufferSize > 0) ? outputBufferSize : LatinSquareAsyncOutputStream.DEFAULT_CAPACITY;
+	}
+	
+	/**
+	 * Returns the policy that determines when the output file is forced to the storage device.
+	 * 
+	 * @return SyncPolicy The sync policy (NONE by default).
+	 */
+	public LatinSquareAsyncOutputStream.SyncPolicy getSyncPolicy()
+	{
+		return (syncPolicy != null) ? syncPolicy : LatinSquareAsyncOutputStream.SyncPolicy.NONE;
+	}
+	
+	/**
+	 * Returns true if the malformed squares of the input file will be rejected to the reject file
+	 * (instead of stopping the job with an error).
+	 * 
+	 * @return boolean The skip malformed squares flag.
+	 */
+	public boolean isSkippingMalformedSquares() { return skipMalformedSquares; }
+	
+	/**
+	 * Returns the name of the file to which the malformed squares are rejected, which is the output file
+	 * (or the input file) followed by ".rejects" unless it is specified.
+	 * 
+	 * @return String The reject filename.
+	 */
+	public String getRejectFile()
+	{
+		if(rejectFile != null) { return rejectFile; }
+		if(outputFile != null) { return outputFile + ".rejects"; }
+		return (LatinSquareFileParser.STANDARD_INPUT.equals(inputFile) ? "stdin" : inputFile) + ".rejects";
+	}
+	
+	/**
+	 * Returns the number of squares at the beginning of the input file that will be skipped.
+	 * 
+	 * @return long The number of skipped squares.
+	 */
+	public long getSkip() { return skip; }
+	
+	/**
+	 * Returns the maximum number of squares (after the skipped squares) that will be processed.
+	 * 
+	 * @return long The limit (Long.MAX_VALUE if the number of squares is not limited).
+	 */
+	public long getLimit() { return limit; }
+	
+	/**
+	 * Returns the shard index i of the input file to process (see LatinSquareFileParser.setShard).
+	 * 
+	 * @return int The shard index.
+	 */
+	public int getShardIndex() { return shardIndex; }
+	
+	/**
+	 * Returns the number of shards k of the input file.
+	 * 
+	 * @return int The number of shards.
+	 */
+	public int getNumShards() { return numShards; }
+	
 	/**
 	 * Returns the name of the input file containing the data set of Latin squares stored 
 	 * in ordered-triple format.
@@ -180,14 +474,37 @@ public class LatinSquareJobConfigFromFileTransversalCounter extends LatinSquareJ
 		System.out.println("****************************************************************");
 		System.out.println("Usage: ./lstc -f <file> -n <order> [optional args]");
 		System.out.println("The required arguments are:");
-		System.out.println("\t-f <file>  \t# The input file containing a set of order-n Latin squares in ordered-triple format");
-		System.out.println("\t-n <order> \t# The Latin square order (a positive integer that must match the input file squares)");
+		System.out.println("\t-f <file>  \t# The input file containing a set of order-n Latin squares in ordered-triple,");
+		System.out.println("\t           \t# human-readable, or binary format (which is detected automatically, along");
+		System.out.println("\t           \t# with gzip compression); \"-\" reads standard input (or use a named pipe)");
+		System.out.println("\t-n <order> \t# The Latin square order (a positive integer that must match the input file squares),");
+		System.out.println("\t           \t# or mixed for squares of any order (given by a \"#n\" header line before a square,");
+		System.out.println("\t           \t# or by the number of ordered-triples in its first row)");
 		System.out.println("The optional arguments are:");
 		System.out.println("\t-q         \t# Be quiet! (Don't print anything during the job)");
 		System.out.println("\t-T         \t# Print the transversals for each Latin square");
 		System.out.println("\t-h         \t# Print the transversal heat map for each Latin square (also counts transversals)");
 		System.out.println("\t-r         \t# Print each Latin square in human-readable (non-ordered-triple) form");
 		System.out.println("\t-j         \t# Print the job report summary upon completion");
+		System.out.println("\t-u iso     \t# Only process one representative of each isotopy class, with its multiplicity");
+		System.out.println("\t-u main    \t# Only process one representative of each main class, with its multiplicity");
+		System.out.println("\t-D         \t# Only deduplicate (print the representatives without counting transversals)");
+		System.out.println("\t-w <num>   \t# The number of worker threads that parse and process the input file in parallel");
+		System.out.println("\t-o <file>  \t# Write the output to a file on a separate writer thread (the job report summary");
+		System.out.println("\t           \t# is still printed to standard output)");
+		System.out.println("\t--output-buffer <KiB> \t# The size of the ring buffer of the output file writer thread (the");
+		System.out.println("\t                      \t# default is " + (LatinSquareAsyncOutputStream.DEFAULT_CAPACITY >> 10) + " KiB)");
+		System.out.println("\t--fsync <policy> \t# When to force the output file to the storage device: none (the default),");
+		System.out.println("\t                 \t# checkpoint (upon completion), or always (after each buffer)");
+		System.out.println("\t--skip <num> \t# Skip the first num squares of the input file (seeking directly to the next");
+		System.out.println("\t             \t# square through the index <file>.idx, which is built by the first run)");
+		System.out.println("\t--limit <num> \t# Process at most num squares (after the skipped squares)");
+		System.out.println("\t--shard <i/k> \t# Only process shard i of k of the input file (from 0 to k - 1); the shards");
+		System.out.println("\t              \t# contain (almost) the same number of consecutive squares, which keep their ordinals");
+		System.out.println("\t--on-error <policy> \t# What to do with a malformed square: exit (the default) stops the job,");
+		System.out.println("\t                    \t# and skip rejects it to the reject file and continues with the next square");
+		System.out.println("\t--reject-file <file> \t# The reject file of \"--on-error skip\" (the default is <output file>.rejects,");
+		System.out.println("\t                     \t# or <input file>.rejects); one line per square: ordinal, byte offset, and error");
 		System.out.println("****************************************************************");
 		System.out.println("    Remark: Certain types of quasi-groups, such as finite fields, can be used to construct");
 		System.out.println("            cryptographic systems; certain features can impact the security of such systems.");
@@ -27,6 +27,8 @@
 
 package latinsquare;
 
+import java.util.SplittableRandom;
+
 /**
  * <h1>LatinSquareJobConfigGenerator</h1>
  * 
@@ -38,12 +40,31 @@ package latinsquare;
  */
 public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 {
-	private final int MIN_NUM_VALID_ARGS = 6;
-	private final int MAX_NUM_VALID_ARGS = 11;
+	private final int MIN_NUM_VALID_ARGS = 4;
+	private final int MAX_NUM_VALID_ARGS = 26;
+	public static final long DEFAULT_NUM_SAMPLES = 100;
 	private GenerationMode mode; 
 	private long dataSetSize;
 	private int superSymmetricPrimeBase;
 	private int superSymmetricPower;
+	private int [] groupFactors;
+	private String outputFile;
+	private boolean binaryOutput;
+	private boolean compressedOutput;
+	private int outputBufferSize;
+	private LatinSquareAsyncOutputStream.SyncPolicy syncPolicy;
+	private long checkpointInterval;
+	private boolean resume;
+	private int shardIndex;
+	private int numShards;
+	private LatinSquareConstraints constraints;
+	private Long randomSeed;
+	private long backtrackBudget;
+	private int numThreads;
+	private boolean implicit;
+	private boolean quiet;
+	private boolean checkProperty;
+	private long numSamples;
 	
 	/**
 	 * Class constructor for a user-specified job configuration 
@@ -58,6 +79,22 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 		maxNumValidArgs = MAX_NUM_VALID_ARGS;
 		mode = GenerationMode.INVALID; 
 		dataSetSize = superSymmetricPrimeBase = superSymmetricPower = 0;
+		groupFactors = null;
+		outputFile = null;
+		binaryOutput = false;
+		compressedOutput = false;
+		outputBufferSize = 0;
+		syncPolicy = null;
+		checkpointInterval = 0;
+		resume = false;
+		shardIndex = 0;
+		numShards = 1;
+		constraints = LatinSquareConstraints.NONE;
+		randomSeed = null;
+		backtrackBudget = LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET;
+		numThreads = 1;
+		implicit = quiet = checkProperty = false;
+		numSamples = DEFAULT_NUM_SAMPLES;
 		propertyCheck = false;
 		
 		if((args != null) && (args.length > 0))
@@ -67,9 +104,16 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 			
 			if(superSymmetricPrimeBase > 0) 
 			{ 
-				jobType = LatinSquareJobType.GENERATE_SUPERSYMMETRIC; 
+				if(mode == GenerationMode.MOLS) { jobType = LatinSquareJobType.GENERATE_MOLS; }
+				else { jobType = LatinSquareJobType.GENERATE_SUPERSYMMETRIC; }
 				order = (int)Math.pow(superSymmetricPrimeBase, superSymmetricPower);
+				if(Math.pow(superSymmetricPrimeBase, superSymmetricPower) > Integer.MAX_VALUE)
+				{
+					System.err.println("[Illegal Arguments] The order p^d must be at most " + Integer.MAX_VALUE + "!");
+					validArguments = false;
+				}
 			}
+			else if(mode == GenerationMode.GROUP) { jobType = LatinSquareJobType.GENERATE_GROUP; }
 			else { jobType = LatinSquareJobType.GENERATE_DATASET; }
 		}
 		else { validArguments = false; }
@@ -103,6 +147,12 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 				if(args[i + 1].equals("ds")) { mode = GenerationMode.SELECTION; }
 				else if(args[i + 1].equals("dsp")) { mode = GenerationMode.SELECTION_PRELOAD; }
 				else if(args[i + 1].equals("ss")) { mode = GenerationMode.SUPERSYMMETRIC; }
+				else if(args[i + 1].equals("dsr")) { mode = GenerationMode.SELECTION_ROW; }
+				else if(args[i + 1].equals("iso")) { mode = GenerationMode.ISOTOPY_CLASS; }
+				else if(args[i + 1].equals("main")) { mode = GenerationMode.MAIN_CLASS; }
+				else if(args[i + 1].equals("rand")) { mode = GenerationMode.SELECTION_RANDOM; }
+				else if(args[i + 1].equals("mols")) { mode = GenerationMode.MOLS; }
+				else if(args[i + 1].equals("group")) { mode = GenerationMode.GROUP; }
 				else 
 				{
 					System.err.println("[Illegal Argument] Invalid generation mode!");
@@ -124,11 +174,49 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 		{
 			case SELECTION:
 			case SELECTION_PRELOAD:
+			case ISOTOPY_CLASS:
+			case MAIN_CLASS:
 				parseOrderAndDataSetSize(args);
 				break;
+			case SELECTION_ROW:
+				parseOrderAndDataSetSize(args);
+				if(order > LatinSquareRowPermutationIterator.MAX_ORDER)
+				{
+					System.err.println("[Illegal Argument] The row-by-row generation mode supports orders up to n = "
+							+ LatinSquareRowPermutationIterator.MAX_ORDER + "!");
+					validArguments = false;
+				}
+				break;
+			case SELECTION_RANDOM:
+				parseOrderAndDataSetSize(args);
+				if(order > LatinSquareRandomSelectionIterator.MAX_ORDER)
+				{
+					System.err.println("[Illegal Argument] The randomized generation mode supports orders up to n = "
+							+ LatinSquareRandomSelectionIterator.MAX_ORDER + "!");
+					validArguments = false;
+				}
+				if(dataSetSize == 0)
+				{
+					System.err.println("[Illegal Argument] The randomized generation mode cannot generate all Latin squares; "
+							+ "the value of s must be a positive integer!");
+					validArguments = false;
+				}
+				break;
 			case SUPERSYMMETRIC:
 				parseSuperSymmetricPrimeBaseAndPower(args);
 				break;
+			case MOLS:
+				parseSuperSymmetricPrimeBaseAndPower(args);
+				if((superSymmetricPrimeBase > 0) && !isPrimeNumber(superSymmetricPrimeBase))
+				{
+					System.err.println("[Illegal Argument] The MOLS generation mode requires a prime value of p "
+							+ "(the finite field GF(p^d) only exists for prime p)!");
+					validArguments = false;
+				}
+				break;
+			case GROUP:
+				parseGroupFactorsOrOrder(args);
+				break;
 			default:
 				validArguments = false;
 				break;
@@ -178,7 +266,7 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
 			validArguments = false;
 		}
-			
+		
 		// parse and store the number of latin squares to generate
 		try
 		{
@@ -291,6 +379,66 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 		}
 	}
 	
+	/**
+	 * Parses, validates, and stores the required user-specified parameter for the abelian group
+	 * generation mode, which is either the comma-separated list of the orders of the cyclic factors
+	 * of a single group ("-g n1,n2,...,nk") or the order of all the groups to generate ("-n <order>").
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	private void parseGroupFactorsOrOrder(String [] args)
+	{
+		String factorsArg = null, orderArg = null;
+		
+		for(int i = 0; i < (args.length - 1); i++)
+		{
+			if(args[i].equals("-g")) { factorsArg = args[i + 1]; }
+			else if(args[i].equals("-n")) { orderArg = args[i + 1]; }
+		}
+		
+		if((factorsArg == null) == (orderArg == null))
+		{
+			System.err.println("[Illegal Arguments] The \"-m group\" mode requires exactly one of the \"-g <list>\" "
+					+ "and \"-n <order>\" arguments!");
+			validArguments = false;
+			return;
+		}
+		
+		try
+		{
+			long product = 1;
+			if(factorsArg != null)
+			{
+				String [] factors = factorsArg.split(",");
+				groupFactors = new int[factors.length];
+				for(int k = 0; k < factors.length; k++)
+				{
+					groupFactors[k] = Integer.parseInt(factors[k]);
+					if(groupFactors[k] < 1) { throw new NumberFormatException(); }
+					product = Math.min(product * groupFactors[k], (long)Integer.MAX_VALUE + 1);
+				}
+			}
+			else
+			{
+				product = Integer.parseInt(orderArg);
+				if(product < 1) { throw new NumberFormatException(); }
+			}
+			
+			if(product > Integer.MAX_VALUE)
+			{
+				System.err.println("[Illegal Argument] The order of the group must be at most " + Integer.MAX_VALUE + "!");
+				validArguments = false;
+			}
+			else { order = (int)product; }
+		}
+		catch(NumberFormatException nfe)
+		{
+			System.err.println("[Illegal Argument] Unable to identify the group; \"-g\" must be a comma-separated list of "
+					+ "positive integers and \"-n\" must be a positive integer!");
+			validArguments = false;
+		}
+	}
+	
 	/**
 	 * Parses, validates, and stores the optional parameters for the user-specified 
 	 * job configuration given command line arguments.
@@ -307,9 +455,238 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 			else if(args[i].equals("-r")) { printHumanReadable = true; }
 			else if(args[i].equals("-h")) { printTransversalHeatMap = true; }
 			else if(args[i].equals("-j")) { printReport = true; }
+			else if(args[i].equals("--resume")) { resume = true; }
+			else if(args[i].equals("-b")) { binaryOutput = true; }
+			else if(args[i].equals("-z")) { compressedOutput = true; }
+			else if(args[i].equals("--implicit")) { implicit = true; }
+			else if(args[i].equals("--check")) { checkProperty = true; }
+			else if(args[i].equals("-q")) { quiet = true; }
+			else if(args[i].equals("--samples"))
+			{
+				try
+				{
+					numSamples = Long.parseLong(args[i + 1]);
+					if((numSamples < 1) || (numSamples > Integer.MAX_VALUE)) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the number of samples; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-o"))
+			{
+				if(i < (args.length - 1)) { outputFile = args[i + 1]; }
+				else
+				{
+					System.err.println("[Missing Argument] Invalid Latin square output file!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--output-buffer"))
+			{
+				try
+				{
+					long kibibytes = Long.parseLong(args[i + 1]);
+					if((kibibytes < (LatinSquareAsyncOutputStream.MIN_CAPACITY >> 10)) || (kibibytes > (Integer.MAX_VALUE >> 10)))
+					{
+						throw new NumberFormatException();
+					}
+					outputBufferSize = (int)(kibibytes << 10);
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the output buffer size; it must be an integer from "
+							+ (LatinSquareAsyncOutputStream.MIN_CAPACITY >> 10) + " to " + (Integer.MAX_VALUE >> 10) + " (KiB)!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--fsync"))
+			{
+				if((i < (args.length - 1)) && (LatinSquareAsyncOutputStream.SyncPolicy.parse(args[i + 1]) != null))
+				{
+					syncPolicy = LatinSquareAsyncOutputStream.SyncPolicy.parse(args[i + 1]);
+				}
+				else
+				{
+					System.err.println("[Illegal Argument] Unable to identify the fsync policy; it must be \"none\", "
+							+ "\"checkpoint\", or \"always\"!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--shard"))
+			{
+				try
+				{
+					String [] shard = args[i + 1].split("/");
+					if(shard.length != 2) { throw new NumberFormatException(); }
+					
+					shardIndex = Integer.parseInt(shard[0]);
+					numShards = Integer.parseInt(shard[1]);
+					if((numShards < 1) || (shardIndex < 0) || (shardIndex >= numShards)) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the shard i/k; k must be a positive integer "
+							+ "and i must be an integer from 0 to k - 1!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-c"))
+			{
+				if((i < (args.length - 1)) && (LatinSquareConstraints.parse(args[i + 1]) != null))
+				{
+					constraints = LatinSquareConstraints.parse(args[i + 1]);
+				}
+				else
+				{
+					System.err.println("[Illegal Argument] Unable to identify the constraints; they must be a comma-separated list of "
+							+ "\"diagonal\", \"symmetric\", \"idempotent\", \"unipotent\", and \"reduced\"!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--seed"))
+			{
+				try { randomSeed = Long.parseLong(args[i + 1]); }
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the random seed; it must be an integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--budget"))
+			{
+				try
+				{
+					backtrackBudget = Long.parseLong(args[i + 1]);
+					if(backtrackBudget < 0) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the backtrack budget; it must be a non-negative integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("-w"))
+			{
+				try
+				{
+					numThreads = Integer.parseInt(args[i + 1]);
+					if(numThreads < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the number of worker threads; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+			else if(args[i].equals("--checkpoint"))
+			{
+				try
+				{
+					checkpointInterval = Long.parseLong(args[i + 1]);
+					if(checkpointInterval < 1) { throw new NumberFormatException(); }
+				}
+				catch(NumberFormatException | ArrayIndexOutOfBoundsException e)
+				{
+					System.err.println("[Illegal Argument] Unable to identify the checkpoint interval; it must be a positive integer!");
+					validArguments = false;
+				}
+			}
+		}
+		
+		// checkpoints are only written for the selection-based data set modes, which need an output file to resume
+		if((outputFile != null) && (mode != GenerationMode.SELECTION) && (mode != GenerationMode.SELECTION_PRELOAD))
+		{
+			System.err.println("[Illegal Arguments] The \"-o\" argument is only supported by the \"-m ds\" and \"-m dsp\" modes!");
+			validArguments = false;
+		}
+		else if(!constraints.isEmpty() && (mode != GenerationMode.SELECTION) && (mode != GenerationMode.SELECTION_PRELOAD))
+		{
+			System.err.println("[Illegal Arguments] The \"-c\" argument is only supported by the \"-m ds\" and \"-m dsp\" modes!");
+			validArguments = false;
+		}
+		else if(((checkpointInterval > 0) || resume || (numShards > 1)) && (outputFile == null))
+		{
+			System.err.println("[Illegal Arguments] The \"--checkpoint\", \"--resume\", and \"--shard\" arguments require "
+					+ "the \"-o\" argument!");
+			validArguments = false;
+		}
+		
+		// a binary output file only stores the Latin squares, so nothing else may be printed for each of them
+		if(binaryOutput && (outputFile == null))
+		{
+			System.err.println("[Illegal Arguments] The \"-b\" argument requires the \"-o\" argument!");
+			validArguments = false;
+		}
+		else if(binaryOutput && (countTransversals || printHumanReadable || printTransversalHeatMap || (numThreads > 1)))
+		{
+			System.err.println("[Illegal Arguments] The \"-b\" argument is not supported by the \"-t\", \"-T\", \"-h\", "
+					+ "\"-r\", and \"-w\" arguments (count the transversals of the binary output file with \"./lstc\")!");
+			validArguments = false;
+		}
+		else if(binaryOutput && !LatinSquareBinaryFormat.isSupportedOrder(order))
+		{
+			System.err.println("[Illegal Arguments] The \"-b\" argument only supports orders up to " 
+					+ LatinSquareBinaryFormat.MAX_ORDER + "!");
+			validArguments = false;
+		}
+		if(compressedOutput && (outputFile == null))
+		{
+			System.err.println("[Illegal Arguments] The \"-z\" argument requires the \"-o\" argument!");
+			validArguments = false;
+		}
+		if(((outputBufferSize > 0) || (syncPolicy != null)) && (outputFile == null))
+		{
+			System.err.println("[Illegal Arguments] The \"--output-buffer\" and \"--fsync\" arguments require the \"-o\" argument!");
+			validArguments = false;
+		}
+		
+		// the random seed and backtrack budget only apply to the randomized mode (and the seed to the transversal estimates)
+		if((backtrackBudget != LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET) && (mode != GenerationMode.SELECTION_RANDOM))
+		{
+			System.err.println("[Illegal Arguments] The \"--budget\" argument is only supported by the \"-m rand\" mode!");
+			validArguments = false;
+		}
+		else if((randomSeed != null) && (mode != GenerationMode.SELECTION_RANDOM) && !implicit)
+		{
+			System.err.println("[Illegal Arguments] The \"--seed\" argument is only supported by the \"-m rand\" mode "
+					+ "and the \"--implicit\" argument!");
+			validArguments = false;
+		}
+		
+		// an implicit super-symmetric Latin square is never stored, so its transversals can only be estimated
+		if(implicit && (mode != GenerationMode.SUPERSYMMETRIC))
+		{
+			System.err.println("[Illegal Arguments] The \"--implicit\" argument is only supported by the \"-m ss\" mode!");
+			validArguments = false;
+		}
+		else if(implicit && (printTransversals || printTransversalHeatMap))
+		{
+			System.err.println("[Illegal Arguments] The \"-T\" and \"-h\" arguments are not supported by the \"--implicit\" "
+					+ "argument (use \"-t\" to estimate the number of transversals)!");
+			validArguments = false;
+		}
+		else if(!implicit && (quiet || checkProperty || (numSamples != DEFAULT_NUM_SAMPLES)))
+		{
+			System.err.println("[Illegal Arguments] The \"-q\", \"--check\", and \"--samples\" arguments require "
+					+ "the \"--implicit\" argument!");
+			validArguments = false;
 		}
+		
+		// the worker threads count the transversals of the data set modes that are generated one square at a time
+		if((numThreads > 1) && (mode != GenerationMode.SELECTION) && (mode != GenerationMode.SELECTION_PRELOAD)
+				&& (mode != GenerationMode.SELECTION_ROW) && (mode != GenerationMode.SELECTION_RANDOM) && (mode != GenerationMode.GROUP))
+		{
+			System.err.println("[Illegal Arguments] The \"-w\" argument is only supported by the \"-m ds\", \"-m dsp\", "
+					+ "\"-m dsr\", \"-m rand\", and \"-m group\" modes!");
+			validArguments = false;
+		}
+		
+		// without a user-specified seed, pick one (it is printed in the job report so the data set can be reproduced)
+		if(randomSeed == null) { randomSeed = new SplittableRandom().nextLong(); }
 	}
-
+	
 	/**
 	 * Returns the size of the Latin square data set to generate.
 	 * This is zero if the set of all Latin squares will be generated for the given order.
@@ -318,6 +695,142 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 	 */
 	public long getDataSetSize() { return dataSetSize; }
 	
+	/**
+	 * Returns the name of the file to which the Latin square data set will be written.
+	 * This is null if the data set will be printed to standard output.
+	 * 
+	 * @return String The output filename.
+	 */
+	public String getOutputFile() { return outputFile; }
+	
+	/**
+	 * Returns true if the Latin square data set will be written to the output file in the
+	 * compact binary format (see LatinSquareBinaryFormat) instead of the ordered-triple format.
+	 * 
+	 * @return boolean The binary output flag.
+	 */
+	public boolean isWritingBinary() { return binaryOutput; }
+	
+	/**
+	 * Returns the total number of bytes in the ring of buffers of the output file writer thread
+	 * (see LatinSquareAsyncOutputStream).
+	 * 
+	 * @return int The output buffer size.
+	 */
+	public int getOutputBufferSize()
+	{
+		return (outputBufferSize > 0) ? outputBufferSize : LatinSquareAsyncOutputStream.DEFAULT_CAPACITY;
+	}
+	
+	/**
+	 * Returns the policy that determines when the output file is forced to the storage device.
+	 * 
+	 * @return SyncPolicy The sync policy (NONE by default).
+	 */
+	public LatinSquareAsyncOutputStream.SyncPolicy getSyncPolicy()
+	{
+		return (syncPolicy != null) ? syncPolicy : LatinSquareAsyncOutputStream.SyncPolicy.NONE;
+	}
+	
+	/**
+	 * Returns true if the output file will be gzip-compressed (see LatinSquareCompressedOutputStream).
+	 * 
+	 * @return boolean The compressed output flag.
+	 */
+	public boolean isWritingCompressed() { return compressedOutput; }
+	
+	/**
+	 * Returns the number of Latin squares that are generated between checkpoints.
+	 * This is zero if no checkpoints will be written.
+	 * 
+	 * @return long The checkpoint interval.
+	 */
+	public long getCheckpointInterval() { return checkpointInterval; }
+	
+	/**
+	 * Returns true if the data set generation will be resumed from the checkpoint of its output file.
+	 * 
+	 * @return boolean The resume flag.
+	 */
+	public boolean isResuming() { return resume; }
+	
+	/**
+	 * Returns the shard index i of the data set to generate (see LatinSquareSelectionShard).
+	 * 
+	 * @return int The shard index.
+	 */
+	public int getShardIndex() { return shardIndex; }
+	
+	/**
+	 * Returns the number of shards k of the data set to generate.
+	 * This is one if the whole data set will be generated.
+	 * 
+	 * @return int The number of shards.
+	 */
+	public int getNumShards() { return numShards; }
+	
+	/**
+	 * Returns the structural constraints that the Latin squares of the data set must satisfy
+	 * (see LatinSquareConstraints). This is LatinSquareConstraints.NONE if there are no constraints.
+	 * 
+	 * @return LatinSquareConstraints The constraints.
+	 */
+	public LatinSquareConstraints getConstraints() { return constraints; }
+	
+	/**
+	 * Returns the seed of the random stream for the randomized generation mode
+	 * (or for the transversal estimates of an implicit super-symmetric Latin square).
+	 * 
+	 * @return long The random seed.
+	 */
+	public long getRandomSeed() { return randomSeed; }
+	
+	/**
+	 * Returns the number of backtracks after which the randomized generation mode restarts
+	 * an attempt to generate a Latin square. This is zero if the attempts are never restarted.
+	 * 
+	 * @return long The backtrack budget.
+	 */
+	public long getBacktrackBudget() { return backtrackBudget; }
+	
+	/**
+	 * Returns the number of worker threads that count the transversals of the Latin squares
+	 * (and, in the randomized generation mode, generate them).
+	 * 
+	 * @return int The number of worker threads.
+	 */
+	public int getNumThreads() { return numThreads; }
+	
+	/**
+	 * Returns true if the super-symmetric Latin square will be implicit (see SquareSuperSymmetric),
+	 * meaning that its cells are computed when they are printed instead of being stored.
+	 * 
+	 * @return boolean The implicit square flag.
+	 */
+	public boolean isImplicit() { return implicit; }
+	
+	/**
+	 * Returns true if the implicit super-symmetric Latin square will not be printed.
+	 * 
+	 * @return boolean The quiet flag.
+	 */
+	public boolean isBeingQuiet() { return quiet; }
+	
+	/**
+	 * Returns true if the Latin Square Property of the implicit super-symmetric Latin square will be verified.
+	 * 
+	 * @return boolean The property check flag.
+	 */
+	public boolean isCheckingProperty() { return checkProperty; }
+	
+	/**
+	 * Returns the number of random samples that estimate the number of transversals of an implicit
+	 * super-symmetric Latin square (see SquareImplicit.estimateTransversalCountLog10()).
+	 * 
+	 * @return long The number of samples.
+	 */
+	public long getNumSamples() { return numSamples; }
+	
 	/**
 	 * Returns the prime base p of the prime power order-p^d super-symmetric Latin square
 	 * that will be generated.
@@ -335,6 +848,14 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 	 */
 	public int getOrderPower() { return superSymmetricPower; }
 	
+	/**
+	 * Returns the orders of the cyclic factors of the abelian group whose Cayley table will be generated.
+	 * This is null if the Cayley tables of all the abelian groups of the order will be generated.
+	 * 
+	 * @return int[] The orders of the cyclic factors.
+	 */
+	public int [] getGroupFactors() { return (groupFactors == null) ? null : groupFactors.clone(); }
+	
 	/**
 	 * Returns the Latin square generation mode for the user-specified job.
 	 * 
@@ -353,6 +874,33 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 	 */
 	public boolean isPreloading() { return (mode == GenerationMode.SELECTION_PRELOAD); }
 	
+	/**
+	 * Returns true if the row-by-row generation algorithm will be used to
+	 * generate the Latin square data set.
+	 * 
+	 * @return boolean The row-by-row flag.
+	 */
+	public boolean isRowByRow() { return (mode == GenerationMode.SELECTION_ROW); }
+	
+	/**
+	 * Returns true if the randomized generation algorithm will be used to
+	 * generate the Latin square data set.
+	 * 
+	 * @return boolean The randomized flag.
+	 */
+	public boolean isRandomized() { return (mode == GenerationMode.SELECTION_RANDOM); }
+	
+	/**
+	 * Returns true if one representative of each isotopy class (or main class) will be
+	 * generated instead of every Latin square.
+	 * 
+	 * @return boolean The class representatives flag.
+	 */
+	public boolean isGeneratingClassRepresentatives()
+	{
+		return (mode == GenerationMode.ISOTOPY_CLASS) || (mode == GenerationMode.MAIN_CLASS);
+	}
+	
 	/**
 	 * Prints the command-line usage for the Latin Square Generator Tool's
 	 * driver class main method. 
@@ -368,28 +916,77 @@ public class LatinSquareJobConfigGenerator extends LatinSquareJobConfig
 		System.out.println("\t-m ds   \t# Generate an order-n Latin square data set of size s");
 		System.out.println("\t-m dsp  \t# Generate an order-n Latin square data set of size s with preloading");
 		System.out.println("\t-m ss   \t# Generate one order-p^d super-symmetric Latin square");
-		System.out.println("The specifically required arguments for the data set generation modes \"-m ds\" and \"-m dsp\" are:");
+		System.out.println("\t-m dsr  \t# Generate an order-n Latin square data set of size s row-by-row (n <= 64)");
+		System.out.println("\t-m iso  \t# Generate s order-n isotopy class representatives with their class sizes");
+		System.out.println("\t-m main \t# Generate s order-n main class representatives with their class sizes");
+		System.out.println("\t-m rand \t# Generate an order-n data set of s random Latin squares (n <= 64)");
+		System.out.println("\t-m mols \t# Generate the p^d - 1 mutually orthogonal Latin squares of order-p^d over GF(p^d)");
+		System.out.println("\t-m group\t# Generate the Cayley table of one abelian group, or of every abelian group of order-n");
+		System.out.println("The specifically required arguments for the data set generation modes \"-m ds\", \"-m dsp\", \"-m dsr\",");
+		System.out.println("\"-m iso\", \"-m main\", and \"-m rand\" are:");
 		System.out.println("\t-n <order> \t# The Latin square order-n (a positive integer)");
-		System.out.println("\t-s <size>  \t# The data set size s (a non-negative integer); \"-s 0\" generates all");
-		System.out.println("The specifically required arguments for the super-symmetric generation mode \"-m ss\" are:");
-		System.out.println("\t-p <base>  \t# The base p of the order-p^d super-symmetric Latin square (a prime integer)");
-		System.out.println("\t-d <power> \t# The power d of the order-p^d super-symmetric Latin square (a positive integer)");
+		System.out.println("\t-s <size>  \t# The data set size s (a non-negative integer); \"-s 0\" generates all (except for \"-m rand\")");
+		System.out.println("The specifically required arguments for the super-symmetric generation mode \"-m ss\" and the");
+		System.out.println("mutually orthogonal Latin squares generation mode \"-m mols\" are:");
+		System.out.println("\t-p <base>  \t# The base p of the order-p^d Latin square(s) (a prime integer)");
+		System.out.println("\t-d <power> \t# The power d of the order-p^d Latin square(s) (a positive integer)");
+		System.out.println("The specifically required argument for the abelian group generation mode \"-m group\" is one of:");
+		System.out.println("\t-g <list>  \t# The orders of the cyclic factors of the group Z_n1 x ... x Z_nk (ex. \"-g 4,2,3\")");
+		System.out.println("\t-n <order> \t# The order-n of the groups (every abelian group of order-n, up to isomorphism)");
 		System.out.println("The optional arguments for any mode are:");
 		System.out.println("\t-t         \t# Count and print the number of transversals for each Latin square");
 		System.out.println("\t-T         \t# Print the transversals for each Latin square (includes \"-t\")");
 		System.out.println("\t-h         \t# Print the transversal heat map for each Latin square (also counts transversals)");
 		System.out.println("\t-r         \t# Print each Latin square in human-readable (non-ordered-triple) form");
 		System.out.println("\t-j         \t# Print the job report summary upon completion");
+		System.out.println("The optional arguments for the \"-m ds\" and \"-m dsp\" modes are:");
+		System.out.println("\t-c <list>  \t# Only generate the Latin squares that satisfy a comma-separated list of constraints:");
+		System.out.println("\t           \t# diagonal, symmetric, idempotent, unipotent, reduced (ex. \"-c diagonal,idempotent\")");
+		System.out.println("\t-o <file>  \t# Write the Latin squares to a file (with a manifest <file>.manifest upon completion)");
+		System.out.println("\t-b         \t# Write the output file in the compact binary format (which \"./lstc\", \"./lspc\",");
+		System.out.println("\t           \t# and \"./lscv\" read); the transversals cannot be printed to a binary file");
+		System.out.println("\t-z         \t# Compress the output file with gzip (which \"./lstc\", \"./lspc\", and \"./lscv\" read)");
+		System.out.println("\t--output-buffer <KiB> \t# The size of the ring buffer of the output file writer thread (the");
+		System.out.println("\t                      \t# default is " + (LatinSquareAsyncOutputStream.DEFAULT_CAPACITY >> 10) + " KiB)");
+		System.out.println("\t--fsync <policy> \t# When to force the output file to the storage device: none (the default),");
+		System.out.println("\t                 \t# checkpoint (at each checkpoint and upon completion), or always (after each buffer)");
+		System.out.println("\t--checkpoint <num> \t# Write a checkpoint <file>.checkpoint after every num Latin squares");
+		System.out.println("\t--resume   \t# Resume the data set from the checkpoint of the output file");
+		System.out.println("\t--shard <i/k> \t# Generate shard i of k of the data set (from 0 to k - 1); the shards of k");
+		System.out.println("\t              \t# separate runs together generate the data set of a single run");
+		System.out.println("The optional arguments for the \"-m ds\", \"-m dsp\", \"-m dsr\", \"-m rand\", and \"-m group\" modes are:");
+		System.out.println("\t-w <num>   \t# The number of worker threads that count the transversals (and generate the");
+		System.out.println("\t           \t# random Latin squares or Cayley tables) in parallel; the output does not depend on num");
+		System.out.println("The optional arguments for the \"-m ss\" mode are:");
+		System.out.println("\t--implicit \t# Compute each cell when it is printed instead of storing the Latin square (for large");
+		System.out.println("\t           \t# orders); \"-t\" then estimates the number of transversals by random sampling");
+		System.out.println("\t-q         \t# Do not print the implicit Latin square (or its transversal estimate and \"--check\"");
+		System.out.println("\t           \t# result, which the job summary report prints with \"-j\")");
+		System.out.println("\t--check    \t# Verify the Latin Square Property of the implicit Latin square");
+		System.out.println("\t--samples <num> \t# The number of samples of the transversal estimate (the default is "
+				+ DEFAULT_NUM_SAMPLES + ")");
+		System.out.println("\t--seed <num>    \t# The seed of the transversal estimate (the default is a random seed)");
+		System.out.println("The optional arguments for the \"-m rand\" mode are:");
+		System.out.println("\t--seed <num>   \t# The seed of the random Latin squares (the default is a random seed)");
+		System.out.println("\t--budget <num> \t# Restart a Latin square after num backtracks (the default is "
+				+ LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET + "; 0 never restarts)");
 		System.out.println("****************************************************************");
 		System.out.println("Definition: A Latin square of order-n is an n-by-n array over a set of n symbols, where every symbol");
 		System.out.println("            appears exactly once in each row and each column.");
 		System.out.println("    Remark: An order-n Latin square encodes the Cayley table of an order-n quasi-group.");
+		System.out.println("Definition: Two Latin squares are isotopic if one can be obtained from the other by permuting");
+		System.out.println("            its rows, columns, and symbols; they are in the same main class if one is isotopic");
+		System.out.println("            to a conjugate of the other (which permutes the roles of rows, columns, and symbols).");
 		System.out.println("    Remark: The addition Cayley table of a prime order-p finite field is an order-p cyclic Latin square.");
 		System.out.println("    Remark: The addition Cayley table of a prime power order-p^d finite field is an order-p^d");
 		System.out.println("            super-symmetric Latin square.");
 		System.out.println("    Remark: A prime power order-p^d super-symmetric Latin square has a self-similar structure.");
 		System.out.println("    Remark: A prime power order-p^d super-symmetric Latin square can be constructed from order-p cyclic");
 		System.out.println("            Latin square \"building blocks\".");
+		System.out.println("Definition: Two order-n Latin squares are orthogonal if superimposing them yields each of the n^2");
+		System.out.println("            ordered pairs of symbols exactly once.");
+		System.out.println("    Remark: For each non-zero element a of GF(p^d), L_a(x, y) = a * x + y is a Latin square, and these");
+		System.out.println("            p^d - 1 Latin squares are mutually orthogonal (the most that an order-p^d can have).");
 		System.out.println("****************************************************************");
 	}
 }
@@ -0,0 +1,178 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+
+/**
+ * <h1>LatinSquareJobConfigShardMerge</h1>
+ * 
+ * <p>This class represents the user-specified configuration for the Latin Square Shard
+ * Merge Tool; it parses, validates, and stores the user-specified command line arguments.</p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareJobConfigShardMerge extends LatinSquareJobConfig
+{
+	private final int MIN_NUM_VALID_ARGS = 4;
+	private final int MAX_NUM_VALID_ARGS = Integer.MAX_VALUE;
+	private ArrayList<String> manifestFiles;
+	
+	/**
+	 * Class constructor for a user-specified job configuration
+	 * that merges the result summaries (manifests) of the shards of a data set.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	public LatinSquareJobConfigShardMerge(String [] args)
+	{
+		super();
+		minNumValidArgs = MIN_NUM_VALID_ARGS;
+		maxNumValidArgs = MAX_NUM_VALID_ARGS;
+		jobType = LatinSquareJobType.MERGE_SHARD_SUMMARIES;
+		manifestFiles = new ArrayList<String>();
+		countTransversals = true;
+		
+		if((args != null) && (args.length > 0))
+		{
+			parseRequiredArgs(args);
+			parseOptionalArgs(args);
+		}
+		else { validArguments = false; }
+	}
+	
+	/**
+	 * Parses, validates, and stores the required parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	public void parseRequiredArgs(String [] args)
+	{
+		checkArgCount(args);
+		parseOrderAndManifestFiles(args);
+	}
+	
+	/**
+	 * Parses, validates, and stores the user-specified Latin square order parameter
+	 * (matching the order of the shards) and the names of the shard manifest files,
+	 * which are every argument that follows "-f" up to the next option.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	private void parseOrderAndManifestFiles(String [] args)
+	{
+		boolean foundOrder = false;
+		String orderArg = null;
+		
+		for(int i = 0; i < (args.length - 1); i++)
+		{
+			if(args[i].equals("-n"))
+			{
+				orderArg = args[i + 1];
+				foundOrder = true;
+			}
+			else if(args[i].equals("-f"))
+			{
+				for(int j = i + 1; (j < args.length) && !args[j].startsWith("-"); j++) { manifestFiles.add(args[j]); }
+			}
+		}
+		
+		if(manifestFiles.isEmpty())
+		{
+			System.err.println("[Missing Argument] Invalid shard manifest file(s)!");
+			validArguments = false;
+		}
+		
+		// parse and store the latin square order
+		try
+		{
+			if(!foundOrder) { throw new NumberFormatException(); }
+			
+			order = Integer.parseInt(orderArg);
+			if(order < 1)
+			{
+				System.err.println("[Illegal Argument] The value of n must be a positive integer!");
+				validArguments = false;
+			}
+		}
+		catch(NumberFormatException nfe)
+		{
+			System.err.println("[Illegal Argument] Unable to identify the value of n; it must be a positive integer!");
+			validArguments = false;
+		}
+	}
+	
+	/**
+	 * Parses, validates, and stores the optional parameters for the user-specified
+	 * job configuration given command line arguments.
+	 * 
+	 * @param args The user-specified command line arguments.
+	 */
+	@Override
+	protected void parseOptionalArgs(String [] args)
+	{
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-j")) { printReport = true; }
+		}
+	}
+	
+	/**
+	 * Returns the names of the shard manifest files to merge.
+	 * 
+	 * @return ArrayList The shard manifest filenames.
+	 */
+	public ArrayList<String> getManifestFiles() { return manifestFiles; }
+	
+	/**
+	 * Prints the command-line usage for the Latin Square Shard Merge Tool's
+	 * driver class main method.
+	 */
+	@Override
+	public void printUsage()
+	{
+		System.out.println("****************************************************************");
+		System.out.println("************* Latin Square Shard Merge Tool v1.10 **************");
+		System.out.println("****************************************************************");
+		System.out.println("Usage: ./lsm -n <order> -f <manifest> [<manifest> ...] [optional args]");
+		System.out.println("The required arguments are:");
+		System.out.println("\t-n <order>    \t# The Latin square order (a positive integer that must match the shards)");
+		System.out.println("\t-f <manifest> \t# The manifest files (\"<file>.manifest\") of the shards of one data set,");
+		System.out.println("\t              \t# which were generated by \"./lsg -m ds|dsp ... -o <file> --shard <i/k>\"");
+		System.out.println("The optional arguments are:");
+		System.out.println("\t-j            \t# Print the merged job report summary upon completion");
+		System.out.println("****************************************************************");
+		System.out.println("Remark: The merged manifest is printed to standard output. The transversal count");
+		System.out.println("        statistics are merged if the shards were generated with \"-t -j\".");
+		System.out.println("****************************************************************");
+	}
+}
@@ -40,7 +40,12 @@ public enum LatinSquareJobType
 {
 	GENERATE_DATASET,						// generate Latin square data set with selection-based algorithm
 	GENERATE_SUPERSYMMETRIC,				// generate a single super-symmetric (or cyclic) Latin square with lifting-and-merging algorithm
+	GENERATE_MOLS,							// generate the complete set of mutually orthogonal Latin squares over a finite field
+	GENERATE_GROUP,							// generate the Cayley tables of one or all abelian groups of an order
 	PARSE_INPUT_FILE_COUNT_TRANSVERSALS,	// count transversals of Latin squares stored in input file
 	PARSE_INPUT_FILE_PROPERTY_CHECK,		// check if squares satisfy the Latin square property
+	PARSE_INPUT_FILE_COMPLETE,				// complete partial squares stored in input file
+	MERGE_SHARD_SUMMARIES,					// merge the result summaries of the shards of a data set
+	CONVERT_FORMAT,							// convert a data set file between the ordered-triple, human-readable, and binary formats
 	INVALID 								// invalid job type
 }
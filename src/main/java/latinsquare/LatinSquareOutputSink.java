@@ -0,0 +1,476 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <h1>LatinSquareOutputSink</h1>
+ * 
+ * <p>This class represents a buffered sink for the text output of the tools (the squares in the
+ * ordered-triple or human-readable format, their transversal heat maps, and the lines that describe
+ * them). The bytes are encoded directly into a large reusable buffer, where each integer is copied
+ * from a table of precomputed digits (or encoded without creating a string), and the buffer is written
+ * to its channel (ex. the channel of an output file) or output stream (ex. standard output) in a single
+ * write only once it is full or flushed,
+ * so printing a square does not build any strings or lock a PrintStream for each of its cells.
+ * A sink without a channel (or an output stream) keeps every byte in a growing buffer instead, which the worker threads use
+ * to format the output of a square (or a range of squares) before it is written to another sink in order.
+ * Like PrintStream, a sink does not throw I/O exceptions; they are reported by checkError().
+ * A sink is not thread-safe.
+ * </p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class LatinSquareOutputSink
+{
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+	private static final int MAX_INTEGER_LENGTH = 20;
+	private static final int MAX_CELL_LENGTH = (3 * MAX_INTEGER_LENGTH) + 4;
+	private static final int NUM_PRECOMPUTED_INTEGERS = 1 << 12;
+	private static final byte[][] INTEGER_BYTES = new byte[NUM_PRECOMPUTED_INTEGERS][];
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+	private OutputStream out;
+	private WritableByteChannel channel;
+	private byte[] bytes;
+	private ByteBuffer buffer;
+	private int count;
+	private boolean trouble;
+	
+	static
+	{
+		for(int i = 0; i < NUM_PRECOMPUTED_INTEGERS; i++) { INTEGER_BYTES[i] = Integer.toString(i).getBytes(StandardCharsets.US_ASCII); }
+	}
+	
+	/**
+	 * Class constructor for a sink that writes to a channel (ex. a FileChannel).
+	 * 
+	 * @param channel The channel.
+	 * @param capacity The number of bytes that are buffered before they are written to the channel.
+	 */
+	public LatinSquareOutputSink(WritableByteChannel channel, int capacity)
+	{
+		this.out = null;
+		this.channel = channel;
+		this.bytes = new byte[Math.max(capacity, 2 * MAX_CELL_LENGTH)];
+		this.buffer = ByteBuffer.wrap(bytes);
+		this.count = 0;
+		this.trouble = false;
+	}
+	
+	/**
+	 * Class constructor for a sink that writes to an output stream (ex. standard output).
+	 * The output stream is also flushed whenever the sink is flushed.
+	 * 
+	 * @param out The output stream.
+	 */
+	public LatinSquareOutputSink(OutputStream out)
+	{
+		this(null, DEFAULT_CAPACITY);
+		this.out = out;
+	}
+	
+	/**
+	 * Class constructor for a sink without a channel (or an output stream), which keeps every byte in a growing buffer.
+	 * 
+	 * @param initialCapacity The initial capacity of the buffer.
+	 */
+	public LatinSquareOutputSink(int initialCapacity)
+	{
+		this(null, initialCapacity);
+	}
+	
+	/**
+	 * Returns true if the sink writes to an output stream.
+	 * 
+	 * @param out The output stream.
+	 * @return boolean The output stream flag.
+	 */
+	public boolean isWritingTo(OutputStream out) { return (this.out != null) && (this.out == out); }
+	
+	/**
+	 * Returns the number of buffered bytes.
+	 * 
+	 * @return int The number of buffered bytes.
+	 */
+	public int size() { return count; }
+	
+	/**
+	 * Prints a string, whose characters are encoded directly if they are ASCII characters
+	 * (and with the default charset, like PrintStream, otherwise).
+	 * 
+	 * @param s The string.
+	 */
+	public void print(String s)
+	{
+		int length = s.length();
+		for(int i = 0; i < length; i++)
+		{
+			if(s.charAt(i) >= 0x80)
+			{
+				write(s.getBytes());
+				return;
+			}
+		}
+		
+		int i = 0;
+		while(i < length)
+		{
+			if(count == bytes.length) { drain(1); }
+			
+			int end = Math.min(length, i + (bytes.length - count));
+			for(; i < end; i++) { bytes[count++] = (byte)s.charAt(i); }
+		}
+	}
+	
+	/**
+	 * Prints a string and then a line separator.
+	 * 
+	 * @param s The string.
+	 */
+	public void println(String s)
+	{
+		print(s);
+		println();
+	}
+	
+	/**
+	 * Prints a line separator.
+	 */
+	public void println()
+	{
+		ensureCapacity(LINE_SEPARATOR.length);
+		for(int i = 0; i < LINE_SEPARATOR.length; i++) { bytes[count++] = LINE_SEPARATOR[i]; }
+	}
+	
+	/**
+	 * Prints an integer in decimal.
+	 * 
+	 * @param value The integer.
+	 */
+	public void print(long value)
+	{
+		ensureCapacity(MAX_INTEGER_LENGTH);
+		putInteger(value);
+	}
+	
+	/**
+	 * Prints a byte.
+	 * 
+	 * @param b The byte.
+	 */
+	public void print(byte b)
+	{
+		ensureCapacity(1);
+		bytes[count++] = b;
+	}
+	
+	/**
+	 * Writes an array of bytes.
+	 * 
+	 * @param b The bytes.
+	 */
+	public void write(byte[] b)
+	{
+		write(b, 0, b.length);
+	}
+	
+	/**
+	 * Writes a range of bytes. A range that does not fit in the buffer of a sink with a channel
+	 * (or an output stream) is written directly.
+	 * 
+	 * @param b The bytes.
+	 * @param off The offset of the first byte.
+	 * @param len The number of bytes.
+	 */
+	public void write(byte[] b, int off, int len)
+	{
+		if(!isBuffering() && (len > (bytes.length - count)))
+		{
+			drain(0);
+			if(len >= bytes.length)
+			{
+				writeBytes(b, off, len);
+				return;
+			}
+		}
+		
+		ensureCapacity(len);
+		System.arraycopy(b, off, bytes, count, len);
+		count += len;
+	}
+	
+	/**
+	 * Writes the buffered bytes of another sink (ex. the output that a worker thread formatted)
+	 * and then clears that sink.
+	 * 
+	 * @param sink The other sink.
+	 */
+	public void write(LatinSquareOutputSink sink)
+	{
+		write(sink.bytes, 0, sink.count);
+		sink.count = 0;
+	}
+	
+	/**
+	 * Prints a square in the ordered-triple format (the n lines of "(row,column,symbol)" triples),
+	 * exactly like Square.toString().
+	 * 
+	 * @param square The square.
+	 */
+	public void writeSquare(Square square)
+	{
+		int order = square.getOrder();
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				ensureCapacity(MAX_CELL_LENGTH);
+				putCell(i, j, square.getCellSymbol(i, j));
+			}
+			print((byte)'\n');
+		}
+	}
+	
+	/**
+	 * Prints a square in the human-readable format (n rows of padded symbols),
+	 * exactly like Square.toStringHumanReadable().
+	 * 
+	 * @param square The square.
+	 */
+	public void writeSquareHumanReadable(Square square)
+	{
+		int order = square.getOrder();
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				ensureCapacity(MAX_CELL_LENGTH);
+				putPaddedInteger(square.getCellSymbol(i, j));
+			}
+			print((byte)'\n');
+		}
+	}
+	
+	/**
+	 * Prints the transversal heat map of a square (whose transversals have been counted) in the
+	 * ordered-triple or human-readable format, exactly like Square.toStringTransversalHeatMapOrderedTriple()
+	 * and Square.toStringTransversalHeatMapHumanReadable().
+	 * 
+	 * @param square The square.
+	 * @param humanReadable The human-readable format flag.
+	 */
+	public void writeHeatMap(Square square, boolean humanReadable)
+	{
+		int order = square.getOrder();
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				ensureCapacity(MAX_CELL_LENGTH);
+				if(humanReadable) { putPaddedInteger(square.getCellHeat(i, j)); }
+				else { putCell(i, j, square.getCellHeat(i, j)); }
+			}
+			print((byte)'\n');
+		}
+	}
+	
+	/**
+	 * Encodes an ordered-triple "(row,column,value)" into the buffer (which must have room for it).
+	 * 
+	 * @param row The row.
+	 * @param col The column.
+	 * @param value The value.
+	 */
+	private void putCell(int row, int col, long value)
+	{
+		bytes[count++] = '(';
+		putInteger(row);
+		bytes[count++] = ',';
+		putInteger(col);
+		bytes[count++] = ',';
+		putInteger(value);
+		bytes[count++] = ')';
+	}
+	
+	/**
+	 * Encodes a human-readable value (followed by two spaces, or three if it is less than 10)
+	 * into the buffer (which must have room for it).
+	 * 
+	 * @param value The value.
+	 */
+	private void putPaddedInteger(long value)
+	{
+		putInteger(value);
+		bytes[count++] = ' ';
+		bytes[count++] = ' ';
+		if(value < 10) { bytes[count++] = ' '; }
+	}
+	
+	/**
+	 * Encodes an integer in decimal into the buffer (which must have room for it), copying the
+	 * digits of a small non-negative integer from the table of precomputed digits.
+	 * 
+	 * @param value The integer.
+	 */
+	private void putInteger(long value)
+	{
+		if((value >= 0) && (value < NUM_PRECOMPUTED_INTEGERS))
+		{
+			byte[] digits = INTEGER_BYTES[(int)value];
+			for(int k = 0; k < digits.length; k++) { bytes[count++] = digits[k]; }
+			return;
+		}
+		if(value == Long.MIN_VALUE)
+		{
+			byte[] digits = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+			for(int k = 0; k < digits.length; k++) { bytes[count++] = digits[k]; }
+			return;
+		}
+		
+		if(value < 0)
+		{
+			bytes[count++] = '-';
+			value = -value;
+		}
+		
+		// encode the digits backwards from the end of the integer
+		int length = 1;
+		for(long v = value / 10; v > 0; v /= 10) { length++; }
+		for(int k = count + length - 1; k >= count; k--)
+		{
+			bytes[k] = (byte)('0' + (value % 10));
+			value /= 10;
+		}
+		count += length;
+	}
+	
+	/**
+	 * Returns true if the sink has neither a channel nor an output stream, so it keeps every byte.
+	 * 
+	 * @return boolean The buffering flag.
+	 */
+	private boolean isBuffering() { return (channel == null) && (out == null); }
+	
+	/**
+	 * Makes room for a number of bytes in the buffer, by writing the buffer
+	 * (or by growing the buffer of a sink without a channel).
+	 * 
+	 * @param numBytes The number of bytes.
+	 */
+	private void ensureCapacity(int numBytes)
+	{
+		if((bytes.length - count) < numBytes) { drain(numBytes); }
+	}
+	
+	/**
+	 * Writes the buffered bytes (or grows the buffer of a sink without a channel,
+	 * so that it has room for a number of bytes).
+	 * 
+	 * @param numBytes The number of bytes that must fit in the buffer afterwards.
+	 */
+	private void drain(int numBytes)
+	{
+		if(isBuffering())
+		{
+			if((bytes.length - count) < numBytes)
+			{
+				bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, count + numBytes));
+				buffer = ByteBuffer.wrap(bytes);
+			}
+			return;
+		}
+		
+		writeBytes(bytes, 0, count);
+		count = 0;
+	}
+	
+	/**
+	 * Writes a range of bytes to the output stream (or the channel), recording any I/O exception.
+	 * 
+	 * @param b The bytes.
+	 * @param off The offset of the first byte.
+	 * @param len The number of bytes.
+	 */
+	private void writeBytes(byte[] b, int off, int len)
+	{
+		try
+		{
+			if(out != null)
+			{
+				out.write(b, off, len);
+				return;
+			}
+			
+			ByteBuffer source = (b == bytes) ? buffer : ByteBuffer.wrap(b);
+			source.clear();
+			source.position(off);
+			source.limit(off + len);
+			while(source.hasRemaining()) { channel.write(source); }
+		}
+		
+		// handle output write exception
+		catch(IOException e) { trouble = true; }
+	}
+	
+	/**
+	 * Writes the buffered bytes to the channel (or to the output stream, which is also flushed).
+	 * A sink without a channel keeps its bytes.
+	 */
+	public void flush()
+	{
+		if(isBuffering()) { return; }
+		
+		drain(0);
+		try
+		{
+			if(out != null) { out.flush(); }
+		}
+		
+		// handle output flush exception
+		catch(IOException e) { trouble = true; }
+	}
+	
+	/**
+	 * Flushes the sink and returns true if an I/O exception has occurred.
+	 * 
+	 * @return boolean The error flag.
+	 */
+	public boolean checkError()
+	{
+		flush();
+		return trouble;
+	}
+}
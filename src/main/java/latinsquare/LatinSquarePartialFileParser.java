@@ -0,0 +1,242 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.StringTokenizer;
+
+/**
+ * <h1>LatinSquarePartialFileParser</h1>
+ * 
+ * <p>This class represents a parser that iterates over a set of partial squares stored in
+ * a given input file. It accepts the ordered-triple format of the Latin Square Generator Tool,
+ * except that cells may be missing: an empty cell is either omitted or written as (row,column,.).
+ * Since cells may be omitted, each partial square consists of the consecutive non-blank lines
+ * between blank lines (so a partial square without any filled cells must still contain at least
+ * one (row,column,.) triple). Each partial square in the input file must have the same order
+ * matching the user-specified order. This is used for the Latin Square Completion Tool.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquarePartialFileParser implements Iterator<PartialSquare>
+{
+	private final String DELIMITERS = "(), ";
+	private final String EMPTY_SYMBOL = ".";
+	private String inputFileName;
+	private BufferedReader fileReader;
+	private int order;
+	private PartialSquare currentPartialSquare;
+	
+	/**
+	 * Class constructor that accepts a user-specified order and input file containing
+	 * partial squares that are stored in the ordered-triple format.
+	 * 
+	 * @param order The order of the partial square(s) in the input file.
+	 * @param inputFileName The input file.
+	 */
+	public LatinSquarePartialFileParser(int order, String inputFileName)
+	{
+		this.order = order;
+		this.inputFileName = inputFileName;
+		this.currentPartialSquare = null;
+		
+		if(inputFileName == null)
+		{
+			System.err.println("[File Path Null] Could not open Latin square input file with null path or filename!");
+			System.exit(1);
+		}
+		
+		// attempt to open the input file containing partial squares
+		File file = new File(inputFileName);
+		if(!file.exists() || !file.isFile())
+		{
+			System.err.println("[File Not Found] Could not find the Latin square input file \"" + inputFileName + "\"!");
+			System.exit(1);
+		}
+		else if(file.length() == 0)
+		{
+			System.err.println("[Empty File] The Latin square input file \"" + inputFileName + "\" is empty!");
+			System.exit(1);
+		}
+		
+		try { fileReader = new BufferedReader(new FileReader(file)); }
+		
+		// handle input file not found exception
+		catch(FileNotFoundException e)
+		{
+			System.err.println("[File Not Found] Could not open the Latin square input file \""
+							   + inputFileName + "\" for scanning!");
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Returns true if one or more partial squares remain in the input file; the next
+	 * partial square is parsed and loaded if necessary.
+	 * 
+	 * @return boolean The partial squares remaining flag.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(currentPartialSquare == null) { currentPartialSquare = parseNextPartialSquare(); }
+		return (currentPartialSquare != null);
+	}
+	
+	/**
+	 * Returns the next partial square in the input file.
+	 * 
+	 * @return PartialSquare The next partial square.
+	 */
+	@Override
+	public PartialSquare next()
+	{
+		if(!hasNext()) { throw new NoSuchElementException(); }
+		
+		PartialSquare partialSquare = currentPartialSquare;
+		currentPartialSquare = null;
+		return partialSquare;
+	}
+	
+	/**
+	 * Parses the next block of non-blank lines into a partial square.
+	 * 
+	 * @return PartialSquare The partial square, or null if no more partial squares remain.
+	 */
+	private PartialSquare parseNextPartialSquare()
+	{
+		PartialSquare partialSquare = null;
+		boolean[][] specified = null;
+		String currentLine;
+		
+		// the input file has already been closed
+		if(fileReader == null) { return null; }
+		
+		try
+		{
+			while((currentLine = fileReader.readLine()) != null)
+			{
+				// a blank line ends the current partial square (or precedes the next one)
+				if(currentLine.trim().isEmpty())
+				{
+					if(partialSquare != null) { return partialSquare; }
+					continue;
+				}
+				
+				if(partialSquare == null)
+				{
+					partialSquare = new PartialSquare(order);
+					specified = new boolean[order][order];
+				}
+				
+				parseLine(currentLine, partialSquare, specified);
+			}
+			
+			fileReader.close();
+			fileReader = null;
+		}
+		
+		// handle input file read exception
+		catch(IOException e)
+		{
+			System.err.println("[I/O Error] While scanning the Latin square input file \"" + inputFileName + "\"");
+			System.exit(1);
+		}
+		
+		return partialSquare;
+	}
+	
+	/**
+	 * Parses the ordered-triples of a line into a partial square.
+	 * 
+	 * @param currentLine The line.
+	 * @param partialSquare The partial square.
+	 * @param specified The flags of the cells that have already been specified.
+	 */
+	private void parseLine(String currentLine, PartialSquare partialSquare, boolean[][] specified)
+	{
+		try
+		{
+			StringTokenizer st = new StringTokenizer(currentLine, DELIMITERS);
+			
+			while(st.hasMoreTokens())
+			{
+				int row = Integer.parseInt(st.nextToken());
+				int col = Integer.parseInt(st.nextToken());
+				String symbolToken = st.nextToken();
+				int sym = symbolToken.equals(EMPTY_SYMBOL) ? PartialSquare.EMPTY : Integer.parseInt(symbolToken);
+				
+				if((row < 0) || (row >= order) || (col < 0) || (col >= order) || (sym < PartialSquare.EMPTY) || (sym >= order))
+				{
+					throw new ArrayIndexOutOfBoundsException();
+				}
+				
+				if(specified[row][col])
+				{
+					System.err.println("[Invalid Ordered-Triple Format] The cell (" + row + "," + col + ")"
+							+ " is specified more than once in a partial square of the Latin square input file \""
+							+ inputFileName + "\"!");
+					System.exit(1);
+				}
+				
+				specified[row][col] = true;
+				partialSquare.setCellSymbol(row, col, sym);
+			}
+		}
+		
+		// handle tokenizer invalid ordered-triple format exception
+		catch(NumberFormatException | NoSuchElementException e)
+		{
+			System.err.println("[Invalid Ordered-Triple Format] The line value \"" + currentLine + "\""
+								+ " in the Latin square input file \"" + inputFileName + "\""
+								+ " contains an invalid row, column, or symbol value! "
+								+ "These must be integers from 0 to " + (order - 1) + " for order-"
+								+ order + " Latin squares (or \"" + EMPTY_SYMBOL + "\" for an empty cell).");
+			System.exit(1);
+		}
+		
+		// handle invalid order exception
+		catch(ArrayIndexOutOfBoundsException e)
+		{
+			System.err.println("[Invalid Data Set Order] Each partial square in the input file "
+					+ "\"" + inputFileName + "\" must have the same order " + order + "! "
+					+ "The ordered-triple values must each be integers from 0 to " + (order - 1) + " for order-"
+					+ order + " Latin squares.");
+			System.exit(1);
+		}
+	}
+}
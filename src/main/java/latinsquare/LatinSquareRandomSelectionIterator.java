@@ -0,0 +1,239 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * <h1>LatinSquareRandomSelectionIterator</h1>
+ * 
+ * <p>This class represents a pull-based, randomized version of the selection-based algorithm,
+ * which generates an endless stream of structurally diverse Latin squares instead of a
+ * lexicographically ordered data set. The square is filled row by row; within a row, the search
+ * always fills the open cell with the fewest free symbols next, and it picks the symbol of each
+ * cell uniformly at random among the symbols that are free in its row and column (which shuffles
+ * the symbol order of each cell). Since every Latin rectangle can be extended by another row, the
+ * search only backtracks within the current row. The number of backtracks of an attempt is bounded
+ * by a budget, after which the search restarts from the empty square, so the worst-case time per
+ * Latin square stays bounded.
+ * Each Latin square is generated from its own random stream, which is split from the seeded
+ * random stream of the iterator; so the k-th Latin square only depends on the seed, and
+ * the Latin squares can be generated by several threads (see generateSquare()).
+ * (Note: the bitmasks limit the order to at most 64.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareRandomSelectionIterator implements Iterator<Square>
+{
+	public static final int MAX_ORDER = 64;
+	public static final long DEFAULT_BACKTRACK_BUDGET = 10000;
+	private int order;
+	private long backtrackBudget;
+	private SplittableRandom random;
+	private long allSymbols;
+	private long[] colFree;
+	private int[] cellCol;
+	private long[] cellFree;
+	private int[][] cells;
+	private Square square;
+	private long numRestarts;
+	
+	/**
+	 * Class constructor for a seeded stream of random order-n Latin squares.
+	 * 
+	 * @param order The order of the Latin squares to generate (at most 64).
+	 * @param seed The seed of the random stream.
+	 * @param backtrackBudget The number of backtracks after which an attempt restarts (zero for no restarts).
+	 */
+	public LatinSquareRandomSelectionIterator(int order, long seed, long backtrackBudget)
+	{
+		this.order = order;
+		this.backtrackBudget = backtrackBudget;
+		random = new SplittableRandom(seed);
+		allSymbols = (order == MAX_ORDER) ? -1L : ((1L << order) - 1);
+		colFree = new long[order];
+		cellCol = new int[order];
+		cellFree = new long[order];
+		cells = new int[order][order];
+		square = new Square(order);
+		numRestarts = 0;
+	}
+	
+	/**
+	 * Returns the square that is updated in place by the search. After advance() returns true,
+	 * this contains the most recently generated Latin square; it must not be modified.
+	 * 
+	 * @return Square The working square.
+	 */
+	public Square getCurrentSquare() { return square; }
+	
+	/**
+	 * Returns the number of attempts that were restarted because they exceeded the backtrack budget.
+	 * 
+	 * @return long The number of restarts.
+	 */
+	public long getRestartCount() { return numRestarts; }
+	
+	/**
+	 * Returns a new random stream for the next Latin square, which is split from the seeded random stream.
+	 * 
+	 * @return SplittableRandom The random stream of the next Latin square.
+	 */
+	public SplittableRandom splitRandom() { return random.split(); }
+	
+	/**
+	 * Generates the next random Latin square, which is then available through
+	 * getCurrentSquare() without being copied.
+	 * 
+	 * @return boolean Always true, since the stream of random Latin squares is endless.
+	 */
+	public boolean advance()
+	{
+		generateSquare(random.split());
+		return true;
+	}
+	
+	/**
+	 * Generates a random Latin square from a given random stream (restarting as needed), which is
+	 * then available through getCurrentSquare(). Each thread that generates Latin squares should use
+	 * its own iterator, and the random streams should be split from a single iterator in order
+	 * (see splitRandom()), so that the Latin squares do not depend on the number of threads.
+	 * 
+	 * @param squareRandom The random stream of the Latin square.
+	 */
+	public void generateSquare(SplittableRandom squareRandom)
+	{
+		while(!attemptSquare(squareRandom)) { ++numRestarts; }
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++) { square.setCellSymbol(i, j, cells[i][j]); }
+		}
+	}
+	
+	/**
+	 * Makes one attempt to fill the square row by row.
+	 * 
+	 * @param squareRandom The random stream of the Latin square.
+	 * @return boolean True if the square was filled, false if the backtrack budget was exceeded.
+	 */
+	private boolean attemptSquare(SplittableRandom squareRandom)
+	{
+		long numBacktracks = 0;
+		for(int j = 0; j < order; j++) { colFree[j] = allSymbols; }
+		
+		for(int rowIndex = 0; rowIndex < order; rowIndex++)
+		{
+			long rowFree = allSymbols;
+			long openCols = allSymbols;
+			int depth = 0;
+			boolean forward = true;
+			
+			while(depth < order)
+			{
+				if(forward)
+				{
+					// fill the open cell with the fewest free symbols next
+					int bestCol = -1, bestCount = Integer.MAX_VALUE;
+					for(long cols = openCols; (cols != 0) && (bestCount > 1); cols &= (cols - 1))
+					{
+						int j = Long.numberOfTrailingZeros(cols);
+						int count = Long.bitCount(rowFree & colFree[j]);
+						if(count < bestCount)
+						{
+							bestCol = j;
+							bestCount = count;
+						}
+					}
+					
+					cellCol[depth] = bestCol;
+					cellFree[depth] = rowFree & colFree[bestCol];
+					openCols &= ~(1L << bestCol);
+				}
+				else
+				{
+					// release the previously inscribed symbol
+					int j = cellCol[depth];
+					rowFree |= (1L << cells[rowIndex][j]);
+					colFree[j] |= (1L << cells[rowIndex][j]);
+				}
+				
+				// no untried symbol fits, so backtrack to the previous cell of the row
+				long candidates = cellFree[depth];
+				if(candidates == 0)
+				{
+					if((backtrackBudget > 0) && (++numBacktracks > backtrackBudget)) { return false; }
+					openCols |= (1L << cellCol[depth]);
+					forward = false;
+					
+					// (every Latin rectangle can be extended, so the first cell is never exhausted)
+					if(--depth < 0) { return false; }
+					continue;
+				}
+				
+				// choose one of the untried symbols uniformly at random
+				for(int k = squareRandom.nextInt(Long.bitCount(candidates)); k > 0; k--) { candidates &= (candidates - 1); }
+				int sym = Long.numberOfTrailingZeros(candidates);
+				int j = cellCol[depth];
+				
+				cellFree[depth] &= ~(1L << sym);
+				cells[rowIndex][j] = sym;
+				rowFree &= ~(1L << sym);
+				colFree[j] &= ~(1L << sym);
+				depth++;
+				forward = true;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns true, since the stream of random Latin squares is endless.
+	 * 
+	 * @return boolean The Latin squares remaining flag.
+	 */
+	@Override
+	public boolean hasNext() { return true; }
+	
+	/**
+	 * Returns a copy of the next random Latin square, which may be retained by the caller.
+	 * 
+	 * @return Square The next Latin square.
+	 */
+	@Override
+	public Square next()
+	{
+		advance();
+		return new Square(square);
+	}
+}
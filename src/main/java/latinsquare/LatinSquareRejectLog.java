@@ -0,0 +1,180 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>LatinSquareRejectLog</h1>
+ * 
+ * <p>This class represents the log of the malformed squares that were rejected (instead of stopping the job)
+ * while parsing a data set input file (see LatinSquareFileParser.setRejectLog). Each rejected square is written to a
+ * reject file as one line with its ordinal in the input file, its byte offset, and the error, separated by tabs,
+ * and the rejected squares are counted by error for the job report summary.
+ * A worker thread that parses a byte range of the input file records its rejected squares in its own in-memory log
+ * instead, whose ordinals are relative to the range; they are appended to the reject file (in the order of the input
+ * file) once the number of squares before the range is known (see LatinSquareFilePipeline).
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareRejectLog
+{
+	private String fileName;
+	private PrintWriter writer;
+	private long numRejected;
+	private TreeMap<String, Long> numRejectedByError;
+	private ArrayList<Long> ordinals;
+	private ArrayList<Long> offsets;
+	private ArrayList<String> errors;
+	
+	/**
+	 * Class constructor for a log that writes the rejected squares to a reject file.
+	 * 
+	 * @param fileName The reject file.
+	 */
+	public LatinSquareRejectLog(String fileName)
+	{
+		this();
+		this.fileName = fileName;
+		
+		try
+		{
+			writer = new PrintWriter(fileName);
+		}
+		
+		// handle reject file not found exception
+		catch(FileNotFoundException e)
+		{
+			System.err.println("[File Not Found] Could not open the reject file \"" + fileName + "\" for writing!");
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Class constructor for an in-memory log (ex. of a byte range of the input file).
+	 */
+	public LatinSquareRejectLog()
+	{
+		fileName = null;
+		writer = null;
+		numRejected = 0;
+		numRejectedByError = new TreeMap<String, Long>();
+		ordinals = new ArrayList<Long>();
+		offsets = new ArrayList<Long>();
+		errors = new ArrayList<String>();
+	}
+	
+	/**
+	 * Records a rejected square.
+	 * 
+	 * @param ordinal The ordinal of the square in the input file (or its byte range), starting at 1.
+	 * @param offset The byte offset of the square in the input file (in the decompressed input, if it is compressed).
+	 * @param error The error message, which begins with the type of the error in brackets (ex. "[Invalid Data Set Order]").
+	 */
+	public synchronized void reject(long ordinal, long offset, String error)
+	{
+		numRejected++;
+		int end = error.indexOf(']');
+		String type = (error.startsWith("[") && (end > 0)) ? error.substring(1, end) : "Other";
+		numRejectedByError.merge(type, 1L, Long::sum);
+		
+		if(writer != null)
+		{
+			writer.println(ordinal + "\t" + offset + "\t" + error);
+			writer.flush();
+		}
+		else
+		{
+			ordinals.add(ordinal);
+			offsets.add(offset);
+			errors.add(error);
+		}
+	}
+	
+	/**
+	 * Records the rejected squares of an in-memory log, whose ordinals follow a given number of squares,
+	 * except for those outside of a range of ordinals (ex. before the first square of a range of the input file).
+	 * 
+	 * @param log The in-memory log.
+	 * @param base The number of squares of the input file before the first ordinal of the log.
+	 * @param firstSquare The first ordinal of the range.
+	 * @param lastSquare The last ordinal of the range.
+	 */
+	public void append(LatinSquareRejectLog log, long base, long firstSquare, long lastSquare)
+	{
+		for(int i = 0; i < log.ordinals.size(); i++)
+		{
+			long ordinal = base + log.ordinals.get(i);
+			if((ordinal >= firstSquare) && (ordinal <= lastSquare)) { reject(ordinal, log.offsets.get(i), log.errors.get(i)); }
+		}
+	}
+	
+	/**
+	 * Returns the number of rejected squares.
+	 * 
+	 * @return long The number of rejected squares.
+	 */
+	public synchronized long getNumRejected() { return numRejected; }
+	
+	/**
+	 * Returns the number of rejected squares for each type of error.
+	 * 
+	 * @return Map The numbers of rejected squares by error type (sorted by error type).
+	 */
+	public synchronized Map<String, Long> getNumRejectedByError() { return new TreeMap<String, Long>(numRejectedByError); }
+	
+	/**
+	 * Returns the name of the reject file.
+	 * 
+	 * @return String The reject filename (null for an in-memory log).
+	 */
+	public String getFileName() { return fileName; }
+	
+	/**
+	 * Closes the reject file.
+	 */
+	public synchronized void close()
+	{
+		if(writer == null) { return; }
+		
+		writer.close();
+		if(writer.checkError())
+		{
+			System.err.println("[I/O Error] While writing the reject file \"" + fileName + "\"");
+			System.exit(1);
+		}
+		writer = null;
+	}
+}
@@ -0,0 +1,228 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <h1>LatinSquareRowPermutationIterator</h1>
+ * 
+ * <p>This class represents a pull-based, row-by-row version of the selection-based algorithm.
+ * Each row of the square is a permutation of the symbols that is compatible with the symbols
+ * that are still free in each column; the permutations of a row are enumerated in lexicographic
+ * order by an allocation-free constrained-permutation enumerator that keeps the free symbols of
+ * each column and of the current row in bitmasks. Since the rows are enumerated in lexicographic
+ * order, the Latin squares are produced in exactly the same order as the selection-based algorithm.
+ * (Note: the bitmasks limit the order to at most 64.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareRowPermutationIterator implements Iterator<Square>
+{
+	public static final int MAX_ORDER = 64;
+	private int order;
+	private long[] colFree;
+	private long[] rowUsed;
+	private int[][] cells;
+	private boolean[] rowActive;
+	private int rowIndex;
+	private Square square;
+	private boolean started;
+	private boolean pending;
+	private boolean exhausted;
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares.
+	 * 
+	 * @param order The order of the Latin squares to generate (at most 64).
+	 */
+	public LatinSquareRowPermutationIterator(int order)
+	{
+		this.order = order;
+		colFree = new long[order];
+		rowUsed = new long[order];
+		cells = new int[order][order];
+		rowActive = new boolean[order];
+		square = new Square(order);
+		
+		long allSymbols = (order == MAX_ORDER) ? -1L : ((1L << order) - 1);
+		for(int i = 0; i < order; i++) { colFree[i] = allSymbols; }
+		
+		rowIndex = 0;
+		started = pending = exhausted = false;
+	}
+	
+	/**
+	 * Returns the square that is updated in place by the search. After advance() returns true,
+	 * this contains the most recently generated Latin square; it must not be modified.
+	 * 
+	 * @return Square The working square.
+	 */
+	public Square getCurrentSquare() { return square; }
+	
+	/**
+	 * Advances the search to the next Latin square, which is then available through
+	 * getCurrentSquare() without being copied.
+	 * 
+	 * @return boolean True if another Latin square was found, false if the search is complete.
+	 */
+	public boolean advance()
+	{
+		if(exhausted) { return false; }
+		
+		// resume from the last row of the previously generated square
+		if(started) { rowIndex = order - 1; }
+		started = true;
+		
+		while(rowIndex >= 0)
+		{
+			// release the current permutation of the row from the column masks
+			if(rowActive[rowIndex])
+			{
+				for(int j = 0; j < order; j++) { colFree[j] |= (1L << cells[rowIndex][j]); }
+			}
+			
+			// no compatible permutation remains, so backtrack to the previous row
+			if(!nextRowPermutation(rowIndex))
+			{
+				rowActive[rowIndex] = false;
+				rowIndex--;
+				continue;
+			}
+			
+			// inscribe the row and flag its symbols as occupied in each column
+			for(int j = 0; j < order; j++)
+			{
+				colFree[j] &= ~(1L << cells[rowIndex][j]);
+				square.setCellSymbol(rowIndex, j, cells[rowIndex][j]);
+			}
+			rowActive[rowIndex] = true;
+			
+			// if we're at the last row of the square, then the square is complete
+			if(rowIndex == (order - 1)) { return true; }
+			
+			rowIndex++;
+		}
+		
+		exhausted = true;
+		return false;
+	}
+	
+	/**
+	 * Advances a row to its next permutation (in lexicographic order) whose symbols are free
+	 * in the corresponding columns. If the row is not active, then its first such permutation
+	 * is found. Only the row's own state is modified.
+	 * 
+	 * @param r The row index.
+	 * @return boolean True if another permutation was found.
+	 */
+	private boolean nextRowPermutation(int r)
+	{
+		int[] symbols = cells[r];
+		long used;
+		int j;
+		
+		// resume at the last column of the active permutation, or start at the first column
+		if(rowActive[r])
+		{
+			j = order - 1;
+			used = rowUsed[r];
+		}
+		else
+		{
+			j = 0;
+			used = 0;
+			symbols[0] = -1;
+		}
+		
+		while(j >= 0)
+		{
+			int previous = symbols[j];
+			long candidates = colFree[j] & ~used;
+			
+			// release the previous symbol and only consider greater symbols
+			if(previous >= 0)
+			{
+				used &= ~(1L << previous);
+				candidates &= (previous == (MAX_ORDER - 1)) ? 0 : (-1L << (previous + 1));
+			}
+			
+			// no symbol fits, so backtrack to the previous column
+			if(candidates == 0)
+			{
+				symbols[j] = -1;
+				j--;
+				continue;
+			}
+			
+			// choose the least free symbol
+			int sym = Long.numberOfTrailingZeros(candidates);
+			symbols[j] = sym;
+			used |= (1L << sym);
+			
+			if(j == (order - 1))
+			{
+				rowUsed[r] = used;
+				return true;
+			}
+			
+			symbols[++j] = -1;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns true if one or more Latin squares remain.
+	 * 
+	 * @return boolean The Latin squares remaining flag.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(!pending) { pending = advance(); }
+		return pending;
+	}
+	
+	/**
+	 * Returns a copy of the next Latin square, which may be retained by the caller.
+	 * 
+	 * @return Square The next Latin square.
+	 */
+	@Override
+	public Square next()
+	{
+		if(!hasNext()) { throw new NoSuchElementException(); }
+		pending = false;
+		return new Square(square);
+	}
+}
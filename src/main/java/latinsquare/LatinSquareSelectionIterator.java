@@ -0,0 +1,481 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <h1>LatinSquareSelectionIterator</h1>
+ * 
+ * <p>This class represents a pull-based version of the selection-based algorithm that
+ * is used by the Latin Square Generation Tool. Instead of recursing over the cells of the
+ * square, it keeps an explicit stack holding the symbol index that is inscribed at each depth
+ * (where the depth is the row-major index of a cell), so the search can be suspended after
+ * each Latin square and resumed on demand. The squares are produced in exactly the same order
+ * as the recursive algorithm (with or without preloading).
+ * The search may also be restricted to a prefix of cells whose symbols are fixed;
+ * this is used to split the search tree into disjoint sub-trees. In reduced mode, the first
+ * column is fixed to 0, 1, ..., n-1, so only reduced Latin squares are generated when the
+ * prefix also fixes the first row. Finally, the search may enforce structural constraints
+ * (see LatinSquareConstraints), which prune a branch as soon as a symbol violates them; the
+ * free symbols of the main diagonal and the anti-diagonal are flagged like those of each row and column.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareSelectionIterator implements Iterator<Square>
+{
+	private int order;
+	private int numCells;
+	private int prefixLength;
+	private boolean preLoadMode;
+	private boolean preLoadCurrent;
+	private boolean reducedMode;
+	private LatinSquareConstraints constraints;
+	private boolean constrained;
+	private boolean diagonalMode;
+	private boolean[][] row;
+	private boolean[][] col;
+	private boolean[] mainDiag;
+	private boolean[] antiDiag;
+	private int[] symbols;
+	private int depth;
+	private Square square;
+	private boolean started;
+	private boolean pending;
+	private boolean exhausted;
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 */
+	public LatinSquareSelectionIterator(int order, boolean preLoadMode)
+	{
+		this(order, preLoadMode, new int[0]);
+	}
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares whose first cells
+	 * (in row-major order) contain the symbols of the given prefix.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param prefix The symbols of the first prefix.length cells in row-major order.
+	 */
+	public LatinSquareSelectionIterator(int order, boolean preLoadMode, int[] prefix)
+	{
+		this(order, preLoadMode, prefix, false);
+	}
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares whose first cells
+	 * (in row-major order) contain the symbols of the given prefix, where the first column
+	 * may be fixed to 0, 1, ..., n-1.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param prefix The symbols of the first prefix.length cells in row-major order.
+	 * @param reducedMode The flag that fixes the first column.
+	 */
+	public LatinSquareSelectionIterator(int order, boolean preLoadMode, int[] prefix, boolean reducedMode)
+	{
+		this(order, preLoadMode, prefix, reducedMode, LatinSquareConstraints.NONE);
+	}
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares that satisfy the given constraints
+	 * and whose first cells (in row-major order) contain the symbols of the given prefix.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param prefix The symbols of the first prefix.length cells in row-major order.
+	 * @param constraints The structural constraints of the Latin squares.
+	 */
+	public LatinSquareSelectionIterator(int order, boolean preLoadMode, int[] prefix, LatinSquareConstraints constraints)
+	{
+		this(order, preLoadMode, prefix, false, constraints);
+	}
+	
+	/**
+	 * Class constructor for iterating over all order-n Latin squares that satisfy the given constraints
+	 * and whose first cells contain the symbols of the given prefix, where the first column may be fixed.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param prefix The symbols of the first prefix.length cells in row-major order.
+	 * @param reducedMode The flag that fixes the first column.
+	 * @param constraints The structural constraints of the Latin squares.
+	 */
+	private LatinSquareSelectionIterator(int order, boolean preLoadMode, int[] prefix, boolean reducedMode,
+			LatinSquareConstraints constraints)
+	{
+		this.order = order;
+		this.reducedMode = reducedMode;
+		this.constraints = constraints;
+		constrained = !constraints.isEmpty();
+		diagonalMode = constraints.isDiagonal();
+		this.numCells = order * order;
+		this.prefixLength = prefix.length;
+		this.preLoadMode = this.preLoadCurrent = preLoadMode;
+		
+		row = new boolean[order][order];
+		col = new boolean[order][order];
+		mainDiag = new boolean[order];
+		antiDiag = new boolean[order];
+		symbols = new int[numCells];
+		square = new Square(order);
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++) { row[i][j] = col[i][j] = true; }
+			mainDiag[i] = antiDiag[i] = true;
+		}
+		for(int i = 0; i < numCells; i++) { symbols[i] = -1; }
+		
+		// inscribe the prefix symbols and flag them as occupied
+		exhausted = false;
+		for(int i = 0; i < prefixLength; i++)
+		{
+			if(!placeSymbol(i, prefix[i])) { exhausted = true; }
+		}
+		
+		depth = prefixLength;
+		started = pending = false;
+	}
+	
+	/**
+	 * Returns the order of the Latin squares being generated.
+	 * 
+	 * @return int The Latin square order.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Returns the number of cells whose symbols are fixed by the prefix.
+	 * 
+	 * @return int The prefix length.
+	 */
+	public int getPrefixLength() { return prefixLength; }
+	
+	/**
+	 * Returns true if the search has been started (meaning that at least one call to
+	 * advance() has been made).
+	 * 
+	 * @return boolean The search started flag.
+	 */
+	public boolean isStarted() { return started; }
+	
+	/**
+	 * Returns the square that is updated in place by the search. After advance() returns true,
+	 * this contains the most recently generated Latin square; it must not be modified.
+	 * 
+	 * @return Square The working square.
+	 */
+	public Square getCurrentSquare() { return square; }
+	
+	/**
+	 * Advances the search to the next Latin square, which is then available through
+	 * getCurrentSquare() without being copied.
+	 * 
+	 * @return boolean True if another Latin square was found, false if the search is complete.
+	 */
+	public boolean advance()
+	{
+		if(exhausted) { return false; }
+		
+		// a prefix that fills every cell is the only Latin square
+		if(prefixLength == numCells)
+		{
+			exhausted = started;
+			started = true;
+			return !exhausted;
+		}
+		
+		// resume from the last cell of the previously generated square
+		if(started) { depth = numCells - 1; }
+		started = true;
+		
+		while(depth >= prefixLength)
+		{
+			int rowIndex = depth / order;
+			int colIndex = depth % order;
+			int previous = symbols[depth];
+			int i;
+			
+			// release the previously inscribed symbol and choose where to continue
+			if(previous >= 0)
+			{
+				row[rowIndex][previous] = col[colIndex][previous] = true;
+				if(diagonalMode) { flagDiagonals(rowIndex, colIndex, previous, true); }
+				i = previous + 1;
+			}
+			
+			// if preloading mode is active, then compute the preloaded index
+			else if(preLoadMode && preLoadCurrent) { i = (rowIndex + colIndex) % order; }
+			else { i = 0; }
+			
+			// in reduced mode, the first column cell of each row has exactly one choice
+			if(reducedMode && (colIndex == 0) && (rowIndex > 0)) { i = (previous < 0) ? rowIndex : order; }
+			
+			// a cell whose symbol is forced by the constraints has exactly one choice
+			if(constrained)
+			{
+				int forced = constraints.getForcedSymbol(order, symbols, rowIndex, colIndex);
+				if(forced != -1) { i = ((forced >= i) && isFree(rowIndex, colIndex, forced)) ? forced : order; }
+			}
+			
+			// find the next symbol that is free in the current row and column (and diagonals)
+			while((i < order) && !(row[rowIndex][i] && col[colIndex][i] && (!diagonalMode || isFreeOnDiagonals(rowIndex, colIndex, i)))) { i++; }
+			
+			// no symbol fits, so backtrack to the previous cell
+			if(i == order)
+			{
+				symbols[depth] = -1;
+				depth--;
+				
+				// the search has moved past the preloaded Latin square
+				preLoadCurrent = false;
+				continue;
+			}
+			if(i != ((rowIndex + colIndex) % order)) { preLoadCurrent = false; }
+			
+			// set cell symbol and flag symbol as occupied
+			row[rowIndex][i] = col[colIndex][i] = false;
+			if(diagonalMode) { flagDiagonals(rowIndex, colIndex, i, false); }
+			symbols[depth] = i;
+			square.setCellSymbol(rowIndex, colIndex, i);
+			
+			// if we're at the last cell of the square, then the square is complete
+			// (the occupied flags guarantee that the Latin Square Property holds)
+			if(depth == (numCells - 1))
+			{
+				// stop recomputing additional preloaded indices
+				preLoadCurrent = false;
+				return true;
+			}
+			
+			depth++;
+		}
+		
+		exhausted = true;
+		return false;
+	}
+	
+	/**
+	 * Returns a copy of the symbol index that is inscribed at each depth of the search (where
+	 * the depth is the row-major index of a cell). After advance() returns true, this identifies
+	 * the most recently generated Latin square, so it can be saved as a checkpoint of the search.
+	 * 
+	 * @return int [] The symbol stack of the search.
+	 */
+	public int [] getSymbols() { return symbols.clone(); }
+	
+	/**
+	 * Restores the search from a checkpoint so that the next call to advance() finds the Latin square
+	 * that follows the given one. This must be invoked before the search is started.
+	 * 
+	 * @param checkpointSymbols The symbol stack of a previously generated Latin square (see getSymbols()).
+	 * @return boolean True if the checkpoint is a Latin square that extends the prefix.
+	 */
+	public boolean resumeAfter(int [] checkpointSymbols)
+	{
+		if(started || exhausted || (checkpointSymbols.length != numCells)) { return false; }
+		
+		for(int i = 0; i < prefixLength; i++)
+		{
+			if(checkpointSymbols[i] != symbols[i]) { return false; }
+		}
+		for(int i = prefixLength; i < numCells; i++)
+		{
+			if(!placeSymbol(i, checkpointSymbols[i])) { return false; }
+		}
+		
+		// the preloaded indices only apply to the first Latin square
+		preLoadCurrent = false;
+		started = true;
+		return true;
+	}
+	
+	/**
+	 * Returns true if one or more Latin squares remain.
+	 * 
+	 * @return boolean The Latin squares remaining flag.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(!pending) { pending = advance(); }
+		return pending;
+	}
+	
+	/**
+	 * Returns a copy of the next Latin square, which may be retained by the caller.
+	 * 
+	 * @return Square The next Latin square.
+	 */
+	@Override
+	public Square next()
+	{
+		if(!hasNext()) { throw new NoSuchElementException(); }
+		pending = false;
+		return new Square(square);
+	}
+	
+	/**
+	 * Inscribes a fixed prefix symbol into a cell and flags the symbol as occupied.
+	 * 
+	 * @param cellIndex The row-major index of the cell.
+	 * @param sym The symbol to inscribe.
+	 * @return boolean True if the symbol was free in the cell's row and column.
+	 */
+	private boolean placeSymbol(int cellIndex, int sym)
+	{
+		int rowIndex = cellIndex / order;
+		int colIndex = cellIndex % order;
+		
+		if((sym < 0) || (sym >= order) || !isFree(rowIndex, colIndex, sym)) { return false; }
+		if(constrained)
+		{
+			int forced = constraints.getForcedSymbol(order, symbols, rowIndex, colIndex);
+			if((forced != -1) && (forced != sym)) { return false; }
+		}
+		
+		row[rowIndex][sym] = col[colIndex][sym] = false;
+		if(diagonalMode) { flagDiagonals(rowIndex, colIndex, sym, false); }
+		symbols[cellIndex] = sym;
+		square.setCellSymbol(rowIndex, colIndex, sym);
+		return true;
+	}
+	
+	/**
+	 * Returns true if a symbol is free in the row and column (and the diagonals) of a cell.
+	 * 
+	 * @param rowIndex The row of the cell.
+	 * @param colIndex The column of the cell.
+	 * @param sym The symbol.
+	 * @return boolean The free symbol flag.
+	 */
+	private boolean isFree(int rowIndex, int colIndex, int sym)
+	{
+		return row[rowIndex][sym] && col[colIndex][sym] && (!diagonalMode || isFreeOnDiagonals(rowIndex, colIndex, sym));
+	}
+	
+	/**
+	 * Returns true if a symbol is free on the diagonals that pass through a cell.
+	 * 
+	 * @param rowIndex The row of the cell.
+	 * @param colIndex The column of the cell.
+	 * @param sym The symbol.
+	 * @return boolean The free symbol flag.
+	 */
+	private boolean isFreeOnDiagonals(int rowIndex, int colIndex, int sym)
+	{
+		return ((rowIndex != colIndex) || mainDiag[sym]) && (((rowIndex + colIndex) != (order - 1)) || antiDiag[sym]);
+	}
+	
+	/**
+	 * Flags a symbol as free or occupied on the diagonals that pass through a cell.
+	 * 
+	 * @param rowIndex The row of the cell.
+	 * @param colIndex The column of the cell.
+	 * @param sym The symbol.
+	 * @param free The free flag.
+	 */
+	private void flagDiagonals(int rowIndex, int colIndex, int sym, boolean free)
+	{
+		if(rowIndex == colIndex) { mainDiag[sym] = free; }
+		if((rowIndex + colIndex) == (order - 1)) { antiDiag[sym] = free; }
+	}
+	
+	/**
+	 * Returns the prefixes that extend a given prefix by one cell and satisfy the given constraints,
+	 * listed in the order in which the selection-based algorithm visits them.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param prefix The prefix to extend.
+	 * @param constraints The structural constraints of the Latin squares.
+	 * @return ArrayList The list of extended prefixes (empty if the prefix cannot be extended).
+	 */
+	public static ArrayList<int[]> expandPrefix(int order, int[] prefix, LatinSquareConstraints constraints)
+	{
+		ArrayList<int[]> children = expandPrefix(order, prefix);
+		if(constraints.isEmpty()) { return children; }
+		
+		ArrayList<int[]> validChildren = new ArrayList<int[]>(children.size());
+		for(int[] child : children)
+		{
+			if(!new LatinSquareSelectionIterator(order, false, child, constraints).exhausted) { validChildren.add(child); }
+		}
+		return validChildren;
+	}
+	
+	/**
+	 * Returns the prefixes that extend a given prefix by one cell, listed in the order in which the
+	 * selection-based algorithm visits them. Each returned prefix is the root of a disjoint sub-tree.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param prefix The prefix to extend.
+	 * @return ArrayList The list of extended prefixes (empty if the prefix cannot be extended).
+	 */
+	public static ArrayList<int[]> expandPrefix(int order, int[] prefix)
+	{
+		ArrayList<int[]> children = new ArrayList<int[]>(order);
+		int cellIndex = prefix.length;
+		
+		if(cellIndex >= (order * order)) { return children; }
+		
+		int rowIndex = cellIndex / order;
+		int colIndex = cellIndex % order;
+		boolean[] used = new boolean[order];
+		
+		// flag the symbols that already occur in the cell's row and column
+		for(int i = 0; i < cellIndex; i++)
+		{
+			if(((i / order) == rowIndex) || ((i % order) == colIndex)) { used[prefix[i]] = true; }
+		}
+		
+		for(int i = 0; i < order; i++)
+		{
+			if(!used[i])
+			{
+				int[] child = new int[cellIndex + 1];
+				System.arraycopy(prefix, 0, child, 0, cellIndex);
+				child[cellIndex] = i;
+				children.add(child);
+			}
+		}
+		
+		return children;
+	}
+}
@@ -0,0 +1,322 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <h1>LatinSquareSelectionShard</h1>
+ * 
+ * <p>This class represents shard i of k of a selection-based data set generation, so that the data set
+ * can be split across independent processes (or machines) with no coordination beyond the shard index.
+ * When the set of all Latin squares is generated, the search tree is expanded (breadth-first, one cell
+ * at a time) into disjoint sub-trees until there are at least PREFIXES_PER_SHARD sub-trees per shard, and
+ * the sub-trees are dealt to the shards in round-robin order. When a data set of size s is generated, each
+ * shard follows the single-run search order but only keeps the Latin squares whose position (counting from
+ * zero) is i modulo k, since the sub-tree that contains the s-th Latin square is unknown in advance.
+ * In both cases the shards produce exactly the data set of a single run. A single shard (k = 1) produces
+ * the data set in the same order as a single run. Like LatinSquareSelectionIterator, the search can be
+ * advanced in place, and it can be resumed from a checkpoint. The data set may be restricted to the Latin
+ * squares that satisfy some constraints (see LatinSquareConstraints), in which case only the sub-trees
+ * that can contain such a Latin square are dealt to the shards.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareSelectionShard implements Iterator<Square>
+{
+	public static final int PREFIXES_PER_SHARD = 16;
+	private int order;
+	private boolean preLoadMode;
+	private LatinSquareConstraints constraints;
+	private long dataSetSize;
+	private int shardIndex;
+	private int numShards;
+	private boolean prefixMode;
+	private ArrayList<int []> prefixes;
+	private int prefixIndex;
+	private LatinSquareSelectionIterator search;
+	private long position;
+	private boolean limitReached;
+	private boolean pending;
+	
+	/**
+	 * Class constructor for shard i of k of a data set.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param dataSetSize The size of the data set of a single run (zero for all Latin squares).
+	 * @param shardIndex The shard index i (from 0 to k - 1).
+	 * @param numShards The number of shards k.
+	 */
+	public LatinSquareSelectionShard(int order, boolean preLoadMode, long dataSetSize, int shardIndex, int numShards)
+	{
+		this(order, preLoadMode, LatinSquareConstraints.NONE, dataSetSize, shardIndex, numShards);
+	}
+	
+	/**
+	 * Class constructor for shard i of k of a data set of the Latin squares that satisfy the given constraints.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param preLoadMode The preloading flag.
+	 * @param constraints The structural constraints of the Latin squares.
+	 * @param dataSetSize The size of the data set of a single run (zero for all Latin squares).
+	 * @param shardIndex The shard index i (from 0 to k - 1).
+	 * @param numShards The number of shards k.
+	 */
+	public LatinSquareSelectionShard(int order, boolean preLoadMode, LatinSquareConstraints constraints, long dataSetSize,
+			int shardIndex, int numShards)
+	{
+		this.order = order;
+		this.preLoadMode = preLoadMode;
+		this.constraints = constraints;
+		this.dataSetSize = dataSetSize;
+		this.shardIndex = shardIndex;
+		this.numShards = numShards;
+		prefixMode = (dataSetSize == 0) && (numShards > 1);
+		limitReached = pending = false;
+		
+		if(prefixMode)
+		{
+			prefixes = getShardPrefixes(order, preLoadMode, constraints, shardIndex, numShards);
+			prefixIndex = -1;
+			search = null;
+		}
+		else
+		{
+			search = new LatinSquareSelectionIterator(order, preLoadMode, new int[0], constraints);
+			position = shardIndex - numShards;
+		}
+	}
+	
+	/**
+	 * Returns the shard index i.
+	 * 
+	 * @return int The shard index.
+	 */
+	public int getShardIndex() { return shardIndex; }
+	
+	/**
+	 * Returns the number of shards k.
+	 * 
+	 * @return int The number of shards.
+	 */
+	public int getNumShards() { return numShards; }
+	
+	/**
+	 * Returns true if the shard stopped because the data set size was reached (rather than because
+	 * every Latin square of its part of the search tree was generated).
+	 * 
+	 * @return boolean The data set size reached flag.
+	 */
+	public boolean isLimitReached() { return limitReached; }
+	
+	/**
+	 * Returns the square that is updated in place by the search. After advance() returns true,
+	 * this contains the most recently generated Latin square; it must not be modified.
+	 * 
+	 * @return Square The working square.
+	 */
+	public Square getCurrentSquare() { return search.getCurrentSquare(); }
+	
+	/**
+	 * Returns a copy of the symbol stack of the most recently generated Latin square
+	 * (see LatinSquareSelectionIterator.getSymbols()).
+	 * 
+	 * @return int [] The symbol stack of the search.
+	 */
+	public int [] getSymbols() { return search.getSymbols(); }
+	
+	/**
+	 * Advances the shard to its next Latin square, which is then available through
+	 * getCurrentSquare() without being copied.
+	 * 
+	 * @return boolean True if another Latin square was found, false if the shard is complete.
+	 */
+	public boolean advance()
+	{
+		if(prefixMode)
+		{
+			// move on to the next sub-tree when the current one is exhausted
+			while((search == null) || !search.advance())
+			{
+				if(++prefixIndex >= prefixes.size()) { return false; }
+				search = newPrefixSearch(prefixes.get(prefixIndex));
+			}
+			return true;
+		}
+		
+		// stop before searching past the data set (so the search stays at the shard's last Latin square)
+		long nextPosition = position + numShards;
+		if((dataSetSize != 0) && (nextPosition >= dataSetSize))
+		{
+			limitReached = true;
+			return false;
+		}
+		
+		// skip the Latin squares of the other shards
+		for(long i = Math.max(position + 1, 0); i <= nextPosition; i++)
+		{
+			if(!search.advance()) { return false; }
+		}
+		position = nextPosition;
+		return true;
+	}
+	
+	/**
+	 * Restores the shard from a checkpoint so that the next call to advance() finds the Latin square
+	 * that follows the given one. This must be invoked before the shard is started.
+	 * 
+	 * @param checkpointSymbols The symbol stack of the shard's most recently generated Latin square.
+	 * @param numSquares The number of Latin squares that the shard had generated.
+	 * @return boolean True if the checkpoint belongs to this shard.
+	 */
+	public boolean resumeAfter(int [] checkpointSymbols, long numSquares)
+	{
+		if(numSquares == 0) { return true; }
+		
+		if(prefixMode)
+		{
+			// find the sub-tree that contains the checkpoint
+			for(int j = 0; j < prefixes.size(); j++)
+			{
+				int [] prefix = prefixes.get(j);
+				boolean matches = (checkpointSymbols.length == (order * order));
+				for(int i = 0; matches && (i < prefix.length); i++) { matches = (prefix[i] == checkpointSymbols[i]); }
+				
+				if(matches)
+				{
+					prefixIndex = j;
+					search = newPrefixSearch(prefix);
+					return search.resumeAfter(checkpointSymbols);
+				}
+			}
+			return false;
+		}
+		
+		position = shardIndex + (numShards * (numSquares - 1));
+		return search.resumeAfter(checkpointSymbols);
+	}
+	
+	/**
+	 * Returns true if one or more Latin squares remain.
+	 * 
+	 * @return boolean The Latin squares remaining flag.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(!pending) { pending = advance(); }
+		return pending;
+	}
+	
+	/**
+	 * Returns a copy of the next Latin square, which may be retained by the caller.
+	 * 
+	 * @return Square The next Latin square.
+	 */
+	@Override
+	public Square next()
+	{
+		if(!hasNext()) { throw new NoSuchElementException(); }
+		pending = false;
+		return new Square(getCurrentSquare());
+	}
+	
+	/**
+	 * Returns a new search over the sub-tree of a prefix. With preloading, the single-run search starts
+	 * at the cyclic Latin square, so only the sub-tree that contains it starts at the preloaded indices.
+	 * 
+	 * @param prefix The prefix of the sub-tree.
+	 * @return LatinSquareSelectionIterator The search over the sub-tree.
+	 */
+	private LatinSquareSelectionIterator newPrefixSearch(int [] prefix)
+	{
+		return new LatinSquareSelectionIterator(order, preLoadMode && (compareToCyclic(order, prefix) == 0), prefix, constraints);
+	}
+	
+	/**
+	 * Compares a prefix with the same cells of the cyclic Latin square (whose cell (r, c) has symbol
+	 * (r + c) mod n) in search order.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param prefix The prefix to compare.
+	 * @return int A negative value, zero, or a positive value if the prefix comes before, matches, or comes after the cyclic Latin square.
+	 */
+	private static int compareToCyclic(int order, int [] prefix)
+	{
+		for(int i = 0; i < prefix.length; i++)
+		{
+			int cyclicSymbol = ((i / order) + (i % order)) % order;
+			if(prefix[i] != cyclicSymbol) { return prefix[i] - cyclicSymbol; }
+		}
+		return 0;
+	}
+	
+	/**
+	 * Returns the disjoint sub-trees of the set of all order-n Latin squares that belong to shard i of k.
+	 * The search tree is expanded one cell at a time until there are at least PREFIXES_PER_SHARD prefixes
+	 * per shard (or every prefix is a Latin square), and prefix j belongs to shard j modulo k. With
+	 * preloading, the sub-trees that come before the cyclic Latin square are skipped (like a single run).
+	 * The sub-trees that cannot contain a Latin square that satisfies the constraints are pruned.
+	 * 
+	 * @param order The order of the Latin squares.
+	 * @param preLoadMode The preloading flag.
+	 * @param constraints The structural constraints of the Latin squares.
+	 * @param shardIndex The shard index i.
+	 * @param numShards The number of shards k.
+	 * @return ArrayList The prefixes of the shard's sub-trees in search order.
+	 */
+	public static ArrayList<int []> getShardPrefixes(int order, boolean preLoadMode, LatinSquareConstraints constraints,
+			int shardIndex, int numShards)
+	{
+		ArrayList<int []> level = new ArrayList<int []>();
+		level.add(new int[0]);
+		
+		for(int depth = 0; (depth < (order * order)) && (level.size() < ((long)PREFIXES_PER_SHARD * numShards)); depth++)
+		{
+			ArrayList<int []> nextLevel = new ArrayList<int []>();
+			for(int [] prefix : level)
+			{
+				for(int [] child : LatinSquareSelectionIterator.expandPrefix(order, prefix, constraints))
+				{
+					if(!preLoadMode || (compareToCyclic(order, child) >= 0)) { nextLevel.add(child); }
+				}
+			}
+			level = nextLevel;
+		}
+		
+		ArrayList<int []> shardPrefixes = new ArrayList<int []>();
+		for(int j = shardIndex; j < level.size(); j += numShards) { shardPrefixes.add(level.get(j)); }
+		return shardPrefixes;
+	}
+}
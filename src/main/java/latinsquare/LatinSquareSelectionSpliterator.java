@@ -0,0 +1,168 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <h1>LatinSquareSelectionSpliterator</h1>
+ * 
+ * <p>This class represents a splittable source of Latin squares for the selection-based
+ * algorithm. It covers an ordered list of search-tree prefixes (see LatinSquareSelectionIterator),
+ * and it splits by handing the first half of the prefixes to a new spliterator. When only one
+ * unstarted prefix remains, the prefix is extended by one cell so that its sub-tree can be split
+ * further. The encounter order is the order of the sequential selection-based algorithm, so
+ * StreamSupport.stream(spliterator, true) generates the same Latin squares in parallel.
+ * (Note: the preloading mode cannot be split since it depends on the sequential search order.)
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class LatinSquareSelectionSpliterator implements Spliterator<Square>
+{
+	private int order;
+	private int maxPrefixLength;
+	private ArrayList<int[]> prefixes;
+	private int nextPrefix;
+	private LatinSquareSelectionIterator current;
+	
+	/**
+	 * Class constructor for a spliterator over the set of all order-n Latin squares.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 */
+	public LatinSquareSelectionSpliterator(int order)
+	{
+		this(order, new ArrayList<int[]>(), null);
+		prefixes.add(new int[0]);
+	}
+	
+	/**
+	 * Class constructor for a spliterator over the sub-trees of the given prefixes, which
+	 * must be listed in search order. An iterator that has already been started may also
+	 * be given; its remaining Latin squares precede those of the prefixes.
+	 * 
+	 * @param order The order of the Latin squares to generate.
+	 * @param prefixes The list of prefixes to cover.
+	 * @param current The started iterator or null.
+	 */
+	LatinSquareSelectionSpliterator(int order, ArrayList<int[]> prefixes, LatinSquareSelectionIterator current)
+	{
+		this.order = order;
+		this.prefixes = prefixes;
+		this.current = current;
+		this.nextPrefix = 0;
+		
+		// don't split deeper than the first row; this already yields n! sub-trees
+		this.maxPrefixLength = Math.min((order * order) - 1, order);
+	}
+	
+	/**
+	 * Performs the action on the next Latin square, if any.
+	 * 
+	 * @param action The action to perform.
+	 * @return boolean False if no Latin squares remain.
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super Square> action)
+	{
+		while((current == null) || !current.hasNext())
+		{
+			if(nextPrefix >= prefixes.size())
+			{
+				current = null;
+				return false;
+			}
+			current = new LatinSquareSelectionIterator(order, false, prefixes.get(nextPrefix++));
+		}
+		
+		action.accept(current.next());
+		return true;
+	}
+	
+	/**
+	 * Splits off the first half of the remaining search tree as a new spliterator.
+	 * 
+	 * @return Spliterator The spliterator covering the first half, or null if this cannot be split.
+	 */
+	@Override
+	public Spliterator<Square> trySplit()
+	{
+		// if only one unstarted prefix remains, then extend it until it has several children
+		while((current == null) && ((prefixes.size() - nextPrefix) == 1))
+		{
+			int[] prefix = prefixes.get(nextPrefix);
+			if(prefix.length >= maxPrefixLength) { return null; }
+			
+			ArrayList<int[]> children = LatinSquareSelectionIterator.expandPrefix(order, prefix);
+			prefixes = children;
+			nextPrefix = 0;
+		}
+		
+		int remaining = prefixes.size() - nextPrefix;
+		if((remaining < 2) && ((current == null) || (remaining < 1))) { return null; }
+		
+		// the first half (including a started iterator) precedes the second half in search order
+		int mid = nextPrefix + (remaining / 2);
+		ArrayList<int[]> firstHalf = new ArrayList<int[]>(prefixes.subList(nextPrefix, mid));
+		ArrayList<int[]> secondHalf = new ArrayList<int[]>(prefixes.subList(mid, prefixes.size()));
+		
+		Spliterator<Square> split = new LatinSquareSelectionSpliterator(order, firstHalf, current);
+		prefixes = secondHalf;
+		nextPrefix = 0;
+		current = null;
+		
+		return split;
+	}
+	
+	/**
+	 * Returns the estimated number of remaining Latin squares, which is unknown.
+	 * 
+	 * @return long Long.MAX_VALUE.
+	 */
+	@Override
+	public long estimateSize()
+	{
+		return Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Returns the characteristics of this spliterator.
+	 * 
+	 * @return int The characteristics.
+	 */
+	@Override
+	public int characteristics()
+	{
+		return ORDERED | NONNULL;
+	}
+}
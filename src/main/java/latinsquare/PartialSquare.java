@@ -0,0 +1,201 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>PartialSquare</h1>
+ * 
+ * <p>This class represents an order-n partial square, which is an n-by-n array where
+ * each cell is either empty or contains one of n symbols. It is the input of the
+ * Latin Square Completion Tool (see LatinSquareCompletionSolver); the filled cells
+ * are the givens that every completion must agree with.
+ * In the ordered-triple format, an empty cell is either omitted or written as (row,column,.).
+ * </p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class PartialSquare
+{
+	public static final int EMPTY = -1;
+	private int order;
+	private int[][] cells;
+	private int numFilledCells;
+	
+	/**
+	 * Class constructor for an order-n partial square where every cell is empty.
+	 * 
+	 * @param order The order of the partial square.
+	 */
+	public PartialSquare(int order)
+	{
+		this.order = order;
+		cells = new int[order][order];
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++) { cells[i][j] = EMPTY; }
+		}
+		numFilledCells = 0;
+	}
+	
+	/**
+	 * Class constructor for a partial square that contains the first cells (in row-major order)
+	 * of a source square, where the remaining cells are empty.
+	 * 
+	 * @param sourceSquare The square from which to copy the symbols.
+	 * @param numCells The number of cells to copy.
+	 */
+	public PartialSquare(Square sourceSquare, int numCells)
+	{
+		this(sourceSquare.getOrder());
+		for(int k = 0; k < numCells; k++)
+		{
+			setCellSymbol(k / order, k % order, sourceSquare.getCellSymbol(k / order, k % order));
+		}
+	}
+	
+	/**
+	 * Returns the order of the partial square.
+	 * 
+	 * @return int The partial square's order.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Returns the number of cells that are not empty.
+	 * 
+	 * @return int The number of filled cells.
+	 */
+	public int getNumFilledCells() { return numFilledCells; }
+	
+	/**
+	 * Inscribes a symbol into a cell; the EMPTY symbol clears the cell.
+	 * 
+	 * @param row The row index of the cell.
+	 * @param col The column index of the cell.
+	 * @param sym The symbol to inscribe in the cell.
+	 */
+	public void setCellSymbol(int row, int col, int sym)
+	{
+		if(cells[row][col] == EMPTY) { if(sym != EMPTY) { ++numFilledCells; } }
+		else if(sym == EMPTY) { --numFilledCells; }
+		cells[row][col] = sym;
+	}
+	
+	/**
+	 * Returns the symbol inscribed in a cell, or EMPTY if the cell is empty.
+	 * 
+	 * @param row The row index of the cell.
+	 * @param col The column index of the cell.
+	 * @return int The cell's symbol.
+	 */
+	public int getCellSymbol(int row, int col) { return cells[row][col]; }
+	
+	/**
+	 * Returns true if a cell is empty.
+	 * 
+	 * @param row The row index of the cell.
+	 * @param col The column index of the cell.
+	 * @return boolean The empty cell flag.
+	 */
+	public boolean isCellEmpty(int row, int col) { return (cells[row][col] == EMPTY); }
+	
+	/**
+	 * Returns true if a completed square agrees with every filled cell of this partial square.
+	 * 
+	 * @param square The completed square.
+	 * @return boolean True if the square is a completion of the givens.
+	 */
+	public boolean isCompletedBy(Square square)
+	{
+		if(square.getOrder() != order) { return false; }
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				if((cells[i][j] != EMPTY) && (cells[i][j] != square.getCellSymbol(i, j))) { return false; }
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the ordered-triple representation of the partial square, where each empty cell
+	 * is written as (row,column,.).
+	 * 
+	 * @return String The ordered-triple partial square representation.
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder buffer = new StringBuilder("");
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				buffer.append("(" + i + "," + j + ",");
+				if(cells[i][j] == EMPTY) { buffer.append(".)"); }
+				else { buffer.append(cells[i][j] + ")"); }
+			}
+			buffer.append("\n");
+		}
+		
+		return buffer.toString();
+	}
+	
+	/**
+	 * Returns the human-readable representation of the partial square, where each empty cell
+	 * is written as a dot.
+	 * 
+	 * @return String The human-readable partial square representation.
+	 */
+	public String toStringHumanReadable()
+	{
+		StringBuilder buffer = new StringBuilder("");
+		
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				if(cells[i][j] == EMPTY) { buffer.append(".   "); }
+				else
+				{
+					buffer.append(cells[i][j] + "  ");
+					if(cells[i][j] < 10) { buffer.append(" "); }
+				}
+			}
+			buffer.append("\n");
+		}
+		
+		return buffer.toString();
+	}
+}
@@ -36,7 +36,13 @@ import java.util.ArrayList;
  * be a Latin square depending on whether the Latin Square Property holds). 
  * It stores a 2D array of symbols where each represents a cell of the square. For an 
  * order-n square we assume that the available values are from 0 to 
- * (n - 1) and this order is also stored.</p>
+ * (n - 1) and this order is also stored.
+ * The square also maintains a 128-bit Zobrist hash of its cells: each (row, col, sym) triple has a
+ * pseudo-random 128-bit key (zero for the symbol 0, so a new square has the hash 0), the hash is the
+ * XOR of the keys of all cells, and setting a cell XORs out the key of the old symbol and XORs in the
+ * key of the new one. Since the selection-based search and the file parser fill their squares one
+ * cell at a time, every square is hashed in constant time per cell as it is built, and hashCode()
+ * and equals(Object) let squares be deduplicated with hash sets.</p>
  * 
  * @author Will Unger
  * @author Nathan O. Schmidt
@@ -53,6 +59,10 @@ public class Square
 	private boolean[] transversalSym;
 	private int[] transversalForHeat;
 	private long[][] heatMap;
+	private long zobristHashLow;
+	private long zobristHashHigh;
+	private static final long ZOBRIST_LOW = 0x2545F4914F6CDD1DL;
+	private static final long ZOBRIST_HIGH = 0x6A09E667F3BCC909L;
 	
 	/**
 	 * Class constructor for an order-n square where the default value
@@ -65,13 +75,22 @@ public class Square
 	 */
 	public Square(int order)
 	{
-		this.order = order;
-		cells = new int[this.order][this.order];
-		heatMap = new long[this.order][this.order];
-		for(int i = 0; i < this.order; i++)
-		{
-			for(int j = 0; j < this.order; j++) { heatMap[i][j] = cells[i][j] = 0; }
-		}
+		this(new int[order][order]);
+	}
+	
+	/**
+	 * Class constructor for an order-n square that takes ownership of the given n rows of n symbols,
+	 * which are not copied (so a generator can fill them in bulk first). The transversal heat map
+	 * is only allocated once the transversals are counted.
+	 * 
+	 * @param cells The rows of symbols of the square.
+	 */
+	public Square(int[][] cells)
+	{
+		this.order = cells.length;
+		this.cells = cells;
+		heatMap = null;
+		rehash();
 		
 		transversalCount = 0;
 		heatValue = -1;
@@ -80,7 +99,21 @@ public class Square
 		transversalSym = new boolean[order];
 		transversalCol = new boolean[order];
 	}
-	
+
+	/**
+	 * Class constructor that copies the symbols of a source square into a new square
+	 * of the same order. (The transversal state of the source square is not copied.)
+	 *
+	 * @param sourceSquare The square from which to copy the symbols.
+	 */
+	public Square(Square sourceSquare)
+	{
+		this(sourceSquare.getOrder());
+		for(int i = 0; i < order; i++) { System.arraycopy(sourceSquare.cells[i], 0, cells[i], 0, order); }
+		zobristHashLow = sourceSquare.zobristHashLow;
+		zobristHashHigh = sourceSquare.zobristHashHigh;
+	}
+
 	/**
 	 * Returns the order of the square.
 	 * 
@@ -100,6 +133,11 @@ public class Square
 	 */
 	public void setCellSymbol(int row, int col, int sym)
 	{
+		int oldSym = cells[row][col];
+		if(oldSym == sym) { return; }
+		
+		zobristHashLow ^= zobristKey(row, col, oldSym, ZOBRIST_LOW) ^ zobristKey(row, col, sym, ZOBRIST_LOW);
+		zobristHashHigh ^= zobristKey(row, col, oldSym, ZOBRIST_HIGH) ^ zobristKey(row, col, sym, ZOBRIST_HIGH);
 		cells[row][col] = sym;
 	}
 	
@@ -110,7 +148,7 @@ public class Square
 	 */
 	public void setCellSymbol(SquareCoordinate3D sourceCell)
 	{
-		cells[sourceCell.getRow()][sourceCell.getColumn()] = sourceCell.getSymbol();
+		setCellSymbol(sourceCell.getRow(), sourceCell.getColumn(), sourceCell.getSymbol());
 	}
 	
 	/**
@@ -121,9 +159,61 @@ public class Square
 	 */
 	public void setRowSymbols(int destRowIndex, ArrayList<Integer> sourceRowSymbols)
 	{
-		for (int i = 0; i < order; i++) { cells[destRowIndex][i] = sourceRowSymbols.get(i); }
+		for (int i = 0; i < order; i++) { setCellSymbol(destRowIndex, i, sourceRowSymbols.get(i)); }
+	}
+	
+	/**
+	 * Returns the pseudo-random Zobrist key of a symbol inscribed in a cell, which is the SplitMix64
+	 * finalizer of the (row, col, sym) triple (and of the lane of the 128-bit key).
+	 * The key of the symbol 0 is 0, so the cells of a new square do not have to be hashed.
+	 * 
+	 * @param row The row of the cell.
+	 * @param col The column of the cell.
+	 * @param sym The symbol inscribed in the cell.
+	 * @param lane The lane (ZOBRIST_LOW or ZOBRIST_HIGH) of the 128-bit key.
+	 * @return long The 64-bit key of the lane.
+	 */
+	private static long zobristKey(int row, int col, int sym, long lane)
+	{
+		if(sym == 0) { return 0; }
+		
+		long z = lane + (row * 0x9E3779B97F4A7C15L) + (col * 0xC2B2AE3D27D4EB4FL) + (sym * 0x165667B19E3779F9L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Recomputes the Zobrist hash from all of the cells (after the cells are replaced at once).
+	 */
+	private void rehash()
+	{
+		zobristHashLow = zobristHashHigh = 0;
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				zobristHashLow ^= zobristKey(i, j, cells[i][j], ZOBRIST_LOW);
+				zobristHashHigh ^= zobristKey(i, j, cells[i][j], ZOBRIST_HIGH);
+			}
+		}
 	}
 	
+	/**
+	 * Returns the 64-bit Zobrist hash of the square's cells, which is maintained as the cells are set.
+	 * 
+	 * @return long The 64-bit Zobrist hash.
+	 */
+	public long getZobristHash() { return zobristHashLow; }
+	
+	/**
+	 * Returns the 128-bit Zobrist hash of the square's cells (for data sets that are large enough for
+	 * 64-bit collisions to matter), where the low 64 bits are the 64-bit Zobrist hash.
+	 * 
+	 * @return long[] The low and high 64 bits of the 128-bit Zobrist hash.
+	 */
+	public long [] getZobristHash128() { return new long[]{ zobristHashLow, zobristHashHigh }; }
+	
 	/**
 	 * Returns the symbol coordinate inscribed in the cell at location (row, col) of the square.
 	 * 
@@ -147,6 +237,20 @@ public class Square
 		return cells[sourceCell.getRow()][sourceCell.getColumn()];
 	}
 	
+	/**
+	 * Returns the number of transversals that pass through the cell at location (row, col) of the square.
+	 * (Assuming that all transversals have been counted.)
+	 * 
+	 * @param row The row coordinate for a cell's 2D location in the square.
+	 * @param col The column coordinate for a cell's 2D location in the square.
+	 * @return long The heat value of the cell at location (row, col) in the square.
+	 */
+	public long getCellHeat(int row, int col)
+	{
+		allocateHeatMap();
+		return heatMap[row][col];
+	}
+	
 	/**
 	 * Returns true if the squares are equal (meaning that they have the same order and each of
 	 * the corresponding cells have equal symbols).
@@ -157,6 +261,7 @@ public class Square
 	public boolean equals(Square square)
 	{
 		if((square == null) || (order != square.getOrder())) { return false; }
+		if((zobristHashLow != square.zobristHashLow) || (zobristHashHigh != square.zobristHashHigh)) { return false; }
 		
 		for(int i = 0; i < order; i++)
 		{
@@ -168,6 +273,30 @@ public class Square
 		return true;
 	}
 	
+	/**
+	 * Returns true if the object is a square that is equal to this square (see equals(Square)).
+	 * 
+	 * @param object The object to test for equality.
+	 * @return boolean Equality flag.
+	 */
+	@Override
+	public boolean equals(Object object)
+	{
+		return (object instanceof Square) && equals((Square)object);
+	}
+	
+	/**
+	 * Returns the hash code of the square, which folds its 64-bit Zobrist hash into 32 bits, so equal
+	 * squares have equal hash codes. (A square must not be modified while it is in a hash set.)
+	 * 
+	 * @return int The hash code.
+	 */
+	@Override
+	public int hashCode()
+	{
+		return (int)(zobristHashLow ^ (zobristHashLow >>> 32));
+	}
+	
 	/**
 	 * Computes and returns the number of transversals that are present in the square.
 	 * 
@@ -178,6 +307,7 @@ public class Square
 		// reset transversal and heat map values
 		transversalCount = 0;
 		transversals.clear();
+		allocateHeatMap();
 		
 		for(int i = 0; i < this.order; i++)
 		{
@@ -233,6 +363,14 @@ public class Square
 		transversals.add(transversal.clone());
 	}
 	
+	/**
+	 * Allocates the square's transversal heat map (with all heat values zero) if it has not been allocated yet.
+	 */
+	private void allocateHeatMap()
+	{
+		if(heatMap == null) { heatMap = new long[order][order]; }
+	}
+	
 	/**
 	 * Computes and returns the square's heat value that is non-negative if all the heat values are uniform. 
 	 * If the heat values are non-uniform, then this value will be -1. 
@@ -242,7 +380,8 @@ public class Square
 	 */
 	public long getHeatValue()
 	{
-		if((heatMap == null) || (heatMap.length == 0) || (heatMap[0].length == 0)) { return (heatValue = -1); }
+		allocateHeatMap();
+		if((heatMap.length == 0) || (heatMap[0].length == 0)) { return (heatValue = -1); }
 		
 		heatValue = heatMap[0][0];
 		for(int i = 0; i < heatMap.length; i++)
@@ -327,6 +466,7 @@ public class Square
 		}
 		
 		cells = newCells;
+		rehash();
 	}
 	
 	/**
@@ -413,6 +553,7 @@ public class Square
 	 */
 	public String toStringTransversalHeatMapHumanReadable()
 	{
+		allocateHeatMap();
 		StringBuilder buffer = new StringBuilder("");
 		
 		for(int i = 0; i < order; i++)
@@ -436,6 +577,7 @@ public class Square
 	 */
 	public String toStringTransversalHeatMapOrderedTriple()
 	{
+		allocateHeatMap();
 		StringBuilder buffer = new StringBuilder("");
 		
 		for(int i = 0; i < order; i++)
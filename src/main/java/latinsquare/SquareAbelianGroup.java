@@ -0,0 +1,220 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>SquareAbelianGroup</h1>
+ * 
+ * <p>This class represents the implicit Cayley table of the finite abelian group Z_n1 x Z_n2 x ... x Z_nk,
+ * which is a Latin square of order n1 * n2 * ... * nk. Each element is encoded as the integer whose
+ * mixed-radix digits (with radices n1, n2, ..., nk, where the first digit is the least significant) are
+ * its components, so the symbol of cell (i, j) is the digit-wise sum of i and j, where the m-th digits are
+ * added modulo nm. A single factor Z_n gives the cyclic Latin square of order-n, and k factors Z_p give the
+ * super-symmetric Latin square of order-p^k (see SquareSuperSymmetric). Each cell is computed in O(k) time
+ * when it is needed, and a whole row in amortized O(1) time per cell.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class SquareAbelianGroup extends SquareImplicit
+{
+	private int [] factors;
+	private int [] places;
+	
+	/**
+	 * Class constructor for the implicit Cayley table of the abelian group Z_n1 x Z_n2 x ... x Z_nk.
+	 * (The trivial factors Z_1 do not change the group, so they are dropped.)
+	 * 
+	 * @param factors The orders n1, n2, ..., nk of the cyclic factors (positive integers).
+	 */
+	public SquareAbelianGroup(int [] factors)
+	{
+		super(computeOrder(factors));
+		
+		int numFactors = 0;
+		for(int factor : factors)
+		{
+			if(factor > 1) { numFactors++; }
+		}
+		
+		this.factors = new int[numFactors];
+		this.places = new int[numFactors];
+		for(int k = 0, m = 0, place = 1; k < factors.length; k++)
+		{
+			if(factors[k] == 1) { continue; }
+			this.factors[m] = factors[k];
+			this.places[m++] = place;
+			place *= factors[k];
+		}
+	}
+	
+	/**
+	 * Returns the order of the abelian group Z_n1 x Z_n2 x ... x Z_nk, which is the product of the orders of its factors.
+	 * 
+	 * @param factors The orders n1, n2, ..., nk of the cyclic factors.
+	 * @return int The order of the group.
+	 */
+	public static int computeOrder(int [] factors)
+	{
+		int order = 1;
+		for(int factor : factors) { order *= factor; }
+		return order;
+	}
+	
+	/**
+	 * Returns the orders of the (non-trivial) cyclic factors of the group.
+	 * 
+	 * @return int[] The orders n1, n2, ..., nk of the cyclic factors.
+	 */
+	public int [] getFactors() { return factors.clone(); }
+	
+	/**
+	 * Computes and returns the symbol inscribed in the cell at location (row, col) of the square,
+	 * which is the digit-wise sum of row and col, where the m-th digits are added modulo nm.
+	 * 
+	 * @param row The row coordinate for a cell's 2D location in the square.
+	 * @param col The column coordinate for a cell's 2D location in the square.
+	 * @return int The symbol inscribed in the cell.
+	 */
+	@Override
+	public int getCellSymbol(int row, int col)
+	{
+		int sym = 0;
+		
+		for(int k = 0; k < factors.length; k++)
+		{
+			sym += places[k] * (((row % factors[k]) + (col % factors[k])) % factors[k]);
+			row /= factors[k];
+			col /= factors[k];
+		}
+		
+		return sym;
+	}
+	
+	/**
+	 * Returns the column of the cell of a row that is inscribed with a symbol, which is the digit-wise
+	 * difference of the symbol and the row, where the m-th digits are subtracted modulo nm.
+	 * 
+	 * @param row The row of the square.
+	 * @param sym The symbol.
+	 * @return int The column of the symbol in the row.
+	 */
+	@Override
+	public int getSymbolCol(int row, int sym)
+	{
+		int col = 0;
+		
+		for(int k = 0; k < factors.length; k++)
+		{
+			col += places[k] * (((sym % factors[k]) - (row % factors[k]) + factors[k]) % factors[k]);
+			row /= factors[k];
+			sym /= factors[k];
+		}
+		
+		return col;
+	}
+	
+	/**
+	 * Returns the row of the cell of a column that is inscribed with a symbol, which is the column
+	 * of the symbol in the row with the same index (since the Cayley table of an abelian group is symmetric).
+	 * 
+	 * @param col The column of the square.
+	 * @param sym The symbol.
+	 * @return int The row of the symbol in the column.
+	 */
+	@Override
+	public int getSymbolRow(int col, int sym) { return getSymbolCol(col, sym); }
+	
+	/**
+	 * Computes the symbols inscribed in the cells of a row of the square. The column is counted up in
+	 * the mixed radix, and only the digits that change (fewer than two per column on average) update the symbol.
+	 * 
+	 * @param row The row of the square.
+	 * @param rowSymbols The array (of length n) that receives the symbols of the row.
+	 */
+	@Override
+	public void getRowSymbols(int row, int [] rowSymbols)
+	{
+		int [] rowDigits = new int[factors.length];
+		int [] colDigits = new int[factors.length];
+		
+		for(int k = 0, r = row; k < factors.length; k++)
+		{
+			rowDigits[k] = r % factors[k];
+			r /= factors[k];
+		}
+		
+		// column 0 has the symbol row, and each next column increments the digits of the previous column with carries
+		int sym = row;
+		rowSymbols[0] = sym;
+		for(int j = 1; j < order; j++)
+		{
+			int k = 0;
+			while(colDigits[k] == (factors[k] - 1))
+			{
+				sym += places[k] * (rowDigits[k] - ((rowDigits[k] + factors[k] - 1) % factors[k]));
+				colDigits[k++] = 0;
+			}
+			
+			colDigits[k]++;
+			sym += places[k] * (((rowDigits[k] + colDigits[k]) % factors[k]) - ((rowDigits[k] + colDigits[k] - 1) % factors[k]));
+			rowSymbols[j] = sym;
+		}
+	}
+	
+	/**
+	 * Computes the symbols inscribed in the cells of a column of the square, which are those of
+	 * the row with the same index (since the Cayley table of an abelian group is symmetric).
+	 * 
+	 * @param col The column of the square.
+	 * @param colSymbols The array (of length n) that receives the symbols of the column.
+	 */
+	@Override
+	public void getColSymbols(int col, int [] colSymbols) { getRowSymbols(col, colSymbols); }
+	
+	/**
+	 * Returns a string representation of the group (ex. "Z_4 x Z_2 x Z_3", or "Z_1" for the trivial group).
+	 * 
+	 * @return String The group representation.
+	 */
+	public String toStringGroup()
+	{
+		if(factors.length == 0) { return "Z_1"; }
+		
+		StringBuilder buffer = new StringBuilder("");
+		for(int k = 0; k < factors.length; k++)
+		{
+			if(k > 0) { buffer.append(" x "); }
+			buffer.append("Z_").append(factors[k]);
+		}
+		
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,450 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * <h1>SquareImplicit</h1>
+ * 
+ * <p>This abstract class represents an implicit (or "virtual") square of order-n, where the symbol of
+ * each cell is computed on demand from a formula instead of being stored. Unlike the Square class,
+ * which stores every cell (and a transversal heat map), an implicit square only needs O(n) memory, so
+ * it can be printed, checked for the Latin Square Property, and have its number of transversals estimated
+ * even when the order is far too large for its cells to fit in memory. The printed representations are
+ * identical to those of the Square class, one row at a time.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public abstract class SquareImplicit
+{
+	protected int order;
+	
+	/**
+	 * Class constructor for an implicit square of order-n.
+	 * 
+	 * @param order The order of the square.
+	 */
+	public SquareImplicit(int order)
+	{
+		this.order = order;
+	}
+	
+	/**
+	 * Returns the order of the square.
+	 * 
+	 * @return int The square's order.
+	 */
+	public int getOrder() { return order; }
+	
+	/**
+	 * Computes and returns the symbol inscribed in the cell at location (row, col) of the square.
+	 * 
+	 * @param row The row coordinate for a cell's 2D location in the square.
+	 * @param col The column coordinate for a cell's 2D location in the square.
+	 * @return int The symbol inscribed in the cell.
+	 */
+	public abstract int getCellSymbol(int row, int col);
+	
+	/**
+	 * Computes the symbols inscribed in the cells of a row of the square. Subclasses may override this
+	 * when a whole row can be computed faster than one cell at a time.
+	 * 
+	 * @param row The row of the square.
+	 * @param rowSymbols The array (of length n) that receives the symbols of the row.
+	 */
+	public void getRowSymbols(int row, int [] rowSymbols)
+	{
+		for(int j = 0; j < order; j++) { rowSymbols[j] = getCellSymbol(row, j); }
+	}
+	
+	/**
+	 * Computes the symbols inscribed in the cells of a column of the square. Subclasses may override this
+	 * when a whole column can be computed faster than one cell at a time.
+	 * 
+	 * @param col The column of the square.
+	 * @param colSymbols The array (of length n) that receives the symbols of the column.
+	 */
+	public void getColSymbols(int col, int [] colSymbols)
+	{
+		for(int i = 0; i < order; i++) { colSymbols[i] = getCellSymbol(i, col); }
+	}
+	
+	/**
+	 * Returns true if the square is indeed a Latin square (satisfying the Latin Square Property
+	 * for quasi-groups). The rows and columns are checked one at a time with O(n) memory.
+	 * 
+	 * @return boolean The Latin Square Property flag.
+	 */
+	public boolean latinSquarePropertyHolds()
+	{
+		// the k-th row (or column) marks each observed symbol with k + 1, so the marks never need to be cleared
+		int [] rowMarks = new int[order];
+		int [] colMarks = new int[order];
+		int [] rowSymbols = new int[order];
+		int [] colSymbols = new int[order];
+		
+		for(int i = 0; i < order; i++)
+		{
+			getRowSymbols(i, rowSymbols);
+			getColSymbols(i, colSymbols);
+			for(int j = 0; j < order; j++)
+			{
+				int rowSym = rowSymbols[j];
+				int colSym = colSymbols[j];
+				if((rowSym < 0) || (rowSym >= order) || (rowMarks[rowSym] == (i + 1))) { return false; }
+				if((colSym < 0) || (colSym >= order) || (colMarks[colSym] == (i + 1))) { return false; }
+				rowMarks[rowSym] = colMarks[colSym] = i + 1;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Prints the ordered-triple (non-human-readable) representation of the square one row at a time,
+	 * which is identical to the toString() representation of the Square class.
+	 * 
+	 * @param out The stream to which the square is printed.
+	 */
+	public void printOrderedTriple(PrintStream out)
+	{
+		StringBuilder buffer = new StringBuilder("");
+		int [] rowSymbols = new int[order];
+		
+		for(int i = 0; i < order; i++)
+		{
+			buffer.setLength(0);
+			getRowSymbols(i, rowSymbols);
+			for(int j = 0; j < order; j++) { buffer.append('(').append(i).append(',').append(j).append(',').append(rowSymbols[j]).append(')'); }
+			buffer.append("\n");
+			out.print(buffer);
+		}
+	}
+	
+	/**
+	 * Prints the human-readable representation of the square one row at a time, which is identical
+	 * to the toStringHumanReadable() representation of the Square class.
+	 * 
+	 * @param out The stream to which the square is printed.
+	 */
+	public void printHumanReadable(PrintStream out)
+	{
+		StringBuilder buffer = new StringBuilder("");
+		int [] rowSymbols = new int[order];
+		
+		for(int i = 0; i < order; i++)
+		{
+			buffer.setLength(0);
+			getRowSymbols(i, rowSymbols);
+			for(int j = 0; j < order; j++)
+			{
+				int sym = rowSymbols[j];
+				buffer.append(sym).append("  ");
+				if(sym < 10) { buffer.append(" "); }
+			}
+			buffer.append("\n");
+			out.print(buffer);
+		}
+	}
+	
+	/**
+	 * Returns an explicit copy of the square, which stores every cell.
+	 * (This should only be used if the square fits in memory.)
+	 * 
+	 * @return Square The explicit square.
+	 */
+	public Square toSquare()
+	{
+		Square square = new Square(order);
+		int [] rowSymbols = new int[order];
+		
+		for(int i = 0; i < order; i++)
+		{
+			getRowSymbols(i, rowSymbols);
+			for(int j = 0; j < order; j++) { square.setCellSymbol(i, j, rowSymbols[j]); }
+		}
+		
+		return square;
+	}
+	
+	/**
+	 * Returns the column of the cell of a row that is inscribed with a symbol. Subclasses may override this
+	 * when the column can be computed faster than by searching the row.
+	 * 
+	 * @param row The row of the square.
+	 * @param sym The symbol.
+	 * @return int The column of the symbol in the row (or -1 if the row does not contain the symbol).
+	 */
+	public int getSymbolCol(int row, int sym)
+	{
+		for(int j = 0; j < order; j++)
+		{
+			if(getCellSymbol(row, j) == sym) { return j; }
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the row of the cell of a column that is inscribed with a symbol. Subclasses may override this
+	 * when the row can be computed faster than by searching the column.
+	 * 
+	 * @param col The column of the square.
+	 * @param sym The symbol.
+	 * @return int The row of the symbol in the column (or -1 if the column does not contain the symbol).
+	 */
+	public int getSymbolRow(int col, int sym)
+	{
+		for(int i = 0; i < order; i++)
+		{
+			if(getCellSymbol(i, col) == sym) { return i; }
+		}
+		return -1;
+	}
+	
+	/**
+	 * Estimates the number of transversals of the square with Knuth's estimator for the size of a search tree.
+	 * Each sample walks down the transversal search tree along a uniformly random branch, and it estimates the
+	 * number of transversals as the product of the numbers of branches along the walk (or zero if the walk
+	 * reaches a dead end); the estimate is the mean of the samples, which is unbiased.
+	 * <p>
+	 * Since a plain random walk (one row at a time) almost always reaches a dead end for large orders, each walk
+	 * looks ahead instead. A transversal takes one cell from every row, every column, and every symbol, so the walk
+	 * counts the free cells (whose row, column, and symbol are all unused) of every unused row, column, and symbol,
+	 * and it branches on the one with the fewest free cells, whose free cells are the branches. A branch only counts
+	 * if it leaves a free cell for every other unused row, column, and symbol (forward checking), so the pruned
+	 * branches contain no transversals and the estimate remains unbiased; if the first row has no such branches,
+	 * then the square has no transversals. Since the transversal counts of large orders overflow every primitive type,
+	 * the estimate is returned as its base-10 logarithm, and the samples are summed in a single pass (relative to the
+	 * largest sample). Each sample takes O(n^2) time (if getSymbolCol() and getSymbolRow() take constant time) and
+	 * O(n) memory.
+	 * </p>
+	 * 
+	 * @param numSamples The number of random walks.
+	 * @param random The random stream of the walks.
+	 * @return double The base-10 logarithm of the estimate (negative infinity if the square has no transversals,
+	 * or NaN if no walk reached the last row).
+	 */
+	public double estimateTransversalCountLog10(long numSamples, SplittableRandom random)
+	{
+		final int ROW = 0, COL = 1, SYM = 2;
+		boolean [][] unused = new boolean[3][order];
+		int [][] numFreeCells = new int[3][order];
+		int [][] criticals = new int[3][order];
+		int [] numCriticals = new int[3];
+		int [] candidateRows = new int[order];
+		int [] candidateCols = new int[order];
+		int [] lineSymbols = new int[order];
+		int [] rowSymbols = new int[order];
+		int [] colSymbols = new int[order];
+		int [] symbolCols = new int[order];
+		int [] symbolRows = new int[order];
+		double maxLog = Double.NEGATIVE_INFINITY;
+		double scaledSum = 0;
+		
+		for(long s = 0; s < numSamples; s++)
+		{
+			for(int t = 0; t < 3; t++)
+			{
+				Arrays.fill(unused[t], true);
+				Arrays.fill(numFreeCells[t], order);
+			}
+			
+			double sampleLog = 0;
+			for(int step = 0; step < order; step++)
+			{
+				// branch on the unused row, column, or symbol with the fewest free cells (the first row at the first step)
+				int type = ROW;
+				int index = -1;
+				for(int t = 0; t < 3; t++)
+				{
+					for(int x = 0; x < order; x++)
+					{
+						if(unused[t][x] && ((index < 0) || (numFreeCells[t][x] < numFreeCells[type][index])))
+						{
+							type = t;
+							index = x;
+						}
+					}
+				}
+				
+				// since each branch takes at most 2 free cells from every other unused row, column, and symbol,
+				// only those with at most 2 free cells can be left without a free cell
+				for(int t = 0; t < 3; t++)
+				{
+					numCriticals[t] = 0;
+					for(int x = 0; x < order; x++)
+					{
+						if(unused[t][x] && (numFreeCells[t][x] <= 2) && ((t != type) || (x != index))) { criticals[t][numCriticals[t]++] = x; }
+					}
+				}
+				
+				// find the free cells of the branching row, column, or symbol
+				int numCandidates = 0;
+				if(type == SYM)
+				{
+					for(int i = 0; i < order; i++)
+					{
+						if(!unused[ROW][i]) { continue; }
+						int j = getSymbolCol(i, index);
+						if(unused[COL][j])
+						{
+							candidateRows[numCandidates] = i;
+							candidateCols[numCandidates++] = j;
+						}
+					}
+				}
+				else
+				{
+					if(type == ROW) { getRowSymbols(index, lineSymbols); }
+					else { getColSymbols(index, lineSymbols); }
+					for(int x = 0; x < order; x++)
+					{
+						if(!unused[1 - type][x] || !unused[SYM][lineSymbols[x]]) { continue; }
+						candidateRows[numCandidates] = (type == ROW) ? index : x;
+						candidateCols[numCandidates++] = (type == ROW) ? x : index;
+					}
+				}
+				
+				// keep the branches that leave a free cell for every other unused row, column, and symbol
+				int numBranches = 0;
+				for(int k = 0; k < numCandidates; k++)
+				{
+					int row = candidateRows[k];
+					int col = candidateCols[k];
+					int sym = getCellSymbol(row, col);
+					boolean viable = true;
+					for(int c = 0; viable && (c < numCriticals[ROW]); c++)
+					{
+						int i = criticals[ROW][c];
+						if(i == row) { continue; }
+						viable = numFreeCells[ROW][i] > ((unused[SYM][getCellSymbol(i, col)] ? 1 : 0) + (unused[COL][getSymbolCol(i, sym)] ? 1 : 0));
+					}
+					for(int c = 0; viable && (c < numCriticals[COL]); c++)
+					{
+						int j = criticals[COL][c];
+						if(j == col) { continue; }
+						viable = numFreeCells[COL][j] > ((unused[SYM][getCellSymbol(row, j)] ? 1 : 0) + (unused[ROW][getSymbolRow(j, sym)] ? 1 : 0));
+					}
+					for(int c = 0; viable && (c < numCriticals[SYM]); c++)
+					{
+						int x = criticals[SYM][c];
+						if(x == sym) { continue; }
+						viable = numFreeCells[SYM][x] > ((unused[COL][getSymbolCol(row, x)] ? 1 : 0) + (unused[ROW][getSymbolRow(col, x)] ? 1 : 0));
+					}
+					if(viable)
+					{
+						candidateRows[numBranches] = row;
+						candidateCols[numBranches++] = col;
+					}
+				}
+				
+				if(numBranches == 0)
+				{
+					// the first branching row is the same for every walk, so no walk can get past it
+					if(step == 0) { return Double.NEGATIVE_INFINITY; }
+					sampleLog = Double.NEGATIVE_INFINITY;
+					break;
+				}
+				sampleLog += Math.log10(numBranches);
+				
+				// take the free cells of the chosen cell's row, column, and symbol from the other unused ones
+				int b = random.nextInt(numBranches);
+				int row = candidateRows[b];
+				int col = candidateCols[b];
+				getRowSymbols(row, rowSymbols);
+				getColSymbols(col, colSymbols);
+				int sym = rowSymbols[col];
+				for(int x = 0; x < order; x++)
+				{
+					symbolCols[rowSymbols[x]] = x;
+					symbolRows[colSymbols[x]] = x;
+				}
+				unused[ROW][row] = unused[COL][col] = unused[SYM][sym] = false;
+				for(int x = 0; x < order; x++)
+				{
+					if(unused[ROW][x]) { numFreeCells[ROW][x] -= (unused[SYM][colSymbols[x]] ? 1 : 0) + (unused[COL][getSymbolCol(x, sym)] ? 1 : 0); }
+					if(unused[COL][x]) { numFreeCells[COL][x] -= (unused[SYM][rowSymbols[x]] ? 1 : 0) + (unused[ROW][getSymbolRow(x, sym)] ? 1 : 0); }
+					if(unused[SYM][x]) { numFreeCells[SYM][x] -= (unused[COL][symbolCols[x]] ? 1 : 0) + (unused[ROW][symbolRows[x]] ? 1 : 0); }
+				}
+			}
+			
+			// add the sample relative to the largest sample so far, so that the sum does not overflow
+			if(sampleLog == Double.NEGATIVE_INFINITY) { continue; }
+			if(sampleLog > maxLog)
+			{
+				scaledSum = (scaledSum * Math.pow(10, maxLog - sampleLog)) + 1;
+				maxLog = sampleLog;
+			}
+			else { scaledSum += Math.pow(10, sampleLog - maxLog); }
+		}
+		
+		if(maxLog == Double.NEGATIVE_INFINITY) { return Double.NaN; }
+		return maxLog + Math.log10(scaledSum / numSamples);
+	}
+	
+	/**
+	 * Returns a string representation of a transversal count estimate (see estimateTransversalCountLog10()).
+	 * 
+	 * @param log10 The base-10 logarithm of the estimate.
+	 * @param numSamples The number of random walks.
+	 * @return String The representation of the estimate (ex. "no sample completed (100 samples)" if no walk reached the last row).
+	 */
+	public static String toStringEstimate(double log10, long numSamples)
+	{
+		if(Double.isNaN(log10)) { return "no sample completed (" + numSamples + " samples)"; }
+		return toStringLog10(log10);
+	}
+	
+	/**
+	 * Returns a string representation of a number that is given as its base-10 logarithm, which is
+	 * rounded to an integer for small numbers and in scientific notation (ex. "1.2345e+678") otherwise.
+	 * 
+	 * @param log10 The base-10 logarithm of the number.
+	 * @return String The representation of the number.
+	 */
+	public static String toStringLog10(double log10)
+	{
+		if(log10 == Double.NEGATIVE_INFINITY) { return "0"; }
+		if(log10 < 15) { return Long.toString(Math.round(Math.pow(10, log10))); }
+		
+		long exponent = (long)Math.floor(log10);
+		double mantissa = Math.pow(10, log10 - exponent);
+		if(mantissa >= 9.99995)
+		{
+			mantissa /= 10;
+			exponent++;
+		}
+		return String.format("%.4fe+%d", mantissa, exponent);
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+package latinsquare;
+
+/**
+ * <h1>SquareSuperSymmetric</h1>
+ * 
+ * <p>This class represents the implicit super-symmetric (or cyclic) Latin square of prime power order-p^d,
+ * which is the addition Cayley table of the group (Z_p)^d. Writing the row i and the column j in base p,
+ * the symbol of cell (i, j) is the digit-wise sum of i and j modulo p. This is exactly the Latin square
+ * that the lifting-and-merging algorithm of LatinSquareGeneratorSuperSymmetric constructs, but each cell
+ * is computed in O(d) time when it is needed (and a whole row in amortized O(1) time per cell, see
+ * SquareAbelianGroup), so the order is only limited by the range of an int.
+ * </p>
+ * 
+ * @author Will Unger
+ * @author Nathan O. Schmidt
+ * @version 1.10
+ */
+public class SquareSuperSymmetric extends SquareAbelianGroup
+{
+	private int primeBase;
+	private int power;
+	
+	/**
+	 * Class constructor for the implicit super-symmetric Latin square of order-p^d.
+	 * 
+	 * @param primeBase The prime base p.
+	 * @param power The power d (if this is 1, then the Latin square is cyclic).
+	 */
+	public SquareSuperSymmetric(int primeBase, int power)
+	{
+		super(repeatPrimeBase(primeBase, power));
+		this.primeBase = primeBase;
+		this.power = power;
+	}
+	
+	/**
+	 * Returns the orders of the d cyclic factors Z_p of the group (Z_p)^d.
+	 * 
+	 * @param primeBase The prime base p.
+	 * @param power The power d.
+	 * @return int[] The orders of the cyclic factors.
+	 */
+	private static int [] repeatPrimeBase(int primeBase, int power)
+	{
+		int [] factors = new int[power];
+		for(int k = 0; k < power; k++) { factors[k] = primeBase; }
+		return factors;
+	}
+	
+	/**
+	 * Returns the prime base p of the order-p^d.
+	 * 
+	 * @return int The prime base.
+	 */
+	public int getOrderBase() { return primeBase; }
+	
+	/**
+	 * Returns the power d of the order-p^d.
+	 * 
+	 * @return int The power.
+	 */
+	public int getOrderPower() { return power; }
+}
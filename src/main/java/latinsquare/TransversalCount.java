@@ -48,9 +48,21 @@ public class TransversalCount implements Comparable<Object>
 	 * @param transversalCount The representative transversal count.
 	 */
 	TransversalCount(long transversalCount)
+	{
+		this(transversalCount, 1);
+	}
+	
+	/**
+	 * Class constructor for a representative transversal count that was observed
+	 * for a weighted number of Latin squares (ex. the size of an isotopy class).
+	 * 
+	 * @param transversalCount The representative transversal count.
+	 * @param squareCount The initial square counter value.
+	 */
+	TransversalCount(long transversalCount, long squareCount)
 	{
 		this.transversalCount = transversalCount;
-		squareCount = 1;
+		this.squareCount = squareCount;
 	}
 	
 	/**
@@ -60,6 +72,16 @@ public class TransversalCount implements Comparable<Object>
 	{
 		squareCount++;
 	}
+	
+	/**
+	 * Adds a weighted number of Latin squares to the square counter for this transversal count.
+	 * 
+	 * @param weight The number of Latin squares to add.
+	 */
+	public void increment(long weight)
+	{
+		squareCount += weight;
+	}
 
 	/**
 	 * Returns the value of the square counter for this transversal count.
@@ -0,0 +1,155 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h1>LatinSquareTestHelper</h1>
+ * 
+ * <p>This class contains the unit test methods that are shared by the unit tests of the tools, which run
+ * a tool (ex. LatinSquareToolGenerator::main) with standard output redirected to a file, and read, write,
+ * and compare the files of the unit tests.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+final class LatinSquareTestHelper
+{
+	/**
+	 * Class constructor (the unit test methods are static).
+	 */
+	private LatinSquareTestHelper() { }
+	
+	/**
+	 * Unit test method that runs a tool with standard output redirected to a file, and returns the lines of the file.
+	 * 
+	 * @param outputFile The file to which standard output is redirected.
+	 * @param tool The tool.
+	 * @param args The command line arguments.
+	 * @return List The lines of standard output (null if the tool could not be run).
+	 */
+	static List<String> runTool(String outputFile, Consumer<String []> tool, String [] args)
+	{
+		if(!redirect(outputFile, tool, args)) { return null; }
+		
+		try { return new ArrayList<String>(Files.readAllLines(new File(outputFile).toPath())); }
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Unit test method that runs a tool with standard output redirected to a file, and returns the contents of the file.
+	 * 
+	 * @param outputFile The file to which standard output is redirected.
+	 * @param tool The tool.
+	 * @param args The command line arguments.
+	 * @return byte [] The standard output (empty if the tool could not be run).
+	 */
+	static byte [] runToolBytes(String outputFile, Consumer<String []> tool, String [] args)
+	{
+		return redirect(outputFile, tool, args) ? readFile(outputFile) : new byte[0];
+	}
+	
+	/**
+	 * Unit test method that runs a tool with standard output redirected to a file.
+	 * 
+	 * @param outputFile The file to which standard output is redirected.
+	 * @param tool The tool.
+	 * @param args The command line arguments.
+	 * @return boolean True if the tool completed without exceptions.
+	 */
+	private static boolean redirect(String outputFile, Consumer<String []> tool, String [] args)
+	{
+		final PrintStream originalOut = System.out;
+		
+		try
+		{
+			System.setOut(new PrintStream(outputFile));
+			tool.accept(args);
+			System.out.close();
+			return true;
+		}
+		catch(Exception e)
+		{
+			System.err.println(e.getMessage());
+			return false;
+		}
+		finally { System.setOut(originalOut); }
+	}
+	
+	/**
+	 * Unit test method that returns the contents of a file.
+	 * 
+	 * @param fileName The file.
+	 * @return byte [] The contents (empty if the file cannot be read).
+	 */
+	static byte [] readFile(String fileName)
+	{
+		try { return Files.readAllBytes(new File(fileName).toPath()); }
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return new byte[0];
+		}
+	}
+	
+	/**
+	 * Unit test method that writes a string to a file.
+	 * 
+	 * @param fileName The file.
+	 * @param contents The contents.
+	 */
+	static void writeFile(String fileName, String contents)
+	{
+		try { Files.write(new File(fileName).toPath(), contents.getBytes(StandardCharsets.UTF_8)); }
+		catch(Exception e) { System.out.println(e.getMessage()); }
+	}
+	
+	/**
+	 * Unit test method that returns true if two files have the same (non-empty) contents.
+	 * 
+	 * @param expectedFile The expected file.
+	 * @param actualFile The actual file.
+	 * @return boolean Test result.
+	 */
+	static boolean sameFiles(String expectedFile, String actualFile)
+	{
+		byte [] expected = readFile(expectedFile);
+		return (expected.length > 0) && Arrays.equals(expected, readFile(actualFile));
+	}
+}
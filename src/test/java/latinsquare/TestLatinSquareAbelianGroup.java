@@ -0,0 +1,184 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareAbelianGroup</h1>
+ * 
+ * <p>This class contains the unit tests for generating the Cayley tables of finite abelian groups.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareAbelianGroup
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for the number of abelian groups (up to isomorphism) of some orders.
+	 */
+	@Test
+	public void testEnumerateAbelianGroupCounts()
+	{
+		int [][] expected = { { 1, 1 }, { 2, 1 }, { 4, 2 }, { 8, 3 }, { 12, 2 }, { 16, 5 }, { 32, 7 }, { 36, 4 }, { 72, 6 }, { 97, 1 }, { 1024, 42 } };
+		for(int [] pair : expected)
+		{
+			assertEquals(pair[1], LatinSquareGeneratorGroup.enumerateAbelianGroups(pair[0]).size());
+		}
+	}
+	
+	/**
+	 * Unit test for the invariant factors of the enumerated abelian groups, which must divide each other,
+	 * multiply to the order, and be distinct groups.
+	 */
+	@Test
+	public void testEnumerateAbelianGroupInvariantFactors()
+	{
+		for(int order = 1; order <= 200; order++)
+		{
+			ArrayList<String> names = new ArrayList<String>();
+			for(int [] factors : LatinSquareGeneratorGroup.enumerateAbelianGroups(order))
+			{
+				assertEquals(order, SquareAbelianGroup.computeOrder(factors));
+				for(int k = 1; k < factors.length; k++) { assertEquals(0, factors[k] % factors[k - 1]); }
+				
+				String name = LatinSquareGeneratorGroup.toStringGroup(factors);
+				assertEquals(false, names.contains(name));
+				names.add(name);
+			}
+			assertEquals("Z_" + order, names.get(0));
+		}
+	}
+	
+	/**
+	 * Unit test for the Cayley table of the abelian group Z_4 x Z_2 x Z_3, whose cells must be
+	 * the component-wise sums of the rows and columns.
+	 */
+	@Test
+	public void testCayleyTable()
+	{
+		Square square = new LatinSquareGeneratorGroup(new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-g", "4,2,3" }))
+				.generateSquare(new int[]{ 4, 2, 3 });
+		boolean result = square.latinSquarePropertyHolds() && (square.getOrder() == 24);
+		
+		for(int i = 0; i < 24; i++)
+		{
+			for(int j = 0; j < 24; j++)
+			{
+				int a = ((i % 4) + (j % 4)) % 4;
+				int b = (((i / 4) % 2) + ((j / 4) % 2)) % 2;
+				int c = ((i / 8) + (j / 8)) % 3;
+				if(square.getCellSymbol(i, j) != (a + (4 * b) + (8 * c))) { result = false; }
+			}
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for the rows of the Cayley tables of some abelian groups, which must match their cells.
+	 */
+	@Test
+	public void testCayleyTableRows()
+	{
+		int [][] groups = { { 1 }, { 7 }, { 2, 1, 3 }, { 6, 6 }, { 2, 2, 2, 2 }, { 3, 5, 2 }, { 9, 3 } };
+		for(int [] factors : groups)
+		{
+			SquareAbelianGroup group = new SquareAbelianGroup(factors);
+			int [] rowSymbols = new int[group.getOrder()];
+			boolean result = group.latinSquarePropertyHolds();
+			
+			for(int i = 0; i < group.getOrder(); i++)
+			{
+				group.getRowSymbols(i, rowSymbols);
+				for(int j = 0; j < group.getOrder(); j++)
+				{
+					if(rowSymbols[j] != group.getCellSymbol(i, j)) { result = false; }
+				}
+			}
+			
+			assertEquals(true, result);
+		}
+	}
+	
+	/**
+	 * Unit test for the Cayley tables of the cyclic group Z_p^d and the super-symmetric Latin square,
+	 * which must match those of the groups with the same factors.
+	 */
+	@Test
+	public void testCayleyTableMatchesCyclicAndSuperSymmetric()
+	{
+		assertEquals(new SquareSuperSymmetric(7, 1).toSquare().toString(), new SquareAbelianGroup(new int[]{ 7 }).toSquare().toString());
+		assertEquals(new SquareSuperSymmetric(3, 3).toSquare().toString(), new SquareAbelianGroup(new int[]{ 3, 3, 3 }).toSquare().toString());
+	}
+	
+	/**
+	 * Unit test for the transversal counts of the Cayley tables of the abelian groups of order 8,
+	 * which are written by the Latin Square Generator Tool and read by the Latin Square Transversal Counter Tool.
+	 */
+	@Test
+	public void testGroupToolOrder8()
+	{
+		String outputFile = outputDirectory + "n08_groups.txt";
+		LatinSquareTestHelper.runTool(outputFile, LatinSquareToolGenerator::main, new String[]{ "-m", "group", "-n", "8", "-w", "2" });
+		List<String> counts = LatinSquareTestHelper.runTool(outputDirectory + "n08_groups_counts.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", outputFile, "-n", "8" });
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		for(String line : counts)
+		{
+			if(line.contains("Transversal Count:")) { actual.add(line.substring(line.indexOf(':') + 1).trim()); }
+		}
+		
+		ArrayList<String> expected = new ArrayList<String>();
+		expected.add("0");
+		expected.add("384");
+		expected.add("384");
+		assertEquals(expected, actual);
+	}
+	
+	/**
+	 * Unit test for rejecting invalid abelian group arguments.
+	 */
+	@Test
+	public void testGroupInvalidArguments()
+	{
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-g", "4,2,3" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-n", "12", "-t", "-w", "2" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-g", "4,0" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-g", "4", "-n", "4" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "group", "-g", "65536,65536" }).isValid());
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareAsyncOutput</h1>
+ * 
+ * <p>This class contains the unit tests for writing the output files on a separate writer thread.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareAsyncOutput
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for writing random bytes through a small ring of buffers, which must reach the output file
+	 * in order while the queue depth stays within the capacity of the ring.
+	 */
+	@Test
+	public void testAsyncOutputStream()
+	{
+		File outputFile = new File(outputDirectory + "async_output_stream.bin");
+		byte [] expected = new byte[1 << 20];
+		new Random(2017).nextBytes(expected);
+		
+		try
+		{
+			LatinSquareAsyncOutputStream output = new LatinSquareAsyncOutputStream(new FileOutputStream(outputFile),
+					LatinSquareAsyncOutputStream.MIN_CAPACITY, LatinSquareAsyncOutputStream.SyncPolicy.ALWAYS);
+			for(int offset = 0; offset < expected.length; offset += 1000)
+			{
+				output.write(expected, offset, Math.min(1000, expected.length - offset));
+			}
+			output.write(7);
+			output.flush();
+			boolean flushed = (output.getQueueDepth() == 0) && (outputFile.length() == (expected.length + 1));
+			output.close();
+			
+			byte [] actual = Files.readAllBytes(outputFile.toPath());
+			assertEquals(true, flushed && (actual[expected.length] == 7) && Arrays.equals(expected, Arrays.copyOf(actual, expected.length))
+					&& (output.getMaxQueueDepth() >= 1) && (output.getMaxQueueDepth() <= output.getQueueCapacity())
+					&& (output.getMeanQueueDepth() >= 1));
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			assertEquals(true, false);
+		}
+	}
+	
+	/**
+	 * Unit test for writing an order-5 data set with a small ring buffer and each fsync policy,
+	 * which must match the output file of the default ring buffer.
+	 */
+	@Test
+	public void testAsyncGeneratorOutputOrder5()
+	{
+		String expectedFile = outputDirectory + "n05_async_s3000.txt";
+		LatinSquareTestHelper.runTool(outputDirectory + "async_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "3000", "-o", expectedFile });
+		
+		boolean result = true;
+		for(String policy : new String[]{ "none", "checkpoint", "always" })
+		{
+			String actualFile = outputDirectory + "n05_async_s3000_" + policy + ".txt";
+			LatinSquareTestHelper.runTool(outputDirectory + "async_report.txt", LatinSquareToolGenerator::main,
+					new String[]{ "-m", "ds", "-n", "5", "-s", "3000", "-o", actualFile, "--output-buffer", "64", "--fsync", policy,
+					"--checkpoint", "500" });
+			if(!LatinSquareTestHelper.sameFiles(expectedFile, actualFile)) { result = false; }
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for writing the transversal counts of an order-5 data set to an output file with one worker thread
+	 * and with 3 worker threads, which must match the standard output of the Latin Square Transversal Counter Tool.
+	 */
+	@Test
+	public void testAsyncTransversalCounterOutputOrder5()
+	{
+		String inputFile = outputDirectory + "n05_async_s1000.txt";
+		String expectedFile = outputDirectory + "n05_async_lstc.txt";
+		String sequentialFile = outputDirectory + "n05_async_lstc_w1.txt";
+		String parallelFile = outputDirectory + "n05_async_lstc_w3.txt";
+		LatinSquareTestHelper.runTool(outputDirectory + "async_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "1000", "-o", inputFile });
+		
+		LatinSquareTestHelper.runTool(expectedFile, LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", inputFile, "-n", "5", "-h", "-T" });
+		LatinSquareTestHelper.runTool(outputDirectory + "async_report.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", inputFile, "-n", "5", "-h", "-T", "-o", sequentialFile, "--output-buffer", "64" });
+		LatinSquareTestHelper.runTool(outputDirectory + "async_report.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", inputFile, "-n", "5", "-h", "-T", "-o", parallelFile, "-w", "3", "--fsync", "checkpoint" });
+		
+		assertEquals(true, LatinSquareTestHelper.sameFiles(expectedFile, sequentialFile)
+				&& LatinSquareTestHelper.sameFiles(expectedFile, parallelFile));
+	}
+	
+	/**
+	 * Unit test for rejecting the output buffer size and fsync policy without an output file (or with invalid values).
+	 */
+	@Test
+	public void testAsyncInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "--fsync", "always" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", "x.txt", "--fsync", "x" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", "x.txt", "--output-buffer", "1" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", "x.txt", "--output-buffer", "64",
+				"--fsync", "checkpoint" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--output-buffer", "64" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "-o", "y.txt", "--output-buffer", "64",
+				"--fsync", "always", "-w", "2" }).isValid());
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareBinaryFormat</h1>
+ * 
+ * <p>This class contains the unit tests for the compact binary data set format and the
+ * Latin Square Format Converter Tool.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareBinaryFormat
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String generatorReport = outputDirectory + "binary_generator_report.txt";
+	private final String targetDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	
+	/**
+	 * Unit test for converting all order-4 Latin squares from the binary format to the ordered-triple
+	 * format and back, which must reproduce the output files of the Latin Square Generator Tool.
+	 */
+	@Test
+	public void testBinaryRoundTripOrder4()
+	{
+		assertEquals(true, testRoundTrip(4));
+	}
+	
+	/**
+	 * Unit test for parsing a binary order-5 data set sequentially, in parallel, and at random.
+	 */
+	@Test
+	public void testBinaryParserOrder5()
+	{
+		assertEquals(true, testBinaryParser(5, 2000));
+	}
+	
+	/**
+	 * Unit test for parsing a human-readable data set, which must convert back to the same file.
+	 */
+	@Test
+	public void testHumanReadableParser()
+	{
+		boolean result = true;
+		for(int testOrder = 4; testOrder <= 9; testOrder++)
+		{
+			String inputFile = targetDirectory + "n0" + testOrder + "_s5_human.txt";
+			String outputFile = outputDirectory + "n0" + testOrder + "_s5_human_converted.txt";
+			String binaryFile = outputDirectory + "n0" + testOrder + "_s5_human_converted.bin";
+			String order = Integer.toString(testOrder);
+			
+			LatinSquareToolConverter.main(new String[]{ "-f", inputFile, "-n", order, "-o", binaryFile, "-F", "binary" });
+			LatinSquareToolConverter.main(new String[]{ "-f", binaryFile, "-n", order, "-o", outputFile, "-F", "human" });
+			if(!LatinSquareTestHelper.sameFiles(inputFile, outputFile)) { result = false; }
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for rejecting invalid binary output and conversion arguments.
+	 */
+	@Test
+	public void testBinaryInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-b" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-b", "-t", "-o", "x.bin" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-b", "-o", "x.bin" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigConverter(new String[]{ "-f", "x.txt", "-n", "4", "-o", "y.txt", "-F", "csv" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigConverter(new String[]{ "-f", "x.txt", "-n", "4", "-o", "y.bin", "-F", "binary", "-j" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that generates all order-n Latin squares in the ordered-triple and binary formats,
+	 * then converts each file to the other format.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @return boolean Test result.
+	 */
+	private boolean testRoundTrip(int testOrder)
+	{
+		String order = Integer.toString(testOrder);
+		String textFile = outputDirectory + "n0" + order + "_binary_all.txt";
+		String binaryFile = outputDirectory + "n0" + order + "_binary_all.bin";
+		String convertedTextFile = outputDirectory + "n0" + order + "_binary_all_converted.txt";
+		String convertedBinaryFile = outputDirectory + "n0" + order + "_binary_all_converted.bin";
+		
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", order, "-s", "0", "-o", textFile });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", order, "-s", "0", "-o", binaryFile, "-b" });
+		LatinSquareToolConverter.main(new String[]{ "-f", binaryFile, "-n", order, "-o", convertedTextFile, "-F", "triple" });
+		LatinSquareToolConverter.main(new String[]{ "-f", textFile, "-n", order, "-o", convertedBinaryFile, "-F", "binary" });
+		
+		try
+		{
+			Properties manifest = new Properties();
+			try(FileInputStream input = new FileInputStream(LatinSquareGeneratorSelection.getManifestFile(binaryFile)))
+			{
+				manifest.load(input);
+			}
+			
+			LatinSquareBinaryFormat header = LatinSquareBinaryFormat.readHeader(new File(binaryFile));
+			return LatinSquareTestHelper.sameFiles(textFile, convertedTextFile) && LatinSquareTestHelper.sameFiles(binaryFile, convertedBinaryFile)
+					&& manifest.getProperty("format").equals("binary")
+					&& (header.getCount() == Long.parseLong(manifest.getProperty("squares")))
+					&& (header.getRecordOffset(header.getCount()) == new File(binaryFile).length());
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+	
+	/**
+	 * Unit test method that writes a binary data set and verifies that its squares are parsed
+	 * in the order of the generator, including by a parallel stream and by random access.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param dataSetSize The data set size.
+	 * @return boolean Test result.
+	 */
+	private boolean testBinaryParser(int testOrder, int dataSetSize)
+	{
+		String order = Integer.toString(testOrder);
+		String binaryFile = outputDirectory + "n0" + order + "_binary_s" + dataSetSize + ".bin";
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", order, "-s", "" + dataSetSize, "-o", binaryFile, "-b" });
+		
+		ArrayList<String> expected = new ArrayList<String>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, false);
+		while((expected.size() < dataSetSize) && search.advance()) { expected.add(search.getCurrentSquare().toString()); }
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		LatinSquareFileParser parser = new LatinSquareFileParser(testOrder, binaryFile);
+		while(parser.hasNext()) { actual.add(parser.next().toString()); }
+		
+		try
+		{
+			LatinSquareFileParser streamParser = new LatinSquareFileParser(testOrder, binaryFile);
+			boolean result = expected.equals(actual)
+					&& expected.equals(streamParser.stream(true).map(Square::toString).collect(Collectors.toList()));
+			
+			for(int index : new int[]{ 0, 1, dataSetSize / 3, dataSetSize - 1 })
+			{
+				if(!expected.get(index).equals(LatinSquareBinaryFormat.readSquare(new File(binaryFile), index).toString())) { result = false; }
+			}
+			
+			return result && (LatinSquareBinaryFormat.readSquare(new File(binaryFile), dataSetSize) == null);
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
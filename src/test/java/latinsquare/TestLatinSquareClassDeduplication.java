@@ -0,0 +1,230 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareClassDeduplication</h1>
+ * 
+ * <p>This class contains the unit tests for deduplicating data sets by isotopy class and main class.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareClassDeduplication
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String targetDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	
+	/**
+	 * Unit test for deduplicating all order-4 and order-5 Latin squares.
+	 */
+	@Test
+	public void testDeduplicateAllSquares()
+	{
+		assertEquals(true, testDeduplicateAllSquares(4, false, 2));
+		assertEquals(true, testDeduplicateAllSquares(4, true, 2));
+		assertEquals(true, testDeduplicateAllSquares(5, false, 2));
+	}
+	
+	/**
+	 * Unit test for deduplicating random isotopes of the order-6 isotopy class representatives.
+	 */
+	@Test
+	public void testDeduplicateIsotopesOrder6()
+	{
+		assertEquals(true, testDeduplicateRandomMembers(6, false, 22, 5));
+	}
+	
+	/**
+	 * Unit test for deduplicating random paratopes of the order-6 main class representatives.
+	 */
+	@Test
+	public void testDeduplicateParatopesOrder6()
+	{
+		assertEquals(true, testDeduplicateRandomMembers(6, true, 12, 5));
+	}
+	
+	/**
+	 * Unit test for the "-u" argument of the Latin Square Transversal Counter Tool, whose transversal
+	 * count statistics must match those of counting every Latin square in the input file.
+	 */
+	@Test
+	public void testDeduplicateToolOrder5()
+	{
+		List<String> expected = LatinSquareTestHelper.runTool(outputDirectory + "n05_dedup_none.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", targetDirectory + "n05_s10.txt", "-n", "5", "-j", "-q" });
+		List<String> actual = LatinSquareTestHelper.runTool(outputDirectory + "n05_dedup_iso.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", targetDirectory + "n05_s10.txt", "-n", "5", "-j", "-u", "iso" });
+		
+		assertEquals(true, (expected != null) && (actual != null));
+		assertEquals(true, actual.contains("    # Latin Squares Represented: 10"));
+		assertEquals(true, actual.contains("Latin Square #1 Multiplicity: 10"));
+		assertEquals(expected.subList(expected.indexOf("[Transversal Count Statistics]"), expected.size()),
+				withoutLine(actual.subList(actual.indexOf("[Transversal Count Statistics]"), actual.size()),
+						"     (Each Class Is Weighted By Its Multiplicity)"));
+	}
+	
+	/**
+	 * Unit test for rejecting invalid deduplication arguments.
+	 */
+	@Test
+	public void testDeduplicateInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "5", "-u", "all" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "5", "-D" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "5", "-u", "main", "-D" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that deduplicates all order-n Latin squares.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param mainClass The main class flag.
+	 * @param numClasses The expected number of classes.
+	 * @return boolean Test result.
+	 */
+	private boolean testDeduplicateAllSquares(int testOrder, boolean mainClass, int numClasses)
+	{
+		LatinSquareClassDeduplicator deduplicator = new LatinSquareClassDeduplicator(testOrder, mainClass);
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, false);
+		while(search.advance()) { deduplicator.add(search.getCurrentSquare()); }
+		
+		// the multiplicity of each class is its size, since every Latin square was added
+		LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(testOrder);
+		long total = 0;
+		for(int i = 0; i < deduplicator.getNumClasses(); i++)
+		{
+			Square canonical = mainClass ? canonicalForm.getMainClassCanonicalForm(deduplicator.getRepresentatives().get(i))
+					: canonicalForm.getIsotopyCanonicalForm(deduplicator.getRepresentatives().get(i));
+			if(mainClass) { canonicalForm.isMainClassCanonical(canonical); }
+			else { canonicalForm.isIsotopyCanonical(canonical); }
+			long classSize = LatinSquareCanonicalForm.getClassSize(testOrder, canonicalForm.getAutomorphismCount(), mainClass).longValue();
+			if(deduplicator.getMultiplicity(i) != classSize) { return false; }
+			total += deduplicator.getMultiplicity(i);
+		}
+		
+		return (deduplicator.getNumClasses() == numClasses) && (total == deduplicator.getNumSquares());
+	}
+	
+	/**
+	 * Unit test method that deduplicates random members (and an exact duplicate of each) of every class,
+	 * which must produce one representative per class with the expected multiplicity.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param mainClass The main class flag.
+	 * @param numClasses The expected number of classes.
+	 * @param numMembers The number of random members of each class.
+	 * @return boolean Test result.
+	 */
+	private boolean testDeduplicateRandomMembers(int testOrder, boolean mainClass, int numClasses, int numMembers)
+	{
+		String [] args = { "-m", mainClass ? "main" : "iso", "-n", Integer.toString(testOrder), "-s", "0" };
+		Iterator<Square> representatives = new LatinSquareGeneratorClassRepresentatives(new LatinSquareJobConfigGenerator(args)).iterator();
+		LatinSquareClassDeduplicator deduplicator = new LatinSquareClassDeduplicator(testOrder, mainClass);
+		Random random = new Random(numMembers);
+		
+		int numRepresentatives = 0;
+		while(representatives.hasNext())
+		{
+			Square representative = representatives.next();
+			numRepresentatives++;
+			for(int k = 0; k < numMembers; k++)
+			{
+				Square member = mainClass ? LatinSquareCanonicalForm.getConjugate(representative, random.nextInt(6)) : representative;
+				member = getRandomIsotope(member, random);
+				
+				// a member of a class that was already seen must not start a new class
+				if(deduplicator.add(member) != (k == 0)) { return false; }
+				if(deduplicator.add(new Square(member))) { return false; }
+			}
+		}
+		
+		for(int i = 0; i < deduplicator.getNumClasses(); i++)
+		{
+			if(deduplicator.getMultiplicity(i) != (2 * numMembers)) { return false; }
+		}
+		return (numRepresentatives == numClasses) && (deduplicator.getNumClasses() == numClasses);
+	}
+	
+	/**
+	 * Unit test method that returns a random isotope of a Latin square.
+	 * 
+	 * @param square The Latin square.
+	 * @param random The random number generator.
+	 * @return Square The isotope.
+	 */
+	private static Square getRandomIsotope(Square square, Random random)
+	{
+		int order = square.getOrder();
+		int [][] permutations = new int[3][order];
+		for(int [] permutation : permutations)
+		{
+			for(int i = 0; i < order; i++) { permutation[i] = i; }
+			for(int i = order - 1; i > 0; i--)
+			{
+				int j = random.nextInt(i + 1);
+				int swap = permutation[i];
+				permutation[i] = permutation[j];
+				permutation[j] = swap;
+			}
+		}
+		
+		Square isotope = new Square(order);
+		for(int i = 0; i < order; i++)
+		{
+			for(int j = 0; j < order; j++)
+			{
+				isotope.setCellSymbol(permutations[0][i], permutations[1][j], permutations[2][square.getCellSymbol(i, j)]);
+			}
+		}
+		return isotope;
+	}
+	
+	/**
+	 * Unit test method that returns a copy of a list of lines without one of the lines.
+	 * 
+	 * @param lines The lines.
+	 * @param line The line to remove.
+	 * @return List The remaining lines.
+	 */
+	private static List<String> withoutLine(List<String> lines, String line)
+	{
+		List<String> remaining = new ArrayList<String>(lines);
+		remaining.remove(line);
+		return remaining;
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Scanner;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareClassRepresentatives</h1>
+ * 
+ * <p>This class contains the unit tests for generating isotopy class and main class
+ * representatives and their class sizes.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareClassRepresentatives 
+{
+	private final long [] NUM_ISOTOPY_CLASSES = { 1, 1, 1, 2, 2, 22 };
+	private final long [] NUM_MAIN_CLASSES = { 1, 1, 1, 2, 2, 12 };
+	private final long [] NUM_LATIN_SQUARES = { 1, 2, 12, 576, 161280, 812851200 };
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for the number of isotopy classes and their sizes for orders 1 to 6.
+	 */
+	@Test
+	public void testIsotopyClassRepresentatives() 
+	{
+		for(int n = 1; n <= 6; n++)
+		{
+			assertEquals(true, testClassRepresentatives("iso", n, NUM_ISOTOPY_CLASSES[n - 1], NUM_LATIN_SQUARES[n - 1]));
+		}
+	}
+	
+	/**
+	 * Unit test for the number of main classes and their sizes for orders 1 to 6.
+	 */
+	@Test
+	public void testMainClassRepresentatives() 
+	{
+		for(int n = 1; n <= 6; n++)
+		{
+			assertEquals(true, testClassRepresentatives("main", n, NUM_MAIN_CLASSES[n - 1], NUM_LATIN_SQUARES[n - 1]));
+		}
+	}
+	
+	/**
+	 * Unit test that maps every order-4 Latin square to its canonical forms, which must be
+	 * the generated representatives, each reached by exactly the number of Latin squares in its class.
+	 */
+	@Test
+	public void testCanonicalFormOrder4() 
+	{
+		assertEquals(true, testCanonicalForm(4, false));
+		assertEquals(true, testCanonicalForm(4, true));
+	}
+	
+	/**
+	 * Unit test for the transversal count statistics of the order-5 isotopy class representatives,
+	 * which must match those of all order-5 Latin squares.
+	 */
+	@Test
+	public void testWeightedTransversalCountStatsOrder5() 
+	{
+		String [] allArgs = { "-m", "ds", "-n", "5", "-s", "0", "-t", "-j" };
+		String [] isoArgs = { "-m", "iso", "-n", "5", "-s", "0", "-t", "-j" };
+		
+		LatinSquareJob allJob = new LatinSquareJob(new LatinSquareJobConfigGenerator(allArgs));
+		for(Square square : new LatinSquareFactoryGeneratorIterable(allArgs)) { allJob.submitTransversalCount(square.getTransversalCount()); }
+		
+		LatinSquareJob isoJob = new LatinSquareJob(new LatinSquareJobConfigGenerator(isoArgs));
+		LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(5);
+		for(Square square : new LatinSquareFactoryGeneratorIterable(isoArgs))
+		{
+			canonicalForm.isIsotopyCanonical(square);
+			long weight = LatinSquareCanonicalForm.getReducedClassSize(5, canonicalForm.getAutomorphismCount(), false);
+			isoJob.submitTransversalCount(square.getTransversalCount(), weight);
+		}
+		
+		assertEquals(allJob.getTransversalCountMin(), isoJob.getTransversalCountMin());
+		assertEquals(allJob.getTransversalCountMax(), isoJob.getTransversalCountMax());
+		assertEquals(allJob.getTransversalCountMean(), isoJob.getTransversalCountMean(), 0.000001);
+		assertEquals(allJob.getTransversalCountMedian(), isoJob.getTransversalCountMedian(), 0.000001);
+		assertEquals(allJob.getTransversalCountMode()[0], isoJob.getTransversalCountMode()[0]);
+	}
+	
+	/**
+	 * Unit test for the Latin Square Generator Tool's output in the isotopy class mode.
+	 */
+	@Test
+	public void testGeneratorClassRepresentativesOutput() 
+	{
+		String outputFile = outputDirectory + "n04_iso_representatives.txt";
+		String [] args = { "-m", "iso", "-n", "4", "-s", "0" };
+		
+		PrintStream stdout = System.out;
+		try
+		{
+			System.setOut(new PrintStream(new File(outputFile)));
+			new LatinSquareFactory(new LatinSquareJobConfigGenerator(args)).go();
+			System.out.flush();
+		}
+		catch(Exception e) { return; }
+		finally { System.setOut(stdout); }
+		
+		ArrayList<String> classSizeLines = new ArrayList<String>();
+		try(Scanner scanner = new Scanner(new File(outputFile)))
+		{
+			while(scanner.hasNextLine())
+			{
+				String line = scanner.nextLine();
+				if(line.startsWith("Latin Square #")) { classSizeLines.add(line); }
+			}
+		}
+		catch(Exception e) { assertEquals(true, false); }
+		
+		assertEquals(2, classSizeLines.size());
+		assertEquals("Latin Square #1 Isotopy Class Size: 144", classSizeLines.get(0));
+		assertEquals("Latin Square #2 Isotopy Class Size: 432", classSizeLines.get(1));
+	}
+	
+	/**
+	 * Unit test method that generates the class representatives of order-n Latin squares,
+	 * checks that each one is reduced and canonical, and sums their class sizes.
+	 * 
+	 * @param mode The generation mode ("iso" or "main").
+	 * @param testOrder The Latin square order.
+	 * @param numClasses The expected number of classes.
+	 * @param numLatinSquares The number of order-n Latin squares.
+	 * @return boolean Test result.
+	 */
+	private boolean testClassRepresentatives(String mode, int testOrder, long numClasses, long numLatinSquares)
+	{
+		String [] args = { "-m", mode, "-n", "" + testOrder, "-s", "0" };
+		boolean mainClass = mode.equals("main");
+		LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(testOrder);
+		
+		long count = 0;
+		BigInteger sum = BigInteger.ZERO;
+		for(Square square : new LatinSquareFactoryGeneratorIterable(args))
+		{
+			if(!square.latinSquarePropertyHolds()) { return false; }
+			
+			Square canonical = mainClass ? canonicalForm.getMainClassCanonicalForm(square) : canonicalForm.getIsotopyCanonicalForm(square);
+			if(!canonical.equals(square)) { return false; }
+			
+			boolean isCanonical = mainClass ? canonicalForm.isMainClassCanonical(square) : canonicalForm.isIsotopyCanonical(square);
+			if(!isCanonical) { return false; }
+			
+			sum = sum.add(LatinSquareCanonicalForm.getClassSize(testOrder, canonicalForm.getAutomorphismCount(), mainClass));
+			++count;
+		}
+		
+		return (count == numClasses) && sum.equals(BigInteger.valueOf(numLatinSquares));
+	}
+	
+	/**
+	 * Unit test method that maps every order-n Latin square to its canonical form.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param mainClass True for main classes, false for isotopy classes.
+	 * @return boolean Test result.
+	 */
+	private boolean testCanonicalForm(int testOrder, boolean mainClass)
+	{
+		String [] args = { "-m", mainClass ? "main" : "iso", "-n", "" + testOrder, "-s", "0" };
+		LatinSquareCanonicalForm canonicalForm = new LatinSquareCanonicalForm(testOrder);
+		
+		ArrayList<String> representatives = new ArrayList<String>();
+		ArrayList<BigInteger> classSizes = new ArrayList<BigInteger>();
+		for(Square square : new LatinSquareFactoryGeneratorIterable(args))
+		{
+			if(mainClass) { canonicalForm.isMainClassCanonical(square); }
+			else { canonicalForm.isIsotopyCanonical(square); }
+			representatives.add(square.toString());
+			classSizes.add(LatinSquareCanonicalForm.getClassSize(testOrder, canonicalForm.getAutomorphismCount(), mainClass));
+		}
+		
+		long [] counts = new long[representatives.size()];
+		Iterator<Square> squares = new LatinSquareSelectionIterator(testOrder, false);
+		while(squares.hasNext())
+		{
+			Square square = squares.next();
+			Square canonical = mainClass ? canonicalForm.getMainClassCanonicalForm(square) : canonicalForm.getIsotopyCanonicalForm(square);
+			int index = representatives.indexOf(canonical.toString());
+			if(index < 0) { return false; }
+			++counts[index];
+		}
+		
+		for(int i = 0; i < counts.length; i++)
+		{
+			if(!classSizes.get(i).equals(BigInteger.valueOf(counts[i]))) { return false; }
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * <h1>LatinSquareFactoryGeneratorIterable</h1>
+	 * 
+	 * This class iterates over the Latin squares of a generation mode without printing them.
+	 * 
+	 * @author Nathan O. Schmidt
+	 * @author Will Unger
+	 */
+	private class LatinSquareFactoryGeneratorIterable implements Iterable<Square>
+	{
+		private LatinSquareJobConfigGenerator config;
+		
+		LatinSquareFactoryGeneratorIterable(String [] args) { config = new LatinSquareJobConfigGenerator(args); }
+		
+		@Override
+		public Iterator<Square> iterator()
+		{
+			if(config.isGeneratingClassRepresentatives()) { return new LatinSquareGeneratorClassRepresentatives(config).iterator(); }
+			else { return new LatinSquareGeneratorSelection(config).iterator(); }
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareCompletion</h1>
+ * 
+ * <p>This class contains the unit tests for completing partial Latin squares with
+ * the exact-cover solver and the Latin Square Completion Tool.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareCompletion
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String inputDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/partial/";
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for the completion counts of order-4 partial squares, which must match the number of
+	 * order-4 Latin squares that agree with each partial square.
+	 */
+	@Test
+	public void testCompletionCountOrder4()
+	{
+		ArrayList<Square> allSquares = new ArrayList<Square>();
+		new LatinSquareSelectionIterator(4, false).forEachRemaining(allSquares::add);
+		
+		LatinSquarePartialFileParser partialSquares = new LatinSquarePartialFileParser(4, inputDirectory + "n04_partial.txt");
+		int numPartialSquares = 0;
+		
+		while(partialSquares.hasNext())
+		{
+			PartialSquare partialSquare = partialSquares.next();
+			long expectedCount = allSquares.stream().filter(partialSquare::isCompletedBy).count();
+			
+			assertEquals(expectedCount, new LatinSquareCompletionSolver(partialSquare).countCompletions(0));
+			numPartialSquares++;
+		}
+		
+		assertEquals(5, numPartialSquares);
+	}
+	
+	/**
+	 * Unit test for the completions of order-4 partial squares, which must be distinct Latin squares
+	 * that agree with each partial square.
+	 */
+	@Test
+	public void testCompletionsOrder4AreLatinSquares()
+	{
+		LatinSquarePartialFileParser partialSquares = new LatinSquarePartialFileParser(4, inputDirectory + "n04_partial.txt");
+		
+		while(partialSquares.hasNext())
+		{
+			PartialSquare partialSquare = partialSquares.next();
+			HashSet<String> completions = new HashSet<String>();
+			Iterator<Square> solver = new LatinSquareCompletionSolver(partialSquare);
+			
+			while(solver.hasNext())
+			{
+				Square square = solver.next();
+				assertEquals(true, square.latinSquarePropertyHolds());
+				assertEquals(true, partialSquare.isCompletedBy(square));
+				assertEquals(true, completions.add(square.toString()));
+			}
+		}
+	}
+	
+	/**
+	 * Unit test for an inconsistent partial square, which has no completions.
+	 */
+	@Test
+	public void testCompletionInconsistentPartialSquare()
+	{
+		PartialSquare partialSquare = new PartialSquare(3);
+		partialSquare.setCellSymbol(0, 0, 2);
+		partialSquare.setCellSymbol(2, 0, 2);
+		
+		LatinSquareCompletionSolver solver = new LatinSquareCompletionSolver(partialSquare);
+		assertEquals(false, solver.isConsistent());
+		assertEquals(false, solver.hasNext());
+	}
+	
+	/**
+	 * Unit test for the completions of the first row of an order-5 Latin square, which must match
+	 * the selection-based algorithm that starts from the same prefix.
+	 */
+	@Test
+	public void testCompletionCountOrder5FirstRow()
+	{
+		Square firstSquare = new LatinSquareSelectionIterator(5, false).next();
+		PartialSquare partialSquare = new PartialSquare(firstSquare, 5);
+		
+		long expectedCount = 0;
+		Iterator<Square> prefixSquares = new LatinSquareSelectionIterator(5, false, new int[]{ 0, 1, 2, 3, 4 });
+		while(prefixSquares.hasNext()) { prefixSquares.next(); expectedCount++; }
+		
+		assertEquals(1344, expectedCount);
+		assertEquals(expectedCount, new LatinSquareCompletionSolver(partialSquare).countCompletions(0));
+		assertEquals(10, new LatinSquareCompletionSolver(partialSquare).countCompletions(10));
+	}
+	
+	/**
+	 * Unit test for the completion counts printed by the Latin Square Completion Tool with worker threads.
+	 */
+	@Test
+	public void testCompletionToolCountParallel()
+	{
+		assertEquals(true, testCompletionTool("n04_partial_counts.txt",
+				new String[]{ "-f", inputDirectory + "n04_partial.txt", "-n", "4", "-a", "-c", "-w", "3" }));
+	}
+	
+	/**
+	 * Unit test for the first completion of each partial square printed by the Latin Square Completion Tool.
+	 */
+	@Test
+	public void testCompletionToolFirst()
+	{
+		assertEquals(true, testCompletionTool("n04_partial_k1.txt",
+				new String[]{ "-f", inputDirectory + "n04_partial.txt", "-n", "4" }));
+	}
+	
+	/**
+	 * Unit test for all completions printed by the Latin Square Completion Tool, which must be identical
+	 * with and without worker threads.
+	 */
+	@Test
+	public void testCompletionToolAllParallelMatchesSequential()
+	{
+		String inputFile = inputDirectory + "n04_partial.txt";
+		
+		assertEquals(true, runCompletionTool(outputDirectory + "n04_partial_all_w1.txt", 
+				new String[]{ "-f", inputFile, "-n", "4", "-a" }));
+		assertEquals(true, runCompletionTool(outputDirectory + "n04_partial_all_w4.txt", 
+				new String[]{ "-f", inputFile, "-n", "4", "-a", "-w", "4" }));
+		
+		try
+		{
+			byte[] sequentialOutput = Files.readAllBytes(new File(outputDirectory + "n04_partial_all_w1.txt").toPath());
+			byte[] parallelOutput = Files.readAllBytes(new File(outputDirectory + "n04_partial_all_w4.txt").toPath());
+			assertEquals(new String(sequentialOutput), new String(parallelOutput));
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			assertEquals(true, false);
+		}
+		
+		LatinSquareFileParser squareFileParser = new LatinSquareFileParser(4, outputDirectory + "n04_partial_all_w1.txt");
+		long count = 0;
+		while(squareFileParser.next() != null) { count++; }
+		assertEquals(576 + 24 + 8 + 24, count);
+	}
+	
+	/**
+	 * Unit test method that runs the Latin Square Completion Tool and compares its output with a target file.
+	 * 
+	 * @param fileName The name of the target and actual output files.
+	 * @param args The command line arguments.
+	 * @return boolean Test result.
+	 */
+	private boolean testCompletionTool(String fileName, String [] args)
+	{
+		if(!runCompletionTool(outputDirectory + fileName, args)) { return false; }
+		
+		try
+		{
+			String targetData = new String(Files.readAllBytes(new File(inputDirectory + fileName).toPath()));
+			String actualData = new String(Files.readAllBytes(new File(outputDirectory + fileName).toPath()));
+			
+			return targetData.equals(actualData);
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+	
+	/**
+	 * Unit test method that runs the Latin Square Completion Tool with its output redirected to a file.
+	 * 
+	 * @param outputFileName The output file.
+	 * @param args The command line arguments.
+	 * @return boolean True if the tool completed without exceptions.
+	 */
+	private boolean runCompletionTool(String outputFileName, String [] args)
+	{
+		final OutputStream originalOut = System.out;
+		
+		try
+		{
+			System.setOut(new PrintStream(outputFileName));
+			LatinSquareToolCompletion.main(args);
+			System.setOut(new PrintStream(originalOut));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+		
+		return true;
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareCompression</h1>
+ * 
+ * <p>This class contains the unit tests for writing and reading gzip-compressed data set files.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareCompression
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String generatorReport = outputDirectory + "compression_report.txt";
+	
+	/**
+	 * Unit test for compressing all order-4 Latin squares in the ordered-triple and binary formats,
+	 * which must decompress (and convert) to the uncompressed output file.
+	 */
+	@Test
+	public void testCompressedRoundTripOrder4()
+	{
+		String textFile = outputDirectory + "n04_compressed_all.txt";
+		String compressedTextFile = outputDirectory + "n04_compressed_all.txt.gz";
+		String compressedBinaryFile = outputDirectory + "n04_compressed_all.bin.gz";
+		String convertedFile = outputDirectory + "n04_compressed_all_converted.txt";
+		
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", textFile });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", compressedTextFile, "-z" });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-o", compressedBinaryFile, "-z", "-b" });
+		LatinSquareToolConverter.main(new String[]{ "-f", compressedBinaryFile, "-n", "4", "-o", convertedFile, "-F", "triple" });
+		
+		try
+		{
+			byte [] expected = Files.readAllBytes(new File(textFile).toPath());
+			List<String> manifest = Files.readAllLines(new File(LatinSquareGeneratorSelection.getManifestFile(compressedTextFile)).toPath());
+			assertEquals(true, (expected.length > 0) && Arrays.equals(expected, decompress(compressedTextFile))
+					&& Arrays.equals(expected, Files.readAllBytes(new File(convertedFile).toPath()))
+					&& LatinSquareCompressedOutputStream.isCompressed(new File(compressedBinaryFile))
+					&& manifest.contains("compression=gzip"));
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			assertEquals(true, false);
+		}
+	}
+	
+	/**
+	 * Unit test for counting the transversals of a compressed order-5 data set with one worker thread and with
+	 * 3 worker threads, which must match the counts of the uncompressed data set.
+	 */
+	@Test
+	public void testCompressedTransversalCounterOrder5()
+	{
+		String textFile = outputDirectory + "n05_compressed_s2000.txt";
+		String compressedFile = outputDirectory + "n05_compressed_s2000.txt.gz";
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "2000", "-o", textFile });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "2000", "-o", compressedFile, "-z" });
+		
+		List<String> expected = LatinSquareTestHelper.runTool(outputDirectory + "n05_compressed_lstc.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", textFile, "-n", "5", "-j" });
+		List<String> sequential = LatinSquareTestHelper.runTool(outputDirectory + "n05_compressed_lstc_w1.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", compressedFile, "-n", "5", "-j" });
+		List<String> parallel = LatinSquareTestHelper.runTool(outputDirectory + "n05_compressed_lstc_w3.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", compressedFile, "-n", "5", "-j", "-w", "3" });
+		
+		boolean result = (expected != null) && (sequential != null) && (parallel != null) && !expected.isEmpty();
+		if(result) { parallel.remove("              # Worker Threads: 3"); }
+		assertEquals(true, result && expected.equals(sequential) && expected.equals(parallel));
+	}
+	
+	/**
+	 * Unit test for resuming a compressed order-5 data set from its checkpoints, which must
+	 * decompress to the output file of a single run.
+	 */
+	@Test
+	public void testCompressedResumeOrder5()
+	{
+		String textFile = outputDirectory + "n05_compressed_s5000.txt";
+		String compressedFile = outputDirectory + "n05_compressed_resumed.txt.gz";
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "5000", "-o", textFile });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "3000", "-o", compressedFile, "-z", "--checkpoint", "700" });
+		LatinSquareTestHelper.runTool(generatorReport, LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "5000", "-o", compressedFile, "-z", "--resume" });
+		
+		try
+		{
+			byte [] expected = Files.readAllBytes(new File(textFile).toPath());
+			assertEquals(true, (expected.length > 0) && Arrays.equals(expected, decompress(compressedFile)));
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			assertEquals(true, false);
+		}
+	}
+	
+	/**
+	 * Unit test for rejecting the compressed output without an output file.
+	 */
+	@Test
+	public void testCompressedInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-z" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-z", "-o", "x.gz" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigConverter(new String[]{ "-f", "x.txt", "-n", "4", "-o", "y.gz", "-F", "binary", "-z", "-j" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that decompresses a gzip file.
+	 * 
+	 * @param compressedFile The compressed file.
+	 * @return byte[] The decompressed bytes.
+	 * @throws Exception If the file cannot be decompressed.
+	 */
+	private byte [] decompress(String compressedFile) throws Exception
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(InputStream input = new GZIPInputStream(new FileInputStream(compressedFile)))
+		{
+			byte [] buffer = new byte[8192];
+			int numBytes;
+			while((numBytes = input.read(buffer)) > 0) { bytes.write(buffer, 0, numBytes); }
+		}
+		
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,272 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Properties;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareConstraints</h1>
+ * 
+ * <p>This class contains the unit tests for the constraint-filtered selection-based data set generation.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareConstraints
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String [] constraintLists = { "diagonal", "symmetric", "idempotent", "unipotent", "reduced",
+			"diagonal,idempotent", "symmetric,idempotent", "symmetric,unipotent", "diagonal,symmetric", "reduced,symmetric",
+			"idempotent,unipotent" };
+	
+	/**
+	 * Unit test for each constrained order-4 data set, which must match the filtered data set.
+	 */
+	@Test
+	public void testConstraintsMatchFilterOrder4()
+	{
+		boolean result = true;
+		for(String constraintList : constraintLists)
+		{
+			if(!testConstraintsMatchFilter(4, false, constraintList)) { result = false; }
+			if(!testConstraintsMatchFilter(4, true, constraintList)) { result = false; }
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for each constrained order-5 data set, which must match the filtered data set.
+	 */
+	@Test
+	public void testConstraintsMatchFilterOrder5()
+	{
+		boolean result = true;
+		for(String constraintList : constraintLists)
+		{
+			if(!testConstraintsMatchFilter(5, false, constraintList)) { result = false; }
+		}
+		if(!testConstraintsMatchFilter(5, true, "diagonal")) { result = false; }
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for the number of reduced Latin squares of orders 1 to 6.
+	 */
+	@Test
+	public void testReducedCounts()
+	{
+		long [] expected = { 1, 1, 1, 4, 56, 9408 };
+		for(int testOrder = 1; testOrder <= expected.length; testOrder++)
+		{
+			assertEquals(expected[testOrder - 1], countSquares(testOrder, "reduced"));
+		}
+	}
+	
+	/**
+	 * Unit test for the number of diagonal Latin squares of orders 1 to 5.
+	 */
+	@Test
+	public void testDiagonalCounts()
+	{
+		long [] expected = { 1, 0, 0, 48, 960 };
+		for(int testOrder = 1; testOrder <= expected.length; testOrder++)
+		{
+			assertEquals(expected[testOrder - 1], countSquares(testOrder, "diagonal"));
+		}
+	}
+	
+	/**
+	 * Unit test for splitting the constrained order-5 data sets into shards.
+	 */
+	@Test
+	public void testConstraintsShardUnionOrder5()
+	{
+		assertEquals(true, testShardUnion(5, false, "diagonal", 0, 3));
+		assertEquals(true, testShardUnion(5, true, "diagonal", 0, 4));
+		assertEquals(true, testShardUnion(5, false, "symmetric,idempotent", 0, 2));
+		assertEquals(true, testShardUnion(5, false, "unipotent", 100, 3));
+	}
+	
+	/**
+	 * Unit test for the "-c" argument of the Latin Square Generator Tool, which must
+	 * record the constraints in the manifest of the output file.
+	 */
+	@Test
+	public void testConstraintsToolOrder5()
+	{
+		assertEquals(true, testConstraintsTool(5, "diagonal,idempotent"));
+	}
+	
+	/**
+	 * Unit test for rejecting unknown constraints and unsupported generation modes.
+	 */
+	@Test
+	public void testConstraintsInvalidArguments()
+	{
+		assertEquals(true, LatinSquareConstraints.parse("diagonal,magic") == null);
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "-c", "magic" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "dsr", "-n", "4", "-s", "0", "-c", "diagonal" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "dsp", "-n", "4", "-s", "0", "-c", "diagonal" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that verifies that the constrained search generates exactly the Latin squares
+	 * of the unconstrained search that satisfy the constraints, in the same order.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param preLoadMode The preloading flag.
+	 * @param constraintList The comma-separated list of constraint names.
+	 * @return boolean Test result.
+	 */
+	private boolean testConstraintsMatchFilter(int testOrder, boolean preLoadMode, String constraintList)
+	{
+		LatinSquareConstraints constraints = LatinSquareConstraints.parse(constraintList);
+		
+		ArrayList<String> expected = new ArrayList<String>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, preLoadMode);
+		while(search.advance())
+		{
+			if(constraints.isSatisfiedBy(search.getCurrentSquare())) { expected.add(search.getCurrentSquare().toString()); }
+		}
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		search = new LatinSquareSelectionIterator(testOrder, preLoadMode, new int[0], constraints);
+		while(search.advance()) { actual.add(search.getCurrentSquare().toString()); }
+		
+		return expected.equals(actual);
+	}
+	
+	/**
+	 * Unit test method that counts the Latin squares of the constrained search.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param constraintList The comma-separated list of constraint names.
+	 * @return long The number of Latin squares.
+	 */
+	private long countSquares(int testOrder, String constraintList)
+	{
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, false, new int[0],
+				LatinSquareConstraints.parse(constraintList));
+		long count = 0;
+		while(search.advance()) { count++; }
+		return count;
+	}
+	
+	/**
+	 * Unit test method that verifies that the shards of a constrained data set are disjoint
+	 * and that together they contain exactly the Latin squares of a single run.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param preLoadMode The preloading flag.
+	 * @param constraintList The comma-separated list of constraint names.
+	 * @param dataSetSize The data set size (zero for all Latin squares).
+	 * @param numShards The number of shards.
+	 * @return boolean Test result.
+	 */
+	private boolean testShardUnion(int testOrder, boolean preLoadMode, String constraintList, long dataSetSize, int numShards)
+	{
+		LatinSquareConstraints constraints = LatinSquareConstraints.parse(constraintList);
+		
+		ArrayList<String> expected = new ArrayList<String>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, preLoadMode, new int[0], constraints);
+		while(search.advance() && ((dataSetSize == 0) || (expected.size() < dataSetSize)))
+		{
+			expected.add(search.getCurrentSquare().toString());
+		}
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		for(int i = 0; i < numShards; i++)
+		{
+			LatinSquareSelectionShard shard = new LatinSquareSelectionShard(testOrder, preLoadMode, constraints, dataSetSize, i, numShards);
+			while(shard.hasNext()) { actual.add(shard.next().toString()); }
+		}
+		
+		Collections.sort(expected);
+		Collections.sort(actual);
+		return (expected.size() > 0) && expected.equals(actual);
+	}
+	
+	/**
+	 * Unit test method that generates a constrained data set with the Latin Square Generator Tool,
+	 * then verifies its Latin squares (through the generator's iterator) and its manifest.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param constraintList The comma-separated list of constraint names.
+	 * @return boolean Test result.
+	 */
+	private boolean testConstraintsTool(int testOrder, String constraintList)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String outputFile = outputDirectory + "n0" + testOrderStr + "_constraints.txt";
+		String [] args = { "-m", "ds", "-n", testOrderStr, "-s", "0", "-c", constraintList, "-o", outputFile };
+		final OutputStream originalOut = System.out;
+		
+		try
+		{
+			System.setOut(new PrintStream(outputDirectory + "n0" + testOrderStr + "_constraints_report.txt"));
+			LatinSquareToolGenerator.main(args);
+			System.out.close();
+			System.setOut(new PrintStream(originalOut));
+			
+			LatinSquareConstraints constraints = LatinSquareConstraints.parse(constraintList);
+			Iterator<Square> squares = new LatinSquareGeneratorSelection(new LatinSquareJobConfigGenerator(args)).iterator();
+			long count = 0;
+			while(squares.hasNext())
+			{
+				if(!constraints.isSatisfiedBy(squares.next())) { return false; }
+				count++;
+			}
+			
+			Properties manifest = new Properties();
+			try(FileInputStream input = new FileInputStream(LatinSquareGeneratorSelection.getManifestFile(outputFile)))
+			{
+				manifest.load(input);
+			}
+			return (count > 0) && manifest.getProperty("constraints").equals(constraintList)
+					&& manifest.getProperty("squares").equals(Long.toString(count));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
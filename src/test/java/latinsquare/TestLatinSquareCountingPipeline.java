@@ -0,0 +1,150 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareCountingPipeline</h1>
+ * 
+ * <p>This class contains the unit tests for counting the transversals of the generated
+ * Latin squares with a pool of worker threads.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareCountingPipeline
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for counting the transversals of all order-5 Latin squares with 3 worker threads.
+	 */
+	@Test
+	public void testCountingPipelineOrder5()
+	{
+		assertEquals(true, testCountingPipeline("n05_pipeline", new String[]{ "-m", "ds", "-n", "5", "-s", "0", "-t", "-j" }, 3));
+	}
+	
+	/**
+	 * Unit test for printing the transversal heat maps of an order-6 data set (with preloading) with 4 worker threads.
+	 */
+	@Test
+	public void testCountingPipelineHeatMapOrder6()
+	{
+		assertEquals(true, testCountingPipeline("n06_pipeline_heat", new String[]{ "-m", "dsp", "-n", "6", "-s", "500", "-h", "-r", "-j" }, 4));
+	}
+	
+	/**
+	 * Unit test for printing the transversal lists of an order-5 row-by-row data set with 2 worker threads.
+	 */
+	@Test
+	public void testCountingPipelineRowByRowOrder5()
+	{
+		assertEquals(true, testCountingPipeline("n05_pipeline_row", new String[]{ "-m", "dsr", "-n", "5", "-s", "300", "-T", "-j" }, 2));
+	}
+	
+	/**
+	 * Unit test for counting the transversals of an order-5 data set that is written to an output
+	 * file with checkpoints, where the output file and its manifest must not depend on the number of threads.
+	 */
+	@Test
+	public void testCountingPipelineOutputFileOrder5()
+	{
+		boolean result = true;
+		String [] outputFiles = new String[2];
+		int [] numThreads = { 1, 3 };
+		
+		for(int i = 0; i < numThreads.length; i++)
+		{
+			outputFiles[i] = outputDirectory + "n05_pipeline_w" + numThreads[i] + ".txt";
+			String [] args = { "-m", "ds", "-n", "5", "-s", "5000", "-t", "-o", outputFiles[i], "--checkpoint", "700",
+					"-w", "" + numThreads[i] };
+			if(LatinSquareTestHelper.runTool(outputDirectory + "n05_pipeline_w" + numThreads[i] + "_report.txt", LatinSquareToolGenerator::main, args) == null) { result = false; }
+		}
+		
+		try
+		{
+			byte [] expected = Files.readAllBytes(new File(outputFiles[0]).toPath());
+			byte [] actual = Files.readAllBytes(new File(outputFiles[1]).toPath());
+			List<String> expectedManifest = Files.readAllLines(new File(LatinSquareGeneratorSelection.getManifestFile(outputFiles[0])).toPath());
+			List<String> actualManifest = Files.readAllLines(new File(LatinSquareGeneratorSelection.getManifestFile(outputFiles[1])).toPath());
+			if((expected.length == 0) || !Arrays.equals(expected, actual)) { result = false; }
+			
+			// the manifests only differ by their byte counts if the output files differ
+			if(!expectedManifest.equals(actualManifest)) { result = false; }
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			result = false;
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for rejecting the "-w" argument in the super-symmetric generation mode.
+	 */
+	@Test
+	public void testCountingPipelineInvalidMode()
+	{
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "2", "-t", "-w", "2" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "5", "-s", "0", "-t", "-w", "2" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that runs the Latin Square Generator Tool with one worker thread and with several
+	 * worker threads. The outputs (including the job report summary) must be identical, except for the
+	 * number of worker threads that the job report summary prints.
+	 * 
+	 * @param testName The prefix of the output files.
+	 * @param args The command line arguments (without "-w").
+	 * @param numThreads The number of worker threads.
+	 * @return boolean Test result.
+	 */
+	private boolean testCountingPipeline(String testName, String [] args, int numThreads)
+	{
+		List<String> expected = LatinSquareTestHelper.runTool(outputDirectory + testName + "_w1.txt", LatinSquareToolGenerator::main, args);
+		
+		String [] parallelArgs = Arrays.copyOf(args, args.length + 2);
+		parallelArgs[args.length] = "-w";
+		parallelArgs[args.length + 1] = "" + numThreads;
+		List<String> actual = LatinSquareTestHelper.runTool(outputDirectory + testName + "_w" + numThreads + ".txt", LatinSquareToolGenerator::main, parallelArgs);
+		
+		if((expected == null) || (actual == null) || expected.isEmpty()) { return false; }
+		actual.remove("              # Worker Threads: " + numThreads);
+		return expected.equals(actual);
+	}
+}
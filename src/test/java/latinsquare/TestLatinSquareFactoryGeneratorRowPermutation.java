@@ -0,0 +1,384 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Scanner;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareFactoryGeneratorRowPermutation</h1>
+ * 
+ * <p>This class contains the unit tests for generating Latin square data sets with
+ * the row-by-row selection-based algorithm.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareFactoryGeneratorRowPermutation 
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String inputDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for an order-1 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder1SizeAll() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(1, 0));
+	}
+	
+	/**
+	 * Unit test for an order-2 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder2SizeAll() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(2, 0));
+	}
+	
+	/**
+	 * Unit test for an order-3 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder3SizeAll() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(3, 0));
+	}
+	
+	/**
+	 * Unit test for an order-4 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder4Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(4, 10));
+	}
+	
+	/**
+	 * Unit test for an order-5 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder5Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(5, 10));
+	}
+	
+	/**
+	 * Unit test for an order-6 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder6Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(6, 10));
+	}
+	
+	/**
+	 * Unit test for an order-7 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder7Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(7, 10));
+	}
+	
+	/**
+	 * Unit test for an order-8 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder8Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(8, 10));
+	}
+	
+	/**
+	 * Unit test for an order-9 Latin square data set.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder9Size10() 
+	{
+		assertEquals(true, testGeneratorRowPermutation(9, 10));
+	}
+	
+	/**
+	 * Unit test method for order-n Latin square data sets (in ordered-triple format).
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param testDataSetSize The size of the data set.
+	 * @return boolean Test result.
+	 */
+	private boolean testGeneratorRowPermutation(int testOrder, int testDataSetSize)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String testDataSetSizeStr = Integer.toString(testDataSetSize);
+		final OutputStream originalOut = System.out;
+		
+		// generate latin square data set
+		String [] args = new String[]{ "-m", "dsr", "-n", testOrderStr, "-s", testDataSetSizeStr };
+		
+		try
+		{
+			
+			System.setOut(new PrintStream(outputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + "_rows.txt"));
+			LatinSquareToolGenerator.main(args);
+			System.setOut(new PrintStream(originalOut));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+		
+		File fileTargetData = new File(inputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + ".txt");
+		File fileActualData = new File(outputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + "_rows.txt");
+		
+		if(fileTargetData.exists() && fileTargetData.isFile() && fileActualData.exists() && fileActualData.isFile())
+		{
+			try
+			{
+				Scanner fileTargetScanner = new Scanner(fileTargetData);
+				Scanner fileActualScanner = new Scanner(fileActualData);
+				
+				while(fileTargetScanner.hasNext() && fileActualScanner.hasNext())
+				{
+					String targetLine = fileTargetScanner.next();
+					String actualLine = fileActualScanner.next();
+					
+					if(!targetLine.equals(actualLine)) { return false; }
+				}
+				
+				fileTargetScanner.close();
+				fileActualScanner.close();
+			}
+			catch(Exception e)
+			{
+				System.out.println(e.getMessage());
+				return false;
+			}
+		}
+		else
+		{
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Unit test for an order-1 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder1SizeAllHumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(1, 0));
+	}
+	
+	/**
+	 * Unit test for an order-2 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder2SizeAllHumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(2, 0));
+	}
+	
+	/**
+	 * Unit test for an order-3 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder3Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(3, 5));
+	}
+	
+	/**
+	 * Unit test for an order-4 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder4Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(4, 5));
+	}
+	
+	/**
+	 * Unit test for an order-5 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder5Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(5, 5));
+	}
+	
+	/**
+	 * Unit test for an order-6 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder6Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(6, 5));
+	}
+	
+	/**
+	 * Unit test for an order-7 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder7Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(7, 5));
+	}
+	
+	/**
+	 * Unit test for an order-8 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder8Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(8, 5));
+	}
+	
+	/**
+	 * Unit test for an order-9 Latin square data set (in human-readable format).
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder9Size5HumanReadable() 
+	{
+		assertEquals(true, testGeneratorRowPermutationHumanReadable(9, 5));
+	}
+	
+	/**
+	 * Unit test method for order-n Latin square data sets (in human-readable format).
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param testDataSetSize The size of the data set.
+	 * @return boolean Test result.
+	 */
+	private boolean testGeneratorRowPermutationHumanReadable(int testOrder, int testDataSetSize)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String testDataSetSizeStr = Integer.toString(testDataSetSize);
+		final OutputStream originalOut = System.out;
+		
+		// generate latin square data set
+		String [] args = new String[]{ "-m", "dsr", "-n", testOrderStr, "-s", testDataSetSizeStr, "-r" };
+		
+		try
+		{
+			
+			System.setOut(new PrintStream(outputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + "_rows_human.txt"));
+			LatinSquareToolGenerator.main(args);
+			System.setOut(new PrintStream(originalOut));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+		
+		File fileTargetData = new File(inputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + "_human.txt");
+		File fileActualData = new File(outputDirectory + "n0" + testOrderStr + "_s" + testDataSetSizeStr + "_rows_human.txt");
+		
+		if(fileTargetData.exists() && fileTargetData.isFile() && fileActualData.exists() && fileActualData.isFile())
+		{
+			try
+			{
+				Scanner fileTargetScanner = new Scanner(fileTargetData);
+				Scanner fileActualScanner = new Scanner(fileActualData);
+				
+				while(fileTargetScanner.hasNext() && fileActualScanner.hasNext())
+				{
+					String targetLine = fileTargetScanner.next();
+					String actualLine = fileActualScanner.next();
+					
+					if(!targetLine.equals(actualLine)) { return false; }
+				}
+				
+				fileTargetScanner.close();
+				fileActualScanner.close();
+			}
+			catch(Exception e)
+			{
+				System.out.println(e.getMessage());
+				return false;
+			}
+		}
+		else
+		{
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Unit test for the set of all order-5 Latin squares, which must be identical (and in the same
+	 * order) to the set generated by the cell-by-cell selection-based algorithm.
+	 */
+	@Test
+	public void testGeneratorRowPermutationOrder5SizeAllMatchesSelection()
+	{
+		Iterator<Square> rowSquares = new LatinSquareRowPermutationIterator(5);
+		Iterator<Square> cellSquares = new LatinSquareSelectionIterator(5, false);
+		long count = 0;
+		
+		while(rowSquares.hasNext() && cellSquares.hasNext())
+		{
+			assertEquals(true, rowSquares.next().equals(cellSquares.next()));
+			count++;
+		}
+		
+		assertEquals(false, rowSquares.hasNext() || cellSquares.hasNext());
+		assertEquals(161280, count);
+	}
+	
+	/**
+	 * Unit test for the job report summary of the row-by-row generation of the set of all order-3 Latin squares,
+	 * which is printed (once) when the search is exhausted, as it is when the data set size is reached.
+	 */
+	@Test
+	public void testGeneratorRowPermutationReportOrder3SizeAll()
+	{
+		for(String size : new String[]{ "0", "5" })
+		{
+			List<String> output = LatinSquareTestHelper.runTool(outputDirectory + "n03_dsr_s" + size + "_report.txt",
+					LatinSquareToolGenerator::main, new String[]{ "-m", "dsr", "-n", "3", "-s", size, "-j" });
+			
+			assertEquals(true, output != null);
+			assertEquals(1, output.stream().filter(line -> line.equals("[Configuration]")).count());
+			assertEquals(true, output.contains("     # Latin Squares Processed: " + (size.equals("0") ? "12" : size)));
+		}
+	}
+}
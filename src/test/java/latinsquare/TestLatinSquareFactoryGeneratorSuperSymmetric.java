@@ -184,6 +184,46 @@ public class TestLatinSquareFactoryGeneratorSuperSymmetric
 		assertEquals(true, testGeneratorSuperSymmetric(7, 2));
 	}
 	
+	/**
+	 * Unit test for the in-place lifting of an order-3^5 super-symmetric Latin square, which must match
+	 * the Latin square that is lifted one order at a time from the cyclic base square.
+	 */
+	@Test
+	public void testGeneratorSuperSymmetricLiftInPlace()
+	{
+		LatinSquareGeneratorSuperSymmetric generator = new LatinSquareGeneratorSuperSymmetric(
+				new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "5" }));
+		Square expected = generator.generateBaseSquare(3);
+		for(int i = 1; i < 5; i++) { expected = generator.liftToPrimePowerSquare(expected, 3); }
+		
+		assertEquals(true, expected.equals(generator.generateSquare()));
+	}
+	
+	/**
+	 * Unit test for an order-2^11 super-symmetric Latin square (which is large enough for its last lifts
+	 * to be divided among the worker threads), which must match the implicit super-symmetric Latin square.
+	 */
+	@Test
+	public void testGeneratorSuperSymmetricLargeOrder2_11()
+	{
+		Square square = new LatinSquareGeneratorSuperSymmetric(
+				new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "2", "-d", "11" })).generateSquare();
+		SquareSuperSymmetric expected = new SquareSuperSymmetric(2, 11);
+		int [] rowSymbols = new int[expected.getOrder()];
+		boolean result = (square.getOrder() == expected.getOrder());
+		
+		for(int i = 0; result && (i < expected.getOrder()); i++)
+		{
+			expected.getRowSymbols(i, rowSymbols);
+			for(int j = 0; j < expected.getOrder(); j++)
+			{
+				if(square.getCellSymbol(i, j) != rowSymbols[j]) { result = false; }
+			}
+		}
+		
+		assertEquals(true, result);
+	}
+	
 	/**
 	 * Unit test method for order-p^d super-symmetric (or cyclic) Latin squares (in ordered-triple format).
 	 * 
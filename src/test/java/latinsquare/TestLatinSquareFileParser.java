@@ -26,7 +26,15 @@
  */
 
 import latinsquare.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.zip.GZIPOutputStream;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
@@ -44,6 +52,7 @@ public class TestLatinSquareFileParser
 {
     private final File resourcesDirectory = new File("src/test/resources");
 	private final String inputDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
 	
 	private LatinSquareFileParser squareFileParser = null;
 	private Square squareA = null;
@@ -216,4 +225,111 @@ public class TestLatinSquareFileParser
 		squareB = squareFileParser.next();
 		assertEquals(true, squareA.equals(squareB));
 	}
+	
+	/**
+	 * Unit test for parsing all order-5 Latin squares, whose lines cross many chunk boundaries
+	 * of the parser's buffer.
+	 */
+	@Test
+	public void testLargeFileParsingOrder5()
+	{
+		String outputFile = outputDirectory + "n05_parser_all.txt";
+		final OutputStream originalOut = System.out;
+		boolean result = true;
+		
+		try
+		{
+			System.setOut(new PrintStream(outputDirectory + "n05_parser_all_report.txt"));
+			LatinSquareToolGenerator.main(new String[]{ "-m", "ds", "-n", "5", "-s", "0", "-o", outputFile });
+			System.out.close();
+			System.setOut(new PrintStream(originalOut));
+			
+			LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(5, false);
+			squareFileParser = new LatinSquareFileParser(5, outputFile);
+			long count = 0;
+			while(search.advance())
+			{
+				if(!squareFileParser.hasNext() || !search.getCurrentSquare().equals(squareFileParser.next())) { result = false; }
+				count++;
+			}
+			if(squareFileParser.hasNext() || (count != 161280)) { result = false; }
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			result = false;
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for parsing an order-3 square with an out-of-range symbol, which is accepted as it is (as it
+	 * always has been), unless a reject log is set, in which case the square is rejected as malformed.
+	 */
+	@Test
+	public void testOutOfRangeSymbolParsingOrder3()
+	{
+		String inputFile = outputDirectory + "n03_parser_symbol.txt";
+		LatinSquareTestHelper.writeFile(inputFile, "(0,0,0)(0,1,1)(0,2,2)\n(1,0,1)(1,1,2)(1,2,0)\n(2,0,2)(2,1,0)(2,2,7)\n\n"
+				+ "(0,0,0)(0,1,1)(0,2,2)\n(1,0,1)(1,1,2)(1,2,0)\n(2,0,2)(2,1,0)(2,2,1)\n\n");
+		
+		squareFileParser = new LatinSquareFileParser(3, inputFile);
+		assertEquals(true, squareFileParser.hasNext() && (squareFileParser.next().getCellSymbol(2, 2) == 7));
+		assertEquals(true, squareFileParser.hasNext() && (squareFileParser.next().getCellSymbol(2, 2) == 1));
+		
+		LatinSquareRejectLog rejectLog = new LatinSquareRejectLog();
+		squareFileParser = new LatinSquareFileParser(3, inputFile);
+		squareFileParser.setRejectLog(rejectLog);
+		assertEquals(true, squareFileParser.hasNext() && (squareFileParser.next().getCellSymbol(2, 2) == 1));
+		assertEquals(false, squareFileParser.hasNext());
+		assertEquals(1, rejectLog.getNumRejected());
+	}
+	
+	/**
+	 * Unit test for parsing order-9 Latin squares from standard input (uncompressed and gzip-compressed),
+	 * which must match the squares parsed from the input file (and must leave standard input open).
+	 */
+	@Test
+	public void testStandardInputParsingOrder9()
+	{
+		final InputStream originalIn = System.in;
+		String inputFile = inputDirectory + "n09_s10.txt";
+		boolean result = LatinSquareFileParser.isStreamed("-") && !LatinSquareFileParser.isStreamed(inputFile);
+		
+		try
+		{
+			ArrayList<Square> expected = new ArrayList<Square>();
+			squareFileParser = new LatinSquareFileParser(9, inputFile);
+			while(squareFileParser.hasNext()) { expected.add(squareFileParser.next()); }
+			
+			byte [] bytes = Files.readAllBytes(new File(inputFile).toPath());
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try(GZIPOutputStream output = new GZIPOutputStream(compressed)) { output.write(bytes); }
+			
+			// standard input must be left open (for the later readers of the same JVM) when the input is exhausted
+			final boolean [] closed = { false };
+			for(byte [] input : new byte[][]{ bytes, compressed.toByteArray() })
+			{
+				System.setIn(new ByteArrayInputStream(input)
+				{
+					@Override
+					public void close() { closed[0] = true; }
+				});
+				squareFileParser = new LatinSquareFileParser(9, "-");
+				ArrayList<Square> actual = new ArrayList<Square>();
+				while(squareFileParser.hasNext()) { actual.add(squareFileParser.next()); }
+				if((expected.size() != 10) || !expected.equals(actual) || !squareFileParser.isStreamed() || closed[0]) { result = false; }
+			}
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			result = false;
+		}
+		finally { System.setIn(originalIn); }
+		
+		assertEquals(true, result);
+	}
 }
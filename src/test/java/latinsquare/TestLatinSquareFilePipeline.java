@@ -0,0 +1,125 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareFilePipeline</h1>
+ * 
+ * <p>This class contains the unit tests for parsing and processing the ranges of an input
+ * file with a pool of worker threads.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareFilePipeline
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String targetDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	
+	/**
+	 * Unit test for counting the transversals of all order-4 Latin squares with 3 worker threads.
+	 */
+	@Test
+	public void testTransversalCounterPipelineOrder4()
+	{
+		String inputFile = generateAllSquares(4);
+		assertEquals(true, testPipeline("n04_file_pipeline_tc", true, new String[]{ "-f", inputFile, "-n", "4", "-j", "-T", "-h" }, 3));
+		assertEquals(true, testPipeline("n04_file_pipeline_tc_quiet", true, new String[]{ "-f", inputFile, "-n", "4", "-j", "-q" }, 2));
+	}
+	
+	/**
+	 * Unit test for checking the Latin Square Property of the squares of a file with 3 worker threads.
+	 */
+	@Test
+	public void testPropertyCheckerPipeline()
+	{
+		assertEquals(true, testPipeline("n04_file_pipeline_pc", false, new String[]{ "-f", generateAllSquares(4), "-n", "4", "-j" }, 3));
+		assertEquals(true, testPipeline("n04_file_pipeline_pc_invalid", false,
+				new String[]{ "-f", targetDirectory + "some_invalid_n04_s10.txt", "-n", "4", "-j", "-r" }, 3));
+	}
+	
+	/**
+	 * Unit test for rejecting invalid worker thread arguments.
+	 */
+	@Test
+	public void testPipelineInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "-w", "0" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "-w", "2", "-u", "iso" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "-w", "x" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "-w", "4" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that writes all order-n Latin squares to an output file with the Latin Square Generator Tool.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @return String The output file.
+	 */
+	private String generateAllSquares(int testOrder)
+	{
+		String outputFile = outputDirectory + "n0" + testOrder + "_file_pipeline_all.txt";
+		LatinSquareTestHelper.runTool(outputDirectory + "n0" + testOrder + "_file_pipeline_all_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", Integer.toString(testOrder), "-s", "0", "-o", outputFile });
+		return outputFile;
+	}
+	
+	/**
+	 * Unit test method that runs a tool with one worker thread and with several worker threads.
+	 * The outputs (including the job report summary) must be identical, except for the number
+	 * of worker threads that the job report summary prints.
+	 * 
+	 * @param testName The prefix of the output files.
+	 * @param transversalCounter True for the Latin Square Transversal Counter Tool, false for the Latin Square Property Checker Tool.
+	 * @param args The command line arguments (without "-w").
+	 * @param numThreads The number of worker threads.
+	 * @return boolean Test result.
+	 */
+	private boolean testPipeline(String testName, boolean transversalCounter, String [] args, int numThreads)
+	{
+		Consumer<String []> tool = transversalCounter ? LatinSquareToolTransversalCounter::main : LatinSquareToolPropertyChecker::main;
+		List<String> expected = LatinSquareTestHelper.runTool(outputDirectory + testName + "_w1.txt", tool, args);
+		
+		String [] parallelArgs = Arrays.copyOf(args, args.length + 2);
+		parallelArgs[args.length] = "-w";
+		parallelArgs[args.length + 1] = "" + numThreads;
+		List<String> actual = LatinSquareTestHelper.runTool(outputDirectory + testName + "_w" + numThreads + ".txt", tool, parallelArgs);
+		
+		if((expected == null) || (actual == null) || expected.isEmpty()) { return false; }
+		actual.remove("              # Worker Threads: " + numThreads);
+		return expected.equals(actual);
+	}
+}
@@ -0,0 +1,163 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareFileRange</h1>
+ * 
+ * <p>This class contains the unit tests for processing a range (or a shard) of the squares of an input file
+ * through the index of the input file.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareFileRange
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for counting the transversals of three consecutive ranges of an order-5 data set with one worker
+	 * thread and with 3 worker threads, whose outputs must concatenate to the output of the whole data set.
+	 */
+	@Test
+	public void testRangeTransversalCounterOrder5()
+	{
+		String inputFile = outputDirectory + "n05_range_s3000.txt";
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "range_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "3000", "-o", inputFile });
+		new File(LatinSquareFileIndex.getIndexFile(inputFile)).delete();
+		
+		byte [] expected = LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_range_lstc.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", inputFile, "-n", "5", "-T" });
+		
+		boolean result = expected.length > 0;
+		for(String numThreads : new String[]{ "1", "3" })
+		{
+			ByteArrayOutputStream actual = new ByteArrayOutputStream();
+			for(String [] range : new String[][]{ { "--limit", "1100" }, { "--skip", "1100", "--limit", "1500" }, { "--skip", "2600" } })
+			{
+				String [] args = Arrays.copyOf(new String[]{ "-f", inputFile, "-n", "5", "-T", "-w", numThreads }, 7 + range.length);
+				System.arraycopy(range, 0, args, 7, range.length);
+				byte [] output = LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_range_lstc_w" + numThreads + ".txt",
+						LatinSquareToolTransversalCounter::main, args);
+				actual.write(output, 0, output.length);
+			}
+			if(!Arrays.equals(expected, actual.toByteArray())) { result = false; }
+		}
+		
+		assertEquals(true, result && new File(LatinSquareFileIndex.getIndexFile(inputFile)).isFile());
+	}
+	
+	/**
+	 * Unit test for counting the transversals of the 4 shards of an order-5 data set in the binary format,
+	 * whose outputs must concatenate to the output of the data set in the ordered-triple format.
+	 */
+	@Test
+	public void testShardBinaryTransversalCounterOrder5()
+	{
+		String inputFile = outputDirectory + "n05_shard_s2000.txt";
+		String binaryFile = outputDirectory + "n05_shard_s2000.bin";
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "range_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "2000", "-o", inputFile });
+		LatinSquareToolConverter.main(new String[]{ "-f", inputFile, "-n", "5", "-o", binaryFile, "-F", "binary" });
+		
+		byte [] expected = LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_shard_lstc.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", inputFile, "-n", "5", "-h" });
+		
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		for(int i = 0; i < 4; i++)
+		{
+			byte [] shard = LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_shard_lstc_" + i + ".txt", LatinSquareToolTransversalCounter::main,
+					new String[]{ "-f", binaryFile, "-n", "5", "-h", "--shard", i + "/4", "-w", "2" });
+			actual.write(shard, 0, shard.length);
+		}
+		
+		assertEquals(true, (expected.length > 0) && Arrays.equals(expected, actual.toByteArray()));
+	}
+	
+	/**
+	 * Unit test for seeking to squares through the index of an order-5 data set, which must be rebuilt
+	 * when the input file changes.
+	 */
+	@Test
+	public void testFileIndexOrder5()
+	{
+		String inputFile = outputDirectory + "n05_index_s3000.txt";
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "range_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "3000", "-o", inputFile });
+		new File(LatinSquareFileIndex.getIndexFile(inputFile)).delete();
+		
+		boolean result = true;
+		LatinSquareFileParser fullParser = new LatinSquareFileParser(5, inputFile);
+		for(long i = 0; fullParser.hasNext(); i++)
+		{
+			Square square = fullParser.next();
+			if(((i % 1000) != 23) && (i != 2047) && (i != 2048)) { continue; }
+			
+			LatinSquareFileParser rangeParser = new LatinSquareFileParser(5, inputFile);
+			rangeParser.setRange(i, 1);
+			if(!rangeParser.hasNext() || !square.toString().equals(rangeParser.next().toString()) || rangeParser.hasNext()) { result = false; }
+		}
+		
+		LatinSquareFileIndex index = LatinSquareFileIndex.load(new File(inputFile));
+		if((index.getNumSquares() != 3000) || (index.getShardStart(1, 3) != 1000)) { result = false; }
+		
+		// regenerating a smaller data set changes the input file, so its index must be rebuilt
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "range_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "1500", "-o", inputFile });
+		new File(inputFile).setLastModified(new File(inputFile).lastModified() + 2000);
+		if(LatinSquareFileIndex.load(new File(inputFile)).getNumSquares() != 1500) { result = false; }
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for rejecting invalid ranges and shards, and a shard combined with a range.
+	 */
+	@Test
+	public void testRangeInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--skip", "-1" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--limit", "0" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--shard", "4/4" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--shard", "1/4",
+				"--limit", "10" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--skip", "0",
+				"--limit", "10", "-w", "2" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "--shard", "x" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "--shard", "3/4",
+				"-w", "2" }).isValid());
+	}
+}
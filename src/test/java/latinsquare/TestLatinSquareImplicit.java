@@ -0,0 +1,210 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareImplicit</h1>
+ * 
+ * <p>This class contains the unit tests for the implicit super-symmetric Latin squares,
+ * whose cells are computed on demand.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareImplicit
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final int [][] orders = { { 2, 1 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 5, 1 }, { 5, 2 }, { 7, 1 }, { 2, 5 }, { 3, 3 } };
+	
+	/**
+	 * Unit test for each implicit super-symmetric Latin square, which must match the explicitly generated one.
+	 */
+	@Test
+	public void testImplicitMatchesExplicit()
+	{
+		for(int [] order : orders)
+		{
+			assertEquals(true, testImplicitMatchesExplicit(order[0], order[1]));
+		}
+	}
+	
+	/**
+	 * Unit test for the Latin Square Property of each implicit super-symmetric Latin square.
+	 */
+	@Test
+	public void testImplicitLatinSquareProperty()
+	{
+		for(int [] order : orders)
+		{
+			assertEquals(true, new SquareSuperSymmetric(order[0], order[1]).latinSquarePropertyHolds());
+		}
+	}
+	
+	/**
+	 * Unit test for the transversal count estimates of the cyclic Latin squares of orders 2, 5, and 7
+	 * (which have 0, 15, and 133 transversals).
+	 */
+	@Test
+	public void testImplicitTransversalCountEstimate()
+	{
+		SplittableRandom random = new SplittableRandom(7);
+		assertEquals("0", SquareImplicit.toStringLog10(new SquareSuperSymmetric(2, 1).estimateTransversalCountLog10(100, random)));
+		assertEquals(15, Math.pow(10, new SquareSuperSymmetric(5, 1).estimateTransversalCountLog10(200000, random)), 0.5);
+		assertEquals(133, Math.pow(10, new SquareSuperSymmetric(7, 1).estimateTransversalCountLog10(400000, random)), 4);
+	}
+	
+	/**
+	 * Unit test for the transversal count estimates of the super-symmetric Latin squares of orders 2^2, 2^3, and 3^4
+	 * (which have 8 and 384 transversals, and more than 10^80 transversals), whose forward-checking walks complete.
+	 */
+	@Test
+	public void testImplicitTransversalCountEstimateForwardChecking()
+	{
+		SplittableRandom random = new SplittableRandom(7);
+		assertEquals(8, Math.pow(10, new SquareSuperSymmetric(2, 2).estimateTransversalCountLog10(100, random)), 0.001);
+		assertEquals(384, Math.pow(10, new SquareSuperSymmetric(2, 3).estimateTransversalCountLog10(1000, random)), 20);
+		assertEquals(true, new SquareSuperSymmetric(3, 4).estimateTransversalCountLog10(20, random) > 80);
+	}
+	
+	/**
+	 * Unit test for the string representations of numbers that are given as their base-10 logarithms.
+	 */
+	@Test
+	public void testToStringLog10()
+	{
+		assertEquals("0", SquareImplicit.toStringLog10(Double.NEGATIVE_INFINITY));
+		assertEquals("1", SquareImplicit.toStringLog10(0));
+		assertEquals("384", SquareImplicit.toStringLog10(Math.log10(384)));
+		assertEquals("1.0000e+20", SquareImplicit.toStringLog10(20));
+		assertEquals("2.5000e+100", SquareImplicit.toStringLog10(100 + Math.log10(2.5)));
+		assertEquals("no sample completed (20 samples)", SquareImplicit.toStringEstimate(Double.NaN, 20));
+		assertEquals("384", SquareImplicit.toStringEstimate(Math.log10(384), 20));
+	}
+	
+	/**
+	 * Unit test for the "--implicit" argument of the Latin Square Generator Tool, which must
+	 * print the same Latin square as the explicit generation.
+	 */
+	@Test
+	public void testImplicitTool()
+	{
+		assertEquals(true, testImplicitTool("p03_d02", new String[]{ "-m", "ss", "-p", "3", "-d", "2" }));
+		assertEquals(true, testImplicitTool("p02_d03_human", new String[]{ "-m", "ss", "-p", "2", "-d", "3", "-r" }));
+	}
+	
+	/**
+	 * Unit test for the "-q" argument of the Latin Square Generator Tool, which must not print the implicit Latin square
+	 * or its transversal count estimate and Latin Square Property, which the job summary report prints instead.
+	 */
+	@Test
+	public void testImplicitToolQuiet()
+	{
+		List<String> output = LatinSquareTestHelper.runTool(outputDirectory + "p03_d02_implicit_quiet.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ss", "-p", "3", "-d", "2", "--implicit", "-q", "-t", "--check", "--samples", "100", "--seed", "1", "-j" });
+		
+		assertEquals(true, (output != null) && output.stream().noneMatch(line -> line.startsWith("Latin Square #") || line.startsWith("(0,0,"))
+				&& output.contains("Ordered-Triple Format Printing: Off") && output.contains("[Implicit Latin Square]")
+				&& output.stream().anyMatch(line -> line.startsWith("    Transversal Count Estimate: "))
+				&& output.contains("           # Squares Satisfied: 1"));
+	}
+	
+	/**
+	 * Unit test for rejecting the arguments that the implicit generation does not support.
+	 */
+	@Test
+	public void testImplicitInvalidArguments()
+	{
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "10", "--implicit", "-q", "-t",
+				"--samples", "5", "--seed", "1", "--check" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ds", "-n", "4", "-s", "0", "--implicit" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "2", "--implicit", "-h" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "2", "-q" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "3", "-d", "2", "--samples", "5" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "ss", "-p", "2", "-d", "31", "--implicit" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that verifies that the implicit super-symmetric Latin square of order-p^d has the
+	 * same cells (and rows) as the one that the lifting-and-merging algorithm generates.
+	 * 
+	 * @param primeBase The prime base p.
+	 * @param power The power d.
+	 * @return boolean Test result.
+	 */
+	private boolean testImplicitMatchesExplicit(int primeBase, int power)
+	{
+		String [] args = { "-m", "ss", "-p", Integer.toString(primeBase), "-d", Integer.toString(power) };
+		Square expected = new LatinSquareGeneratorSuperSymmetric(new LatinSquareJobConfigGenerator(args)).generateSquare();
+		SquareSuperSymmetric actual = new SquareSuperSymmetric(primeBase, power);
+		int order = actual.getOrder();
+		int [] rowSymbols = new int[order];
+		int [] colSymbols = new int[order];
+		
+		if(!expected.toString().equals(actual.toSquare().toString())) { return false; }
+		for(int i = 0; i < order; i++)
+		{
+			actual.getRowSymbols(i, rowSymbols);
+			actual.getColSymbols(i, colSymbols);
+			for(int j = 0; j < order; j++)
+			{
+				if((rowSymbols[j] != expected.getCellSymbol(i, j)) || (colSymbols[j] != expected.getCellSymbol(j, i))) { return false; }
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Unit test method that runs the Latin Square Generator Tool with and without "--implicit",
+	 * whose outputs must be identical (except for the generation mode of the job report summary).
+	 * 
+	 * @param testName The prefix of the output files.
+	 * @param args The command line arguments (without "--implicit").
+	 * @return boolean Test result.
+	 */
+	private boolean testImplicitTool(String testName, String [] args)
+	{
+		List<String> expected = LatinSquareTestHelper.runTool(outputDirectory + testName + "_explicit.txt", LatinSquareToolGenerator::main, args);
+		
+		String [] implicitArgs = new String[args.length + 1];
+		System.arraycopy(args, 0, implicitArgs, 0, args.length);
+		implicitArgs[args.length] = "--implicit";
+		List<String> actual = LatinSquareTestHelper.runTool(outputDirectory + testName + "_implicit.txt", LatinSquareToolGenerator::main, implicitArgs);
+		
+		if((expected == null) || (actual == null) || expected.isEmpty()) { return false; }
+		actual.replaceAll(line -> line.replace("Super-Symmetric Generation (Implicit)", "Super-Symmetric Generation"));
+		return expected.equals(actual);
+	}
+}
@@ -188,4 +188,43 @@ public class TestLatinSquareJobStats
 		assertEquals(TARGET_MODE[1], actualModes[1]);
 		assertEquals(TARGET_MODE[2], actualModes[2]);
 	}
+	
+	/**
+	 * Unit test for weighted transversal counts (ex. isotopy class representatives), which
+	 * must match the multiple modes test where each count is submitted once per Latin square.
+	 */
+	@Test
+	public void testTransversalCountJobStatsWeighted() 
+	{
+		final long TARGET_MIN = 30;
+		final long TARGET_MAX = 80;
+		final double TARGET_MEAN = 54.6;
+		final double TARGET_MEDIAN = 50;
+		final long [] TARGET_MODE = { 30, 50, 80 };
+		final int NUM_TRANSVERSAL_COUNTS = 13; // the sum of the weights
+		
+		String [] args = { "-m", "ds", "-n", "5", "-s", "0", "-T", "-j" }; // only -T and -j matter here
+		LatinSquareJob job = new LatinSquareJob(new LatinSquareJobConfigGenerator(args));
+		
+		job.submitTransversalCount(80, 3);
+		job.submitTransversalCount(30, 2);
+		job.submitTransversalCount(60, 1);
+		job.submitTransversalCount(40, 1);
+		job.submitTransversalCount(50, 3);
+		job.submitTransversalCount(30, 1);
+		job.submitTransversalCount(60, 1);
+		job.submitTransversalCount(70, 1);
+		
+		for(int i = 0; i < NUM_TRANSVERSAL_COUNTS; i++) { job.incrementNumSquaresProcessed(); }
+		
+		long [] actualModes = job.getTransversalCountMode();
+		
+		assertEquals(TARGET_MIN, job.getTransversalCountMin());
+		assertEquals(TARGET_MAX, job.getTransversalCountMax());
+		assertEquals(TARGET_MEAN, job.getTransversalCountMean(), 0.1);
+		assertEquals(TARGET_MEDIAN, job.getTransversalCountMedian(), 0.1);
+		assertEquals(TARGET_MODE[0], actualModes[0]);
+		assertEquals(TARGET_MODE[1], actualModes[1]);
+		assertEquals(TARGET_MODE[2], actualModes[2]);
+	}
 }
@@ -0,0 +1,195 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareMOLS</h1>
+ * 
+ * <p>This class contains the unit tests for generating the complete sets of mutually orthogonal
+ * Latin squares over the finite fields GF(p^d).</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareMOLS
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final int [][] orders = { { 2, 1 }, { 3, 1 }, { 2, 2 }, { 5, 1 }, { 7, 1 }, { 2, 3 }, { 3, 2 }, { 2, 4 }, { 5, 2 }, { 3, 3 } };
+	
+	/**
+	 * Unit test for the field axioms of each finite field GF(p^d) (up to order 27).
+	 */
+	@Test
+	public void testGaloisField()
+	{
+		for(int [] order : orders)
+		{
+			assertEquals(true, testGaloisField(new GaloisField(order[0], order[1])));
+		}
+	}
+	
+	/**
+	 * Unit test for the primitive polynomials of some finite fields.
+	 */
+	@Test
+	public void testGaloisFieldPolynomial()
+	{
+		assertEquals("x + 1", new GaloisField(2, 1).toStringPolynomial());
+		assertEquals("x + 1", new GaloisField(3, 1).toStringPolynomial());
+		assertEquals("x^2 + x + 1", new GaloisField(2, 2).toStringPolynomial());
+		assertEquals("x^3 + x + 1", new GaloisField(2, 3).toStringPolynomial());
+		assertEquals("x^2 + x + 2", new GaloisField(3, 2).toStringPolynomial());
+	}
+	
+	/**
+	 * Unit test for each complete set of mutually orthogonal Latin squares (up to order 27).
+	 */
+	@Test
+	public void testMutuallyOrthogonal()
+	{
+		for(int [] order : orders)
+		{
+			assertEquals(true, testMutuallyOrthogonal(order[0], order[1]));
+		}
+	}
+	
+	/**
+	 * Unit test for the "-m mols" mode of the Latin Square Generator Tool, which must print p^d - 1
+	 * Latin squares, the first of which is the super-symmetric Latin square.
+	 */
+	@Test
+	public void testMOLSTool()
+	{
+		List<String> mols = LatinSquareTestHelper.runTool(outputDirectory + "p03_d02_mols.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "mols", "-p", "3", "-d", "2", "-t" });
+		List<String> superSymmetric = LatinSquareTestHelper.runTool(outputDirectory + "p03_d02_mols_ss.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ss", "-p", "3", "-d", "2", "-t" });
+		int numSquares = 0;
+		
+		for(String line : mols)
+		{
+			if(line.startsWith("Latin Square #") && line.endsWith(": ")) { numSquares++; }
+		}
+		
+		assertEquals(8, numSquares);
+		assertEquals(superSymmetric, mols.subList(0, superSymmetric.size()));
+	}
+	
+	/**
+	 * Unit test for rejecting a non-prime base p in the "-m mols" mode.
+	 */
+	@Test
+	public void testMOLSInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "mols", "-p", "6", "-d", "1" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigGenerator(new String[]{ "-m", "mols", "-p", "3", "-d", "2", "-w", "2" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigGenerator(new String[]{ "-m", "mols", "-p", "3", "-d", "2" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that verifies the field axioms of a finite field: addition is a group with identity 0,
+	 * multiplication of the non-zero elements is a group with identity 1, and multiplication distributes
+	 * over addition.
+	 * 
+	 * @param field The finite field.
+	 * @return boolean Test result.
+	 */
+	private boolean testGaloisField(GaloisField field)
+	{
+		int order = field.getOrder();
+		
+		for(int a = 0; a < order; a++)
+		{
+			boolean hasInverse = (a == 0);
+			if((field.add(a, 0) != a) || (field.multiply(a, 1) != a) || (field.multiply(a, 0) != 0)) { return false; }
+			
+			for(int b = 0; b < order; b++)
+			{
+				if((field.add(a, b) != field.add(b, a)) || (field.multiply(a, b) != field.multiply(b, a))) { return false; }
+				if(field.multiply(a, b) == 1) { hasInverse = true; }
+				
+				for(int c = 0; c < order; c++)
+				{
+					if(field.multiply(a, field.add(b, c)) != field.add(field.multiply(a, b), field.multiply(a, c))) { return false; }
+					if(field.multiply(a, field.multiply(b, c)) != field.multiply(field.multiply(a, b), c)) { return false; }
+				}
+			}
+			
+			if(!hasInverse) { return false; }
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Unit test method that verifies that the p^d - 1 generated Latin squares are Latin squares and that
+	 * every pair of them is orthogonal.
+	 * 
+	 * @param primeBase The prime base p.
+	 * @param power The power d.
+	 * @return boolean Test result.
+	 */
+	private boolean testMutuallyOrthogonal(int primeBase, int power)
+	{
+		String [] args = { "-m", "mols", "-p", Integer.toString(primeBase), "-d", Integer.toString(power) };
+		ArrayList<Square> squares = new ArrayList<Square>();
+		for(Square square : new LatinSquareGeneratorMOLS(new LatinSquareJobConfigGenerator(args))) { squares.add(square); }
+		
+		int order = (int)Math.pow(primeBase, power);
+		if(squares.size() != (order - 1)) { return false; }
+		
+		for(int a = 0; a < squares.size(); a++)
+		{
+			if(!squares.get(a).latinSquarePropertyHolds()) { return false; }
+			
+			for(int b = a + 1; b < squares.size(); b++)
+			{
+				// each ordered pair of symbols must appear exactly once when the two squares are superimposed
+				boolean [] pairs = new boolean[order * order];
+				for(int i = 0; i < order; i++)
+				{
+					for(int j = 0; j < order; j++)
+					{
+						int pair = (squares.get(a).getCellSymbol(i, j) * order) + squares.get(b).getCellSymbol(i, j);
+						if(pairs[pair]) { return false; }
+						pairs[pair] = true;
+					}
+				}
+			}
+		}
+		
+		return true;
+	}
+}
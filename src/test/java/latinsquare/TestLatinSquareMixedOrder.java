@@ -0,0 +1,162 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareMixedOrder</h1>
+ * 
+ * <p>This class contains the unit tests for parsing and processing the squares of an input file
+ * that mixes squares of different orders.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareMixedOrder
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String inputDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for counting the transversals of concatenated order-4, order-5, and order-3 data sets with one worker
+	 * thread and with 3 worker threads, whose transversal counts must match those of each data set, and whose job report
+	 * summary must print the statistics of each order.
+	 */
+	@Test
+	public void testMixedOrderTransversalCounter()
+	{
+		String [][] dataSets = new String[][]{ { "4", "200" }, { "5", "300" }, { "3", "0" } };
+		ArrayList<String> expected = new ArrayList<String>();
+		StringBuilder mixed = new StringBuilder();
+		for(String [] dataSet : dataSets)
+		{
+			String inputFile = outputDirectory + "n0" + dataSet[0] + "_mixed_s" + dataSet[1] + ".txt";
+			LatinSquareTestHelper.runToolBytes(outputDirectory + "mixed_report.txt", LatinSquareToolGenerator::main,
+					new String[]{ "-m", "ds", "-n", dataSet[0], "-s", dataSet[1], "-o", inputFile });
+			byte [] output = LatinSquareTestHelper.runToolBytes(outputDirectory + "mixed_lstc.txt", LatinSquareToolTransversalCounter::main,
+					new String[]{ "-f", inputFile, "-n", dataSet[0] });
+			expected.addAll(getTransversalCounts(output));
+			mixed.append(new String(LatinSquareTestHelper.readFile(inputFile), StandardCharsets.UTF_8));
+		}
+		String mixedFile = outputDirectory + "mixed_s512.txt";
+		LatinSquareTestHelper.writeFile(mixedFile, mixed.toString());
+		
+		boolean result = expected.size() == 512;
+		for(String numThreads : new String[]{ "1", "3" })
+		{
+			byte [] actual = LatinSquareTestHelper.runToolBytes(outputDirectory + "mixed_lstc_w" + numThreads + ".txt", LatinSquareToolTransversalCounter::main,
+					new String[]{ "-f", mixedFile, "-n", "mixed", "-w", numThreads });
+			if(!expected.equals(getTransversalCounts(actual))) { result = false; }
+		}
+		
+		String report = new String(LatinSquareTestHelper.runToolBytes(outputDirectory + "mixed_lstc_report.txt", LatinSquareToolTransversalCounter::main,
+				new String[]{ "-f", mixedFile, "-n", "mixed", "-q", "-j" }), StandardCharsets.UTF_8);
+		
+		assertEquals(true, result && report.contains("Latin Square Order: Mixed (3, 4, 5)") && report.contains("[Order-3 Statistics]")
+				&& report.contains("[Order-4 Statistics]") && report.contains("[Order-5 Statistics]")
+				&& report.contains("# Latin Squares Processed: 300"));
+	}
+	
+	/**
+	 * Unit test for parsing ordered-triple and human-readable squares of orders 3, 4, and 5, where the human-readable squares
+	 * declare their orders in "#n" header lines, and for rejecting a square whose header does not match a fixed order.
+	 */
+	@Test
+	public void testMixedOrderFileParsing()
+	{
+		ArrayList<Square> expected = new ArrayList<Square>();
+		StringBuilder mixed = new StringBuilder();
+		for(String [] dataSet : new String[][]{ { "4", "n04_s10.txt", "" }, { "5", "n05_s5_human.txt", "#5\n" }, { "3", "n03_s4.txt", "#3\n" } })
+		{
+			LatinSquareFileParser parser = new LatinSquareFileParser(Integer.parseInt(dataSet[0]), inputDirectory + dataSet[1]);
+			while(parser.hasNext()) { expected.add(parser.next()); }
+			
+			for(String square : new String(LatinSquareTestHelper.readFile(inputDirectory + dataSet[1]), StandardCharsets.UTF_8).trim().split("\n\n"))
+			{
+				mixed.append(dataSet[2]).append(square).append("\n\n");
+			}
+		}
+		String mixedFile = outputDirectory + "mixed_s19.txt";
+		LatinSquareTestHelper.writeFile(mixedFile, mixed.toString());
+		
+		boolean result = expected.size() == 19;
+		LatinSquareFileParser mixedParser = new LatinSquareFileParser(LatinSquareFileParser.MIXED_ORDER, mixedFile);
+		for(Square square : expected)
+		{
+			if(!mixedParser.hasNext() || !square.equals(mixedParser.next())) { result = false; }
+		}
+		if(mixedParser.hasNext()) { result = false; }
+		
+		// with a fixed order, the squares whose headers declare another order are rejected
+		LatinSquareRejectLog rejectLog = new LatinSquareRejectLog();
+		LatinSquareFileParser fixedParser = new LatinSquareFileParser(3, mixedFile);
+		fixedParser.setRejectLog(rejectLog);
+		int numParsed = 0;
+		while(fixedParser.hasNext())
+		{
+			if(fixedParser.next().getOrder() == 3) { numParsed++; }
+		}
+		
+		assertEquals(true, result && (numParsed == 4) && (rejectLog.getNumRejected() == 15));
+	}
+	
+	/**
+	 * Unit test for accepting the mixed order, and rejecting an invalid order.
+	 */
+	@Test
+	public void testMixedOrderInvalidArguments()
+	{
+		assertEquals(true, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "mixed", "-w", "2" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "mix" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "mixed", "-j" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "0" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that returns the transversal counts printed by the Latin Square Transversal Counter Tool.
+	 * 
+	 * @param output The standard output.
+	 * @return ArrayList The transversal counts (in the order of the squares).
+	 */
+	private ArrayList<String> getTransversalCounts(byte [] output)
+	{
+		ArrayList<String> transversalCounts = new ArrayList<String>();
+		Matcher matcher = Pattern.compile("Latin Square #\\d+ Transversal Count: (\\d+)").matcher(new String(output, StandardCharsets.UTF_8));
+		while(matcher.find()) { transversalCounts.add(matcher.group(1)); }
+		return transversalCounts;
+	}
+	
+}
@@ -0,0 +1,151 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareOutputSink</h1>
+ * 
+ * <p>This class contains the unit tests for the buffered output sink of the tools.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareOutputSink
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	private final String inputDirectorySS = resourcesDirectory.getAbsolutePath() + "/data/target/squares/super_symmetric/";
+	private final String inputDirectoryDS = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	
+	/**
+	 * Unit test for printing order-9 Latin squares and their heat maps, which must match the string representations.
+	 */
+	@Test
+	public void testSinkDataSetOrder9()
+	{
+		assertEquals(true, testSink(9, inputDirectoryDS + "n09_s10.txt", true));
+	}
+	
+	/**
+	 * Unit test for printing an order-5^3 super-symmetric Latin square through a sink whose buffer is smaller than the square.
+	 */
+	@Test
+	public void testSinkSuperSymmetricOrder5_3()
+	{
+		assertEquals(true, testSink(125, inputDirectorySS + "p5_d3_supersym.txt", false));
+	}
+	
+	/**
+	 * Unit test for printing integers and strings, including integers beyond the precomputed digits.
+	 */
+	@Test
+	public void testSinkIntegersAndStrings()
+	{
+		LatinSquareOutputSink sink = new LatinSquareOutputSink(16);
+		StringBuilder expected = new StringBuilder();
+		for(long value : new long[]{ 0, 9, 10, 4095, 4096, 123456789, -1, -4096, Long.MAX_VALUE, Long.MIN_VALUE })
+		{
+			sink.print(value);
+			sink.println(" # Count: ");
+			expected.append(value).append(" # Count: ").append(System.lineSeparator());
+		}
+		sink.println("Latin Square #1: ");
+		expected.append("Latin Square #1: ").append(System.lineSeparator());
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		LatinSquareOutputSink outSink = new LatinSquareOutputSink(out);
+		outSink.write(sink);
+		
+		assertEquals(true, (sink.size() == 0) && (out.size() == 0) && !outSink.checkError()
+				&& expected.toString().equals(new String(out.toByteArray(), StandardCharsets.US_ASCII)));
+	}
+	
+	/**
+	 * Unit test method that prints the squares of a file (and optionally their heat maps) through a sink that
+	 * writes to a FileChannel, and compares the output file to the string representations of the squares.
+	 * 
+	 * @param order The Latin square order.
+	 * @param inputFileName The input file.
+	 * @param heatMaps True to count the transversals and print the heat maps.
+	 * @return boolean Test result.
+	 */
+	private boolean testSink(int order, String inputFileName, boolean heatMaps)
+	{
+		File outputFile = new File(outputDirectory + "n" + order + "_output_sink.txt");
+		StringBuilder expected = new StringBuilder();
+		
+		try(FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			LatinSquareOutputSink sink = new LatinSquareOutputSink(channel, 1 << 10);
+			LatinSquareFileParser squareFileParser = new LatinSquareFileParser(order, inputFileName);
+			while(squareFileParser.hasNext())
+			{
+				Square square = squareFileParser.next();
+				sink.writeSquare(square);
+				sink.writeSquareHumanReadable(square);
+				expected.append(square.toString()).append(square.toStringHumanReadable());
+				
+				if(heatMaps)
+				{
+					square.getTransversalCount();
+					sink.writeHeatMap(square, true);
+					sink.writeHeatMap(square, false);
+					expected.append(square.toStringTransversalHeatMapHumanReadable()).append(square.toStringTransversalHeatMapOrderedTriple());
+				}
+			}
+			
+			if(sink.checkError()) { return false; }
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return false;
+		}
+		
+		try
+		{
+			String actual = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.US_ASCII);
+			return (expected.length() > 0) && expected.toString().equals(actual);
+		}
+		catch(Exception e)
+		{
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareRandomSelection</h1>
+ * 
+ * <p>This class contains the unit tests for the randomized selection-based data set generation.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareRandomSelection
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for generating random Latin squares of orders 1 to 12.
+	 */
+	@Test
+	public void testRandomSquaresSmallOrders()
+	{
+		for(int testOrder = 1; testOrder <= 12; testOrder++)
+		{
+			assertEquals(true, testRandomSquares(testOrder, 50, LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET));
+		}
+	}
+	
+	/**
+	 * Unit test for generating random Latin squares of orders 20, 50, and 64.
+	 */
+	@Test
+	public void testRandomSquaresLargeOrders()
+	{
+		assertEquals(true, testRandomSquares(20, 20, LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET));
+		assertEquals(true, testRandomSquares(50, 5, LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET));
+		assertEquals(true, testRandomSquares(64, 2, LatinSquareRandomSelectionIterator.DEFAULT_BACKTRACK_BUDGET));
+	}
+	
+	/**
+	 * Unit test for generating random Latin squares with a small backtrack budget and without restarts.
+	 */
+	@Test
+	public void testRandomSquaresBacktrackBudget()
+	{
+		assertEquals(true, testRandomSquares(16, 20, 1));
+		assertEquals(true, testRandomSquares(10, 20, 0));
+	}
+	
+	/**
+	 * Unit test for the diversity of the random order-5 Latin squares (there are 161280 of them).
+	 */
+	@Test
+	public void testRandomSquaresDiversityOrder5()
+	{
+		HashSet<String> squares = new HashSet<String>();
+		LatinSquareRandomSelectionIterator search = new LatinSquareRandomSelectionIterator(5, 1, 0);
+		for(int i = 0; i < 100; i++) { squares.add(search.next().toString()); }
+		
+		assertEquals(true, squares.size() >= 95);
+	}
+	
+	/**
+	 * Unit test for the random Latin squares of a seed, which must not depend on how they are generated.
+	 */
+	@Test
+	public void testRandomSquaresSeed()
+	{
+		LatinSquareRandomSelectionIterator first = new LatinSquareRandomSelectionIterator(9, 42, 100);
+		LatinSquareRandomSelectionIterator second = new LatinSquareRandomSelectionIterator(9, 42, 100);
+		LatinSquareRandomSelectionIterator seeds = new LatinSquareRandomSelectionIterator(9, 42, 100);
+		LatinSquareRandomSelectionIterator worker = new LatinSquareRandomSelectionIterator(9, 0, 100);
+		
+		boolean result = true;
+		for(int i = 0; i < 50; i++)
+		{
+			Square expected = first.next();
+			SplittableRandom squareRandom = seeds.splitRandom();
+			worker.generateSquare(squareRandom);
+			
+			if(!expected.toString().equals(second.next().toString())) { result = false; }
+			if(!expected.toString().equals(worker.getCurrentSquare().toString())) { result = false; }
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for the order-12 data set of the Latin Square Generator Tool, which must
+	 * not depend on the number of worker threads.
+	 */
+	@Test
+	public void testRandomDataSetWorkerThreads()
+	{
+		assertEquals(true, testRandomDataSet(12, 200, 3));
+	}
+	
+	/**
+	 * Unit test method that generates random Latin squares and verifies the Latin Square Property.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param numSquares The number of Latin squares to generate.
+	 * @param backtrackBudget The backtrack budget.
+	 * @return boolean Test result.
+	 */
+	private boolean testRandomSquares(int testOrder, int numSquares, long backtrackBudget)
+	{
+		LatinSquareRandomSelectionIterator search = new LatinSquareRandomSelectionIterator(testOrder, testOrder, backtrackBudget);
+		for(int i = 0; i < numSquares; i++)
+		{
+			if(!search.advance() || !search.getCurrentSquare().latinSquarePropertyHolds()) { return false; }
+		}
+		return true;
+	}
+	
+	/**
+	 * Unit test method that generates a random data set with the Latin Square Generator Tool with
+	 * one worker thread and with several worker threads; both outputs must be identical.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param dataSetSize The data set size.
+	 * @param numThreads The number of worker threads.
+	 * @return boolean Test result.
+	 */
+	private boolean testRandomDataSet(int testOrder, int dataSetSize, int numThreads)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String expectedFile = outputDirectory + "n" + testOrderStr + "_rand.txt";
+		String actualFile = outputDirectory + "n" + testOrderStr + "_rand_w" + numThreads + ".txt";
+		final OutputStream originalOut = System.out;
+		
+		try
+		{
+			System.setOut(new PrintStream(expectedFile));
+			LatinSquareToolGenerator.main(new String[]{ "-m", "rand", "-n", testOrderStr, "-s", "" + dataSetSize, "--seed", "2017" });
+			System.out.close();
+			
+			System.setOut(new PrintStream(actualFile));
+			LatinSquareToolGenerator.main(new String[]{ "-m", "rand", "-n", testOrderStr, "-s", "" + dataSetSize, "--seed", "2017",
+					"-w", "" + numThreads });
+			System.out.close();
+			System.setOut(new PrintStream(originalOut));
+			
+			byte [] expected = Files.readAllBytes(new File(expectedFile).toPath());
+			return (expected.length > 0) && Arrays.equals(expected, Files.readAllBytes(new File(actualFile).toPath()));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
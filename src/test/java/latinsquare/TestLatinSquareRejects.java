@@ -0,0 +1,158 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareRejects</h1>
+ * 
+ * <p>This class contains the unit tests for rejecting the malformed squares of an input file into a reject file
+ * (instead of stopping the job).</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareRejects
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for counting the transversals of an order-5 data set with a malformed line, a missing row, an extra row,
+	 * an invalid symbol, and a truncated last square, with one worker thread and with 3 worker threads; the other squares
+	 * must keep their ordinals, and each malformed square must be rejected exactly once.
+	 */
+	@Test
+	public void testRejectTransversalCounterOrder5()
+	{
+		String inputFile = outputDirectory + "n05_reject_s2000.txt";
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "reject_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "2000", "-o", inputFile });
+		String [] squares = new String(LatinSquareTestHelper.readFile(inputFile), StandardCharsets.UTF_8).split("\n\n");
+		
+		// corrupt squares #2, #700, #1500, and #1999, append an extra row to square #1200, and truncate the last square
+		squares[1] = squares[1].replaceFirst("\\(1,0,", "(1,0;");
+		squares[699] = squares[699].substring(0, squares[699].lastIndexOf('\n'));
+		squares[1199] = squares[1199] + squares[1199].substring(squares[1199].lastIndexOf('\n'));
+		squares[1499] = squares[1499].replaceFirst("\\(2,2,\\d\\)", "(2,2,9)");
+		squares[1998] = squares[1998].replaceFirst("\\(4,4,\\d\\)", "(4,4)");
+		squares[1999] = squares[1999].substring(0, squares[1999].indexOf('\n'));
+		String malformedFile = outputDirectory + "n05_reject_malformed.txt";
+		LatinSquareTestHelper.writeFile(malformedFile, String.join("\n\n", squares) + "\n");
+		
+		String expectedRejects = "2 700 1200 1500 1999 2000";
+		byte [] expected = null;
+		boolean result = true;
+		for(String numThreads : new String[]{ "1", "3" })
+		{
+			String rejectFile = outputDirectory + "n05_reject_w" + numThreads + ".rejects";
+			byte [] actual = LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_reject_lstc_w" + numThreads + ".txt", LatinSquareToolTransversalCounter::main,
+					new String[]{ "-f", malformedFile, "-n", "5", "-w", numThreads, "--on-error", "skip", "--reject-file", rejectFile });
+			if(expected == null) { expected = actual; }
+			if(!Arrays.equals(expected, actual) || !expectedRejects.equals(getRejectedOrdinals(rejectFile))) { result = false; }
+		}
+		
+		String output = new String(expected, StandardCharsets.UTF_8);
+		assertEquals(true, result && output.contains("Latin Square #1998 Transversal Count:") && !output.contains("Latin Square #2 ")
+				&& !output.contains("Latin Square #1500 ") && !output.contains("Latin Square #1999 "));
+	}
+	
+	/**
+	 * Unit test for checking an order-5 data set in the binary format with an invalid symbol and a truncated last record,
+	 * whose job report summary must count the rejected squares by error.
+	 */
+	@Test
+	public void testRejectBinaryPropertyCheckerOrder5()
+	{
+		String inputFile = outputDirectory + "n05_reject_s100.txt";
+		String binaryFile = outputDirectory + "n05_reject_s100.bin";
+		LatinSquareTestHelper.runToolBytes(outputDirectory + "reject_report.txt", LatinSquareToolGenerator::main,
+				new String[]{ "-m", "ds", "-n", "5", "-s", "100", "-o", inputFile });
+		new File(binaryFile).delete();
+		LatinSquareToolConverter.main(new String[]{ "-f", inputFile, "-n", "5", "-o", binaryFile, "-F", "binary" });
+		
+		// the records follow a 24-byte header, and each record stores its 25 symbols in one byte each
+		byte [] bytes = LatinSquareTestHelper.readFile(binaryFile);
+		bytes[24 + (10 * 25) + 7] = 9;
+		String malformedFile = outputDirectory + "n05_reject_malformed.bin";
+		try { Files.write(new File(malformedFile).toPath(), Arrays.copyOf(bytes, bytes.length - 5)); }
+		catch(Exception e) { System.out.println(e.getMessage()); }
+		
+		String rejectFile = outputDirectory + "n05_reject_lspc.rejects";
+		String output = new String(LatinSquareTestHelper.runToolBytes(outputDirectory + "n05_reject_lspc.txt", LatinSquareToolPropertyChecker::main,
+				new String[]{ "-f", malformedFile, "-n", "5", "-j", "-w", "2", "--on-error", "skip", "--reject-file", rejectFile }),
+				StandardCharsets.UTF_8);
+		
+		assertEquals(true, "11 100".equals(getRejectedOrdinals(rejectFile)) && output.contains("# Latin Squares Processed: 98")
+				&& output.contains("# Squares Rejected: 2") && output.contains("Invalid Binary Format: 2")
+				&& output.contains("Square #12 encodes"));
+	}
+	
+	/**
+	 * Unit test for rejecting an invalid error policy, and a reject file without skipping the malformed squares.
+	 */
+	@Test
+	public void testRejectInvalidArguments()
+	{
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--on-error", "x" }).isValid());
+		assertEquals(false, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--reject-file", "y.txt" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4", "--on-error", "skip",
+				"-o", "y.txt" }).isValid());
+		assertEquals("y.txt.rejects", new LatinSquareJobConfigFromFileTransversalCounter(new String[]{ "-f", "x.txt", "-n", "4",
+				"--on-error", "skip", "-o", "y.txt" }).getRejectFile());
+		assertEquals(false, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "--on-error" }).isValid());
+		assertEquals(true, new LatinSquareJobConfigFromFilePropertyChecker(new String[]{ "-f", "x.txt", "-n", "4", "--on-error", "exit" }).isValid());
+	}
+	
+	/**
+	 * Unit test method that returns the ordinals of the rejected squares in a reject file.
+	 * 
+	 * @param rejectFile The reject file.
+	 * @return String The ordinals, separated by spaces.
+	 */
+	private String getRejectedOrdinals(String rejectFile)
+	{
+		List<String> lines = Arrays.asList(new String(LatinSquareTestHelper.readFile(rejectFile), StandardCharsets.UTF_8).split("\n"));
+		StringBuilder ordinals = new StringBuilder();
+		for(String line : lines)
+		{
+			if(line.isEmpty()) { continue; }
+			if(ordinals.length() > 0) { ordinals.append(" "); }
+			ordinals.append(line.substring(0, line.indexOf('\t')));
+		}
+		return ordinals.toString();
+	}
+	
+}
@@ -0,0 +1,183 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Properties;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareResume</h1>
+ * 
+ * <p>This class contains the unit tests for checkpointing and resuming the
+ * selection-based data set generation.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareResume 
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for resuming an interrupted order-4 data set.
+	 */
+	@Test
+	public void testResumeOrder4() 
+	{
+		assertEquals(true, testResume("ds", 4, 250, 100, false));
+	}
+	
+	/**
+	 * Unit test for resuming an interrupted order-4 data set with transversal counts.
+	 */
+	@Test
+	public void testResumeOrder4TransversalCounts() 
+	{
+		assertEquals(true, testResume("ds", 4, 300, 50, true));
+	}
+	
+	/**
+	 * Unit test for resuming an interrupted order-5 data set with preloading.
+	 */
+	@Test
+	public void testResumeOrder5Preloading() 
+	{
+		assertEquals(true, testResume("dsp", 5, 5000, 1000, false));
+	}
+	
+	/**
+	 * Unit test for restoring the selection-based search from the symbols of each order-4 Latin square.
+	 */
+	@Test
+	public void testResumeAfterEachSquareOrder4() 
+	{
+		ArrayList<String> squares = new ArrayList<String>();
+		ArrayList<int []> checkpoints = new ArrayList<int []>();
+		
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(4, false);
+		while(search.advance())
+		{
+			squares.add(search.getCurrentSquare().toString());
+			checkpoints.add(search.getSymbols());
+		}
+		
+		// the search that is resumed after each Latin square must find the next Latin square
+		boolean result = true;
+		for(int i = 0; i < checkpoints.size(); i++)
+		{
+			LatinSquareSelectionIterator resumed = new LatinSquareSelectionIterator(4, false);
+			if(!resumed.resumeAfter(checkpoints.get(i))) { result = false; }
+			
+			if(i < (checkpoints.size() - 1))
+			{
+				if(!resumed.advance() || !resumed.getCurrentSquare().toString().equals(squares.get(i + 1))) { result = false; }
+			}
+			else if(resumed.advance()) { result = false; }
+		}
+		
+		assertEquals(576, squares.size());
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test method that generates a data set in two runs. The first run stops at a checkpoint, and
+	 * the Latin squares that it would have written before being interrupted (the last one partially) are
+	 * appended to the output file; the second run resumes the data set from the checkpoint. The output
+	 * file must be identical to the output of a single run.
+	 * 
+	 * @param mode The generation mode.
+	 * @param testOrder The Latin square order.
+	 * @param interruptedSize The number of Latin squares of the first run (a multiple of the checkpoint interval).
+	 * @param checkpointInterval The number of Latin squares between checkpoints.
+	 * @param countTransversals The transversal counting flag.
+	 * @return boolean Test result.
+	 */
+	private boolean testResume(String mode, int testOrder, int interruptedSize, int checkpointInterval, boolean countTransversals)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String targetFile = outputDirectory + "n0" + testOrderStr + "_" + mode + "_resume_target.txt";
+		String actualFile = outputDirectory + "n0" + testOrderStr + "_" + mode + "_resume.txt";
+		String transversalArg = countTransversals ? "-t" : "-r";
+		final OutputStream originalOut = System.out;
+		
+		try
+		{
+			// generate the target data set with a single run
+			System.setOut(new PrintStream(targetFile));
+			LatinSquareToolGenerator.main(new String[]{ "-m", mode, "-n", testOrderStr, "-s", "0", transversalArg });
+			System.out.close();
+			System.setOut(new PrintStream(originalOut));
+			byte [] target = Files.readAllBytes(new File(targetFile).toPath());
+			
+			// generate the first part of the data set
+			new File(LatinSquareGeneratorSelection.getManifestFile(actualFile)).delete();
+			LatinSquareToolGenerator.main(new String[]{ "-m", mode, "-n", testOrderStr, "-s", "" + interruptedSize, transversalArg,
+					"-o", actualFile, "--checkpoint", "" + checkpointInterval });
+			
+			// simulate the output that was written after the checkpoint until an interruption
+			long checkpointLength = new File(actualFile).length();
+			try(FileOutputStream output = new FileOutputStream(actualFile, true))
+			{
+				output.write(target, (int)checkpointLength, (int)Math.min(1000, target.length - checkpointLength - 1));
+			}
+			
+			// resume the data set from the checkpoint
+			LatinSquareToolGenerator.main(new String[]{ "-m", mode, "-n", testOrderStr, "-s", "0", transversalArg,
+					"-o", actualFile, "--resume" });
+			
+			Properties manifest = new Properties();
+			try(FileInputStream input = new FileInputStream(LatinSquareGeneratorSelection.getManifestFile(actualFile))) { manifest.load(input); }
+			
+			long totalSquares = 0;
+			LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, mode.equals("dsp"));
+			while(search.advance()) { ++totalSquares; }
+			
+			if(!manifest.getProperty("squares").equals("" + totalSquares)) { return false; }
+			if(!manifest.getProperty("all").equals("true")) { return false; }
+			if(!manifest.getProperty("bytes").equals("" + new File(actualFile).length())) { return false; }
+			
+			return Arrays.equals(target, Files.readAllBytes(new File(actualFile).toPath()));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
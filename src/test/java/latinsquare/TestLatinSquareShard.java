@@ -0,0 +1,247 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Properties;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareShard</h1>
+ * 
+ * <p>This class contains the unit tests for the sharded selection-based data set
+ * generation and for merging the result summaries of the shards.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareShard
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for splitting all order-4 Latin squares into 3 shards.
+	 */
+	@Test
+	public void testShardUnionOrder4()
+	{
+		assertEquals(true, testShardUnion(4, false, 0, 3));
+	}
+	
+	/**
+	 * Unit test for splitting all order-5 Latin squares (with preloading) into 5 shards.
+	 */
+	@Test
+	public void testShardUnionOrder5Preloading()
+	{
+		assertEquals(true, testShardUnion(5, true, 0, 5));
+	}
+	
+	/**
+	 * Unit test for splitting an order-5 data set of size 1000 into 3 shards.
+	 */
+	@Test
+	public void testShardUnionOrder5DataSetSize()
+	{
+		assertEquals(true, testShardUnion(5, false, 1000, 3));
+	}
+	
+	/**
+	 * Unit test for a single shard, which must follow the single-run search order.
+	 */
+	@Test
+	public void testSingleShardOrder4()
+	{
+		ArrayList<String> expected = new ArrayList<String>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(4, false);
+		while(search.advance()) { expected.add(search.getCurrentSquare().toString()); }
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		LatinSquareSelectionShard shard = new LatinSquareSelectionShard(4, false, 0, 0, 1);
+		while(shard.advance()) { actual.add(shard.getCurrentSquare().toString()); }
+		
+		assertEquals(expected, actual);
+	}
+	
+	/**
+	 * Unit test for resuming each shard of an order-4 data set of size 100 after each of its Latin squares.
+	 */
+	@Test
+	public void testShardResumeAfterEachSquareOrder4()
+	{
+		boolean result = true;
+		for(int shardIndex = 0; shardIndex < 3; shardIndex++)
+		{
+			ArrayList<String> squares = new ArrayList<String>();
+			ArrayList<int []> checkpoints = new ArrayList<int []>();
+			LatinSquareSelectionShard shard = new LatinSquareSelectionShard(4, false, 100, shardIndex, 3);
+			while(shard.advance())
+			{
+				squares.add(shard.getCurrentSquare().toString());
+				checkpoints.add(shard.getSymbols());
+			}
+			
+			for(int i = 0; i < checkpoints.size(); i++)
+			{
+				LatinSquareSelectionShard resumed = new LatinSquareSelectionShard(4, false, 100, shardIndex, 3);
+				if(!resumed.resumeAfter(checkpoints.get(i), i + 1)) { result = false; }
+				
+				if(i < (checkpoints.size() - 1))
+				{
+					if(!resumed.advance() || !resumed.getCurrentSquare().toString().equals(squares.get(i + 1))) { result = false; }
+				}
+				else if(resumed.advance()) { result = false; }
+			}
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for merging the manifests of 3 shards of all order-5 Latin squares with transversal counts.
+	 */
+	@Test
+	public void testShardMergeOrder5()
+	{
+		assertEquals(true, testShardMerge(5, 0, 3));
+	}
+	
+	/**
+	 * Unit test for merging the manifests of 4 shards of an order-5 data set of size 2000 with transversal counts.
+	 */
+	@Test
+	public void testShardMergeOrder5DataSetSize()
+	{
+		assertEquals(true, testShardMerge(5, 2000, 4));
+	}
+	
+	/**
+	 * Unit test method that verifies that the shards of a data set are disjoint
+	 * and that together they contain exactly the Latin squares of a single run.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param preLoadMode The preloading flag.
+	 * @param dataSetSize The data set size (zero for all Latin squares).
+	 * @param numShards The number of shards.
+	 * @return boolean Test result.
+	 */
+	private boolean testShardUnion(int testOrder, boolean preLoadMode, long dataSetSize, int numShards)
+	{
+		ArrayList<String> expected = new ArrayList<String>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(testOrder, preLoadMode);
+		while(search.advance() && ((dataSetSize == 0) || (expected.size() < dataSetSize)))
+		{
+			expected.add(search.getCurrentSquare().toString());
+		}
+		
+		ArrayList<String> actual = new ArrayList<String>();
+		for(int i = 0; i < numShards; i++)
+		{
+			LatinSquareSelectionShard shard = new LatinSquareSelectionShard(testOrder, preLoadMode, dataSetSize, i, numShards);
+			while(shard.hasNext()) { actual.add(shard.next().toString()); }
+		}
+		
+		Collections.sort(expected);
+		Collections.sort(actual);
+		return expected.equals(actual);
+	}
+	
+	/**
+	 * Unit test method that generates a data set with a single run and with k shards (each with its
+	 * own output file), then merges the shard manifests. The merged manifest must match the manifest
+	 * of the single run.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param dataSetSize The data set size (zero for all Latin squares).
+	 * @param numShards The number of shards.
+	 * @return boolean Test result.
+	 */
+	private boolean testShardMerge(int testOrder, long dataSetSize, int numShards)
+	{
+		String testOrderStr = Integer.toString(testOrder);
+		String prefix = outputDirectory + "n0" + testOrderStr + "_s" + dataSetSize + "_shard";
+		String reportFile = prefix + "_report.txt";
+		String mergedFile = prefix + "_merged.txt";
+		final OutputStream originalOut = System.out;
+		
+		try
+		{
+			// generate the data set with a single run and with k shards
+			System.setOut(new PrintStream(reportFile));
+			LatinSquareToolGenerator.main(new String[]{ "-m", "ds", "-n", testOrderStr, "-s", "" + dataSetSize, "-t", "-j",
+					"-o", prefix + "_all.txt" });
+			
+			String [] mergeArgs = new String[numShards + 4];
+			mergeArgs[0] = "-n";
+			mergeArgs[1] = testOrderStr;
+			mergeArgs[2] = "-f";
+			for(int i = 0; i < numShards; i++)
+			{
+				String shardFile = prefix + "_" + i + ".txt";
+				LatinSquareToolGenerator.main(new String[]{ "-m", "ds", "-n", testOrderStr, "-s", "" + dataSetSize, "-t", "-j",
+						"-o", shardFile, "--shard", i + "/" + numShards });
+				mergeArgs[i + 3] = LatinSquareGeneratorSelection.getManifestFile(shardFile);
+			}
+			mergeArgs[numShards + 3] = "-j";
+			System.out.close();
+			
+			// merge the shard manifests
+			System.setOut(new PrintStream(mergedFile));
+			LatinSquareToolShardMerge.main(mergeArgs);
+			System.out.close();
+			System.setOut(new PrintStream(originalOut));
+			
+			Properties expected = new Properties();
+			try(FileInputStream input = new FileInputStream(LatinSquareGeneratorSelection.getManifestFile(prefix + "_all.txt")))
+			{
+				expected.load(input);
+			}
+			Properties actual = new Properties();
+			try(FileInputStream input = new FileInputStream(mergedFile)) { actual.load(input); }
+			
+			for(String key : new String[]{ "order", "mode", "size", "shard", "squares", "all", "transversals" })
+			{
+				if(!expected.getProperty(key).equals(actual.getProperty(key))) { return false; }
+			}
+			return !expected.getProperty("transversals").isEmpty();
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareStreaming</h1>
+ * 
+ * <p>This class contains the unit tests for the pull-based iterators and the splittable
+ * spliterators of the generators and the file parser.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareStreaming
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String inputDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	private final String outputDirectory = resourcesDirectory.getAbsolutePath() + "/data/actual/";
+	
+	/**
+	 * Unit test for iterating over an order-9 Latin square data set.
+	 */
+	@Test
+	public void testSelectionIteratorOrder9Size10()
+	{
+		assertEquals(true, testSelectionIterator(9, 10));
+	}
+	
+	/**
+	 * Unit test for iterating over the set of all order-3 Latin squares.
+	 */
+	@Test
+	public void testSelectionIteratorOrder3SizeAll()
+	{
+		assertEquals(true, testSelectionIterator(3, 0));
+	}
+	
+	/**
+	 * Unit test for a parallel stream over the set of all order-4 Latin squares.
+	 */
+	@Test
+	public void testSelectionParallelStreamOrder4SizeAll()
+	{
+		assertEquals(true, testSelectionParallelStream(4, 576));
+	}
+	
+	/**
+	 * Unit test for a parallel stream over the set of all order-5 Latin squares.
+	 */
+	@Test
+	public void testSelectionParallelStreamOrder5SizeAll()
+	{
+		assertEquals(true, testSelectionParallelStream(5, 161280));
+	}
+	
+	/**
+	 * Unit test for a parallel stream over the squares of an input file.
+	 */
+	@Test
+	public void testFileParallelStreamOrder4SizeAll()
+	{
+		final OutputStream originalOut = System.out;
+		String outputFileName = outputDirectory + "n04_s0_stream.txt";
+		
+		try
+		{
+			System.setOut(new PrintStream(outputFileName));
+			LatinSquareToolGenerator.main(new String[]{ "-m", "ds", "-n", "4", "-s", "0" });
+			System.setOut(new PrintStream(originalOut));
+		}
+		catch(Exception e)
+		{
+			System.setOut(new PrintStream(originalOut));
+			System.out.println(e.getMessage());
+			assertEquals(true, false);
+		}
+		
+		LatinSquareFileParser squareFileParser = new LatinSquareFileParser(4, outputFileName);
+		List<Square> parallelSquares = squareFileParser.stream(true).collect(Collectors.toList());
+		Iterator<Square> generatedSquares = new LatinSquareSelectionIterator(4, false);
+		
+		assertEquals(576, parallelSquares.size());
+		for(Square square : parallelSquares) { assertEquals(true, square.equals(generatedSquares.next())); }
+	}
+	
+	/**
+	 * Unit test for the job report summary of the set of all order-3 Latin squares, which is printed
+	 * (once) when the search is exhausted, as it is when the data set size is reached.
+	 */
+	@Test
+	public void testSelectionReportOrder3SizeAll()
+	{
+		boolean result = true;
+		for(String size : new String[]{ "0", "5" })
+		{
+			final OutputStream originalOut = System.out;
+			String outputFileName = outputDirectory + "n03_s" + size + "_stream_report.txt";
+			String output = "";
+			
+			try
+			{
+				System.setOut(new PrintStream(outputFileName));
+				LatinSquareToolGenerator.main(new String[]{ "-m", "ds", "-n", "3", "-s", size, "-j" });
+				System.out.close();
+				System.setOut(new PrintStream(originalOut));
+				output = new String(Files.readAllBytes(new File(outputFileName).toPath()), StandardCharsets.UTF_8);
+			}
+			catch(Exception e)
+			{
+				System.setOut(new PrintStream(originalOut));
+				System.out.println(e.getMessage());
+				result = false;
+			}
+			
+			String processed = "# Latin Squares Processed: " + (size.equals("0") ? "12" : size);
+			if((output.indexOf("[Configuration]") != output.lastIndexOf("[Configuration]")) || !output.contains(processed)) { result = false; }
+		}
+		
+		assertEquals(true, result);
+	}
+	
+	/**
+	 * Unit test for a parallel stream over a file that is too small to be split.
+	 */
+	@Test
+	public void testFileParallelStreamOrder3Size4()
+	{
+		LatinSquareFileParser squareFileParser = new LatinSquareFileParser(3, inputDirectory + "n03_s4.txt");
+		assertEquals(4, squareFileParser.stream(true).count());
+	}
+	
+	/**
+	 * Unit test method that compares the iterator of the selection-based generator with its go() method.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param testDataSetSize The size of the data set.
+	 * @return boolean Test result.
+	 */
+	private boolean testSelectionIterator(int testOrder, int testDataSetSize)
+	{
+		String [] args = new String[]{ "-m", "ds", "-n", Integer.toString(testOrder), "-s", Integer.toString(testDataSetSize) };
+		LatinSquareGeneratorSelection generator = new LatinSquareGeneratorSelection(new LatinSquareJobConfigGenerator(args));
+		LatinSquareFileParser squareFileParser = new LatinSquareFileParser(testOrder,
+				inputDirectory + "n0" + testOrder + "_s" + testDataSetSize + ".txt");
+		
+		int count = 0;
+		for(Square square : generator)
+		{
+			if(!squareFileParser.hasNext() || !square.equals(squareFileParser.next())) { return false; }
+			count++;
+		}
+		
+		return !squareFileParser.hasNext() && (count > 0);
+	}
+	
+	/**
+	 * Unit test method that compares a parallel stream over the set of all order-n Latin squares
+	 * with the sequential iterator.
+	 * 
+	 * @param testOrder The Latin square order.
+	 * @param expectedCount The number of order-n Latin squares.
+	 * @return boolean Test result.
+	 */
+	private boolean testSelectionParallelStream(int testOrder, long expectedCount)
+	{
+		String [] args = new String[]{ "-m", "ds", "-n", Integer.toString(testOrder), "-s", "0" };
+		LatinSquareGeneratorSelection generator = new LatinSquareGeneratorSelection(new LatinSquareJobConfigGenerator(args));
+		
+		List<Square> parallelSquares = generator.stream(true).collect(Collectors.toList());
+		Iterator<Square> sequentialSquares = generator.iterator();
+		
+		if(parallelSquares.size() != expectedCount) { return false; }
+		for(Square square : parallelSquares)
+		{
+			if(!square.equals(sequentialSquares.next())) { return false; }
+		}
+		
+		return !sequentialSquares.hasNext();
+	}
+}
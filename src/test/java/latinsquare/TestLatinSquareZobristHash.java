@@ -0,0 +1,149 @@
+/**
+ * ******************************************************************************
+ * ************************ LATIN SQUARE TOOLBOX ********************************
+ * ******************************************************************************
+ * Copyright (c) 2017 Nathan O. Schmidt <c0ldc4lcul4ti0n@gmail.com>
+ * Copyright (c) 2017 Will Unger <zomborg1@gmail.com>
+ * ******************************************************************************
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * ******************************************************************************
+ */
+
+import latinsquare.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * <h1>TestLatinSquareZobristHash</h1>
+ * 
+ * <p>This class contains the unit tests for the incremental Zobrist hashing of squares.</p>
+ * 
+ * @author Nathan O. Schmidt
+ * @author Will Unger
+ * @version 1.10
+ */
+public class TestLatinSquareZobristHash
+{
+	private final File resourcesDirectory = new File("src/test/resources");
+	private final String targetDirectory = resourcesDirectory.getAbsolutePath() + "/data/target/squares/data_set/";
+	
+	/**
+	 * Unit test for the incremental hash, which must match the hash of the same cells computed at once.
+	 */
+	@Test
+	public void testIncrementalHash()
+	{
+		Square square = new Square(5);
+		assertEquals(0L, square.getZobristHash());
+		
+		for(int i = 0; i < 5; i++)
+		{
+			for(int j = 0; j < 5; j++) { square.setCellSymbol(i, j, (i + (2 * j)) % 5); }
+		}
+		square.setCellSymbol(2, 3, 4);
+		square.setCellSymbol(2, 3, (2 + 6) % 5);
+		
+		int [][] cells = new int[5][5];
+		for(int i = 0; i < 5; i++)
+		{
+			for(int j = 0; j < 5; j++) { cells[i][j] = (i + (2 * j)) % 5; }
+		}
+		Square expected = new Square(cells);
+		
+		assertEquals(expected.getZobristHash(), square.getZobristHash());
+		assertEquals(true, Arrays.equals(expected.getZobristHash128(), square.getZobristHash128()));
+		assertEquals(expected.hashCode(), square.hashCode());
+		assertEquals(expected.getZobristHash(), new Square(square).getZobristHash());
+		
+		// clearing every cell restores the hash of a new square
+		for(int i = 0; i < 5; i++)
+		{
+			for(int j = 0; j < 5; j++) { square.setCellSymbol(i, j, 0); }
+		}
+		assertEquals(0L, square.getZobristHash());
+	}
+	
+	/**
+	 * Unit test for the hash of a rotated square, which must match the hash of its cells.
+	 */
+	@Test
+	public void testRotatedHash()
+	{
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(4, false);
+		while(search.advance())
+		{
+			Square square = new Square(search.getCurrentSquare());
+			square.rotate();
+			
+			Square expected = new Square(4);
+			for(int i = 0; i < 4; i++)
+			{
+				for(int j = 0; j < 4; j++) { expected.setCellSymbol(i, j, square.getCellSymbol(i, j)); }
+			}
+			assertEquals(expected.getZobristHash(), square.getZobristHash());
+		}
+	}
+	
+	/**
+	 * Unit test for deduplicating the order-4 Latin squares (and a copy of each) with a hash set.
+	 */
+	@Test
+	public void testHashSetDedupOrder4()
+	{
+		HashSet<Square> squares = new HashSet<Square>();
+		HashSet<Long> hashes = new HashSet<Long>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(4, false);
+		while(search.advance())
+		{
+			// the search reuses its current square, so the hash set receives copies
+			squares.add(new Square(search.getCurrentSquare()));
+			squares.add(new Square(search.getCurrentSquare()));
+			hashes.add(search.getCurrentSquare().getZobristHash());
+		}
+		
+		assertEquals(576, squares.size());
+		assertEquals(576, hashes.size());
+	}
+	
+	/**
+	 * Unit test for the squares parsed from a data set file, which must hash like the generated squares.
+	 */
+	@Test
+	public void testParsedHashOrder4()
+	{
+		ArrayList<Square> expected = new ArrayList<Square>();
+		LatinSquareSelectionIterator search = new LatinSquareSelectionIterator(4, false);
+		while(search.advance() && (expected.size() < 10)) { expected.add(new Square(search.getCurrentSquare())); }
+		
+		ArrayList<Square> actual = new ArrayList<Square>();
+		LatinSquareFileParser parser = new LatinSquareFileParser(4, targetDirectory + "n04_s10.txt");
+		while(parser.hasNext()) { actual.add(parser.next()); }
+		
+		assertEquals(expected.size(), actual.size());
+		assertEquals(new HashSet<Square>(expected), new HashSet<Square>(actual));
+		for(int i = 0; i < expected.size(); i++)
+		{
+			assertEquals(expected.get(i).getZobristHash(), actual.get(i).getZobristHash());
+		}
+	}
+}